@@ -0,0 +1,60 @@
+package com.example.notification.benchmark;
+
+import com.example.notification.dto.NotificationContext;
+
+import java.util.Map;
+
+/**
+ * 벤치마크 공용 입력
+ */
+final class BenchmarkFixtures {
+    
+    /**
+     * 샘플 규칙(TemperatureBelowZeroRule)과 같은 본문의 생성 코드
+     * 
+     * 애플리케이션에 이미 같은 이름의 클래스가 있으면 부모 로더가 먼저 찾으므로 이름만 바꿨습니다.
+     */
+    static final String TEMPERATURE_RULE_SOURCE = """
+            package com.example.notification.rules;
+            
+            import com.example.notification.domain.NotificationRule;
+            import com.example.notification.dto.NotificationContext;
+            
+            public class BenchmarkTemperatureRule implements NotificationRule {
+                
+                @Override
+                public boolean shouldNotify(NotificationContext context) {
+                    if (context.getWeatherData() == null) {
+                        return false;
+                    }
+                    Object tempObj = context.getWeatherData().get("temperature");
+                    if (tempObj == null) {
+                        return false;
+                    }
+                    return ((Number) tempObj).doubleValue() < 0.0;
+                }
+                
+                @Override
+                public String getMessage(NotificationContext context) {
+                    double temperature = ((Number) context.getWeatherData().get("temperature")).doubleValue();
+                    String condition = (String) context.getWeatherData().get("condition");
+                    return String.format("⚠️ 한파 주의! 현재 온도가 %.1f℃로 영하입니다. 날씨: %s", temperature, condition);
+                }
+            }
+            """;
+    
+    private BenchmarkFixtures() {
+    }
+    
+    /**
+     * 두 샘플 규칙의 조건이 모두 충족되는 컨텍스트 (getMessage까지 실행되는 경로)
+     */
+    static NotificationContext firingContext() {
+        return NotificationContext.builder()
+                .weatherData(Map.of("temperature", -5.3, "condition", "Snow", "humidity", 80, "windSpeed", 4.2))
+                .stockData(Map.of("symbol", "KOSPI", "price", 3120.55, "change", 12.3, "changePercent", 0.4))
+                .newsData(Map.of("headlines", new String[]{"기술주 강세 지속"}, "count", 1))
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+}
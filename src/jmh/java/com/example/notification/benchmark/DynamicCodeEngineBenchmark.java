@@ -0,0 +1,51 @@
+package com.example.notification.benchmark;
+
+import com.example.notification.config.SandboxConfig;
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.service.DynamicCodeEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 생성 코드 컴파일 및 로드 (DynamicCodeEngine.compileAndLoad)
+ * 
+ * cold: 새 JVM에서의 첫 호출 (javac 클래스 로딩과 JIT 이전), fork마다 한 번 측정
+ * warm: 같은 JVM에서 반복 호출
+ * sandbox=true면 바이트코드 검사/계측 비용이 포함됩니다.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DynamicCodeEngineBenchmark {
+    
+    @Param({"true", "false"})
+    public boolean sandbox;
+    
+    private DynamicCodeEngine engine;
+    
+    @Setup
+    public void setUp() {
+        SandboxConfig sandboxConfig = new SandboxConfig();
+        sandboxConfig.setEnabled(sandbox);
+        engine = new DynamicCodeEngine(sandboxConfig, new SimpleMeterRegistry());
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(5)
+    public NotificationRule compileAndLoadCold() throws Exception {
+        return engine.compileAndLoad(BenchmarkFixtures.TEMPERATURE_RULE_SOURCE);
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 5)
+    @Measurement(iterations = 5, time = 5)
+    @Fork(1)
+    public NotificationRule compileAndLoadWarm() throws Exception {
+        return engine.compileAndLoad(BenchmarkFixtures.TEMPERATURE_RULE_SOURCE);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.notification.benchmark;
+
+import com.example.notification.config.ContextHistoryConfig;
+import com.example.notification.dto.NotificationContext;
+import com.example.notification.history.ContextHistoryLog;
+import com.example.notification.service.ExternalApiService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NotificationContext 구성 (ExternalApiService)
+ * 
+ * 이력 로그는 열지 않은 상태(기록 안 함)로 두어 컨텍스트 구성 비용만 잽니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ExternalApiServiceBenchmark {
+    
+    private ExternalApiService externalApiService;
+    
+    @Setup
+    public void setUp() {
+        ContextHistoryConfig historyConfig = new ContextHistoryConfig();
+        historyConfig.setEnabled(false);
+        ContextHistoryLog historyLog = new ContextHistoryLog(historyConfig, new SimpleMeterRegistry());
+        externalApiService = new ExternalApiService(event -> { }, historyLog);
+    }
+    
+    @Benchmark
+    public NotificationContext fetchContext() {
+        return externalApiService.fetchContext();
+    }
+    
+    @Benchmark
+    public NotificationContext currentContext() {
+        return externalApiService.currentContext();
+    }
+}
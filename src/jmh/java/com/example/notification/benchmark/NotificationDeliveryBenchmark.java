@@ -0,0 +1,132 @@
+package com.example.notification.benchmark;
+
+import com.example.notification.channel.ChannelType;
+import com.example.notification.channel.NotificationChannelRouter;
+import com.example.notification.channel.WebSocketNotificationChannel;
+import com.example.notification.config.ClusterConfig;
+import com.example.notification.config.NotificationConfig;
+import com.example.notification.dto.ChannelPreference;
+import com.example.notification.service.ClusterMessageBus;
+import com.example.notification.service.ClusterSessionRegistry;
+import com.example.notification.service.NotificationDeliveryPipeline;
+import com.example.notification.service.NotificationDigestService;
+import com.example.notification.service.NotificationOutboxService;
+import com.example.notification.service.NotificationService;
+import com.example.notification.service.OfflineNotificationBuffer;
+import com.example.notification.service.UserChannelPreferenceService;
+import com.example.notification.service.WebSocketPresenceTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NotificationService.sendNotification부터 STOMP 브로커 채널까지의 발송 경로
+ * 
+ * 발송 파이프라인, 채널 라우터, WebSocket 채널 워커를 실제 클래스로 조립하고,
+ * 브로커 대신 메시지 수만 세는 메모리 채널을 붙입니다. 호출 한 번은 BATCH건을 보내고
+ * 모두 브로커 채널에 도착할 때까지 기다리므로 처리량은 비동기 구간을 포함한 값입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class NotificationDeliveryBenchmark {
+    
+    private static final int BATCH = 1000;
+    private static final int USERS = 100;
+    private static final long DELIVERY_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+    
+    private final AtomicLong brokered = new AtomicLong();
+    private NotificationDeliveryPipeline pipeline;
+    private NotificationChannelRouter router;
+    private NotificationService notificationService;
+    private String[] userIds;
+    
+    @Setup
+    public void setUp() {
+        NotificationConfig config = new NotificationConfig();
+        config.getWebsocket().setEnabled(true);
+        config.getWebsocket().setThreads(2);
+        config.getWebsocket().setBatchSize(100);
+        config.getOutbox().setEnabled(false);
+        ClusterConfig clusterConfig = new ClusterConfig();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ApplicationEventPublisher eventPublisher = event -> { };
+        
+        // 메모리 브로커: 발송 스레드에서 바로 메시지 수만 셉니다
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        brokerChannel.subscribe(message -> brokered.incrementAndGet());
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+        
+        // 모든 사용자가 이 노드에 접속한 상태
+        WebSocketPresenceTracker presenceTracker = new WebSocketPresenceTracker(eventPublisher, meterRegistry);
+        userIds = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            String userId = "user" + i;
+            userIds[i] = userId;
+            presenceTracker.onConnected(new SessionConnectedEvent(this,
+                    MessageBuilder.withPayload(new byte[0]).setHeader("simpSessionId", "session" + i).build(),
+                    () -> userId));
+        }
+        
+        ClusterMessageBus messageBus = new ClusterMessageBus(null, null, new ObjectMapper(), clusterConfig,
+                eventPublisher, meterRegistry);
+        ClusterSessionRegistry clusterRegistry = new ClusterSessionRegistry(null, clusterConfig, presenceTracker, messageBus);
+        OfflineNotificationBuffer offlineBuffer = new OfflineNotificationBuffer(config, meterRegistry);
+        UserChannelPreferenceService preferenceService = new UserChannelPreferenceService(null, config) {
+            @Override
+            public List<ChannelPreference> getActiveChannels(String userId) {
+                return List.of(new ChannelPreference(ChannelType.WEBSOCKET, userId, true));
+            }
+        };
+        
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        WebSocketNotificationChannel channel = new WebSocketNotificationChannel(messagingTemplate, presenceTracker,
+                offlineBuffer, clusterRegistry, messageBus, beanFactory.getBeanProvider(NotificationDigestService.class));
+        router = new NotificationChannelRouter(List.of(channel), config, preferenceService, meterRegistry);
+        pipeline = new NotificationDeliveryPipeline(router, config, meterRegistry);
+        pipeline.start();
+        NotificationDigestService digestService = new NotificationDigestService(pipeline, config, meterRegistry);
+        beanFactory.addBean("notificationDigestService", digestService);
+        
+        NotificationOutboxService outboxService = new NotificationOutboxService(null, config, clusterConfig);
+        notificationService = new NotificationService(pipeline, digestService, outboxService, preferenceService,
+                presenceTracker, clusterRegistry, offlineBuffer, config);
+    }
+    
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        pipeline.stop();
+        router.shutdown();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void sendNotification() {
+        long target = brokered.get() + BATCH;
+        for (int i = 0; i < BATCH; i++) {
+            notificationService.sendNotification(userIds[i % USERS], "벤치마크 알림 " + i);
+        }
+        
+        long deadline = System.nanoTime() + DELIVERY_TIMEOUT_NANOS;
+        while (brokered.get() < target) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("브로커 채널 도착 대기 시간 초과: " + (target - brokered.get()) + "건 남음");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.notification.benchmark;
+
+import com.example.notification.config.RuleIsolationConfig;
+import com.example.notification.config.RuleSourceConfig;
+import com.example.notification.config.SandboxConfig;
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.domain.RuleEntity;
+import com.example.notification.dto.NotificationContext;
+import com.example.notification.repository.RuleRepository;
+import com.example.notification.rules.StockPriceAboveThresholdRule;
+import com.example.notification.rules.TemperatureBelowZeroRule;
+import com.example.notification.service.DynamicCodeEngine;
+import com.example.notification.service.RuleManagementService;
+import com.example.notification.service.RuleSourceStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 규칙 평가 경로
+ * 
+ * 샘플 규칙의 shouldNotify/getMessage, 같은 규칙을 샌드박스(실행 예산 계측)로 로드한 경우,
+ * 그리고 평가마다 거치는 RuleManagementService.getRuleInstance 캐시 조회를 잽니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class RuleEvaluationBenchmark {
+    
+    private static final long RULE_ID = 1L;
+    
+    private NotificationContext context;
+    private NotificationRule temperatureRule;
+    private NotificationRule stockRule;
+    private NotificationRule sandboxedTemperatureRule;
+    private RuleManagementService ruleManagementService;
+    
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkFixtures.firingContext();
+        temperatureRule = new TemperatureBelowZeroRule();
+        stockRule = new StockPriceAboveThresholdRule();
+        
+        DynamicCodeEngine engine = new DynamicCodeEngine(new SandboxConfig(), new SimpleMeterRegistry());
+        sandboxedTemperatureRule = engine.compileAndLoad(BenchmarkFixtures.TEMPERATURE_RULE_SOURCE);
+        
+        // 캐시를 채울 때 한 번만 조회되는 저장소
+        RuleEntity entity = RuleEntity.builder()
+                .id(RULE_ID)
+                .sourceId(RULE_ID)
+                .build();
+        RuleRepository repository = (RuleRepository) Proxy.newProxyInstance(
+                RuleRepository.class.getClassLoader(),
+                new Class<?>[]{RuleRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findById")) {
+                        return Optional.of(entity);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        RuleSourceStore sourceStore = new RuleSourceStore(null, new RuleSourceConfig(), new SimpleMeterRegistry()) {
+            @Override
+            public String load(long sourceId) {
+                return BenchmarkFixtures.TEMPERATURE_RULE_SOURCE;
+            }
+        };
+        ruleManagementService = new RuleManagementService(repository, null, engine, null, null, null,
+                null, null, null, sourceStore, null, new RuleIsolationConfig(), new SimpleMeterRegistry());
+        ruleManagementService.getRuleInstance(RULE_ID);
+    }
+    
+    @Benchmark
+    public boolean temperatureShouldNotify() {
+        return temperatureRule.shouldNotify(context);
+    }
+    
+    @Benchmark
+    public String temperatureGetMessage() {
+        return temperatureRule.getMessage(context);
+    }
+    
+    @Benchmark
+    public boolean stockShouldNotify() {
+        return stockRule.shouldNotify(context);
+    }
+    
+    @Benchmark
+    public String stockGetMessage() {
+        return stockRule.getMessage(context);
+    }
+    
+    @Benchmark
+    public boolean sandboxedTemperatureShouldNotify() {
+        return sandboxedTemperatureRule.shouldNotify(context);
+    }
+    
+    @Benchmark
+    public String sandboxedTemperatureGetMessage() {
+        return sandboxedTemperatureRule.getMessage(context);
+    }
+    
+    @Benchmark
+    public NotificationRule getRuleInstanceCacheHit() {
+        return ruleManagementService.getRuleInstance(RULE_ID);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.notification.loadtest;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * tick과 동시에 REST API를 호출하는 스레드 묶음
+ * 
+ * 대부분은 조회(사용자별 목록, 단건)이고 createRatio 비율만큼 규칙 생성(Claude 대역 + 컴파일 + 성능 검사)을 섞습니다.
+ */
+@Slf4j
+class ApiTrafficGenerator {
+    
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final LoadTestSettings settings;
+    private final List<Long> ruleIds;
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Timer readLatency = Timer.builder("loadtest.api.read")
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+    private final Timer createLatency = Timer.builder("loadtest.api.create")
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+    private final LongAdder errors = new LongAdder();
+    
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+    
+    ApiTrafficGenerator(int port, LoadTestSettings settings, List<Long> ruleIds) {
+        this.baseUrl = "http://localhost:" + port + "/api/rules";
+        this.settings = settings;
+        this.ruleIds = ruleIds;
+    }
+    
+    void start() {
+        running = true;
+        for (int i = 0; i < settings.apiThreads(); i++) {
+            Thread thread = new Thread(this::run, "loadtest-api-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+    
+    ApiStats stop() throws InterruptedException {
+        running = false;
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        return new ApiStats(readLatency.count(), createLatency.count(), errors.sum(),
+                percentileMillis(readLatency, 0.5), percentileMillis(readLatency, 0.99),
+                percentileMillis(createLatency, 0.99));
+    }
+    
+    private void run() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            String userId = RuleSeeder.userId(random.nextInt(settings.users()));
+            try {
+                if (random.nextDouble() < settings.createRatio()) {
+                    String body = "{\"userId\":\"" + userId + "\",\"request\":\"부하 테스트 규칙\"}";
+                    call(createLatency, HttpRequest.newBuilder(URI.create(baseUrl))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build());
+                } else if (random.nextBoolean() || ruleIds.isEmpty()) {
+                    call(readLatency, HttpRequest.newBuilder(URI.create(baseUrl + "?userId=" + userId))
+                            .GET()
+                            .build());
+                } else {
+                    long ruleId = ruleIds.get(random.nextInt(ruleIds.size()));
+                    call(readLatency, HttpRequest.newBuilder(URI.create(baseUrl + "/" + ruleId))
+                            .GET()
+                            .build());
+                }
+            } catch (Exception e) {
+                errors.increment();
+                log.debug("API 호출 실패", e);
+            }
+        }
+    }
+    
+    private void call(Timer timer, HttpRequest request) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (response.statusCode() >= 400) {
+            errors.increment();
+        }
+    }
+    
+    private static double percentileMillis(Timer timer, double percentile) {
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * @param reads 조회 요청 수
+     * @param creates 생성 요청 수
+     * @param errors 실패(연결 오류 또는 4xx/5xx) 수
+     */
+    record ApiStats(long reads, long creates, long errors,
+                    double readP50Millis, double readP99Millis, double createP99Millis) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.notification.loadtest;
+
+import com.example.notification.NotificationServiceApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 규칙 수 확장 부하 테스트 진입점
+ * 
+ * 애플리케이션 전체를 loadtest 프로필로 띄운 뒤 (Claude API는 대역, 외부 네트워크 없음)
+ * 규칙을 단계별로 늘리며 tick / WebSocket 발송 / REST API를 측정합니다.
+ * loadtest.jdbc-url이 비어 있으면 임베디드 PostgreSQL을 띄워 씁니다.
+ * 
+ * 실행: ./gradlew loadTest -Ploadtest.rules=1000,10000,100000
+ * 규칙마다 로더를 두던 방식과 비교: -Ploadtest.loader-segment-capacity=1
+ */
+public class LoadTestApplication {
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        
+        EmbeddedPostgres postgres = settings.embeddedDatabase() ? EmbeddedPostgres.start() : null;
+        int exitCode = 0;
+        try {
+            String jdbcUrl = postgres != null ? postgres.getJdbcUrl("postgres", "postgres") : settings.jdbcUrl();
+            
+            SpringApplication application = new SpringApplication(NotificationServiceApplication.class);
+            application.setAdditionalProfiles("loadtest");
+            List<String> arguments = new ArrayList<>(List.of(
+                    "--spring.datasource.url=" + jdbcUrl,
+                    "--spring.datasource.username=" + settings.jdbcUsername(),
+                    "--spring.datasource.password=" + settings.jdbcPassword()));
+            if (settings.loaderSegmentCapacity() > 0) {
+                arguments.add("--security.sandbox.loader-segment-capacity=" + settings.loaderSegmentCapacity());
+            }
+            try (ConfigurableApplicationContext context = application.run(arguments.toArray(String[]::new))) {
+                new LoadTestRunner(context, settings).run();
+            }
+        
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        
+        } finally {
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.notification.loadtest;
+
+import com.example.notification.config.ClaudeConfig;
+import com.example.notification.service.ClaudeApiService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * 부하 테스트 전용 빈 (loadtest 프로필)
+ */
+@Configuration
+@Profile("loadtest")
+class LoadTestConfiguration {
+    
+    @Bean
+    RuleVariants ruleVariants() {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        return new RuleVariants(settings.variants(), settings.fireRatio());
+    }
+    
+    @Bean
+    @Primary
+    ClaudeApiService stubClaudeApiService(ClaudeConfig claudeConfig,
+                                          WebClient.Builder webClientBuilder,
+                                          ObjectMapper objectMapper,
+                                          MeterRegistry meterRegistry,
+                                          RuleVariants ruleVariants) {
+        return new StubClaudeApiService(claudeConfig, webClientBuilder, objectMapper, meterRegistry, ruleVariants);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.notification.loadtest;
+
+import java.util.List;
+
+/**
+ * 부하 테스트 결과 (JSON 파일 형식) 및 콘솔 출력
+ */
+record LoadTestReport(LoadTestSettings settings, List<StepResult> steps) {
+    
+    private static final String HEADER_FORMAT = "%9s %10s %10s %10s %12s %11s %10s %10s %9s %9s %9s %8s %10s %10s %9s %9s %10s %10s%n";
+    private static final String ROW_FORMAT = "%9d %10d %10d %10d %12.0f %11.1f %10d %10d %9d %9d %9d %8d %10d %10d %9d %9d %10.1f %10.1f%n";
+    
+    static void printStep(StepResult result) {
+        System.out.printf("[loadtest] rules=%d cacheFill=%dms ticks=%s delivered=%d heap=%dMB metaspace=%d/%dMB loaders=%d%n",
+                result.rules(), result.cacheFillMillis(), result.tickMillis(), result.notificationsDelivered(),
+                result.heapUsedMb(), result.metaspaceUsedMb(), result.metaspaceCommittedMb(), result.ruleClassLoaders());
+    }
+    
+    static void print(List<StepResult> results) {
+        System.out.println();
+        System.out.printf(HEADER_FORMAT, "rules", "fill(ms)", "tick(ms)", "max(ms)", "eval/s", "deliver/s",
+                "sql/tick", "heap(MB)", "meta(MB)", "metaC(MB)", "classes", "loaders", "rules(KB)", "src(KB)", "scan(ms)",
+                "api req", "p50(ms)", "p99(ms)");
+        for (StepResult r : results) {
+            System.out.printf(ROW_FORMAT, r.rules(), r.cacheFillMillis(), r.tickMeanMillis(), r.tickMaxMillis(),
+                    r.evaluationsPerSecond(), r.deliveredPerSecond(), r.hibernateStatementsPerTick(),
+                    r.heapUsedMb(), r.metaspaceUsedMb(), r.metaspaceCommittedMb(), r.loadedClasses(), r.ruleClassLoaders(),
+                    r.ruleTableKb(), r.sourceTableKb(), r.ruleScanMillis(), r.api().reads() + r.api().creates(), r.api().readP50Millis(), r.api().readP99Millis());
+        }
+        System.out.println();
+    }
+}
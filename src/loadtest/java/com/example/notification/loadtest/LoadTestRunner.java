@@ -0,0 +1,222 @@
+package com.example.notification.loadtest;
+
+import com.example.notification.service.NotificationDeliveryPipeline;
+import com.example.notification.service.RuleExecutionScheduler;
+import com.example.notification.service.RuleManagementService;
+import com.example.notification.service.RuleSourceStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 규칙 수를 단계별로 늘리며 tick / WebSocket 발송 / REST API를 함께 돌리고 결과를 모읍니다
+ * 
+ * 단계마다 새 규칙을 먼저 캐시에 올려(컴파일) 두고 tick을 실행하므로,
+ * 컴파일 비용(cacheFillMillis)과 평가 비용(tickMillis)이 따로 보입니다.
+ */
+@Slf4j
+class LoadTestRunner {
+    
+    private static final String PENDING_OUTBOX_SQL =
+            "SELECT COUNT(*) FROM notification_outbox WHERE status IN ('PENDING', 'IN_FLIGHT')";
+    
+    private final ConfigurableApplicationContext context;
+    private final LoadTestSettings settings;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+    private final RuleManagementService ruleManagementService;
+    private final RuleExecutionScheduler scheduler;
+    private final NotificationDeliveryPipeline deliveryPipeline;
+    
+    LoadTestRunner(ConfigurableApplicationContext context, LoadTestSettings settings) {
+        this.context = context;
+        this.settings = settings;
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.meterRegistry = context.getBean(MeterRegistry.class);
+        this.entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        this.ruleManagementService = context.getBean(RuleManagementService.class);
+        this.scheduler = context.getBean(RuleExecutionScheduler.class);
+        this.deliveryPipeline = context.getBean(NotificationDeliveryPipeline.class);
+    }
+    
+    List<StepResult> run() throws Exception {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        RuleSeeder seeder = new RuleSeeder(jdbcTemplate, context.getBean(RuleSourceStore.class),
+                context.getBean(RuleVariants.class), settings.users());
+        
+        List<StepResult> results = new ArrayList<>();
+        try (StompClientFleet fleet = new StompClientFleet()) {
+            fleet.connect(port, Math.min(settings.clients(), settings.users()));
+            for (int target : settings.ruleSteps()) {
+                StepResult result = runStep(target, seeder, fleet, port);
+                results.add(result);
+                LoadTestReport.printStep(result);
+            }
+        }
+        
+        LoadTestReport.print(results);
+        writeReport(results);
+        return results;
+    }
+    
+    private StepResult runStep(int target, RuleSeeder seeder, StompClientFleet fleet, int port) throws Exception {
+        log.info("단계 시작: 규칙 {}건", target);
+        
+        long seedStart = System.nanoTime();
+        seeder.seedUpTo(target);
+        long seedMillis = elapsedMillis(seedStart);
+        List<Long> ruleIds = seeder.activeRuleIds();
+        RuleStorageStats storage = RuleStorageStats.measure(jdbcTemplate);
+        log.info("규칙 소스 저장: 규칙 표 {}KB, 소스 표 {}KB (소스 {}건), 전체 조회 {}ms",
+                storage.ruleTableBytes() / 1024, storage.sourceTableBytes() / 1024, storage.sources(),
+                storage.scanMillis());
+        
+        long fillStart = System.nanoTime();
+        int compileFailures = fillCache(ruleIds);
+        long cacheFillMillis = elapsedMillis(fillStart);
+        log.info("캐시 적재 완료: {}건, {}ms, 실패 {}건", ruleIds.size(), cacheFillMillis, compileFailures);
+        
+        RuntimeSnapshot before = RuntimeSnapshot.take(entityManagerFactory, jdbcTemplate, meterRegistry);
+        long framesBefore = fleet.received();
+        ApiTrafficGenerator api = new ApiTrafficGenerator(port, settings, ruleIds);
+        api.start();
+        
+        long start = System.nanoTime();
+        List<Long> tickMillis = new ArrayList<>();
+        for (int i = 0; i < settings.ticksPerStep(); i++) {
+            tickMillis.add(driveTick());
+        }
+        long tickTotalMillis = tickMillis.stream().mapToLong(Long::longValue).sum();
+        ApiTrafficGenerator.ApiStats apiStats = api.stop();
+        awaitDeliveryDrain();
+        long windowMillis = elapsedMillis(start);
+        
+        System.gc();
+        RuntimeSnapshot after = RuntimeSnapshot.take(entityManagerFactory, jdbcTemplate, meterRegistry);
+        long delivered = after.delivered() - before.delivered();
+        
+        return new StepResult(
+                ruleIds.size(),
+                seedMillis,
+                cacheFillMillis,
+                compileFailures,
+                tickMillis,
+                tickTotalMillis == 0 ? 0 : (double) ruleIds.size() * tickMillis.size() * 1000 / tickTotalMillis,
+                delivered,
+                windowMillis == 0 ? 0 : delivered * 1000.0 / windowMillis,
+                fleet.received() - framesBefore,
+                (after.hibernateStatements() - before.hibernateStatements()) / Math.max(1, tickMillis.size()),
+                after.dbTransactions() - before.dbTransactions(),
+                after.dbRowsRead() - before.dbRowsRead(),
+                after.dbRowsWritten() - before.dbRowsWritten(),
+                storage.ruleTableBytes() / 1024,
+                storage.sourceTableBytes() / 1024,
+                storage.sources(),
+                storage.scanMillis(),
+                after.heapUsedBytes() / (1024 * 1024),
+                after.metaspaceUsedBytes() / (1024 * 1024),
+                after.metaspaceCommittedBytes() / (1024 * 1024),
+                after.loadedClasses(),
+                after.ruleClassLoaders(),
+                apiStats);
+    }
+    
+    /**
+     * 캐시에 없는 규칙을 여러 스레드에서 컴파일해 올립니다
+     * 
+     * @return 실패한 규칙 수
+     */
+    private int fillCache(List<Long> ruleIds) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(settings.warmupThreads());
+        try {
+            List<Future<?>> futures = new ArrayList<>(ruleIds.size());
+            for (Long ruleId : ruleIds) {
+                futures.add(executor.submit(() -> ruleManagementService.getRuleInstance(ruleId)));
+            }
+            int failures = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (Exception e) {
+                    failures++;
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+    
+    /**
+     * ALIGNED tick 하나를 실행하고 끝날 때까지 기다립니다
+     * 
+     * tick은 스케줄러 전용 스레드에서 돌기 때문에 rule.tick.duration 기록 수가 늘어나는 것으로 끝을 확인합니다.
+     */
+    private long driveTick() throws Exception {
+        Timer tickTimer = meterRegistry.get("rule.tick.duration").timer();
+        long countBefore = tickTimer.count();
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(settings.tickTimeoutMinutes());
+        
+        long start = System.nanoTime();
+        scheduler.executeAllRules();
+        while (tickTimer.count() == countBefore) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new TimeoutException("tick이 " + settings.tickTimeoutMinutes() + "분 안에 끝나지 않았습니다");
+            }
+            Thread.sleep(20);
+        }
+        return elapsedMillis(start);
+    }
+    
+    /**
+     * 아웃박스와 발송 큐가 비고 발송 수가 1초 동안 변하지 않을 때까지 기다립니다 (최대 2분)
+     */
+    private void awaitDeliveryDrain() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(2);
+        long lastDelivered = -1;
+        while (System.currentTimeMillis() < deadline) {
+            Integer pending = jdbcTemplate.queryForObject(PENDING_OUTBOX_SQL, Integer.class);
+            long delivered = RuntimeSnapshot.take(entityManagerFactory, jdbcTemplate, meterRegistry).delivered();
+            if ((pending == null || pending == 0) && deliveryPipeline.getQueueDepth() == 0 && delivered == lastDelivered) {
+                return;
+            }
+            lastDelivered = delivered;
+            Thread.sleep(1000);
+        }
+        log.warn("발송이 2분 안에 끝나지 않았습니다. 발송 수치가 실제보다 작을 수 있습니다");
+    }
+    
+    private void writeReport(List<StepResult> results) throws IOException {
+        Path directory = Files.createDirectories(Path.of(settings.reportDirectory()));
+        Path file = directory.resolve("loadtest-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        objectMapper.writeValue(file.toFile(), new LoadTestReport(settings, results));
+        log.info("결과 저장: {}", file.toAbsolutePath());
+    }
+    
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.notification.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 부하 테스트 설정
+ * 
+ * 모두 loadtest.* 시스템 프로퍼티로 받습니다 (./gradlew loadTest -Ploadtest.rules=1000,10000 처럼 넘김).
+ * 
+ * @param ruleSteps 규칙 수 단계, 단계마다 이 수까지 규칙을 추가로 넣고 측정합니다
+ * @param users 규칙 소유 사용자 수 (규칙은 사용자에게 고르게 나눕니다)
+ * @param clients 접속시킬 WebSocket 클라이언트 수 (앞쪽 사용자부터)
+ * @param ticksPerStep 단계마다 실행할 tick 수
+ * @param apiThreads REST API 호출 스레드 수
+ * @param createRatio API 호출 중 규칙 생성(POST) 비율
+ * @param variants 서로 다른 규칙 소스 수
+ * @param fireRatio tick마다 조건이 참이 되는 규칙의 대략적인 비율
+ * @param warmupThreads 측정 전에 규칙 캐시를 채우는 병렬 스레드 수
+ * @param tickTimeoutMinutes tick 하나를 기다리는 최대 시간
+ * @param loaderSegmentCapacity 0보다 크면 security.sandbox.loader-segment-capacity를 덮어씁니다 (1이면 규칙마다 로더)
+ * @param jdbcUrl 비우면 임베디드 PostgreSQL을 띄웁니다
+ * @param reportDirectory 결과 JSON을 둘 디렉토리
+ */
+record LoadTestSettings(List<Integer> ruleSteps,
+                        int users,
+                        int clients,
+                        int ticksPerStep,
+                        int apiThreads,
+                        double createRatio,
+                        int variants,
+                        double fireRatio,
+                        int warmupThreads,
+                        long tickTimeoutMinutes,
+                        int loaderSegmentCapacity,
+                        String jdbcUrl,
+                        String jdbcUsername,
+                        String jdbcPassword,
+                        String reportDirectory) {
+    
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Arrays.stream(property("rules", "1000,10000,100000").split(","))
+                        .map(String::trim)
+                        .map(Integer::parseInt)
+                        .sorted()
+                        .toList(),
+                Integer.parseInt(property("users", "1000")),
+                Integer.parseInt(property("clients", "200")),
+                Integer.parseInt(property("ticks", "3")),
+                Integer.parseInt(property("api-threads", "8")),
+                Double.parseDouble(property("create-ratio", "0.001")),
+                Integer.parseInt(property("variants", "64")),
+                Double.parseDouble(property("fire-ratio", "0.05")),
+                Integer.parseInt(property("warmup-threads",
+                        String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Long.parseLong(property("tick-timeout-minutes", "120")),
+                Integer.parseInt(property("loader-segment-capacity", "0")),
+                property("jdbc-url", ""),
+                property("jdbc-username", "postgres"),
+                property("jdbc-password", "postgres"),
+                property("report-directory", "build/reports/loadtest"));
+    }
+    
+    boolean embeddedDatabase() {
+        return jdbcUrl.isBlank();
+    }
+    
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.notification.loadtest;
+
+import com.example.notification.service.RuleSourceStore;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 규칙 행을 JDBC 배치 INSERT로 한꺼번에 넣습니다
+ * 
+ * Claude 호출과 컴파일을 거치지 않고 rule_sources/notification_rules 행만 만들며,
+ * 컴파일은 규칙을 처음 평가할 때(캐시 적재) 일어납니다.
+ */
+class RuleSeeder {
+    
+    private static final String INSERT_SQL = """
+            INSERT INTO notification_rules (user_id, natural_language_request, source_id, class_name, priority)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final RuleSourceStore sourceStore;
+    private final RuleVariants variants;
+    private final int users;
+    
+    RuleSeeder(JdbcTemplate jdbcTemplate, RuleSourceStore sourceStore, RuleVariants variants, int users) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sourceStore = sourceStore;
+        this.variants = variants;
+        this.users = users;
+    }
+    
+    static String userId(int index) {
+        return "loadtest-user-" + index;
+    }
+    
+    /**
+     * 규칙이 target개가 될 때까지 추가합니다
+     * 
+     * @return 추가한 규칙 수
+     */
+    int seedUpTo(int target) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_rules", Integer.class);
+        int from = existing == null ? 0 : existing;
+        
+        for (int start = from; start < target; start += BATCH_SIZE) {
+            int end = Math.min(start + BATCH_SIZE, target);
+            List<RuleVariants.Variant> chunk = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                chunk.add(variants.get(i));
+            }
+            Map<String, Long> sourceIds = sourceStore.storeAll(
+                    chunk.stream().map(RuleVariants.Variant::source).toList());
+            
+            List<Object[]> batch = new ArrayList<>(chunk.size());
+            for (int i = start; i < end; i++) {
+                RuleVariants.Variant variant = chunk.get(i - start);
+                batch.add(new Object[]{userId(i % users), variant.request(), sourceIds.get(variant.source()),
+                        variant.className(), i % 10});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+        return Math.max(0, target - from);
+    }
+    
+    List<Long> activeRuleIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM notification_rules WHERE active ORDER BY id", Long.class);
+    }
+}
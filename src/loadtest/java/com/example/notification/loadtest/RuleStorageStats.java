@@ -0,0 +1,47 @@
+package com.example.notification.loadtest;
+
+import com.example.notification.service.RuleSourceCodec;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 규칙 소스 저장 크기와 규칙 전체 조회 시간
+ * 
+ * @param ruleTableBytes notification_rules 크기 (인덱스, TOAST 포함)
+ * @param sourceTableBytes rule_sources 크기 (인덱스, TOAST 포함)
+ * @param sources rule_sources 행 수 (서로 다른 소스 수)
+ * @param scanMillis 규칙 전체를 소스와 함께 읽고 압축을 푸는 시간
+ */
+record RuleStorageStats(long ruleTableBytes, long sourceTableBytes, long sources, long scanMillis) {
+    
+    private static final String SIZE_SQL = """
+            SELECT pg_total_relation_size('notification_rules') AS rule_bytes,
+                   pg_total_relation_size('rule_sources') AS source_bytes,
+                   (SELECT COUNT(*) FROM rule_sources) AS sources
+            """;
+    
+    private static final String SCAN_SQL = """
+            SELECT r.id, r.user_id, r.natural_language_request, r.class_name, r.active, r.cron_expression,
+                   s.encoding, s.compressed, s.original_length
+              FROM notification_rules r
+              JOIN rule_sources s ON s.id = r.source_id
+            """;
+    
+    static RuleStorageStats measure(JdbcTemplate jdbcTemplate) {
+        Map<String, Object> sizes = jdbcTemplate.queryForMap(SIZE_SQL);
+        
+        long start = System.nanoTime();
+        jdbcTemplate.query(SCAN_SQL, rs -> {
+            RuleSourceCodec.decompress(rs.getBytes("compressed"), rs.getInt("encoding"), rs.getInt("original_length"));
+        });
+        long scanMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        return new RuleStorageStats(
+                ((Number) sizes.get("rule_bytes")).longValue(),
+                ((Number) sizes.get("source_bytes")).longValue(),
+                ((Number) sizes.get("sources")).longValue(),
+                scanMillis);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.notification.loadtest;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * 샘플 규칙(TemperatureBelowZeroRule, StockPriceAboveThresholdRule)과 같은 조건을 기준값을 바꿔 만든 규칙 소스
+ * 
+ * 목데이터는 온도 -10 ~ 35℃, KOSPI 2500 ~ 3200 사이 균등 분포이므로,
+ * 기준값을 조절해 변형마다 조건이 참이 될 확률이 평균 fireRatio가 되도록 합니다.
+ * 생성 코드처럼 주석, 변수 이름, 메시지 형식도 변형마다 달라서 소스 저장 크기와 압축률을
+ * 샘플 규칙 두 개가 아니라 서로 다른 생성 코드 묶음으로 측정할 수 있습니다.
+ */
+class RuleVariants {
+    
+    /**
+     * 1: import 추가, 2: 클래스 주석, 3: 클래스 이름, 4: 기준값, 5: 조건 변수 이름, 6: 조건 주석, 7: getMessage 본문
+     */
+    private static final String TEMPERATURE_TEMPLATE = """
+            package com.example.notification.rules;
+            
+            import com.example.notification.domain.NotificationRule;
+            import com.example.notification.dto.NotificationContext;
+            %1$s
+            %2$spublic class %3$s implements NotificationRule {
+                
+                private static final double THRESHOLD = %4$s;
+                
+                @Override
+                public boolean shouldNotify(NotificationContext context) {
+                    if (context.getWeatherData() == null) {
+                        return false;
+                    }
+                    
+                    Object %5$s = context.getWeatherData().get("temperature");
+                    if (%5$s == null) {
+                        return false;
+                    }
+            
+            %6$s        return ((Number) %5$s).doubleValue() < THRESHOLD;
+                }
+                
+                @Override
+                public String getMessage(NotificationContext context) {
+            %7$s    }
+            }
+            """;
+    
+    private static final String STOCK_TEMPLATE = """
+            package com.example.notification.rules;
+            
+            import com.example.notification.domain.NotificationRule;
+            import com.example.notification.dto.NotificationContext;
+            %1$s
+            %2$spublic class %3$s implements NotificationRule {
+                
+                private static final double THRESHOLD = %4$s;
+                
+                @Override
+                public boolean shouldNotify(NotificationContext context) {
+                    if (context.getStockData() == null) {
+                        return false;
+                    }
+                    
+                    Object %5$s = context.getStockData().get("price");
+                    if (%5$s == null) {
+                        return false;
+                    }
+            
+            %6$s        return ((Number) %5$s).doubleValue() > THRESHOLD;
+                }
+                
+                @Override
+                public String getMessage(NotificationContext context) {
+            %7$s    }
+            }
+            """;
+    
+    private static final String[] TEMPERATURE_VARIABLES = {"tempObj", "temperatureValue", "value"};
+    private static final String[] STOCK_VARIABLES = {"priceObj", "priceValue", "value"};
+    
+    /**
+     * getMessage 본문 (Map을 쓰는 본문은 java.util.Map import가 필요)
+     */
+    private static final String[] TEMPERATURE_MESSAGES = {
+            """
+                    double temperature = ((Number) context.getWeatherData().get("temperature")).doubleValue();
+                    return String.format("현재 온도가 %.1f℃로 %.1f℃ 미만입니다", temperature, THRESHOLD);
+            """,
+            """
+                    double temperature = ((Number) context.getWeatherData().get("temperature")).doubleValue();
+                    String condition = (String) context.getWeatherData().get("condition");
+                    
+                    return String.format(
+                            "🥶 기온 알림: 현재 %.1f℃ (기준 %.1f℃), 날씨: %s",
+                            temperature,
+                            THRESHOLD,
+                            condition
+                    );
+            """,
+            """
+                    Map<String, Object> weather = context.getWeatherData();
+                    double temperature = ((Number) weather.get("temperature")).doubleValue();
+                    Object humidity = weather.get("humidity");
+                    return "기온이 " + String.format("%.1f", temperature) + "℃까지 내려갔습니다 (습도 " + humidity + "%)";
+            """
+    };
+    
+    private static final String[] STOCK_MESSAGES = {
+            """
+                    double price = ((Number) context.getStockData().get("price")).doubleValue();
+                    return String.format("%s 지수가 %.2f로 %.0f를 돌파했습니다", context.getStockData().get("symbol"), price, THRESHOLD);
+            """,
+            """
+                    double price = ((Number) context.getStockData().get("price")).doubleValue();
+                    double changePercent = ((Number) context.getStockData().get("changePercent")).doubleValue();
+                    
+                    return String.format(
+                            "📈 %s %.2f (전일 대비 %+.2f%%), 기준 %.0f 초과",
+                            context.getStockData().get("symbol"),
+                            price,
+                            changePercent,
+                            THRESHOLD
+                    );
+            """,
+            """
+                    Map<String, Object> stock = context.getStockData();
+                    double price = ((Number) stock.get("price")).doubleValue();
+                    return stock.get("symbol") + "가 " + String.format("%.2f", price) + "까지 올랐습니다. 설정하신 기준은 "
+                            + String.format("%.0f", THRESHOLD) + "입니다.";
+            """
+    };
+    
+    private final Variant[] variants;
+    
+    RuleVariants(int count, double fireRatio) {
+        Random random = new Random(42);
+        this.variants = new Variant[count];
+        for (int i = 0; i < count; i++) {
+            // 변형마다 확률을 0 ~ 2 × fireRatio 사이로 흩뿌려 평균을 맞춥니다
+            double probability = Math.min(1.0, random.nextDouble() * 2 * fireRatio);
+            if (i % 2 == 0) {
+                String className = "LoadTemperatureBelow" + i + "Rule";
+                String threshold = format(-10 + 45 * probability);
+                String request = "온도가 " + threshold + "℃ 미만이면 알림";
+                variants[i] = new Variant(className, request, source(TEMPERATURE_TEMPLATE, random, className,
+                        threshold, request, TEMPERATURE_VARIABLES, "기준 온도 미만이면 알림", TEMPERATURE_MESSAGES));
+            } else {
+                String className = "LoadStockAbove" + i + "Rule";
+                String threshold = format(3200 - 700 * probability);
+                String request = "코스피가 " + threshold + "를 넘으면 알림";
+                variants[i] = new Variant(className, request, source(STOCK_TEMPLATE, random, className,
+                        threshold, request, STOCK_VARIABLES, "기준가를 넘으면 알림", STOCK_MESSAGES));
+            }
+        }
+    }
+    
+    /**
+     * 주석 유무, 변수 이름, 메시지 형식을 골라 소스를 만듭니다
+     */
+    private static String source(String template, Random random, String className, String threshold,
+                                 String request, String[] variables, String conditionComment, String[] messages) {
+        String message = messages[random.nextInt(messages.length)];
+        String imports = message.contains("Map<") ? "import java.util.Map;\n" : "";
+        String javadoc = switch (random.nextInt(3)) {
+            case 0 -> "";
+            case 1 -> "/**\n * " + request + "\n */\n";
+            default -> "/**\n * " + request + " 규칙\n * \n * 사용자 요청: \"" + request + "\"\n */\n";
+        };
+        String comment = random.nextBoolean() ? "        // " + conditionComment + "\n" : "";
+        return template.formatted(imports, javadoc, className, threshold,
+                variables[random.nextInt(variables.length)], comment, message);
+    }
+    
+    Variant get(long index) {
+        return variants[(int) Math.floorMod(index, (long) variants.length)];
+    }
+    
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+    
+    /**
+     * @param className 클래스 이름 (규칙마다 클래스 로더가 따로라 같은 이름을 여러 규칙이 써도 됩니다)
+     * @param request 이 소스를 만들었을 자연어 요청
+     * @param source Java 소스
+     */
+    record Variant(String className, String request, String source) {
+    }
+}
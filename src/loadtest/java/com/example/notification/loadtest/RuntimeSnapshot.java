@@ -0,0 +1,73 @@
+package com.example.notification.loadtest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+
+/**
+ * 한 시점의 JVM / DB / 발송 수치
+ * 
+ * @param heapUsedBytes 힙 사용량
+ * @param metaspaceUsedBytes Metaspace 사용량 (규칙 클래스와 클래스 로더가 차지)
+ * @param metaspaceCommittedBytes Metaspace 확보량 (로더별로 따로 잡는 청크의 빈 공간 포함)
+ * @param loadedClasses 현재 로드된 클래스 수
+ * @param ruleClassLoaders 규칙 클래스를 담은 로더 수
+ * @param hibernateStatements Hibernate가 준비한 누적 SQL 문 수 (JPA 경로)
+ * @param dbTransactions PostgreSQL 누적 커밋 수 (pg_stat_database, JdbcTemplate 포함 전체)
+ * @param dbRowsRead PostgreSQL 누적 읽은 행 수
+ * @param dbRowsWritten PostgreSQL 누적 INSERT/UPDATE/DELETE 행 수
+ * @param delivered 채널 워커가 발송한 누적 알림 수 (모든 채널)
+ */
+record RuntimeSnapshot(long heapUsedBytes,
+                       long metaspaceUsedBytes,
+                       long metaspaceCommittedBytes,
+                       long loadedClasses,
+                       long ruleClassLoaders,
+                       long hibernateStatements,
+                       long dbTransactions,
+                       long dbRowsRead,
+                       long dbRowsWritten,
+                       long delivered) {
+    
+    private static final String PG_STAT_SQL = """
+            SELECT xact_commit, tup_returned + tup_fetched AS rows_read,
+                   tup_inserted + tup_updated + tup_deleted AS rows_written
+            FROM pg_stat_database
+            WHERE datname = current_database()
+            """;
+    
+    static RuntimeSnapshot take(EntityManagerFactory entityManagerFactory,
+                                JdbcTemplate jdbcTemplate,
+                                MeterRegistry meterRegistry) {
+        MemoryUsage metaspace = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getName().equals("Metaspace"))
+                .map(MemoryPoolMXBean::getUsage)
+                .findFirst()
+                .orElse(new MemoryUsage(0, 0, 0, -1));
+        Map<String, Object> pgStats = jdbcTemplate.queryForMap(PG_STAT_SQL);
+        Gauge loaders = meterRegistry.find("rule.classloaders").gauge();
+        double delivered = meterRegistry.find("notification.channel.sent").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+        
+        return new RuntimeSnapshot(
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+                metaspace.getUsed(),
+                metaspace.getCommitted(),
+                ManagementFactory.getClassLoadingMXBean().getLoadedClassCount(),
+                loaders != null ? (long) loaders.value() : 0,
+                entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getPrepareStatementCount(),
+                ((Number) pgStats.get("xact_commit")).longValue(),
+                ((Number) pgStats.get("rows_read")).longValue(),
+                ((Number) pgStats.get("rows_written")).longValue(),
+                (long) delivered);
+    }
+}
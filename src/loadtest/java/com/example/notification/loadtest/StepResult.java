@@ -0,0 +1,63 @@
+package com.example.notification.loadtest;
+
+import java.util.List;
+
+/**
+ * 규칙 수 단계 하나의 측정 결과
+ * 
+ * @param rules 단계의 활성 규칙 수
+ * @param seedMillis 규칙 행 INSERT 시간
+ * @param cacheFillMillis 새로 넣은 규칙을 모두 컴파일해 캐시에 올린 시간
+ * @param compileFailures 캐시 적재 중 실패한 규칙 수
+ * @param tickMillis tick별 실행 시간 (캐시가 찬 뒤)
+ * @param evaluationsPerSecond tick 동안의 초당 평가 규칙 수
+ * @param notificationsDelivered 채널 워커가 발송한 알림 수 (아웃박스 비울 때까지)
+ * @param deliveredPerSecond 첫 tick 시작부터 발송이 끝날 때까지의 초당 발송 수
+ * @param clientFramesReceived WebSocket 클라이언트가 받은 프레임 수
+ * @param hibernateStatementsPerTick tick당 Hibernate SQL 문 수 (API 트래픽 포함)
+ * @param dbTransactions 측정 구간의 PostgreSQL 커밋 수
+ * @param dbRowsRead 측정 구간의 읽은 행 수
+ * @param dbRowsWritten 측정 구간의 쓴 행 수
+ * @param ruleTableKb notification_rules 크기 (인덱스, TOAST 포함)
+ * @param sourceTableKb rule_sources 크기 (인덱스, TOAST 포함)
+ * @param ruleSources 서로 다른 규칙 소스 수
+ * @param ruleScanMillis 규칙 전체를 소스와 함께 읽고 압축을 푸는 시간
+ * @param heapUsedMb GC 직후 힙 사용량
+ * @param metaspaceUsedMb Metaspace 사용량
+ * @param metaspaceCommittedMb Metaspace 확보량
+ * @param loadedClasses 로드된 클래스 수
+ * @param ruleClassLoaders 규칙 클래스를 담은 로더 수
+ * @param api 같은 구간의 REST API 호출 결과
+ */
+record StepResult(int rules,
+                  long seedMillis,
+                  long cacheFillMillis,
+                  int compileFailures,
+                  List<Long> tickMillis,
+                  double evaluationsPerSecond,
+                  long notificationsDelivered,
+                  double deliveredPerSecond,
+                  long clientFramesReceived,
+                  long hibernateStatementsPerTick,
+                  long dbTransactions,
+                  long dbRowsRead,
+                  long dbRowsWritten,
+                  long ruleTableKb,
+                  long sourceTableKb,
+                  long ruleSources,
+                  long ruleScanMillis,
+                  long heapUsedMb,
+                  long metaspaceUsedMb,
+                  long metaspaceCommittedMb,
+                  long loadedClasses,
+                  long ruleClassLoaders,
+                  ApiTrafficGenerator.ApiStats api) {
+    
+    long tickMeanMillis() {
+        return (long) tickMillis.stream().mapToLong(Long::longValue).average().orElse(0);
+    }
+    
+    long tickMaxMillis() {
+        return tickMillis.stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.notification.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 사용자별로 접속해 알림을 구독하는 모의 WebSocket(STOMP) 클라이언트 묶음
+ */
+@Slf4j
+class StompClientFleet implements AutoCloseable {
+    
+    private static final String DESTINATION = "/user/queue/notifications";
+    
+    private final WebSocketStompClient stompClient;
+    private final List<StompSession> sessions = new ArrayList<>();
+    private final LongAdder received = new LongAdder();
+    
+    StompClientFleet() {
+        this.stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+    }
+    
+    /**
+     * 앞쪽 사용자부터 clients명을 접속시킵니다
+     */
+    void connect(int port, int clients) throws Exception {
+        StompFrameHandler counter = new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+            
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.increment();
+            }
+        };
+        
+        for (int i = 0; i < clients; i++) {
+            String url = "http://localhost:" + port + "/ws?userId=" + RuleSeeder.userId(i);
+            StompSession session = stompClient.connectAsync(url, new StompSessionHandlerAdapter() {})
+                    .get(10, TimeUnit.SECONDS);
+            session.subscribe(DESTINATION, counter);
+            sessions.add(session);
+        }
+        log.info("WebSocket 클라이언트 {}명 접속", sessions.size());
+    }
+    
+    /**
+     * 지금까지 받은 알림 프레임 수
+     */
+    long received() {
+        return received.sum();
+    }
+    
+    @Override
+    public void close() {
+        for (StompSession session : sessions) {
+            if (session.isConnected()) {
+                session.disconnect();
+            }
+        }
+        stompClient.stop();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.notification.loadtest;
+
+import com.example.notification.config.ClaudeConfig;
+import com.example.notification.service.ClaudeApiService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 네트워크 없이 샘플 규칙 변형을 돌려주는 Claude API 대역
+ * 
+ * 요청 내용과 관계없이 변형을 차례로 돌려줍니다.
+ */
+class StubClaudeApiService extends ClaudeApiService {
+    
+    private final RuleVariants variants;
+    private final AtomicLong sequence = new AtomicLong();
+    
+    StubClaudeApiService(ClaudeConfig claudeConfig,
+                         WebClient.Builder webClientBuilder,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         RuleVariants variants) {
+        super(claudeConfig, webClientBuilder, objectMapper, meterRegistry);
+        this.variants = variants;
+    }
+    
+    @Override
+    public String generateRuleCode(String naturalLanguageRequest) {
+        return variants.get(sequence.getAndIncrement()).source();
+    }
+}
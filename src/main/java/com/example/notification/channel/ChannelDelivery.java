@@ -0,0 +1,26 @@
+package com.example.notification.channel;
+
+import com.example.notification.dto.NotificationMessage;
+
+/**
+ * 채널 하나로 보낼 알림과 수신 주소
+ * 
+ * @param message 알림
+ * @param address 채널별 수신 주소 (WebSocket: 사용하지 않음, 항상 알림의 사용자 ID로 보냄, EMAIL: 메일 주소, PUSH: 디바이스 토큰, SMS: 전화번호)
+ * @param receipt 발송 결과를 받을 추적기, 결과가 필요 없으면 null
+ */
+public record ChannelDelivery(NotificationMessage message, String address, DeliveryReceipt receipt) {
+    
+    public ChannelDelivery(NotificationMessage message, String address) {
+        this(message, address, null);
+    }
+    
+    /**
+     * 이 채널의 발송 결과를 추적기에 알립니다
+     */
+    void complete(boolean success) {
+        if (receipt != null) {
+            receipt.complete(success);
+        }
+    }
+}
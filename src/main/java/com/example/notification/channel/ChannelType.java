@@ -0,0 +1,11 @@
+package com.example.notification.channel;
+
+/**
+ * 알림 발송 채널 종류
+ */
+public enum ChannelType {
+    WEBSOCKET,
+    EMAIL,
+    PUSH,
+    SMS
+}
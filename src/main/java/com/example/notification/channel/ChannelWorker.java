@@ -0,0 +1,170 @@
+package com.example.notification.channel;
+
+import com.example.notification.config.NotificationConfig;
+import com.example.notification.diagnostics.NotificationDispatchEvent;
+import com.example.notification.dto.NotificationMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 채널 전용 워커
+ * 
+ * 채널 하나에 전용 스레드 풀, 제한된 대기열, 배치 분할, 속도 제한, 재시도를 묶습니다.
+ */
+@Slf4j
+class ChannelWorker {
+    
+    private final NotificationChannel channel;
+    private final NotificationConfig.Channel config;
+    private final ThreadPoolExecutor executor;
+    private final RateLimiter rateLimiter;
+    
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter retriedCounter;
+    private final Counter rejectedCounter;
+    private final Timer latency;
+    
+    ChannelWorker(NotificationChannel channel, NotificationConfig.Channel config, MeterRegistry meterRegistry) {
+        this.channel = channel;
+        this.config = config;
+        this.rateLimiter = new RateLimiter(config.getRatePerSecond());
+        
+        String name = channel.getType().name().toLowerCase();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                config.getThreads(), config.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "channel-" + name + "-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        
+        this.sentCounter = meterRegistry.counter("notification.channel.sent", "channel", name);
+        this.failedCounter = meterRegistry.counter("notification.channel.failed", "channel", name);
+        this.retriedCounter = meterRegistry.counter("notification.channel.retried", "channel", name);
+        this.rejectedCounter = meterRegistry.counter("notification.channel.rejected", "channel", name);
+        this.latency = Timer.builder("notification.channel.latency")
+                .tag("channel", name)
+                .description("알림 생성부터 채널 발송 완료까지의 지연")
+                .register(meterRegistry);
+        Gauge.builder("notification.channel.queue.depth", executor, e -> e.getQueue().size())
+                .tag("channel", name)
+                .register(meterRegistry);
+    }
+    
+    ChannelType getType() {
+        return channel.getType();
+    }
+    
+    /**
+     * 알림을 배치 크기로 나눠 채널 대기열에 넣습니다
+     * 
+     * @return 모든 배치가 대기열에 들어가면 true
+     */
+    boolean submit(List<ChannelDelivery> deliveries) {
+        boolean accepted = true;
+        for (int from = 0; from < deliveries.size(); from += config.getBatchSize()) {
+            List<ChannelDelivery> chunk = List.copyOf(
+                    deliveries.subList(from, Math.min(from + config.getBatchSize(), deliveries.size())));
+            try {
+                executor.execute(() -> sendWithRetry(chunk));
+            } catch (RejectedExecutionException e) {
+                rejectedCounter.increment(chunk.size());
+                complete(chunk, false);
+                log.warn("{} 채널 대기열이 가득 차 알림을 버립니다: {}건", channel.getType(), chunk.size());
+                accepted = false;
+            }
+        }
+        return accepted;
+    }
+    
+    private void sendWithRetry(List<ChannelDelivery> chunk) {
+        rateLimiter.acquire(chunk.size());
+        
+        NotificationDispatchEvent event = new NotificationDispatchEvent();
+        event.begin();
+        try {
+            sendWithRetry(chunk, event);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setChannel(channel.getType().name().toLowerCase());
+                event.setBatchSize(chunk.size());
+                if (chunk.size() == 1) {
+                    NotificationMessage message = chunk.get(0).message();
+                    event.setUserId(message.getUserId());
+                    if (message.getRuleId() != null) {
+                        event.setRuleId(message.getRuleId());
+                    }
+                }
+                event.commit();
+            }
+        }
+    }
+    
+    private void sendWithRetry(List<ChannelDelivery> chunk, NotificationDispatchEvent event) {
+        long backoff = config.getRetryBackoffMs();
+        for (int attempt = 1; ; attempt++) {
+            event.setAttempts(attempt);
+            try {
+                channel.send(chunk);
+                event.setDelivered(true);
+                sentCounter.increment(chunk.size());
+                long now = System.currentTimeMillis();
+                for (ChannelDelivery delivery : chunk) {
+                    latency.record(now - delivery.message().getCreatedAt(), TimeUnit.MILLISECONDS);
+                }
+                complete(chunk, true);
+                return;
+            
+            } catch (Exception e) {
+                if (attempt >= config.getMaxAttempts()) {
+                    failedCounter.increment(chunk.size());
+                    log.error("{} 채널 발송 실패 ({}회 시도): {}건", channel.getType(), attempt, chunk.size(), e);
+                    complete(chunk, false);
+                    return;
+                }
+                retriedCounter.increment();
+                log.warn("{} 채널 발송 재시도 {}/{}: {}", channel.getType(), attempt, config.getMaxAttempts(), e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    failedCounter.increment(chunk.size());
+                    complete(chunk, false);
+                    return;
+                }
+                backoff *= 2;
+            }
+        }
+    }
+    
+    private static void complete(List<ChannelDelivery> chunk, boolean success) {
+        for (ChannelDelivery delivery : chunk) {
+            delivery.complete(success);
+        }
+    }
+    
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("{} 채널 워커가 제시간에 종료되지 않았습니다: 대기 {}건",
+                    channel.getType(), executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.notification.channel;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 채널 발송 결과 추적
+ * 
+ * 알림 하나가 여러 채널로 나뉘어 발송될 때 모든 채널의 결과를 모아 한 번만 완료합니다.
+ * 모든 채널이 {@code channel.send}에 성공하면 true, 하나라도 최종 실패하거나 대기열에서 거부되면 false로 완료됩니다.
+ */
+public final class DeliveryReceipt {
+    
+    private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+    private final AtomicInteger remaining;
+    private volatile boolean failed;
+    
+    DeliveryReceipt(int deliveries) {
+        this.remaining = new AtomicInteger(deliveries);
+        if (deliveries == 0) {
+            result.complete(true);
+        }
+    }
+    
+    void complete(boolean success) {
+        if (!success) {
+            failed = true;
+        }
+        if (remaining.decrementAndGet() == 0) {
+            result.complete(!failed);
+        }
+    }
+    
+    CompletableFuture<Boolean> result() {
+        return result;
+    }
+}
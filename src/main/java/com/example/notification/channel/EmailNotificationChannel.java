@@ -0,0 +1,60 @@
+package com.example.notification.channel;
+
+import com.example.notification.config.NotificationConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 이메일 채널
+ * 
+ * spring.mail.host가 설정되어 JavaMailSender가 있으면 SMTP로 배치 발송하고,
+ * 없으면 {@link InMemoryNotificationSink}에 기록합니다.
+ */
+@Component
+public class EmailNotificationChannel implements NotificationChannel {
+    
+    private static final String SUBJECT = "[AI 알림] 새 알림이 도착했습니다";
+    
+    private final ObjectProvider<JavaMailSender> mailSenderProvider;
+    private final InMemoryNotificationSink sink;
+    private final NotificationConfig.Channel config;
+    
+    public EmailNotificationChannel(ObjectProvider<JavaMailSender> mailSenderProvider,
+                                    InMemoryNotificationSink sink,
+                                    NotificationConfig notificationConfig) {
+        this.mailSenderProvider = mailSenderProvider;
+        this.sink = sink;
+        this.config = notificationConfig.getEmail();
+    }
+    
+    @Override
+    public ChannelType getType() {
+        return ChannelType.EMAIL;
+    }
+    
+    @Override
+    public void send(List<ChannelDelivery> deliveries) {
+        JavaMailSender mailSender = mailSenderProvider.getIfAvailable();
+        if (mailSender == null) {
+            sink.accept(getType(), deliveries);
+            return;
+        }
+        
+        // 배치 전체를 하나의 SMTP 연결로 발송
+        SimpleMailMessage[] messages = deliveries.stream()
+                .map(delivery -> {
+                    SimpleMailMessage mail = new SimpleMailMessage();
+                    mail.setFrom(config.getFrom());
+                    mail.setTo(delivery.address());
+                    mail.setSubject(SUBJECT);
+                    mail.setText(delivery.message().getMessage());
+                    return mail;
+                })
+                .toArray(SimpleMailMessage[]::new);
+        mailSender.send(messages);
+    }
+}
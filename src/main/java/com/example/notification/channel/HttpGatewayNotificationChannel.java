@@ -0,0 +1,55 @@
+package com.example.notification.channel;
+
+import com.example.notification.config.NotificationConfig;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTP 게이트웨이로 배치를 전달하는 채널의 공통 구현 (Push, SMS)
+ * 
+ * 엔드포인트가 비어 있으면 {@link InMemoryNotificationSink}에 기록합니다.
+ */
+abstract class HttpGatewayNotificationChannel implements NotificationChannel {
+    
+    private final NotificationConfig.Channel config;
+    private final InMemoryNotificationSink sink;
+    private final WebClient webClient;
+    
+    protected HttpGatewayNotificationChannel(NotificationConfig.Channel config,
+                                             InMemoryNotificationSink sink,
+                                             WebClient.Builder webClientBuilder) {
+        this.config = config;
+        this.sink = sink;
+        this.webClient = config.getEndpoint() == null || config.getEndpoint().isBlank()
+                ? null
+                : webClientBuilder.clone().baseUrl(config.getEndpoint()).build();
+    }
+    
+    @Override
+    public void send(List<ChannelDelivery> deliveries) {
+        if (webClient == null) {
+            sink.accept(getType(), deliveries);
+            return;
+        }
+        
+        // 배치 전체를 한 번의 요청으로 전달
+        List<Map<String, Object>> body = deliveries.stream()
+                .map(delivery -> Map.<String, Object>of(
+                        "to", delivery.address(),
+                        "from", config.getFrom() != null ? config.getFrom() : "",
+                        "userId", delivery.message().getUserId(),
+                        "message", delivery.message().getMessage()))
+                .toList();
+        
+        webClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .toBodilessEntity()
+                .block(Duration.ofMillis(config.getSendTimeoutMs()));
+    }
+}
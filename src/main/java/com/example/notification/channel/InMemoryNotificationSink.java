@@ -0,0 +1,48 @@
+package com.example.notification.channel;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 프로세스 내 알림 싱크
+ * 
+ * 실제 SMTP 서버나 푸시/SMS 제공자가 설정되지 않았을 때 Email/Push/SMS 채널이
+ * 발송 대신 여기에 기록합니다. 로컬 실행과 테스트에서 외부 연동 없이 발송 결과를 확인하는 용도입니다.
+ */
+@Component
+@Slf4j
+public class InMemoryNotificationSink {
+    
+    private static final int MAX_RETAINED = 1000;
+    
+    private final Map<ChannelType, Deque<ChannelDelivery>> received = new EnumMap<>(ChannelType.class);
+    
+    public synchronized void accept(ChannelType channel, List<ChannelDelivery> deliveries) {
+        Deque<ChannelDelivery> retained = received.computeIfAbsent(channel, k -> new ArrayDeque<>());
+        for (ChannelDelivery delivery : deliveries) {
+            if (retained.size() >= MAX_RETAINED) {
+                retained.pollFirst();
+            }
+            retained.addLast(delivery);
+        }
+        log.debug("{} 싱크 수신: {}건", channel, deliveries.size());
+    }
+    
+    /**
+     * 채널별로 받은 알림 (최근 순서대로 최대 1000건)
+     */
+    public synchronized List<ChannelDelivery> getReceived(ChannelType channel) {
+        Deque<ChannelDelivery> retained = received.get(channel);
+        return retained == null ? List.of() : List.copyOf(retained);
+    }
+    
+    public synchronized void clear() {
+        received.clear();
+    }
+}
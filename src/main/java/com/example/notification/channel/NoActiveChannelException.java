@@ -0,0 +1,23 @@
+package com.example.notification.channel;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * 사용자에게 이 노드에서 켜진 채널이 하나도 없어 알림을 보낼 곳이 없음을 알리는 예외
+ * 
+ * 발송 실패와 달리 다시 시도해도 결과가 같으므로, 아웃박스는 이 결과를 재시도하지 않고 SKIPPED로 남깁니다.
+ */
+public class NoActiveChannelException extends RuntimeException {
+    
+    public NoActiveChannelException(String userId) {
+        super("켜진 알림 채널이 없습니다: userId=" + userId);
+    }
+    
+    /**
+     * 발송 결과의 예외가 이 예외이면 반환합니다 (CompletableFuture 단계를 거치며 감싸진 경우 포함)
+     */
+    public static NoActiveChannelException causeOf(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof NoActiveChannelException noActiveChannel ? noActiveChannel : null;
+    }
+}
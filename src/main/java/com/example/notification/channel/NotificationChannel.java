@@ -0,0 +1,26 @@
+package com.example.notification.channel;
+
+import java.util.List;
+
+/**
+ * 알림 발송 채널 SPI
+ * 
+ * 구현체는 Spring 빈으로 등록하면 {@link NotificationChannelRouter}가 찾아서
+ * 채널 전용 워커(스레드 풀, 배치, 속도 제한, 재시도)에 연결합니다.
+ */
+public interface NotificationChannel {
+    
+    /**
+     * 채널 종류
+     */
+    ChannelType getType();
+    
+    /**
+     * 알림 배치를 발송합니다
+     * 
+     * 예외를 던지면 워커가 재시도 정책에 따라 배치 전체를 다시 보냅니다.
+     * 
+     * @param deliveries 같은 채널로 보낼 알림 배치 (batch-size 이하)
+     */
+    void send(List<ChannelDelivery> deliveries) throws Exception;
+}
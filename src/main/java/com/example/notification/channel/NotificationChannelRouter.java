@@ -0,0 +1,122 @@
+package com.example.notification.channel;
+
+import com.example.notification.config.NotificationConfig;
+import com.example.notification.dto.ChannelPreference;
+import com.example.notification.dto.NotificationMessage;
+import com.example.notification.service.UserChannelPreferenceService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 채널 라우터
+ * 
+ * 사용자별 채널 설정에 따라 알림을 채널별로 나누고, 각 채널 전용 워커에 넘깁니다.
+ * 워커는 서로 독립된 스레드 풀을 쓰므로 느린 SMTP/SMS 제공자가 WebSocket 발송을 막지 않습니다.
+ * 켜진 채널이 하나도 없는 사용자의 알림은 notification.channel.unroutable로 셉니다.
+ */
+@Service
+@Slf4j
+public class NotificationChannelRouter {
+    
+    private final UserChannelPreferenceService preferenceService;
+    private final Map<ChannelType, ChannelWorker> workers = new EnumMap<>(ChannelType.class);
+    private final Counter unroutableCounter;
+    
+    public NotificationChannelRouter(List<NotificationChannel> channels,
+                                     NotificationConfig notificationConfig,
+                                     UserChannelPreferenceService preferenceService,
+                                     MeterRegistry meterRegistry) {
+        this.preferenceService = preferenceService;
+        this.unroutableCounter = Counter.builder("notification.channel.unroutable")
+                .description("켜진 채널이 없어 보낼 곳이 없는 알림 수")
+                .register(meterRegistry);
+        
+        for (NotificationChannel channel : channels) {
+            NotificationConfig.Channel config = notificationConfig.getChannel(channel.getType());
+            if (config.isEnabled()) {
+                workers.put(channel.getType(), new ChannelWorker(channel, config, meterRegistry));
+            }
+        }
+        log.info("활성 알림 채널: {}", workers.keySet());
+    }
+    
+    /**
+     * 알림 배치를 채널별로 나눠 각 채널 워커의 대기열에 넣습니다
+     * 
+     * @return 모든 채널이 알림을 받아들였으면 true
+     */
+    public boolean route(List<NotificationMessage> messages) {
+        return submit(group(messages));
+    }
+    
+    /**
+     * 알림 하나를 채널별로 넘기고, 모든 채널의 실제 발송 결과를 돌려받습니다
+     * 
+     * 결과는 각 채널의 {@code send}가 성공하거나 재시도 끝에 최종 실패한 뒤에 완료됩니다.
+     * 대기열에서 거부된 채널은 즉시 실패로 처리합니다.
+     * 
+     * @return 모든 채널이 발송에 성공하면 true로 완료되는 결과,
+     *         보낼 채널이 없으면 {@link NoActiveChannelException}으로 바로 완료됩니다
+     */
+    public CompletableFuture<Boolean> routeTracked(NotificationMessage message) {
+        List<ChannelPreference> preferences = preferenceService.getActiveChannels(message.getUserId()).stream()
+                .filter(preference -> workers.containsKey(preference.getChannel()))
+                .toList();
+        if (preferences.isEmpty()) {
+            unroutableCounter.increment();
+            return CompletableFuture.failedFuture(new NoActiveChannelException(message.getUserId()));
+        }
+        DeliveryReceipt receipt = new DeliveryReceipt(preferences.size());
+        
+        Map<ChannelType, List<ChannelDelivery>> byChannel = new EnumMap<>(ChannelType.class);
+        for (ChannelPreference preference : preferences) {
+            byChannel.computeIfAbsent(preference.getChannel(), k -> new ArrayList<>())
+                    .add(new ChannelDelivery(message, preference.getAddress(), receipt));
+        }
+        submit(byChannel);
+        return receipt.result();
+    }
+    
+    private Map<ChannelType, List<ChannelDelivery>> group(List<NotificationMessage> messages) {
+        Map<ChannelType, List<ChannelDelivery>> byChannel = new EnumMap<>(ChannelType.class);
+        
+        for (NotificationMessage message : messages) {
+            boolean routed = false;
+            for (ChannelPreference preference : preferenceService.getActiveChannels(message.getUserId())) {
+                if (workers.containsKey(preference.getChannel())) {
+                    byChannel.computeIfAbsent(preference.getChannel(), k -> new ArrayList<>())
+                            .add(new ChannelDelivery(message, preference.getAddress()));
+                    routed = true;
+                }
+            }
+            if (!routed) {
+                unroutableCounter.increment();
+            }
+        }
+        return byChannel;
+    }
+    
+    private boolean submit(Map<ChannelType, List<ChannelDelivery>> byChannel) {
+        boolean accepted = true;
+        for (Map.Entry<ChannelType, List<ChannelDelivery>> entry : byChannel.entrySet()) {
+            accepted &= workers.get(entry.getKey()).submit(entry.getValue());
+        }
+        return accepted;
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ChannelWorker worker : workers.values()) {
+            worker.shutdown();
+        }
+    }
+}
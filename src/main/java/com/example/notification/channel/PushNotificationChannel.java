@@ -0,0 +1,23 @@
+package com.example.notification.channel;
+
+import com.example.notification.config.NotificationConfig;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * 모바일 푸시 채널
+ */
+@Component
+public class PushNotificationChannel extends HttpGatewayNotificationChannel {
+    
+    public PushNotificationChannel(NotificationConfig notificationConfig,
+                                   InMemoryNotificationSink sink,
+                                   WebClient.Builder webClientBuilder) {
+        super(notificationConfig.getPush(), sink, webClientBuilder);
+    }
+    
+    @Override
+    public ChannelType getType() {
+        return ChannelType.PUSH;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.notification.channel;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 초당 허용량 기반 속도 제한기
+ * 
+ * 다음 허용 시각을 앞으로 밀어 두는 방식으로 요청을 고르게 펼칩니다.
+ * permitsPerSecond가 0 이하이면 제한하지 않습니다.
+ */
+public class RateLimiter {
+    
+    private final long intervalNanos;
+    private long nextFreeNanos;
+    
+    public RateLimiter(double permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond > 0
+                ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond)
+                : 0;
+        this.nextFreeNanos = System.nanoTime();
+    }
+    
+    /**
+     * 허용량을 얻을 때까지 대기합니다
+     */
+    public void acquire(int permits) {
+        if (intervalNanos == 0) {
+            return;
+        }
+        long waitNanos = reserve(permits);
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+        }
+    }
+    
+    private synchronized long reserve(int permits) {
+        long now = System.nanoTime();
+        if (nextFreeNanos < now) {
+            nextFreeNanos = now;
+        }
+        long waitNanos = nextFreeNanos - now;
+        nextFreeNanos += permits * intervalNanos;
+        return waitNanos;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.notification.channel;
+
+import com.example.notification.config.NotificationConfig;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * SMS 채널
+ */
+@Component
+public class SmsNotificationChannel extends HttpGatewayNotificationChannel {
+    
+    public SmsNotificationChannel(NotificationConfig notificationConfig,
+                                  InMemoryNotificationSink sink,
+                                  WebClient.Builder webClientBuilder) {
+        super(notificationConfig.getSms(), sink, webClientBuilder);
+    }
+    
+    @Override
+    public ChannelType getType() {
+        return ChannelType.SMS;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.notification.channel;
+
+import com.example.notification.dto.NotificationMessage;
+import com.example.notification.service.ClusterMessageBus;
+import com.example.notification.service.ClusterSessionRegistry;
+import com.example.notification.service.NotificationDigestService;
+import com.example.notification.service.OfflineNotificationBuffer;
+import com.example.notification.service.RemoteNotificationsEvent;
+import com.example.notification.service.RemotePresenceEvent;
+import com.example.notification.service.WebSocketPresenceTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebSocket(STOMP) 채널
+ * 
+ * 접속하지 않은 사용자의 알림은 브로커로 보내지 않고 재접속 버퍼에 보관했다가,
+ * 사용자가 알림 목적지를 다시 구독하면 재전송합니다.
+ * 
+ * 클러스터 모드에서는 다른 노드에 접속한 사용자의 알림을 그 노드로 넘기고,
+ * 다른 노드에서 사용자가 구독하면 이 노드에 보관 중인 알림도 그쪽으로 넘깁니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebSocketNotificationChannel implements NotificationChannel {
+    
+    private static final String DESTINATION = "/queue/notifications";
+    private static final String SUBSCRIPTION = "/user" + DESTINATION;
+    
+    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketPresenceTracker presenceTracker;
+    private final OfflineNotificationBuffer offlineBuffer;
+    private final ClusterSessionRegistry clusterRegistry;
+    private final ClusterMessageBus messageBus;
+    
+    /**
+     * 다이제스트 서비스 → 발송 파이프라인 → 채널 라우터 → 이 채널로 이어지는 생성자 순환을 피하려고 지연 조회합니다
+     */
+    private final ObjectProvider<NotificationDigestService> digestServiceProvider;
+    
+    @Override
+    public ChannelType getType() {
+        return ChannelType.WEBSOCKET;
+    }
+    
+    /**
+     * 수신자는 항상 알림의 사용자 ID입니다
+     * 채널 설정의 주소는 사용자가 바꿀 수 있으므로, 그 값으로 보내면 다른 사용자에게 알림이 갈 수 있습니다.
+     */
+    @Override
+    public void send(List<ChannelDelivery> deliveries) {
+        List<NotificationMessage> notLocal = new ArrayList<>();
+        for (ChannelDelivery delivery : deliveries) {
+            NotificationMessage message = delivery.message();
+            if (presenceTracker.isOnline(message.getUserId())) {
+                sendToUser(message.getUserId(), message);
+            } else {
+                notLocal.add(message);
+            }
+        }
+        if (notLocal.isEmpty()) {
+            return;
+        }
+        if (!clusterRegistry.isEnabled()) {
+            notLocal.forEach(offlineBuffer::add);
+            return;
+        }
+        
+        // 다른 노드에 접속한 사용자는 노드별로 묶어 한 번에 넘깁니다
+        Map<String, List<String>> nodesByUser = clusterRegistry.findRemoteNodes(
+                notLocal.stream().map(NotificationMessage::getUserId).distinct().toList());
+        Map<String, List<NotificationMessage>> messagesByNode = new HashMap<>();
+        
+        for (NotificationMessage message : notLocal) {
+            List<String> nodes = nodesByUser.get(message.getUserId());
+            if (nodes == null) {
+                offlineBuffer.add(message);
+                continue;
+            }
+            for (String nodeId : nodes) {
+                messagesByNode.computeIfAbsent(nodeId, key -> new ArrayList<>()).add(message);
+            }
+        }
+        // 다른 노드로 넘기지 못한 알림은 이 노드에 보관해, 이미 보낸 알림이 재시도로 중복되지 않게 함
+        messagesByNode.forEach((nodeId, messages) -> messageBus.send(nodeId, messages).forEach(offlineBuffer::add));
+    }
+    
+    /**
+     * 다른 노드가 넘긴 알림을 이 노드의 세션으로 보냅니다
+     * 그 사이 접속이 끊겼으면 이 노드에 보관합니다.
+     */
+    @EventListener
+    public void onRemoteNotifications(RemoteNotificationsEvent event) {
+        for (NotificationMessage message : event.messages()) {
+            if (presenceTracker.isOnline(message.getUserId())) {
+                sendToUser(message.getUserId(), message);
+            } else {
+                offlineBuffer.add(message);
+            }
+        }
+    }
+    
+    /**
+     * 다른 노드에서 사용자가 구독하면 이 노드에 보관된 알림을 그 노드로 넘깁니다
+     */
+    @EventListener
+    public void onRemotePresence(RemotePresenceEvent event) {
+        List<NotificationMessage> buffered = offlineBuffer.drain(event.userId());
+        if (buffered.isEmpty()) {
+            return;
+        }
+        log.info("보관된 알림을 다른 노드로 전달: userId={}, nodeId={}, count={}",
+                event.userId(), event.nodeId(), buffered.size());
+        messageBus.send(event.nodeId(), buffered).forEach(offlineBuffer::add);
+    }
+    
+    /**
+     * 사용자가 알림 목적지를 구독하면 보관된 알림을 재전송합니다
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        Principal user = event.getUser();
+        Object destination = event.getMessage().getHeaders().get("simpDestination");
+        if (user == null || !SUBSCRIPTION.equals(destination)) {
+            return;
+        }
+        
+        List<NotificationMessage> buffered = offlineBuffer.drain(user.getName());
+        if (buffered.isEmpty()) {
+            return;
+        }
+        
+        log.info("보관된 알림 재전송: userId={}, count={}", user.getName(), buffered.size());
+        NotificationDigestService digestService = digestServiceProvider.getObject();
+        if (digestService.isEnabled() && buffered.size() > 1) {
+            sendToUser(user.getName(), digestService.coalesce(user.getName(), buffered));
+        } else {
+            buffered.forEach(message -> sendToUser(user.getName(), message));
+        }
+    }
+    
+    private void sendToUser(String userId, NotificationMessage message) {
+        // 다이제스트는 구조화된 페이로드로, 단건은 메시지 문자열로 전송
+        Object payload = message.getDigest() != null ? message.getDigest() : message.getMessage();
+        messagingTemplate.convertAndSendToUser(userId, DESTINATION, payload);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 클러스터(다중 노드) 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cluster")
+@Data
+public class ClusterConfig {
+    
+    /**
+     * 노드 간 WebSocket 라우팅 사용 여부
+     */
+    private boolean enabled;
+    
+    /**
+     * 노드 식별자, 비어 있으면 pid@host를 사용합니다
+     */
+    private String nodeId;
+    
+    /**
+     * 노드 생존 신호 주기 (밀리초)
+     */
+    private long heartbeatIntervalMs = 5000;
+    
+    /**
+     * 이 시간 동안 생존 신호가 없는 노드는 죽은 것으로 봅니다 (밀리초)
+     */
+    private long nodeTtlMs = 20000;
+    
+    /**
+     * 사용자 → 노드 조회 결과 캐시 유효 시간 (밀리초)
+     */
+    private long registryCacheTtlMs = 2000;
+    
+    /**
+     * 노드 간 전달 메시지 하나의 최대 크기 (UTF-8 바이트), PostgreSQL NOTIFY 페이로드 한도(8000) 이하
+     */
+    private int maxPayloadBytes = 7500;
+    
+    /**
+     * 규칙 평가 샤드 수 (rule_id % shardCount), 노드 수보다 충분히 크게 잡습니다
+     */
+    private int shardCount = 64;
+    
+    /**
+     * 샤드 임대 유효 시간 (밀리초), 이 시간 동안 갱신하지 못한 노드의 샤드는 다른 노드가 가져갑니다
+     */
+    private long shardLeaseMs = 30000;
+    
+    /**
+     * 샤드 임대 갱신/재분배 주기 (밀리초)
+     */
+    private long shardRebalanceIntervalMs = 5000;
+    
+    public String getNodeId() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        return nodeId;
+    }
+}
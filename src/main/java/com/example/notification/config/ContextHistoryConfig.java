@@ -0,0 +1,44 @@
+package com.example.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 컨텍스트 이력 로그 및 백테스트 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "context-history")
+@Data
+public class ContextHistoryConfig {
+    
+    /**
+     * NotificationContext 스냅샷 기록 여부
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 세그먼트 파일을 두는 디렉토리
+     */
+    private String directory = "./data/context-history";
+    
+    /**
+     * 세그먼트 하나에 담는 스냅샷 수 (파일 크기 = 행 수 × 행 너비)
+     */
+    private int segmentRows = 262144;
+    
+    /**
+     * 백테스트 병렬 스레드 수, 0이면 CPU 코어 수
+     */
+    private int backtestThreads;
+    
+    /**
+     * 백테스트 작업 단위 (스냅샷 수)
+     */
+    private int backtestChunkRows = 65536;
+    
+    /**
+     * 백테스트 응답에 담는 최대 발생 시각 수
+     */
+    private int maxFireTimestamps = 1000;
+}
@@ -0,0 +1,49 @@
+package com.example.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 필요할 때 시작하는 JFR(JDK Flight Recorder) 기록 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "diagnostics.jfr")
+@Data
+public class FlightRecordingConfig {
+    
+    /**
+     * 기록 파일(.jfr)을 두는 디렉토리
+     */
+    private String directory = "./data/jfr";
+    
+    /**
+     * JDK 기본 이벤트 설정 이름 ("default": 약 1% 이하 부하, "profile": 더 자세하지만 부하가 큼)
+     */
+    private String settings = "default";
+    
+    /**
+     * 기록 시간을 지정하지 않았을 때의 기록 시간 (초)
+     */
+    private long defaultDurationSeconds = 60;
+    
+    /**
+     * 한 번에 요청할 수 있는 최대 기록 시간 (초)
+     */
+    private long maxDurationSeconds = 900;
+    
+    /**
+     * 기록 하나의 최대 크기 (바이트), 넘으면 오래된 데이터부터 버립니다
+     */
+    private long maxSizeBytes = 268435456;
+    
+    /**
+     * 동시에 진행할 수 있는 최대 기록 수
+     */
+    private int maxRecordings = 2;
+    
+    /**
+     * 이보다 오래 걸린 규칙 평가만 RuleEvaluation 이벤트로 기록합니다 (마이크로초)
+     */
+    private long evaluationThresholdMicros = 1000;
+}
@@ -0,0 +1,274 @@
+package com.example.notification.config;
+
+import com.example.notification.channel.ChannelType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 알림 발송 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "notification")
+@Data
+public class NotificationConfig {
+    
+    private Channel websocket = new Channel();
+    private Channel email = new Channel();
+    private Channel push = new Channel();
+    private Channel sms = new Channel();
+    
+    /**
+     * 비동기 발송 파이프라인 설정
+     */
+    private Delivery delivery = new Delivery();
+    
+    /**
+     * 트랜잭션 아웃박스 설정
+     */
+    private Outbox outbox = new Outbox();
+    
+    /**
+     * 사용자별 채널 설정 캐시
+     */
+    private Preferences preferences = new Preferences();
+    
+    /**
+     * 미접속 사용자용 재접속 버퍼 설정
+     */
+    private OfflineBuffer offlineBuffer = new OfflineBuffer();
+    
+    /**
+     * 채널 종류에 해당하는 설정을 반환합니다
+     */
+    public Channel getChannel(ChannelType type) {
+        return switch (type) {
+            case WEBSOCKET -> websocket;
+            case EMAIL -> email;
+            case PUSH -> push;
+            case SMS -> sms;
+        };
+    }
+    
+    /**
+     * 채널별 워커 설정
+     * 채널마다 독립된 스레드 풀을 사용하므로 느린 채널이 다른 채널을 막지 않습니다.
+     */
+    @Data
+    public static class Channel {
+        private boolean enabled;
+        
+        /**
+         * 채널 전용 발송 스레드 수
+         */
+        private int threads = 1;
+        
+        /**
+         * 채널 워커 대기열 크기 (배치 단위), 가득 차면 해당 채널 알림만 버립니다
+         */
+        private int queueCapacity = 1000;
+        
+        /**
+         * 한 번의 send 호출에 담을 최대 알림 수
+         */
+        private int batchSize = 50;
+        
+        /**
+         * 초당 최대 발송 수, 0이면 제한 없음
+         */
+        private double ratePerSecond;
+        
+        /**
+         * 배치당 최대 시도 횟수
+         */
+        private int maxAttempts = 3;
+        
+        /**
+         * 첫 재시도 대기 시간 (밀리초), 시도마다 두 배로 늘어납니다
+         */
+        private long retryBackoffMs = 500;
+        
+        /**
+         * send 호출 한 번의 최대 대기 시간 (밀리초), HTTP 게이트웨이 채널(push/sms)에 적용됩니다
+         */
+        private long sendTimeoutMs = 10000;
+        
+        /**
+         * 외부 발송 엔드포인트 (push/sms), 비어 있으면 프로세스 내 싱크로 보냅니다
+         */
+        private String endpoint;
+        
+        /**
+         * 발신자 (email: 보내는 주소, sms: 발신 번호)
+         */
+        private String from;
+        
+        /**
+         * 배치 하나가 모든 시도를 소진하는 데 걸리는 최악의 시간 (밀리초)
+         * 
+         * 매 시도가 sendTimeoutMs까지 걸리고 그 사이 재시도 대기(두 배씩 증가)를 모두 더한 값입니다.
+         */
+        public long worstCaseRetryMs() {
+            int attempts = Math.max(1, maxAttempts);
+            return attempts * sendTimeoutMs + retryBackoffMs * ((1L << (attempts - 1)) - 1);
+        }
+    }
+    
+    @Data
+    public static class OfflineBuffer {
+        
+        /**
+         * 사용자별 최대 보관 알림 수, 넘으면 가장 오래된 알림부터 버립니다
+         */
+        private int capacityPerUser = 50;
+        
+        /**
+         * 버퍼를 가질 수 있는 최대 사용자 수
+         */
+        private int maxUsers = 10000;
+        
+        /**
+         * 보관 기간 (밀리초), 지난 알림은 재전송하지 않습니다
+         */
+        private long ttlMs = 86400000;
+    }
+    
+    @Data
+    public static class Preferences {
+        
+        /**
+         * 캐시 유효 시간 (밀리초)
+         */
+        private long cacheTtlMs = 60000;
+        
+        /**
+         * 캐시 최대 사용자 수, 넘으면 캐시를 비웁니다
+         */
+        private int cacheMaxSize = 100000;
+    }
+    
+    @Data
+    public static class Delivery {
+        
+        /**
+         * 발송 큐 최대 크기
+         */
+        private int queueCapacity = 10000;
+        
+        /**
+         * 전용 발송 스레드 수
+         */
+        private int senderThreads = 2;
+        
+        /**
+         * 한 번에 브로커로 플러시할 최대 메시지 수
+         */
+        private int batchSize = 100;
+        
+        /**
+         * 큐가 비어 있을 때 발송 스레드의 대기 시간 (밀리초)
+         */
+        private long pollTimeoutMs = 200;
+        
+        /**
+         * 큐가 가득 찼을 때의 처리 정책
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+        
+        /**
+         * 사용자별 다이제스트(묶음 발송) 설정
+         */
+        private Digest digest = new Digest();
+    }
+    
+    @Data
+    public static class Digest {
+        
+        /**
+         * 다이제스트 모드 사용 여부
+         */
+        private boolean enabled;
+        
+        /**
+         * 묶음 구간 (밀리초), 0이면 스케줄러 실행(tick) 단위로 묶습니다
+         */
+        private long windowMs;
+        
+        /**
+         * 다이제스트 하나에 담을 사용자별 최대 알림 수, 초과분은 개수만 요약합니다
+         */
+        private int maxItemsPerUser = 20;
+        
+        /**
+         * tick 단위 모드에서 tick 밖에서 들어온 알림을 최대로 붙잡아 두는 시간 (밀리초)
+         */
+        private long maxHoldMs = 5000;
+        
+        /**
+         * 만료된 다이제스트를 확인하는 주기 (밀리초)
+         */
+        private long flushIntervalMs = 1000;
+    }
+    
+    @Data
+    public static class Outbox {
+        
+        /**
+         * 아웃박스 사용 여부, false면 커밋 직후 발송 파이프라인으로 바로 넘깁니다
+         */
+        private boolean enabled = true;
+        
+        /**
+         * 규칙 평가 중 INSERT 배치 크기
+         */
+        private int insertBatchSize = 500;
+        
+        /**
+         * 디스패처가 한 번에 점유하는 행 수
+         */
+        private int claimBatchSize = 500;
+        
+        /**
+         * 채널 발송 결과를 기다리는 행의 최대 수, 넘으면 결과가 돌아올 때까지 점유를 멈춥니다
+         */
+        private int maxInFlight = 5000;
+        
+        /**
+         * 디스패처 실행 주기 (밀리초)
+         */
+        private long pollIntervalMs = 500;
+        
+        /**
+         * 점유 후 이 시간 안에 완료되지 않은 행은 다시 발송 대상이 됩니다 (밀리초)
+         * 
+         * 켜진 채널의 최악 재시도 시간(Channel.worstCaseRetryMs)보다 짧으면 그 두 배로 늘려 씁니다.
+         * 재시도 중인 행을 다른 노드가 회수해 중복 발송하지 않도록 하기 위함입니다.
+         */
+        private long leaseTimeoutMs = 60000;
+        
+        /**
+         * 최대 발송 시도 횟수, 도달하면 발송 실패나 lease 만료 시 FAILED로 남깁니다
+         */
+        private int maxAttempts = 5;
+        
+        /**
+         * 발송 완료 행 보관 기간 (시간)
+         */
+        private int retentionHours = 24;
+    }
+    
+    public enum OverflowPolicy {
+        /**
+         * 새로 들어온 메시지를 버립니다
+         */
+        DROP_NEWEST,
+        /**
+         * 가장 오래된 메시지를 버리고 새 메시지를 넣습니다
+         */
+        DROP_OLDEST,
+        /**
+         * 호출한 스레드에서 직접 발송합니다
+         */
+        SPILL_TO_CALLER
+    }
+}
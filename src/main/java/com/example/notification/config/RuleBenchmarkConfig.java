@@ -0,0 +1,80 @@
+package com.example.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 생성된 규칙의 활성화 전 성능 검사 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rules.benchmark")
+@Data
+public class RuleBenchmarkConfig {
+    
+    /**
+     * 규칙 생성 시 벤치마크 실행 여부
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 합성 컨텍스트 수
+     */
+    private int corpusSize = 500;
+    
+    /**
+     * 합성 컨텍스트 난수 시드 (규칙끼리 같은 코퍼스로 비교하기 위해 고정)
+     */
+    private long corpusSeed = 42;
+    
+    /**
+     * 측정 전에 코퍼스를 도는 횟수 (JIT 워밍업)
+     */
+    private int warmupPasses = 3;
+    
+    /**
+     * 측정하는 동안 코퍼스를 도는 횟수
+     */
+    private int measuredPasses = 5;
+    
+    /**
+     * 벤치마크 전체 제한 시간 (밀리초), 넘으면 예산 초과로 봅니다
+     */
+    private long timeoutMs = 5000;
+    
+    /**
+     * shouldNotify 호출 평균 지연 예산 (나노초)
+     */
+    private long maxMeanNanos = 50000;
+    
+    /**
+     * shouldNotify 호출 p99 지연 예산 (나노초)
+     */
+    private long maxP99Nanos = 1000000;
+    
+    /**
+     * getMessage 호출 평균 지연 예산 (나노초)
+     */
+    private long maxMessageMeanNanos = 200000;
+    
+    /**
+     * 호출 한 번당 평균 할당 바이트 예산
+     */
+    private long maxAllocatedBytesPerCall = 65536;
+    
+    /**
+     * 예산을 넘었을 때의 처리
+     */
+    private Action onViolation = Action.FLAG;
+    
+    public enum Action {
+        /**
+         * 규칙 생성을 거절합니다
+         */
+        REJECT,
+        /**
+         * 비활성 상태로 저장하고 검토 대상으로 표시합니다
+         */
+        FLAG
+    }
+}
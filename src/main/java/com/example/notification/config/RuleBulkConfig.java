@@ -0,0 +1,39 @@
+package com.example.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 규칙 대량 생성/활성화/비활성화 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rules.bulk")
+@Data
+public class RuleBulkConfig {
+    
+    /**
+     * 요청 하나에 담을 수 있는 최대 항목 수
+     */
+    private int maxItems = 5000;
+    
+    /**
+     * Claude API 동시 호출 수 (모든 대량 작업이 함께 씁니다)
+     */
+    private int generationConcurrency = 8;
+    
+    /**
+     * 한 번에 컴파일하고 한 트랜잭션으로 저장하는 항목 수
+     */
+    private int chunkSize = 100;
+    
+    /**
+     * 동시에 진행할 수 있는 대량 작업 수, 넘으면 429로 거절합니다
+     */
+    private int maxConcurrentJobs = 2;
+    
+    /**
+     * 응답 스트림 최대 유지 시간 (밀리초)
+     */
+    private long requestTimeoutMs = 1800000;
+}
@@ -0,0 +1,64 @@
+package com.example.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 규칙별 CPU/할당 측정 및 과부하 규칙 제한 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rules.cost")
+@Data
+public class RuleCostConfig {
+    
+    /**
+     * 규칙별 비용 측정 여부
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 평가 N번 중 한 번만 측정합니다 (1이면 매번)
+     */
+    private int sampleEvery = 16;
+    
+    /**
+     * 예산 판정 구간 (밀리초)
+     */
+    private long windowMs = 60000;
+    
+    /**
+     * 구간 안에서 판정에 필요한 최소 측정 수
+     */
+    private int minSamplesPerWindow = 5;
+    
+    /**
+     * 평가 한 번당 CPU 시간 예산 (나노초)
+     */
+    private long maxCpuNanosPerEval = 200000;
+    
+    /**
+     * 평가 한 번당 할당 바이트 예산
+     */
+    private long maxAllocatedBytesPerEval = 262144;
+    
+    /**
+     * 연속으로 이만큼의 구간에서 예산을 넘으면 제한합니다
+     */
+    private int persistentWindows = 3;
+    
+    /**
+     * 최대 감속 배수 (규칙이 N번 실행 시점 중 한 번만 평가됨), 제한할 때마다 두 배씩 늘어납니다
+     */
+    private int maxDemotionFactor = 16;
+    
+    /**
+     * 최대 감속 배수에서도 예산을 넘으면 규칙을 비활성화합니다
+     */
+    private boolean disableWhenExhausted = true;
+    
+    /**
+     * 감속된 규칙이 연속으로 이만큼의 구간에서 예산 안이면 감속 배수를 절반으로 줄입니다
+     */
+    private int recoveryWindows = 10;
+}
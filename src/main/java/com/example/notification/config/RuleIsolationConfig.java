@@ -0,0 +1,82 @@
+package com.example.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 규칙 격리 실행 설정 (별도 워커 JVM에서 규칙 평가)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rules.isolation")
+@Data
+public class RuleIsolationConfig {
+    
+    /**
+     * 격리 실행 여부, false면 규칙을 이 JVM 안에서 평가합니다
+     */
+    private boolean enabled;
+    
+    /**
+     * 워커 JVM 수 (규칙은 ID로 워커에 고정 배정)
+     */
+    private int workers = 2;
+    
+    /**
+     * 워커 최대 힙 (-Xmx)
+     */
+    private String maxHeap = "256m";
+    
+    /**
+     * 워커 최대 Metaspace (-XX:MaxMetaspaceSize)
+     */
+    private String maxMetaspace = "128m";
+    
+    /**
+     * 워커 JVM에 추가로 넘길 옵션
+     */
+    private List<String> jvmOptions = new ArrayList<>();
+    
+    /**
+     * 요청 하나에 담을 최대 규칙 수
+     */
+    private int batchSize = 5000;
+    
+    /**
+     * 워커 시작(소켓 연결)까지 기다리는 시간 (밀리초)
+     */
+    private long startupTimeoutMs = 30000;
+    
+    /**
+     * 요청 하나의 최대 처리 시간 (밀리초), 넘으면 워커를 종료하고 다시 띄웁니다
+     */
+    private long requestTimeoutMs = 30000;
+    
+    /**
+     * 상태 확인 주기 (밀리초)
+     */
+    private long healthCheckIntervalMs = 10000;
+    
+    /**
+     * 상태 확인 때 힙 사용률이 이 값을 넘으면 워커를 교체합니다 (GC 후 값이 아니므로 여유 있게)
+     */
+    private double maxHeapUsageRatio = 0.9;
+    
+    /**
+     * 상태 확인 때 Metaspace 사용량이 최대치의 이 비율을 넘으면 워커를 교체합니다
+     */
+    private double maxMetaspaceUsageRatio = 0.9;
+    
+    /**
+     * 이 시간 동안 평가하지 않은 규칙은 워커에서 내립니다 (밀리초, 비활성화/삭제된 규칙 정리)
+     */
+    private long idleUnloadMs = 3600000;
+    
+    /**
+     * 같은 규칙을 평가하다 워커가 이만큼 죽으면 규칙을 비활성화합니다
+     */
+    private int maxCrashesPerRule = 2;
+}
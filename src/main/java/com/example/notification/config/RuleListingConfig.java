@@ -0,0 +1,35 @@
+package com.example.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 규칙 목록 API 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rules.listing")
+@Data
+public class RuleListingConfig {
+    
+    /**
+     * limit을 지정하지 않았을 때의 페이지 크기
+     */
+    private int defaultPageSize = 50;
+    
+    /**
+     * 한 페이지의 최대 규칙 수
+     */
+    private int maxPageSize = 500;
+    
+    /**
+     * 사용자별 규칙 버전 캐시 유효 시간 (밀리초)
+     * 이 노드에서의 변경은 커밋 즉시 반영되고, 다른 노드에서의 변경은 최대 이 시간만큼 늦게 반영됩니다.
+     */
+    private long versionCacheTtlMs = 2000;
+    
+    /**
+     * 버전 캐시 최대 사용자 수, 넘으면 캐시를 비웁니다
+     */
+    private int versionCacheMaxSize = 100000;
+}
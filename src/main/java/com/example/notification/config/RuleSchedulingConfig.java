@@ -0,0 +1,89 @@
+package com.example.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 규칙 실행 스케줄링 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rules.scheduling")
+@Data
+public class RuleSchedulingConfig {
+    
+    /**
+     * 실행 방식
+     */
+    private Mode mode = Mode.ALIGNED;
+    
+    /**
+     * 규칙 하나의 실행 주기 (밀리초), SPREAD 모드에서 사용
+     */
+    private long intervalMs = 600000;
+    
+    /**
+     * 실행 시점을 흩뿌리는 구간 (밀리초), 주기의 앞부분 이 구간 안에 규칙별 오프셋이 놓입니다
+     * 주기와 같으면 주기 전체에 고르게 퍼집니다.
+     */
+    private long smoothingWindowMs = 600000;
+    
+    /**
+     * SPREAD 모드에서 실행할 규칙을 확인하는 주기 (밀리초)
+     */
+    private long tickMs = 1000;
+    
+    /**
+     * 외부 API 데이터(NotificationContext) 재사용 시간 (밀리초)
+     * tick마다 외부 API를 부르지 않도록 이 시간 동안은 같은 데이터로 평가합니다.
+     */
+    private long contextTtlMs = 60000;
+    
+    /**
+     * 활성 규칙 오프셋 색인을 다시 만드는 주기 (밀리초)
+     */
+    private long indexRefreshMs = 60000;
+    
+    /**
+     * 이전 tick이 끝나기 전에 다음 tick이 왔을 때의 처리 정책 (ALIGNED 모드)
+     */
+    private OverrunPolicy overrunPolicy = OverrunPolicy.COALESCE;
+    
+    /**
+     * tick 시간 예산 (밀리초), DEADLINE_DROP 정책에서 예정 시각(밀린 tick은 실제 시작 시각)부터 이 시간이 지나면 남은 규칙을 버립니다
+     */
+    private long tickBudgetMs = 480000;
+    
+    /**
+     * 실제로 쓰는 흩뿌림 구간 (1 ~ 주기)
+     */
+    public long getEffectiveWindowMs() {
+        return Math.max(1, Math.min(smoothingWindowMs, intervalMs));
+    }
+    
+    public enum Mode {
+        /**
+         * 10분 정각마다 모든 규칙을 한 번에 실행합니다
+         */
+        ALIGNED,
+        /**
+         * 규칙 ID 해시로 정한 오프셋에 맞춰 주기 안에서 나눠 실행합니다
+         */
+        SPREAD
+    }
+    
+    public enum OverrunPolicy {
+        /**
+         * 실행 중이면 새 tick을 건너뜁니다
+         */
+        SKIP,
+        /**
+         * 밀린 tick을 하나로 합쳐 이전 실행이 끝나자마자 새 데이터로 한 번 실행합니다
+         */
+        COALESCE,
+        /**
+         * tick 시간 예산이 지나면 남은 (우선순위가 낮은) 규칙을 버리고 끝내 다음 tick과 겹치지 않게 합니다
+         */
+        DEADLINE_DROP
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 규칙 소스 저장소 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rules.sources")
+@Data
+public class RuleSourceConfig {
+    
+    /**
+     * deflate 압축 수준 (1~9), 새로 저장하는 소스에만 적용됩니다
+     */
+    private int compressionLevel = 9;
+    
+    /**
+     * 참조하는 규칙이 없는 소스를 정리하는 주기 (밀리초)
+     */
+    private long purgeIntervalMs = 3600000;
+    
+    /**
+     * 마지막으로 쓰인 뒤 이 시간이 지난 소스만 정리합니다 (밀리초)
+     */
+    private long purgeGraceMs = 86400000;
+}
@@ -0,0 +1,50 @@
+package com.example.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 규칙 실행 통계 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rules.stats")
+@Data
+public class RuleStatsConfig {
+    
+    /**
+     * 메모리에 모은 증분을 원본 표에 쓰는 주기 (밀리초)
+     */
+    private long flushIntervalMs = 60000;
+    
+    /**
+     * 롤업 및 파티션 관리 주기 (밀리초)
+     */
+    private long rollupIntervalMs = 300000;
+    
+    /**
+     * 시간 구간이 끝난 뒤 롤업하기까지 기다리는 시간 (밀리초)
+     * 모든 노드가 그 구간의 증분을 플러시할 수 있도록 플러시 주기보다 길게 둡니다.
+     */
+    private long rollupDelayMs = 300000;
+    
+    /**
+     * 미리 만들어 둘 원본 일 파티션 수 (오늘 이후)
+     */
+    private int partitionsAhead = 3;
+    
+    /**
+     * 원본 파티션 보관 일수 (시간별 롤업이 끝난 파티션만 삭제)
+     */
+    private int rawRetentionDays = 3;
+    
+    /**
+     * 시간별 롤업 보관 일수
+     */
+    private int hourlyRetentionDays = 90;
+    
+    /**
+     * 일별 롤업 보관 일수, 0이면 삭제하지 않습니다 (누적 실행 수는 남아 있는 일별 값의 합입니다)
+     */
+    private int dailyRetentionDays;
+}
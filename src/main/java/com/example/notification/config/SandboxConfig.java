@@ -0,0 +1,57 @@
+package com.example.notification.config;
+
+import com.example.notification.sandbox.ExecutionBudget;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 생성된 규칙 코드 실행 제한 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "security.sandbox")
+@Data
+public class SandboxConfig {
+    
+    /**
+     * 로드 시 바이트코드 계측과 클래스 참조 검사 여부
+     */
+    private boolean enabled = true;
+    
+    /**
+     * 규칙 호출 한 번의 최대 실행 시간 (밀리초)
+     */
+    private long maxExecutionTime = 5000;
+    
+    /**
+     * 규칙 호출 한 번의 최대 할당 바이트
+     */
+    private long maxMemory = 52428800;
+    
+    /**
+     * 규칙 호출 한 번의 명령 예산 (루프 반복 + 메서드 진입 수)
+     */
+    private long instructionBudget = 50000000;
+    
+    /**
+     * 규칙 코드가 참조할 수 있는 패키지 (하위 패키지 포함)
+     */
+    private List<String> allowedPackages = new ArrayList<>(List.of("java.lang", "java.util", "java.time", "java.math"));
+    
+    /**
+     * 클래스 로더 하나에 담을 최대 규칙 클래스 수 (내부 클래스 포함), 1이면 규칙마다 로더를 따로 만듭니다
+     */
+    private int loaderSegmentCapacity = 512;
+    
+    /**
+     * 가득 찬 로더에서 살아 있는 클래스 비율이 이 값 이하로 떨어지면 남은 규칙을 다른 로더로 옮기고 버립니다
+     */
+    private double loaderCompactionRatio = 0.5;
+    
+    public ExecutionBudget.Limits toLimits() {
+        return new ExecutionBudget.Limits(maxExecutionTime, instructionBudget, maxMemory);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 스트리밍(이벤트 기반) 규칙 평가 설정
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rules.streaming")
+@Data
+public class StreamingConfig {
+    
+    /**
+     * 데이터 갱신 이벤트로 규칙을 바로 평가할지 여부
+     */
+    private boolean enabled;
+    
+    /**
+     * 갱신 이벤트 대기열 크기, 가득 차면 새 이벤트를 버립니다
+     */
+    private int queueCapacity = 10000;
+    
+    /**
+     * 마이크로 배치 구간 (밀리초), 첫 이벤트 이후 이 시간 동안 들어온 갱신을 한 번에 평가합니다
+     */
+    private long batchWindowMs = 20;
+    
+    /**
+     * 규칙 하나를 다시 평가하기까지의 최소 간격 (밀리초)
+     * 이 안에 들어온 갱신은 간격이 지난 뒤 한 번만 평가합니다.
+     */
+    private long ruleMinIntervalMs = 1000;
+    
+    /**
+     * 활성 규칙의 데이터 의존성 색인을 갱신하는 주기 (밀리초)
+     */
+    private long dependencyRefreshMs = 30000;
+    
+    /**
+     * 로컬 모의 시세 피드
+     */
+    private SimulatedFeed simulatedFeed = new SimulatedFeed();
+    
+    @Data
+    public static class SimulatedFeed {
+        
+        /**
+         * 모의 KOSPI 시세 발행 여부
+         */
+        private boolean enabled;
+        
+        /**
+         * 발행 주기 (밀리초)
+         */
+        private long intervalMs = 200;
+        
+        /**
+         * 한 번의 갱신에서 가격이 움직이는 표준편차 (비율)
+         */
+        private double volatility = 0.001;
+    }
+}
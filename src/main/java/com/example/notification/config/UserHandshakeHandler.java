@@ -0,0 +1,38 @@
+package com.example.notification.config;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * WebSocket 핸드셰이크에서 사용자를 식별합니다
+ * 
+ * 인증이 없는 데모 환경이므로 연결 URL의 userId 쿼리 파라미터를 Principal로 사용합니다.
+ * 예: /ws?userId=user123
+ * Principal이 있어야 /user/queue/notifications 사용자 목적지와 접속 상태 추적이 동작합니다.
+ */
+public class UserHandshakeHandler extends DefaultHandshakeHandler {
+    
+    @Override
+    protected Principal determineUser(ServerHttpRequest request,
+                                      WebSocketHandler wsHandler,
+                                      Map<String, Object> attributes) {
+        Principal principal = super.determineUser(request, wsHandler, attributes);
+        if (principal != null) {
+            return principal;
+        }
+        
+        String userId = UriComponentsBuilder.fromUri(request.getURI())
+                .build()
+                .getQueryParams()
+                .getFirst("userId");
+        if (userId == null || userId.isBlank()) {
+            return null;
+        }
+        return () -> userId;
+    }
+}
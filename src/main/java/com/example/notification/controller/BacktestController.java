@@ -0,0 +1,113 @@
+package com.example.notification.controller;
+
+import com.example.notification.config.RuleIsolationConfig;
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.domain.TriggerMode;
+import com.example.notification.dto.BacktestRequest;
+import com.example.notification.dto.BacktestResponse;
+import com.example.notification.dto.RuleResponse;
+import com.example.notification.history.RuleBacktestService;
+import com.example.notification.service.DynamicCodeEngine;
+import com.example.notification.service.RuleManagementService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 규칙 백테스트 REST API 컨트롤러
+ * 
+ * 백테스트는 규칙 코드를 이 JVM에서 실행하므로, 규칙을 워커 JVM에서만 실행하는 격리 모드에서는 409로 거절합니다.
+ */
+@RestController
+@RequestMapping("/api/backtest")
+@RequiredArgsConstructor
+@Slf4j
+public class BacktestController {
+    
+    private final RuleBacktestService backtestService;
+    private final RuleManagementService ruleManagementService;
+    private final DynamicCodeEngine dynamicCodeEngine;
+    private final RuleIsolationConfig isolationConfig;
+    
+    /**
+     * 저장된 규칙 백테스트
+     * 
+     * POST /api/backtest/rules/{ruleId}
+     * Body (선택): {"from": 1700000000000, "to": 1710000000000}
+     * 
+     * 스케줄러가 평가 중인 캐시 인스턴스와 상태를 섞지 않도록 저장된 소스를 따로 로드하고, 끝나면 내립니다.
+     */
+    @PostMapping("/rules/{ruleId}")
+    public ResponseEntity<BacktestResponse> backtestRule(
+            @PathVariable Long ruleId,
+            @Valid @RequestBody(required = false) BacktestRequest request) {
+        log.info("규칙 백테스트 API 호출: ruleId={}", ruleId);
+        if (isolationConfig.isEnabled()) {
+            return rejectIsolated();
+        }
+        RuleResponse rule = ruleManagementService.getRule(ruleId);
+        NotificationRule instance;
+        try {
+            instance = dynamicCodeEngine.compileAndLoad(ruleManagementService.getRuleSource(ruleId));
+        } catch (Exception e) {
+            throw new IllegalStateException("규칙 로드 실패: " + ruleId, e);
+        }
+        
+        try {
+            return ResponseEntity.ok(backtestService.backtest(instance,
+                    rule.getTriggerMode(),
+                    rule.getCooldownSeconds() != null ? rule.getCooldownSeconds() : 0,
+                    request != null ? request.getFrom() : null,
+                    request != null ? request.getTo() : null));
+        } finally {
+            dynamicCodeEngine.unload(instance);
+        }
+    }
+    
+    /**
+     * 저장하지 않은 규칙 코드 백테스트 (활성화 전 확인용)
+     * 
+     * POST /api/backtest
+     * Body: {
+     *   "sourceCode": "public class MyRule implements NotificationRule { ... }",
+     *   "triggerMode": "EDGE",
+     *   "cooldownSeconds": 0
+     * }
+     */
+    @PostMapping
+    public ResponseEntity<BacktestResponse> backtestSource(@Valid @RequestBody BacktestRequest request) {
+        if (request.getSourceCode() == null || request.getSourceCode().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("규칙 코드 백테스트 API 호출");
+        if (isolationConfig.isEnabled()) {
+            return rejectIsolated();
+        }
+        
+        NotificationRule instance;
+        try {
+            instance = dynamicCodeEngine.compileAndLoad(request.getSourceCode());
+        } catch (Exception e) {
+            log.warn("백테스트 규칙 컴파일 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        
+        try {
+            return ResponseEntity.ok(backtestService.backtest(instance,
+                    request.getTriggerMode() != null ? request.getTriggerMode() : TriggerMode.LEVEL,
+                    request.getCooldownSeconds() != null ? request.getCooldownSeconds() : 0,
+                    request.getFrom(),
+                    request.getTo()));
+        } finally {
+            dynamicCodeEngine.unload(instance);
+        }
+    }
+    
+    private ResponseEntity<BacktestResponse> rejectIsolated() {
+        log.warn("격리 모드에서는 규칙 코드를 서버 JVM에서 실행하지 않으므로 백테스트를 거절합니다");
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
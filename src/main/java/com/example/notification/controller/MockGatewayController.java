@@ -0,0 +1,62 @@
+package com.example.notification.controller;
+
+import com.example.notification.channel.ChannelDelivery;
+import com.example.notification.channel.ChannelType;
+import com.example.notification.channel.InMemoryNotificationSink;
+import com.example.notification.dto.NotificationMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 로컬 개발용 Push/SMS 게이트웨이 모의 엔드포인트
+ * 
+ * local 프로필에서만 활성화되며, 받은 요청을 {@link InMemoryNotificationSink}에 기록합니다.
+ * notification.push.endpoint / notification.sms.endpoint를 이 주소로 지정하면
+ * 외부 제공자 없이 HTTP 발송 경로 전체를 확인할 수 있습니다.
+ */
+@RestController
+@RequestMapping("/mock/gateway")
+@Profile("local")
+@RequiredArgsConstructor
+@Slf4j
+public class MockGatewayController {
+    
+    private final InMemoryNotificationSink sink;
+    
+    /**
+     * 모의 발송 요청 수신
+     * 
+     * POST /mock/gateway/{channel}
+     */
+    @PostMapping("/{channel}")
+    public ResponseEntity<Void> receive(@PathVariable ChannelType channel,
+                                        @RequestBody List<Map<String, String>> body) {
+        List<ChannelDelivery> deliveries = body.stream()
+                .map(item -> new ChannelDelivery(
+                        NotificationMessage.builder()
+                                .userId(item.get("userId"))
+                                .message(item.get("message"))
+                                .createdAt(System.currentTimeMillis())
+                                .build(),
+                        item.get("to")))
+                .toList();
+        sink.accept(channel, deliveries);
+        return ResponseEntity.accepted().build();
+    }
+    
+    /**
+     * 채널별 수신 내역 조회
+     * 
+     * GET /mock/gateway/{channel}
+     */
+    @GetMapping("/{channel}")
+    public ResponseEntity<List<ChannelDelivery>> received(@PathVariable ChannelType channel) {
+        return ResponseEntity.ok(sink.getReceived(channel));
+    }
+}
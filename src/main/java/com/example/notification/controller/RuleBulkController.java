@@ -0,0 +1,113 @@
+package com.example.notification.controller;
+
+import com.example.notification.config.RuleBulkConfig;
+import com.example.notification.dto.BulkCreateRulesRequest;
+import com.example.notification.dto.BulkRuleIdsRequest;
+import com.example.notification.dto.BulkRuleResult;
+import com.example.notification.service.RuleBulkService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 규칙 대량 작업 REST API 컨트롤러
+ * 
+ * 항목별 결과를 처리되는 대로 NDJSON(한 줄에 결과 하나)으로 내보내므로,
+ * 클라이언트는 전체 작업이 끝나기 전에 결과를 받아 볼 수 있습니다.
+ */
+@RestController
+@RequestMapping("/api/rules/bulk")
+@RequiredArgsConstructor
+@Slf4j
+public class RuleBulkController {
+    
+    private final RuleBulkService bulkService;
+    private final RuleBulkConfig bulkConfig;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * 규칙 대량 생성
+     * 
+     * POST /api/rules/bulk
+     * Body: {"rules": [{"userId": "user123", "request": "날씨가 영하가 되면 알림해줘"}, ...]}
+     */
+    @PostMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> createRules(@Valid @RequestBody BulkCreateRulesRequest request) {
+        log.info("규칙 대량 생성 API 호출: {}건", request.getRules().size());
+        return stream(request.getRules(), listener -> bulkService.createRules(request.getRules(), listener));
+    }
+    
+    /**
+     * 규칙 대량 활성화
+     * 
+     * POST /api/rules/bulk/activate
+     * Body: {"ruleIds": [1, 2, 3]}
+     */
+    @PostMapping(value = "/activate", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> activateRules(@Valid @RequestBody BulkRuleIdsRequest request) {
+        log.info("규칙 대량 활성화 API 호출: {}건", request.getRuleIds().size());
+        return stream(request.getRuleIds(), listener -> bulkService.activateRules(request.getRuleIds(), listener));
+    }
+    
+    /**
+     * 규칙 대량 비활성화
+     * 
+     * POST /api/rules/bulk/deactivate
+     * Body: {"ruleIds": [1, 2, 3]}
+     */
+    @PostMapping(value = "/deactivate", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> deactivateRules(@Valid @RequestBody BulkRuleIdsRequest request) {
+        log.info("규칙 대량 비활성화 API 호출: {}건", request.getRuleIds().size());
+        return stream(request.getRuleIds(), listener -> bulkService.deactivateRules(request.getRuleIds(), listener));
+    }
+    
+    /**
+     * 대량 작업을 시작하고 결과를 NDJSON으로 흘려보냅니다
+     * 
+     * 항목 수가 한도를 넘으면 400, 진행 중인 대량 작업이 너무 많으면 429를 돌려줍니다.
+     */
+    private ResponseEntity<ResponseBodyEmitter> stream(List<?> items,
+                                                       Function<Consumer<BulkRuleResult>, CompletableFuture<Void>> job) {
+        if (items.size() > bulkService.getMaxItems()) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(bulkConfig.getRequestTimeoutMs());
+        try {
+            job.apply(result -> send(emitter, result))
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            log.error("규칙 대량 작업 실패", error);
+                            emitter.completeWithError(error);
+                        } else {
+                            emitter.complete();
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+    
+    private void send(ResponseBodyEmitter emitter, BulkRuleResult result) {
+        try {
+            emitter.send(objectMapper.writeValueAsString(result) + "\n", MediaType.APPLICATION_NDJSON);
+        } catch (IOException e) {
+            // 클라이언트가 끊겨도 작업은 계속합니다 (이미 저장된 청크는 되돌리지 않음)
+            log.debug("대량 작업 결과 전송 실패: index={}, {}", result.getIndex(), e.getMessage());
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package com.example.notification.controller;
 
 import com.example.notification.dto.CreateRuleRequest;
+import com.example.notification.dto.RulePageResponse;
 import com.example.notification.dto.RuleResponse;
+import com.example.notification.dto.RuleStatsBucket;
+import com.example.notification.dto.RuleSummaryResponse;
+import com.example.notification.service.RuleExecutionStatsService;
 import com.example.notification.service.RuleManagementService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -36,20 +46,51 @@ public class RuleController {
     @PostMapping
     public ResponseEntity<RuleResponse> createRule(@Valid @RequestBody CreateRuleRequest request) {
         log.info("규칙 생성 API 호출: userId={}", request.getUserId());
-        RuleResponse response = ruleManagementService.createRule(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        try {
+            RuleResponse response = ruleManagementService.createRule(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
     }
     
     /**
-     * 특정 사용자의 모든 규칙 조회
+     * 특정 사용자의 규칙 요약 목록 조회 (생성 코드/자연어 요청/실행 통계 제외)
      * 
-     * GET /api/rules?userId=user123
+     * GET /api/rules?userId=user123&cursor=120&limit=50
+     * 
+     * 응답의 ETag는 사용자별 규칙 버전이며, If-None-Match가 같으면 DB 조회 없이 304를 돌려줍니다.
      */
     @GetMapping
-    public ResponseEntity<List<RuleResponse>> getRulesByUserId(@RequestParam String userId) {
-        log.info("사용자 규칙 조회: userId={}", userId);
-        List<RuleResponse> rules = ruleManagementService.getRulesByUserId(userId);
-        return ResponseEntity.ok(rules);
+    public ResponseEntity<RulePageResponse<RuleSummaryResponse>> getRulesByUserId(
+            @RequestParam String userId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        String etag = "\"" + ruleManagementService.getRuleVersion(userId) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        
+        log.debug("사용자 규칙 조회: userId={}, cursor={}", userId, cursor);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(ruleManagementService.getRuleSummaries(userId, cursor, limit));
+    }
+    
+    /**
+     * 특정 사용자의 규칙 목록 조회 (생성 코드 포함 전체 필드)
+     * 
+     * GET /api/rules/full?userId=user123&cursor=120&limit=50
+     */
+    @GetMapping("/full")
+    public ResponseEntity<RulePageResponse<RuleResponse>> getFullRulesByUserId(
+            @RequestParam String userId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.info("사용자 규칙 전체 조회: userId={}, cursor={}", userId, cursor);
+        return ResponseEntity.ok(ruleManagementService.getRulesByUserId(userId, cursor, limit));
     }
     
     /**
@@ -64,6 +105,60 @@ public class RuleController {
         return ResponseEntity.ok(rule);
     }
     
+    /**
+     * 규칙의 생성 코드 조회
+     * 
+     * GET /api/rules/{ruleId}/source
+     */
+    @GetMapping(value = "/{ruleId}/source", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getRuleSource(@PathVariable Long ruleId) {
+        return ResponseEntity.ok(ruleManagementService.getRuleSource(ruleId));
+    }
+    
+    /**
+     * 규칙 실행 이력 조회
+     * 
+     * GET /api/rules/{ruleId}/history?resolution=HOUR&from=2024-01-01T00:00:00&to=2024-01-02T00:00:00
+     * 
+     * resolution은 RAW(노드 플러시 단위), HOUR, DAY 중 하나이며 기본값은 HOUR입니다.
+     * from을 생략하면 DAY는 최근 30일, 나머지는 최근 24시간을 조회합니다.
+     */
+    @GetMapping("/{ruleId}/history")
+    public ResponseEntity<List<RuleStatsBucket>> getRuleHistory(
+            @PathVariable Long ruleId,
+            @RequestParam(defaultValue = "HOUR") RuleExecutionStatsService.Resolution resolution,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from
+                : resolution == RuleExecutionStatsService.Resolution.DAY ? end.minusDays(30) : end.minusHours(24);
+        if (!start.isBefore(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(ruleManagementService.getRuleHistory(ruleId, resolution, start, end));
+    }
+    
+    /**
+     * 성능 검사 검토 대기 규칙 조회
+     * 
+     * GET /api/rules/review
+     */
+    @GetMapping("/review")
+    public ResponseEntity<List<RuleResponse>> getFlaggedRules() {
+        return ResponseEntity.ok(ruleManagementService.getFlaggedRules());
+    }
+    
+    /**
+     * 규칙 활성화 (검토 대기 규칙 승인)
+     * 
+     * PATCH /api/rules/{ruleId}/activate
+     */
+    @PatchMapping("/{ruleId}/activate")
+    public ResponseEntity<RuleResponse> activateRule(@PathVariable Long ruleId) {
+        log.info("규칙 활성화: ruleId={}", ruleId);
+        return ResponseEntity.ok(ruleManagementService.activateRule(ruleId));
+    }
+    
     /**
      * 규칙 비활성화
      * 
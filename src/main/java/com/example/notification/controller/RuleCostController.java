@@ -0,0 +1,34 @@
+package com.example.notification.controller;
+
+import com.example.notification.dto.RuleCostResponse;
+import com.example.notification.service.RuleCostTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 규칙별 실행 비용 REST API 컨트롤러
+ */
+@RestController
+@RequestMapping("/api/rule-costs")
+@RequiredArgsConstructor
+@Slf4j
+public class RuleCostController {
+    
+    private final RuleCostTracker costTracker;
+    
+    /**
+     * 이 노드에서 비용이 큰 규칙 조회
+     * 
+     * GET /api/rule-costs/top?limit=20&sortBy=cpu
+     * sortBy: cpu (추정 누적 CPU 시간) | alloc (추정 누적 할당 바이트)
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<RuleCostResponse>> top(@RequestParam(defaultValue = "20") int limit,
+                                                      @RequestParam(defaultValue = "cpu") String sortBy) {
+        return ResponseEntity.ok(costTracker.top(limit, sortBy));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.notification.controller;
+
+import com.example.notification.dto.ChannelPreference;
+import com.example.notification.service.UserChannelPreferenceService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 사용자별 알림 채널 설정 REST API 컨트롤러
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/channels")
+@RequiredArgsConstructor
+@Slf4j
+public class UserChannelPreferenceController {
+    
+    private final UserChannelPreferenceService preferenceService;
+    
+    /**
+     * 채널 설정 조회
+     * 
+     * GET /api/users/{userId}/channels
+     */
+    @GetMapping
+    public ResponseEntity<List<ChannelPreference>> getPreferences(@PathVariable String userId) {
+        return ResponseEntity.ok(preferenceService.getPreferences(userId));
+    }
+    
+    /**
+     * 채널 설정 변경 (전체 교체)
+     * 
+     * PUT /api/users/{userId}/channels
+     * Body: [
+     *   {"channel": "WEBSOCKET", "address": "user123", "enabled": true},
+     *   {"channel": "EMAIL", "address": "user@example.com", "enabled": true}
+     * ]
+     */
+    @PutMapping
+    public ResponseEntity<List<ChannelPreference>> updatePreferences(
+            @PathVariable String userId,
+            @Valid @RequestBody List<ChannelPreference> preferences) {
+        log.info("채널 설정 변경 API 호출: userId={}", userId);
+        return ResponseEntity.ok(preferenceService.updatePreferences(userId, preferences));
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.notification.diagnostics;
+
+import com.example.notification.config.FlightRecordingConfig;
+import com.example.notification.dto.FlightRecordingResponse;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 필요할 때 JFR 기록을 시작/내려받기/종료하는 Actuator 엔드포인트 (/actuator/jfr)
+ * 
+ * 장애 중에 재시작 없이 운영 노드에서 기록을 남기기 위한 것으로,
+ * JDK 기본 설정("default")에 이 서비스의 규칙/발송 이벤트를 더해 기록합니다.
+ * 이 엔드포인트로 시작한 기록만 다룹니다. 저장 경로가 있는 기록은 끝나는 즉시 JFR이 닫으므로,
+ * 끝난 기록도 내려받을 수 있도록 기록 객체를 따로 보관합니다.
+ * 기본으로는 노출하지 않으며, 관리 포트를 분리한 뒤 management.endpoints.web.exposure.include에 jfr을 더해 켭니다.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@RequiredArgsConstructor
+@Slf4j
+public class FlightRecordingEndpoint {
+    
+    private static final DateTimeFormatter NAME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.systemDefault());
+    
+    /**
+     * 기록 파일에 남기지 않는 JDK 이벤트
+     * 환경 변수와 시스템 프로퍼티에는 DB 비밀번호 같은 값이 들어 있을 수 있어, 내려받는 파일에서 뺍니다.
+     */
+    private static final List<String> EXCLUDED_EVENTS =
+            List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+    
+    private final FlightRecordingConfig config;
+    
+    /**
+     * 이 엔드포인트로 시작한 기록 (Key: 기록 ID), DELETE로 지울 때까지 남습니다
+     */
+    private final Map<Long, Recording> ownRecordings = new ConcurrentHashMap<>();
+    
+    /**
+     * 이 엔드포인트로 시작한 기록 목록
+     */
+    @ReadOperation
+    public List<FlightRecordingResponse> recordings() {
+        return ownRecordings.values().stream()
+                .sorted(Comparator.comparingLong(Recording::getId))
+                .map(this::toResponse)
+                .toList();
+    }
+    
+    /**
+     * 새 기록을 시작합니다
+     * 
+     * @param durationSeconds 기록 시간 (초), 비우면 기본값이고 최대값을 넘으면 최대값으로 줄입니다
+     * @param settings JDK 이벤트 설정 이름 (default / profile), 비우면 설정 파일 값
+     */
+    @WriteOperation
+    public WebEndpointResponse<FlightRecordingResponse> start(@Nullable Long durationSeconds,
+                                                              @Nullable String settings) throws IOException {
+        if (!FlightRecorder.isAvailable()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+        long running = ownRecordings.values().stream()
+                .filter(recording -> recording.getState() == RecordingState.RUNNING)
+                .count();
+        if (running >= config.getMaxRecordings()) {
+            log.warn("진행 중인 JFR 기록이 이미 {}개라 새 기록을 시작하지 않습니다", running);
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings == null ? config.getSettings() : settings);
+        } catch (NoSuchFileException | ParseException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        
+        long duration = durationSeconds == null
+                ? config.getDefaultDurationSeconds()
+                : Math.max(1, Math.min(durationSeconds, config.getMaxDurationSeconds()));
+        Path directory = Files.createDirectories(Path.of(config.getDirectory()));
+        
+        Map<String, String> eventSettings = new HashMap<>(configuration.getSettings());
+        for (String event : EXCLUDED_EVENTS) {
+            eventSettings.put(event + "#enabled", "false");
+        }
+        Recording recording = new Recording(eventSettings);
+        String name = "notification-" + recording.getId() + "-" + NAME_FORMAT.format(Instant.now());
+        recording.setName(name);
+        recording.setDuration(Duration.ofSeconds(duration));
+        recording.setMaxSize(config.getMaxSizeBytes());
+        recording.setToDisk(true);
+        recording.setDestination(directory.resolve(name + ".jfr"));
+        recording.enable(RuleCompileEvent.class);
+        recording.enable(RuleLoadEvent.class);
+        recording.enable(RuleTickEvent.class);
+        recording.enable(NotificationDispatchEvent.class);
+        recording.enable(RuleEvaluationEvent.class)
+                .withThreshold(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(config.getEvaluationThresholdMicros())));
+        recording.start();
+        ownRecordings.put(recording.getId(), recording);
+        
+        log.info("JFR 기록 시작: id={}, name={}, duration={}s, settings={}",
+                recording.getId(), name, duration, configuration.getName());
+        return new WebEndpointResponse<>(toResponse(recording));
+    }
+    
+    /**
+     * 기록을 .jfr 파일로 내려받습니다
+     * 진행 중인 기록은 지금까지의 내용을 새 파일로 덤프하고, 끝난 기록은 저장된 파일을 그대로 돌려줍니다.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id) throws IOException {
+        Recording recording = ownRecordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        
+        Path file;
+        if (recording.getState() == RecordingState.RUNNING) {
+            file = Path.of(config.getDirectory())
+                    .resolve(recording.getName() + "-dump-" + NAME_FORMAT.format(Instant.now()) + ".jfr");
+            recording.dump(file);
+        } else {
+            file = recording.getDestination();
+        }
+        if (file == null || !Files.exists(file)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+    
+    /**
+     * 기록을 멈추고 목록에서 지웁니다 (저장된 파일은 디렉토리에 남습니다)
+     */
+    @DeleteOperation
+    public WebEndpointResponse<FlightRecordingResponse> stop(@Selector long id) {
+        Recording recording = ownRecordings.remove(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        recording.close();
+        FlightRecordingResponse response = toResponse(recording);
+        
+        log.info("JFR 기록 종료: id={}, destination={}", id, response.getDestination());
+        return new WebEndpointResponse<>(response);
+    }
+    
+    /**
+     * 종료할 때 진행 중인 기록을 멈춰 지금까지의 내용을 파일로 남깁니다
+     */
+    @PreDestroy
+    public void close() {
+        for (Recording recording : ownRecordings.values()) {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            recording.close();
+        }
+    }
+    
+    private FlightRecordingResponse toResponse(Recording recording) {
+        Path destination = recording.getDestination();
+        long size = recording.getSize();
+        if (recording.getState() == RecordingState.CLOSED && destination != null) {
+            try {
+                size = Files.size(destination);
+            } catch (IOException e) {
+                size = 0;
+            }
+        }
+        return FlightRecordingResponse.builder()
+                .id(recording.getId())
+                .name(recording.getName())
+                .state(recording.getState().name())
+                .startTime(recording.getStartTime())
+                .durationSeconds(recording.getDuration() == null ? null : recording.getDuration().toSeconds())
+                .destination(destination == null ? null : destination.toString())
+                .size(size)
+                .build();
+    }
+}
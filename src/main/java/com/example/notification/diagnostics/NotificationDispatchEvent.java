@@ -0,0 +1,41 @@
+package com.example.notification.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * 채널 워커의 배치 발송 JFR 이벤트 (재시도 대기 포함)
+ * 
+ * 배치에 알림이 하나뿐이면 규칙 ID와 사용자 ID를 함께 기록합니다.
+ */
+@Name("com.example.notification.NotificationDispatch")
+@Label("Notification Dispatch")
+@Category({"Notification Service", "Delivery"})
+@Description("채널 하나로 알림 배치를 발송")
+@StackTrace(false)
+@Setter
+public class NotificationDispatchEvent extends Event {
+    
+    @Label("Channel")
+    private String channel;
+    
+    @Label("Batch Size")
+    private int batchSize;
+    
+    @Label("Attempts")
+    private int attempts;
+    
+    @Label("Delivered")
+    private boolean delivered;
+    
+    @Label("Rule ID")
+    private long ruleId;
+    
+    @Label("User ID")
+    private String userId;
+}
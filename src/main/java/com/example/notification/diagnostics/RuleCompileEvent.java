@@ -0,0 +1,37 @@
+package com.example.notification.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * 규칙 소스 컴파일 JFR 이벤트
+ * 
+ * javac 호출부터 바이트코드 검사/계측, 클래스 로드, 인스턴스 생성까지를 한 이벤트로 기록합니다.
+ */
+@Name("com.example.notification.RuleCompile")
+@Label("Rule Compile")
+@Category({"Notification Service", "Rules"})
+@Description("생성된 규칙 소스의 컴파일과 클래스 로드")
+@StackTrace(false)
+@Setter
+public class RuleCompileEvent extends Event {
+    
+    @Label("Class Name")
+    private String className;
+    
+    @Label("Source Length")
+    @Description("소스 코드 문자 수")
+    private int sourceLength;
+    
+    @Label("Sandboxed")
+    private boolean sandboxed;
+    
+    @Label("Outcome")
+    @Description("success 또는 실패 원인 (compile/rejected/budget/error)")
+    private String outcome;
+}
@@ -0,0 +1,39 @@
+package com.example.notification.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import lombok.Setter;
+
+/**
+ * 규칙 한 건의 조건 평가(shouldNotify) JFR 이벤트
+ * 
+ * 평가마다 만들어지므로 기본 임계값(1ms)보다 오래 걸린 평가만 기록합니다.
+ * 샘플링 프로파일러로는 동적으로 로드한 규칙 클래스별 시간을 나누기 어려워,
+ * 느린 평가를 규칙 ID와 클래스 이름으로 바로 찾을 수 있게 합니다.
+ */
+@Name("com.example.notification.RuleEvaluation")
+@Label("Rule Evaluation")
+@Category({"Notification Service", "Rules"})
+@Description("임계값보다 오래 걸린 규칙 조건 평가")
+@Threshold("1 ms")
+@StackTrace(false)
+@Setter
+public class RuleEvaluationEvent extends Event {
+    
+    @Label("Rule ID")
+    private long ruleId;
+    
+    @Label("User ID")
+    private String userId;
+    
+    @Label("Class Name")
+    private String className;
+    
+    @Label("Condition Met")
+    private boolean conditionMet;
+}
@@ -0,0 +1,35 @@
+package com.example.notification.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * 규칙 인스턴스 캐시 적재 JFR 이벤트
+ * 
+ * 캐시에 없는 규칙을 DB에서 읽어 컴파일하는 구간입니다. 안쪽에 RuleCompile 이벤트가 함께 기록됩니다.
+ */
+@Name("com.example.notification.RuleLoad")
+@Label("Rule Load")
+@Category({"Notification Service", "Rules"})
+@Description("캐시에 없는 규칙을 DB에서 읽어 컴파일하고 캐시에 올림")
+@StackTrace(false)
+@Setter
+public class RuleLoadEvent extends Event {
+    
+    @Label("Rule ID")
+    private long ruleId;
+    
+    @Label("User ID")
+    private String userId;
+    
+    @Label("Class Name")
+    private String className;
+    
+    @Label("Success")
+    private boolean success;
+}
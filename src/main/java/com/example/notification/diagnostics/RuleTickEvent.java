@@ -0,0 +1,48 @@
+package com.example.notification.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+/**
+ * 규칙 실행 tick JFR 이벤트
+ * 
+ * ALIGNED 모드는 주기마다 한 번, SPREAD 모드는 실행할 규칙이 있는 tick마다 기록합니다.
+ */
+@Name("com.example.notification.RuleTick")
+@Label("Rule Tick")
+@Category({"Notification Service", "Scheduler"})
+@Description("스케줄러 tick 한 번의 규칙 조회와 평가")
+@StackTrace(false)
+@Setter
+public class RuleTickEvent extends Event {
+    
+    @Label("Mode")
+    private String mode;
+    
+    @Label("Overrun Policy")
+    private String overrunPolicy;
+    
+    @Label("Lag")
+    @Description("예정 시각부터 실제 시작까지의 지연")
+    @Timespan(Timespan.MILLISECONDS)
+    private long lag;
+    
+    @Label("Overrun Ticks")
+    @Description("이 tick 전에 겹쳐서 밀리거나 건너뛴 tick 수")
+    private int overrunTicks;
+    
+    @Label("Target Rules")
+    private int targetRules;
+    
+    @Label("Evaluated Rules")
+    private int evaluatedRules;
+    
+    @Label("Notifications")
+    private int notifications;
+}
@@ -0,0 +1,27 @@
+package com.example.notification.domain;
+
+/**
+ * 규칙 생성 시 성능 검사 결과
+ */
+public enum BenchmarkStatus {
+    
+    /**
+     * 모든 예산 안에서 실행됨
+     */
+    PASSED,
+    
+    /**
+     * 예산을 넘어 비활성 상태로 검토를 기다림
+     */
+    FLAGGED,
+    
+    /**
+     * 예산을 넘었지만 검토자가 활성화해 승인됨 (검토 대기 목록에서 빠짐)
+     */
+    APPROVED,
+    
+    /**
+     * 검사를 실행하지 않음 (비활성화 설정 또는 이전에 생성된 규칙)
+     */
+    SKIPPED
+}
@@ -39,10 +39,10 @@ public class RuleEntity {
     private String naturalLanguageRequest;
     
     /**
-     * Claude AI가 생성한 Java 소스 코드
+     * Claude AI가 생성한 Java 소스 코드 (rule_sources ID, 같은 코드는 여러 규칙이 공유)
      */
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String generatedCode;
+    @Column(nullable = false)
+    private Long sourceId;
     
     /**
      * 컴파일된 클래스 이름
@@ -63,6 +63,32 @@ public class RuleEntity {
     @Column(nullable = false)
     private String cronExpression;
     
+    /**
+     * 알림 발생 방식 (LEVEL / EDGE)
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TriggerMode triggerMode;
+    
+    /**
+     * 알림 후 재알림까지 대기 시간 (초), 0이면 대기 없음
+     */
+    @Column(nullable = false)
+    private Integer cooldownSeconds;
+    
+    /**
+     * EDGE 모드에서 재무장 전에 조건이 연속으로 false여야 하는 실행 횟수
+     */
+    @Column(nullable = false)
+    private Integer hysteresisTicks;
+    
+    /**
+     * 실행 우선순위 (높을수록 tick 안에서 먼저 평가)
+     * tick 시간 예산을 넘기면 우선순위가 낮은 규칙부터 버려집니다.
+     */
+    @Column(nullable = false)
+    private Integer priority;
+    
     /**
      * 규칙 생성 시각
      */
@@ -75,34 +101,60 @@ public class RuleEntity {
     private LocalDateTime updatedAt;
     
     /**
-     * 마지막 실행 시각
+     * 생성 시 성능 검사 결과 (FLAGGED면 검토 후 활성화)
      */
-    private LocalDateTime lastExecutedAt;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private BenchmarkStatus benchmarkStatus;
     
     /**
-     * 총 실행 횟수
+     * 성능 검사에서 측정한 shouldNotify 평균 / p99 지연 (나노초)
      */
-    @Column(nullable = false)
-    private Integer executionCount;
+    private Long benchmarkMeanNanos;
+    private Long benchmarkP99Nanos;
     
     /**
-     * 알림이 발생한 횟수
+     * 성능 검사에서 측정한 getMessage 평균 지연 (나노초)
      */
-    @Column(nullable = false)
-    private Integer notificationCount;
+    private Long benchmarkMessageMeanNanos;
+    
+    /**
+     * 성능 검사에서 측정한 호출당 평균 할당 바이트
+     */
+    private Long benchmarkAllocatedBytes;
+    
+    /**
+     * 넘은 예산 목록 (줄바꿈으로 구분)
+     */
+    @Column(length = 1000)
+    private String benchmarkViolations;
+    
+    /**
+     * 성능 검사 시각
+     */
+    private LocalDateTime benchmarkedAt;
     
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
-        if (executionCount == null) {
-            executionCount = 0;
-        }
-        if (notificationCount == null) {
-            notificationCount = 0;
-        }
         if (active == null) {
             active = true;
         }
+        if (triggerMode == null) {
+            triggerMode = TriggerMode.LEVEL;
+        }
+        if (cooldownSeconds == null) {
+            cooldownSeconds = 0;
+        }
+        if (hysteresisTicks == null) {
+            hysteresisTicks = 0;
+        }
+        if (priority == null) {
+            priority = 0;
+        }
+        if (benchmarkStatus == null) {
+            benchmarkStatus = BenchmarkStatus.SKIPPED;
+        }
     }
     
     @PreUpdate
@@ -0,0 +1,17 @@
+package com.example.notification.domain;
+
+/**
+ * 알림 발생 방식
+ */
+public enum TriggerMode {
+    
+    /**
+     * 조건이 충족되는 동안 매 실행마다 알림 (기존 동작)
+     */
+    LEVEL,
+    
+    /**
+     * 조건이 false → true로 바뀌는 순간에만 알림
+     */
+    EDGE
+}
@@ -0,0 +1,38 @@
+package com.example.notification.dto;
+
+import com.example.notification.domain.TriggerMode;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+/**
+ * 백테스트 요청 DTO
+ */
+@Data
+public class BacktestRequest {
+    
+    /**
+     * 시험할 규칙 소스 코드 (저장된 규칙을 백테스트할 때는 비움)
+     */
+    private String sourceCode;
+    
+    /**
+     * 대상 구간 시작 (epoch 밀리초, 포함), 비어 있으면 처음부터
+     */
+    private Long from;
+    
+    /**
+     * 대상 구간 끝 (epoch 밀리초, 제외), 비어 있으면 끝까지
+     */
+    private Long to;
+    
+    /**
+     * 알림 발생 방식, 저장된 규칙은 규칙의 설정을 사용
+     */
+    private TriggerMode triggerMode;
+    
+    /**
+     * 재알림 대기 시간 (초), 저장된 규칙은 규칙의 설정을 사용
+     */
+    @PositiveOrZero
+    private Integer cooldownSeconds;
+}
@@ -0,0 +1,54 @@
+package com.example.notification.dto;
+
+import com.example.notification.domain.TriggerMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 백테스트 결과 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestResponse {
+    
+    /**
+     * 평가한 스냅샷 수
+     */
+    private long snapshotCount;
+    
+    /**
+     * 알림이 발생했을 횟수
+     */
+    private long fireCount;
+    
+    /**
+     * 알림 발생 시각 (epoch 밀리초, 앞에서부터 최대 개수까지)
+     */
+    private List<Long> fireTimestamps;
+    
+    /**
+     * 발생 시각 목록이 잘렸는지 여부
+     */
+    private boolean truncated;
+    
+    /**
+     * 규칙 실행 중 예외가 난 스냅샷 수
+     */
+    private long errorCount;
+    
+    private TriggerMode triggerMode;
+    private int cooldownSeconds;
+    private Long from;
+    private Long to;
+    
+    /**
+     * 백테스트 소요 시간 (밀리초)
+     */
+    private long elapsedMs;
+}
@@ -0,0 +1,20 @@
+package com.example.notification.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 규칙 대량 생성 요청 DTO
+ */
+@Data
+public class BulkCreateRulesRequest {
+    
+    /**
+     * 생성할 규칙 목록 (응답의 index는 이 목록의 순번)
+     */
+    @NotEmpty(message = "생성할 규칙이 없습니다")
+    private List<@Valid CreateRuleRequest> rules;
+}
@@ -0,0 +1,20 @@
+package com.example.notification.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 규칙 대량 활성화/비활성화 요청 DTO
+ */
+@Data
+public class BulkRuleIdsRequest {
+    
+    /**
+     * 대상 규칙 ID 목록 (응답의 index는 이 목록의 순번)
+     */
+    @NotEmpty(message = "대상 규칙이 없습니다")
+    private List<@NotNull Long> ruleIds;
+}
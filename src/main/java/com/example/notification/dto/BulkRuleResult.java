@@ -0,0 +1,50 @@
+package com.example.notification.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 대량 작업 항목 하나의 결과 (NDJSON 한 줄)
+ * 
+ * 결과는 처리되는 대로 내보내므로 요청 순서와 다를 수 있습니다. index로 요청 항목과 맞춥니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkRuleResult {
+    
+    /**
+     * 요청 목록에서의 순번
+     */
+    private int index;
+    
+    private Long ruleId;
+    private String userId;
+    private String className;
+    private Status status;
+    
+    /**
+     * 실패 사유 (또는 활성화 후 캐시 적재 실패 사유)
+     */
+    private String error;
+    
+    public enum Status {
+        /**
+         * 생성되어 활성화됨
+         */
+        CREATED,
+        /**
+         * 생성되었지만 성능 예산을 넘어 비활성 상태로 검토 대기
+         */
+        FLAGGED,
+        ACTIVATED,
+        DEACTIVATED,
+        NOT_FOUND,
+        FAILED
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.notification.dto;
+
+import com.example.notification.channel.ChannelType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사용자별 알림 채널 설정 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChannelPreference {
+    
+    /**
+     * 채널 종류
+     */
+    @NotNull(message = "채널은 필수입니다")
+    private ChannelType channel;
+    
+    /**
+     * 수신 주소
+     * 예: 메일 주소, 푸시 디바이스 토큰, 전화번호
+     */
+    @NotBlank(message = "수신 주소는 필수입니다")
+    private String address;
+    
+    /**
+     * 채널 사용 여부
+     */
+    private boolean enabled;
+}
@@ -1,6 +1,8 @@
 package com.example.notification.dto;
 
+import com.example.notification.domain.TriggerMode;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
 
 /**
@@ -27,4 +29,27 @@ public class CreateRuleRequest {
      * 기본값: "0 0/10 * * * ?" (10분마다)
      */
     private String cronExpression;
+    
+    /**
+     * 알림 발생 방식
+     * 기본값: LEVEL (조건이 유지되는 동안 매번 알림)
+     */
+    private TriggerMode triggerMode;
+    
+    /**
+     * 재알림 대기 시간 (초)
+     */
+    @PositiveOrZero
+    private Integer cooldownSeconds;
+    
+    /**
+     * EDGE 모드 히스테리시스: 재무장 전 조건이 연속으로 false여야 하는 실행 횟수
+     */
+    @PositiveOrZero
+    private Integer hysteresisTicks;
+    
+    /**
+     * 실행 우선순위 (높을수록 tick 안에서 먼저 평가), 기본 0
+     */
+    private Integer priority;
 }
@@ -0,0 +1,38 @@
+package com.example.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * JFR 기록 상태 응답 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightRecordingResponse {
+    private long id;
+    private String name;
+    
+    /**
+     * NEW, DELAYED, RUNNING, STOPPED, CLOSED
+     */
+    private String state;
+    
+    private Instant startTime;
+    private Long durationSeconds;
+    
+    /**
+     * 기록이 끝나면 저장되는 파일 경로
+     */
+    private String destination;
+    
+    /**
+     * 지금까지 기록된 크기 (바이트)
+     */
+    private long size;
+}
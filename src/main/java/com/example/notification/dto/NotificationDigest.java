@@ -0,0 +1,47 @@
+package com.example.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 사용자별 알림 다이제스트
+ * 
+ * 같은 tick(또는 묶음 구간) 안에서 한 사용자에게 발생한 알림을
+ * 하나의 WebSocket 프레임으로 묶어 전송합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDigest {
+    
+    /**
+     * 수신 사용자 ID
+     */
+    private String userId;
+    
+    /**
+     * 포함된 알림 (사용자별 최대 개수까지)
+     */
+    private List<NotificationMessage> items;
+    
+    /**
+     * 구간 안에서 발생한 전체 알림 수
+     */
+    private int totalCount;
+    
+    /**
+     * 최대 개수를 넘어 items에서 빠진 알림 수
+     */
+    private int overflowCount;
+    
+    /**
+     * 요약 문구
+     * 예: "알림 32건 (20건 표시, 12건 생략)"
+     */
+    private String summary;
+}
@@ -0,0 +1,67 @@
+package com.example.notification.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.function.Supplier;
+
+/**
+ * 발송 대기 중인 알림 메시지
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationMessage {
+    
+    /**
+     * 수신 사용자 ID
+     */
+    private String userId;
+    
+    /**
+     * 알림을 발생시킨 규칙 ID
+     */
+    private Long ruleId;
+    
+    /**
+     * 알림 메시지 (renderer가 있으면 처음 조회할 때 렌더링됩니다)
+     */
+    private String message;
+    
+    /**
+     * 지연 렌더러
+     * 
+     * 규칙의 getMessage()는 String.format 등으로 비용이 들기 때문에,
+     * 실제로 전달할 대상(접속 세션 또는 다른 채널)이 생길 때까지 호출을 미룹니다.
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Supplier<String> renderer;
+    
+    /**
+     * 알림 생성 시각 (epoch 밀리초), 발송 지연 측정에 사용
+     */
+    private long createdAt;
+    
+    /**
+     * 여러 알림을 하나로 묶은 다이제스트 (단건 알림이면 null)
+     * 
+     * 다이제스트일 때 message에는 텍스트 채널용 요약 문구가 담깁니다.
+     */
+    private NotificationDigest digest;
+    
+    public synchronized String getMessage() {
+        if (message == null && renderer != null) {
+            message = renderer.get();
+            renderer = null;
+        }
+        return message;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 규칙 생성 시 성능 검사 결과
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RuleBenchmarkResult {
+    
+    /**
+     * 측정한 shouldNotify 호출 수
+     */
+    private int calls;
+    
+    /**
+     * shouldNotify 평균 / p99 / 최대 지연 (나노초)
+     */
+    private long meanNanos;
+    private long p99Nanos;
+    private long maxNanos;
+    
+    /**
+     * getMessage 평균 지연 (나노초), 조건이 한 번도 충족되지 않았으면 0
+     */
+    private long messageMeanNanos;
+    
+    /**
+     * 호출 한 번당 평균 할당 바이트, JVM이 측정을 지원하지 않으면 -1
+     */
+    private long allocatedBytesPerCall;
+    
+    /**
+     * 코퍼스에서 조건이 충족된 비율
+     */
+    private double fireRate;
+    
+    /**
+     * 예외로 끝난 호출 수
+     */
+    private int errorCount;
+    
+    /**
+     * 넘은 예산 목록 (비어 있으면 통과)
+     */
+    private List<String> violations;
+    
+    public boolean isWithinBudget() {
+        return violations == null || violations.isEmpty();
+    }
+}
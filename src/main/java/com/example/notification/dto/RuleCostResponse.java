@@ -0,0 +1,54 @@
+package com.example.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 규칙별 실행 비용 응답 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RuleCostResponse {
+    private Long ruleId;
+    
+    /**
+     * 이 노드에서 평가한 횟수 (감속으로 건너뛴 횟수 제외)
+     */
+    private long evaluations;
+    
+    /**
+     * 측정한 평가 수
+     */
+    private long samples;
+    
+    /**
+     * 측정 기준 평가당 평균 CPU 시간 / 할당 바이트 (누적)
+     */
+    private long cpuNanosPerEval;
+    private long allocatedBytesPerEval;
+    
+    /**
+     * 추정 누적 CPU 시간 (나노초, 평균 × 평가 수)
+     */
+    private long estimatedCpuNanos;
+    
+    /**
+     * 직전 판정 구간의 평가당 평균 CPU 시간 / 할당 바이트
+     */
+    private long windowCpuNanosPerEval;
+    private long windowAllocatedBytesPerEval;
+    
+    /**
+     * 현재 감속 배수 (1이면 제한 없음)
+     */
+    private int demotionFactor;
+    
+    /**
+     * 연속으로 예산을 넘은 구간 수
+     */
+    private int hotWindows;
+}
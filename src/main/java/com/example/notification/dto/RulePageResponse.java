@@ -0,0 +1,28 @@
+package com.example.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 규칙 목록 페이지 (ID 커서 방식)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RulePageResponse<T> {
+    
+    /**
+     * 규칙 ID 오름차순 목록
+     */
+    private List<T> items;
+    
+    /**
+     * 다음 페이지 요청에 넘길 cursor, 마지막 페이지면 null
+     */
+    private Long nextCursor;
+}
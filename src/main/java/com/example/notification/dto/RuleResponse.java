@@ -1,5 +1,7 @@
 package com.example.notification.dto;
 
+import com.example.notification.domain.BenchmarkStatus;
+import com.example.notification.domain.TriggerMode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,8 +24,25 @@ public class RuleResponse {
     private String className;
     private Boolean active;
     private String cronExpression;
+    private TriggerMode triggerMode;
+    private Integer cooldownSeconds;
+    private Integer hysteresisTicks;
+    private Integer priority;
     private LocalDateTime createdAt;
+    
+    /**
+     * 실행 통계 (rule_execution_stats 롤업 합계 + 아직 플러시하지 않은 증분)
+     */
     private LocalDateTime lastExecutedAt;
-    private Integer executionCount;
-    private Integer notificationCount;
+    private Long executionCount;
+    private Long notificationCount;
+    private Long errorCount;
+    
+    private BenchmarkStatus benchmarkStatus;
+    private Long benchmarkMeanNanos;
+    private Long benchmarkP99Nanos;
+    private Long benchmarkMessageMeanNanos;
+    private Long benchmarkAllocatedBytes;
+    private String benchmarkViolations;
+    private LocalDateTime benchmarkedAt;
 }
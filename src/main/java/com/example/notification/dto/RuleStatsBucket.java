@@ -0,0 +1,27 @@
+package com.example.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 규칙 실행 이력 한 구간
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RuleStatsBucket {
+    
+    /**
+     * 구간 시작 시각 (RAW는 노드가 통계를 플러시한 분, HOUR/DAY는 시·일 시작)
+     */
+    private LocalDateTime bucketStart;
+    private long executions;
+    private long notifications;
+    private long errors;
+    private LocalDateTime lastExecutedAt;
+}
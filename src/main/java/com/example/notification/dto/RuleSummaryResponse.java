@@ -0,0 +1,35 @@
+package com.example.notification.dto;
+
+import com.example.notification.domain.BenchmarkStatus;
+import com.example.notification.domain.TriggerMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 알림 규칙 목록용 요약 DTO
+ * 
+ * 생성 코드와 자연어 요청, tick마다 바뀌는 실행 통계는 담지 않습니다.
+ * 따라서 사용자별 규칙 버전이 같으면 내용도 같습니다 (ETag).
+ * JPQL 생성자 식으로 바로 조회하므로 필드 순서를 바꾸면 RuleRepository 쿼리도 함께 바꿔야 합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RuleSummaryResponse {
+    private Long id;
+    private String userId;
+    private String className;
+    private Boolean active;
+    private String cronExpression;
+    private TriggerMode triggerMode;
+    private Integer cooldownSeconds;
+    private Integer hysteresisTicks;
+    private Integer priority;
+    private BenchmarkStatus benchmarkStatus;
+    private LocalDateTime createdAt;
+}
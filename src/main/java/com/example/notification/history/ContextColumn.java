@@ -0,0 +1,73 @@
+package com.example.notification.history;
+
+/**
+ * 컨텍스트 이력 로그의 컬럼
+ * 
+ * NotificationContext의 필드마다 고정 폭 컬럼 하나를 둡니다.
+ * 문자열은 사전(dictionary) 번호로, 값이 없으면 타입별 빈 값으로 기록합니다.
+ */
+public enum ContextColumn {
+    
+    TIMESTAMP(null, "timestamp", Type.LONG),
+    WEATHER_TEMPERATURE("weather", "temperature", Type.DOUBLE),
+    WEATHER_CONDITION("weather", "condition", Type.DICT),
+    WEATHER_HUMIDITY("weather", "humidity", Type.INT),
+    WEATHER_WIND_SPEED("weather", "windSpeed", Type.DOUBLE),
+    STOCK_SYMBOL("stock", "symbol", Type.DICT),
+    STOCK_PRICE("stock", "price", Type.DOUBLE),
+    STOCK_CHANGE("stock", "change", Type.DOUBLE),
+    STOCK_CHANGE_PERCENT("stock", "changePercent", Type.DOUBLE),
+    NEWS_HEADLINES("news", "headlines", Type.DICT),
+    NEWS_COUNT("news", "count", Type.INT);
+    
+    private final String source;
+    private final String field;
+    private final Type type;
+    
+    ContextColumn(String source, String field, Type type) {
+        this.source = source;
+        this.field = field;
+        this.type = type;
+    }
+    
+    public String getSource() {
+        return source;
+    }
+    
+    public String getField() {
+        return field;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public enum Type {
+        /**
+         * 8바이트 정수
+         */
+        LONG(8),
+        /**
+         * 8바이트 실수, 값이 없으면 NaN
+         */
+        DOUBLE(8),
+        /**
+         * 4바이트 정수, 값이 없으면 Integer.MIN_VALUE
+         */
+        INT(4),
+        /**
+         * 4바이트 사전 번호, 값이 없으면 -1
+         */
+        DICT(4);
+        
+        private final int width;
+        
+        Type(int width) {
+            this.width = width;
+        }
+        
+        public int getWidth() {
+            return width;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.notification.history;
+
+import com.example.notification.config.ContextHistoryConfig;
+import com.example.notification.dto.NotificationContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * 컨텍스트 이력 로그
+ * 
+ * 규칙 평가에 쓰인 NotificationContext 스냅샷을 추가 전용(append-only)
+ * 메모리 매핑 세그먼트 파일에 컬럼별 고정 폭으로 기록합니다.
+ * 문자열 값은 사전 파일(dictionary.txt)의 번호로 바꿔 저장합니다.
+ * 백테스트는 DB나 외부 API 없이 이 로그만 읽습니다.
+ */
+@Service
+@Slf4j
+public class ContextHistoryLog {
+    
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".ctx";
+    private static final String DICTIONARY_FILE = "dictionary.txt";
+    private static final String HEADLINE_SEPARATOR = "\u001F";
+    private static final int MAX_SEGMENT_ROWS = 16 * 1024 * 1024;
+    
+    private static final ContextColumn[] COLUMNS = ContextColumn.values();
+    
+    private final ContextHistoryConfig config;
+    
+    /**
+     * 읽기 전용 스냅샷을 위해 교체 없이 덧붙이기만 합니다
+     */
+    private final List<ContextLogSegment> segments = new CopyOnWriteArrayList<>();
+    private final List<String> dictionary = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> dictionaryCodes = new ConcurrentHashMap<>();
+    
+    private Path directory;
+    private BufferedWriter dictionaryWriter;
+    private ContextLogSegment active;
+    private long lastTimestamp;
+    
+    /**
+     * 행 버퍼 (쓰기 잠금 안에서만 사용)
+     */
+    private final long[] rowLongs = new long[COLUMNS.length];
+    private final int[] rowInts = new int[COLUMNS.length];
+    
+    public ContextHistoryLog(ContextHistoryConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        Gauge.builder("context.history.snapshots", this, ContextHistoryLog::getSnapshotCount)
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        if (!config.isEnabled()) {
+            return;
+        }
+        directory = Paths.get(config.getDirectory());
+        Files.createDirectories(directory);
+        
+        Path dictionaryPath = directory.resolve(DICTIONARY_FILE);
+        if (Files.exists(dictionaryPath)) {
+            for (String word : Files.readAllLines(dictionaryPath, StandardCharsets.UTF_8)) {
+                dictionaryCodes.put(word, dictionary.size());
+                dictionary.add(word);
+            }
+        }
+        dictionaryWriter = Files.newBufferedWriter(dictionaryPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(this::isSegment).sorted().toList()) {
+                segments.add(ContextLogSegment.open(path));
+            }
+        }
+        if (!segments.isEmpty()) {
+            active = segments.get(segments.size() - 1);
+            if (active.getRowCount() > 0) {
+                lastTimestamp = active.getLong(ContextColumn.TIMESTAMP, active.getRowCount() - 1);
+            }
+        }
+        log.info("컨텍스트 이력 로그 열기: {}, 세그먼트 {}개, 스냅샷 {}건, 사전 {}건",
+                directory, segments.size(), getSnapshotCount(), dictionary.size());
+    }
+    
+    public boolean isEnabled() {
+        return config.isEnabled() && directory != null;
+    }
+    
+    /**
+     * 스냅샷 하나를 덧붙입니다
+     * 타임스탬프가 뒤로 가지 않도록 맞춰 시간순 정렬을 유지합니다.
+     */
+    public synchronized void append(NotificationContext context) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            if (active == null || active.isFull()) {
+                rollSegment();
+            }
+            long timestamp = context.getTimestamp() != null ? context.getTimestamp() : System.currentTimeMillis();
+            lastTimestamp = Math.max(lastTimestamp, timestamp);
+            
+            for (ContextColumn column : COLUMNS) {
+                Object value = column == ContextColumn.TIMESTAMP ? lastTimestamp : valueOf(context, column);
+                encode(column, value);
+            }
+            active.append(rowLongs, rowInts);
+        
+        } catch (IOException e) {
+            log.warn("컨텍스트 이력 기록 실패: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 기록된 전체 스냅샷 수
+     */
+    public long getSnapshotCount() {
+        long count = 0;
+        for (ContextLogSegment segment : segments) {
+            count += segment.getRowCount();
+        }
+        return count;
+    }
+    
+    /**
+     * 현재 세그먼트 목록 (읽기용, 이후 덧붙는 행은 각 세그먼트의 행 수로 구분)
+     */
+    List<ContextLogSegment> segments() {
+        return List.copyOf(segments);
+    }
+    
+    /**
+     * 세그먼트의 한 행을 NotificationContext로 되돌립니다
+     */
+    NotificationContext read(ContextLogSegment segment, int row) {
+        Map<String, Object> weather = new HashMap<>();
+        Map<String, Object> stock = new HashMap<>();
+        Map<String, Object> news = new HashMap<>();
+        
+        for (ContextColumn column : COLUMNS) {
+            if (column.getSource() == null) {
+                continue;
+            }
+            Object value = decode(segment, column, row);
+            if (value == null) {
+                continue;
+            }
+            switch (column.getSource()) {
+                case "weather" -> weather.put(column.getField(), value);
+                case "stock" -> stock.put(column.getField(), value);
+                default -> news.put(column.getField(), value);
+            }
+        }
+        
+        return NotificationContext.builder()
+                .weatherData(weather)
+                .stockData(stock)
+                .newsData(news)
+                .timestamp(segment.getLong(ContextColumn.TIMESTAMP, row))
+                .build();
+    }
+    
+    /**
+     * 변경 내용을 주기적으로 디스크에 내립니다
+     */
+    @Scheduled(fixedDelay = 10000)
+    public synchronized void flush() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            if (active != null) {
+                active.force();
+            }
+            dictionaryWriter.flush();
+        } catch (IOException e) {
+            log.warn("컨텍스트 이력 flush 실패: {}", e.getMessage());
+        }
+    }
+    
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        for (ContextLogSegment segment : segments) {
+            segment.close();
+        }
+        dictionaryWriter.close();
+    }
+    
+    private void rollSegment() throws IOException {
+        if (active != null) {
+            active.force();
+        }
+        int rows = Math.min(config.getSegmentRows(), MAX_SEGMENT_ROWS);
+        Path path = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segments.size() + 1, SEGMENT_SUFFIX));
+        active = ContextLogSegment.create(path, rows);
+        segments.add(active);
+        log.info("컨텍스트 이력 세그먼트 생성: {} ({}건, {}바이트)", path, rows, ContextLogSegment.fileSize(rows));
+    }
+    
+    private boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+    
+    private static Object valueOf(NotificationContext context, ContextColumn column) {
+        Map<String, Object> data = switch (column.getSource()) {
+            case "weather" -> context.getWeatherData();
+            case "stock" -> context.getStockData();
+            default -> context.getNewsData();
+        };
+        return data != null ? data.get(column.getField()) : null;
+    }
+    
+    private void encode(ContextColumn column, Object value) throws IOException {
+        int index = column.ordinal();
+        switch (column.getType()) {
+            case LONG -> rowLongs[index] = value instanceof Number number ? number.longValue() : 0L;
+            case DOUBLE -> rowLongs[index] = Double.doubleToRawLongBits(
+                    value instanceof Number number ? number.doubleValue() : Double.NaN);
+            case INT -> rowInts[index] = value instanceof Number number ? number.intValue() : Integer.MIN_VALUE;
+            case DICT -> rowInts[index] = value != null ? codeOf(toWord(value)) : -1;
+        }
+    }
+    
+    private Object decode(ContextLogSegment segment, ContextColumn column, int row) {
+        switch (column.getType()) {
+            case LONG -> {
+                return segment.getLong(column, row);
+            }
+            case DOUBLE -> {
+                double value = segment.getDouble(column, row);
+                return Double.isNaN(value) ? null : value;
+            }
+            case INT -> {
+                int value = segment.getInt(column, row);
+                return value == Integer.MIN_VALUE ? null : value;
+            }
+            default -> {
+                int code = segment.getInt(column, row);
+                if (code < 0 || code >= dictionary.size()) {
+                    return null;
+                }
+                String word = dictionary.get(code);
+                return column == ContextColumn.NEWS_HEADLINES ? word.split(HEADLINE_SEPARATOR, -1) : word;
+            }
+        }
+    }
+    
+    private static String toWord(Object value) {
+        String word;
+        if (value instanceof Object[] array) {
+            word = String.join(HEADLINE_SEPARATOR, Arrays.stream(array).map(String::valueOf).toList());
+        } else if (value instanceof List<?> list) {
+            word = String.join(HEADLINE_SEPARATOR, list.stream().map(String::valueOf).toList());
+        } else {
+            word = String.valueOf(value);
+        }
+        return word.replace('\n', ' ').replace('\r', ' ');
+    }
+    
+    private int codeOf(String word) throws IOException {
+        Integer code = dictionaryCodes.get(word);
+        if (code != null) {
+            return code;
+        }
+        code = dictionary.size();
+        dictionaryWriter.write(word);
+        dictionaryWriter.newLine();
+        // 행보다 사전이 늦게 디스크에 가지 않도록 새 단어는 바로 내립니다
+        dictionaryWriter.flush();
+        dictionary.add(word);
+        dictionaryCodes.put(word, code);
+        return code;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.notification.history;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 컨텍스트 이력 세그먼트 파일 하나
+ * 
+ * [헤더 64바이트][컬럼 0 블록][컬럼 1 블록]... 형태로, 컬럼마다 capacity × 폭 크기의
+ * 연속된 블록을 미리 잡아 두고 메모리 매핑합니다. 값을 모두 쓴 뒤 헤더의 행 수를 올리므로
+ * 읽는 쪽은 행 수 이하의 행만 보면 항상 완전한 스냅샷을 봅니다.
+ */
+class ContextLogSegment implements AutoCloseable {
+    
+    static final int MAGIC = 0x4E435458; // "NCTX"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    private static final int ROW_COUNT_OFFSET = 16;
+    
+    private static final ContextColumn[] COLUMNS = ContextColumn.values();
+    
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int[] columnOffsets = new int[COLUMNS.length];
+    
+    private volatile int rowCount;
+    
+    private ContextLogSegment(Path path, FileChannel channel, MappedByteBuffer buffer, int capacity, int rowCount) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.rowCount = rowCount;
+        
+        int offset = HEADER_BYTES;
+        for (ContextColumn column : COLUMNS) {
+            columnOffsets[column.ordinal()] = offset;
+            offset += capacity * column.getType().getWidth();
+        }
+    }
+    
+    /**
+     * 새 세그먼트 파일을 만듭니다
+     */
+    static ContextLogSegment create(Path path, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, COLUMNS.length);
+        buffer.putInt(12, capacity);
+        buffer.putInt(ROW_COUNT_OFFSET, 0);
+        return new ContextLogSegment(path, channel, buffer, capacity, 0);
+    }
+    
+    /**
+     * 기존 세그먼트 파일을 엽니다
+     */
+    static ContextLogSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != COLUMNS.length) {
+            channel.close();
+            throw new IOException("지원하지 않는 컨텍스트 이력 세그먼트: " + path);
+        }
+        return new ContextLogSegment(path, channel, buffer, buffer.getInt(12), buffer.getInt(ROW_COUNT_OFFSET));
+    }
+    
+    static long fileSize(int capacity) {
+        long size = HEADER_BYTES;
+        for (ContextColumn column : COLUMNS) {
+            size += (long) capacity * column.getType().getWidth();
+        }
+        return size;
+    }
+    
+    /**
+     * 행 하나를 덧붙입니다 (쓰는 쪽은 한 스레드만)
+     * 
+     * @param longs LONG/DOUBLE 컬럼 값 (DOUBLE은 Double.doubleToRawLongBits)
+     * @param ints INT/DICT 컬럼 값
+     */
+    void append(long[] longs, int[] ints) {
+        int row = rowCount;
+        for (ContextColumn column : COLUMNS) {
+            int index = column.ordinal();
+            int width = column.getType().getWidth();
+            int position = columnOffsets[index] + row * width;
+            if (width == 8) {
+                buffer.putLong(position, longs[index]);
+            } else {
+                buffer.putInt(position, ints[index]);
+            }
+        }
+        buffer.putInt(ROW_COUNT_OFFSET, row + 1);
+        rowCount = row + 1;
+    }
+    
+    boolean isFull() {
+        return rowCount >= capacity;
+    }
+    
+    int getRowCount() {
+        return rowCount;
+    }
+    
+    Path getPath() {
+        return path;
+    }
+    
+    long getLong(ContextColumn column, int row) {
+        return buffer.getLong(columnOffsets[column.ordinal()] + row * 8);
+    }
+    
+    double getDouble(ContextColumn column, int row) {
+        return buffer.getDouble(columnOffsets[column.ordinal()] + row * 8);
+    }
+    
+    int getInt(ContextColumn column, int row) {
+        return buffer.getInt(columnOffsets[column.ordinal()] + row * 4);
+    }
+    
+    /**
+     * 타임스탬프가 from 이상인 첫 행 (행은 시간순으로 쌓임)
+     */
+    int lowerBound(long from) {
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getLong(ContextColumn.TIMESTAMP, mid) < from) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    void force() {
+        buffer.force();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+}
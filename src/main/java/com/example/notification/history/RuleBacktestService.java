@@ -0,0 +1,203 @@
+package com.example.notification.history;
+
+import com.example.notification.config.ContextHistoryConfig;
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.domain.TriggerMode;
+import com.example.notification.dto.BacktestResponse;
+import com.example.notification.sandbox.BudgetedNotificationRule;
+import com.example.notification.sandbox.PooledNotificationRule;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 규칙 백테스트 서비스
+ * 
+ * 컨텍스트 이력 로그의 스냅샷을 구간(chunk)으로 나눠 여러 스레드에서 규칙을 실행하고,
+ * 알림이 발생했을 횟수와 시각을 돌려줍니다. DB나 외부 API는 사용하지 않습니다.
+ * EDGE 모드는 구간 경계의 조건 값을 이어 붙여 판단하고, 재알림 대기는 합친 결과에 순서대로 적용합니다.
+ * 규칙이 필드에 상태를 둘 수 있으므로 구간마다 같은 클래스의 새 인스턴스로 실행합니다.
+ */
+@Service
+@Slf4j
+public class RuleBacktestService {
+    
+    private final ContextHistoryLog historyLog;
+    private final ContextHistoryConfig config;
+    private final ExecutorService executor;
+    
+    public RuleBacktestService(ContextHistoryLog historyLog, ContextHistoryConfig config) {
+        this.historyLog = historyLog;
+        this.config = config;
+        
+        int threads = config.getBacktestThreads() > 0
+                ? config.getBacktestThreads()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "backtest-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * 규칙을 이력 스냅샷에 대해 실행합니다
+     * 
+     * @param rule 컴파일된 규칙 (평가용 캐시와 공유하지 않는 인스턴스, 구간마다 이 클래스의 새 인스턴스를 만듦)
+     * @param triggerMode 알림 발생 방식
+     * @param cooldownSeconds 재알림 대기 시간 (초)
+     * @param from 구간 시작 (epoch 밀리초, 포함), null이면 처음부터
+     * @param to 구간 끝 (epoch 밀리초, 제외), null이면 끝까지
+     */
+    public BacktestResponse backtest(NotificationRule rule, TriggerMode triggerMode, int cooldownSeconds,
+                                     Long from, Long to) {
+        if (!historyLog.isEnabled()) {
+            throw new IllegalStateException("컨텍스트 이력 로그가 비활성화되어 있습니다");
+        }
+        long startedAt = System.currentTimeMillis();
+        boolean edge = triggerMode == TriggerMode.EDGE;
+        
+        // 1. 세그먼트별 대상 행 범위를 구간으로 나눠 병렬 실행
+        List<Future<ChunkResult>> futures = new ArrayList<>();
+        for (ContextLogSegment segment : historyLog.segments()) {
+            int rowCount = segment.getRowCount();
+            int start = from != null ? segment.lowerBound(from) : 0;
+            int end = to != null ? Math.min(segment.lowerBound(to), rowCount) : rowCount;
+            for (int chunkStart = start; chunkStart < end; chunkStart += config.getBacktestChunkRows()) {
+                int chunkEnd = Math.min(end, chunkStart + config.getBacktestChunkRows());
+                int first = chunkStart;
+                NotificationRule chunkRule = newInstance(rule);
+                futures.add(executor.submit(() -> runChunk(chunkRule, edge, segment, first, chunkEnd)));
+            }
+        }
+        
+        // 2. 구간 결과를 순서대로 합치기
+        long snapshots = 0;
+        long errors = 0;
+        boolean previousMet = false;
+        List<long[]> fireChunks = new ArrayList<>();
+        try {
+            for (Future<ChunkResult> future : futures) {
+                ChunkResult chunk = future.get();
+                snapshots += chunk.evaluated();
+                errors += chunk.errors();
+                long[] fires = chunk.fires();
+                // 앞 구간 끝에서 이미 true였으면 이 구간 첫 전환은 실제 전환이 아님
+                if (edge && previousMet && chunk.firstMet() && fires.length > 0) {
+                    fires = Arrays.copyOfRange(fires, 1, fires.length);
+                }
+                fireChunks.add(fires);
+                previousMet = chunk.lastMet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("백테스트가 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("백테스트 실행 실패", e.getCause());
+        }
+        
+        // 3. 재알림 대기 적용
+        long cooldownMs = cooldownSeconds * 1000L;
+        long nextAllowed = Long.MIN_VALUE;
+        long fireCount = 0;
+        List<Long> timestamps = new ArrayList<>();
+        for (long[] fires : fireChunks) {
+            for (long timestamp : fires) {
+                if (timestamp < nextAllowed) {
+                    continue;
+                }
+                fireCount++;
+                if (timestamps.size() < config.getMaxFireTimestamps()) {
+                    timestamps.add(timestamp);
+                }
+                if (cooldownMs > 0) {
+                    nextAllowed = timestamp + cooldownMs;
+                }
+            }
+        }
+        
+        long elapsed = System.currentTimeMillis() - startedAt;
+        log.info("백테스트 완료: 스냅샷 {}건, 발생 {}건, 오류 {}건, {}ms", snapshots, fireCount, errors, elapsed);
+        
+        return BacktestResponse.builder()
+                .snapshotCount(snapshots)
+                .fireCount(fireCount)
+                .fireTimestamps(timestamps)
+                .truncated(fireCount > timestamps.size())
+                .errorCount(errors)
+                .triggerMode(triggerMode)
+                .cooldownSeconds(cooldownSeconds)
+                .from(from)
+                .to(to)
+                .elapsedMs(elapsed)
+                .build();
+    }
+    
+    /**
+     * 한 구간의 스냅샷을 순서대로 평가합니다
+     * EDGE 모드에서는 구간 시작 직전 조건을 false로 보고 전환 시각을 모읍니다.
+     */
+    private ChunkResult runChunk(NotificationRule rule, boolean edge, ContextLogSegment segment, int start, int end) {
+        long[] fires = new long[64];
+        int fireLength = 0;
+        long errors = 0;
+        boolean firstMet = false;
+        boolean previous = false;
+        
+        for (int row = start; row < end; row++) {
+            boolean met;
+            try {
+                met = rule.shouldNotify(historyLog.read(segment, row));
+            } catch (Exception e) {
+                errors++;
+                met = false;
+            }
+            if (row == start) {
+                firstMet = met;
+            }
+            if (met && (!edge || !previous)) {
+                if (fireLength == fires.length) {
+                    fires = Arrays.copyOf(fires, fireLength * 2);
+                }
+                fires[fireLength++] = segment.getLong(ContextColumn.TIMESTAMP, row);
+            }
+            previous = met;
+        }
+        return new ChunkResult(end - start, errors, firstMet, previous, Arrays.copyOf(fires, fireLength));
+    }
+    
+    /**
+     * 같은 규칙 클래스의 새 인스턴스 (구간끼리 필드 상태를 공유하지 않도록, 샌드박스 데코레이터는 유지)
+     */
+    private static NotificationRule newInstance(NotificationRule rule) {
+        if (rule instanceof PooledNotificationRule pooled) {
+            rule = pooled.getDelegate();
+        }
+        try {
+            if (rule instanceof BudgetedNotificationRule budgeted) {
+                return budgeted.renew();
+            }
+            return rule.getClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("백테스트용 규칙 인스턴스 생성 실패: " + rule.getClass().getName(), e);
+        }
+    }
+    
+    private record ChunkResult(long evaluated, long errors, boolean firstMet, boolean lastMet, long[] fires) {
+    }
+}
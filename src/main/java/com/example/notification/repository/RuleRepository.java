@@ -1,9 +1,15 @@
 package com.example.notification.repository;
 
+import com.example.notification.domain.BenchmarkStatus;
 import com.example.notification.domain.RuleEntity;
+import com.example.notification.dto.RuleSummaryResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,13 +23,48 @@ public interface RuleRepository extends JpaRepository<RuleEntity, Long> {
      */
     List<RuleEntity> findByUserId(String userId);
     
+    /**
+     * 특정 사용자의 규칙을 ID 커서 다음부터 조회 (전체 필드)
+     */
+    List<RuleEntity> findByUserIdAndIdGreaterThanOrderByIdAsc(String userId, Long afterId, Pageable pageable);
+    
+    /**
+     * 특정 사용자의 규칙 요약을 ID 커서 다음부터 조회
+     * 생성 코드(TEXT)와 자연어 요청 컬럼은 읽지 않습니다.
+     */
+    @Query("SELECT new com.example.notification.dto.RuleSummaryResponse(" +
+           "r.id, r.userId, r.className, r.active, r.cronExpression, r.triggerMode, " +
+           "r.cooldownSeconds, r.hysteresisTicks, r.priority, r.benchmarkStatus, r.createdAt) " +
+           "FROM RuleEntity r WHERE r.userId = :userId AND r.id > :afterId ORDER BY r.id")
+    List<RuleSummaryResponse> findSummariesByUserId(@Param("userId") String userId,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+    
     /**
      * 활성화된 모든 규칙 조회
      */
     List<RuleEntity> findByActiveTrue();
     
+    /**
+     * 활성화된 모든 규칙을 실행 우선순위 순으로 조회
+     */
+    List<RuleEntity> findByActiveTrueOrderByPriorityDescIdAsc();
+    
+    /**
+     * 지정한 샤드에 속한 활성화된 규칙을 실행 우선순위 순으로 조회 (shard = id % shardCount)
+     */
+    @Query("SELECT r FROM RuleEntity r WHERE r.active = true AND MOD(r.id, :shardCount) IN :shards " +
+           "ORDER BY r.priority DESC, r.id")
+    List<RuleEntity> findActiveByShards(@Param("shardCount") int shardCount,
+                                        @Param("shards") Collection<Integer> shards);
+    
     /**
      * 특정 사용자의 활성화된 규칙 조회
      */
     List<RuleEntity> findByUserIdAndActiveTrue(String userId);
+    
+    /**
+     * 성능 검사 결과별 규칙 조회 (검토 대기 목록용)
+     */
+    List<RuleEntity> findByBenchmarkStatusOrderByIdAsc(BenchmarkStatus benchmarkStatus);
 }
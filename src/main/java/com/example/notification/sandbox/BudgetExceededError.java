@@ -0,0 +1,14 @@
+package com.example.notification.sandbox;
+
+/**
+ * 규칙 코드가 실행 예산을 넘었을 때 계측 지점에서 던지는 오류
+ * 
+ * 규칙 코드의 catch (Exception e)에 잡히지 않도록 Error를 상속하고,
+ * 같은 호출 안의 다음 계측 지점에서 다시 던져지므로 catch (Throwable t)로 삼켜도 실행이 이어지지 않습니다.
+ */
+public class BudgetExceededError extends Error {
+    
+    public BudgetExceededError(String message) {
+        super(message, null, false, false);
+    }
+}
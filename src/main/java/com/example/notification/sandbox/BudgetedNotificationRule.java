@@ -0,0 +1,85 @@
+package com.example.notification.sandbox;
+
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.dto.NotificationContext;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * 계측된 규칙을 호출마다 실행 예산 안에서 실행하는 데코레이터
+ * 
+ * 규칙 코드 안에서 던져진 BudgetExceededError는 이 경계에서 RuleBudgetExceededException으로 바뀝니다.
+ */
+public class BudgetedNotificationRule implements NotificationRule {
+    
+    private final NotificationRule delegate;
+    private final ExecutionBudget.Limits limits;
+    
+    private BudgetedNotificationRule(NotificationRule delegate, ExecutionBudget.Limits limits) {
+        this.delegate = delegate;
+        this.limits = limits;
+    }
+    
+    /**
+     * 계측된 규칙 클래스의 인스턴스를 예산 안에서 만듭니다 (정적 초기화와 생성자도 예산을 받습니다)
+     */
+    public static BudgetedNotificationRule instantiate(Class<? extends NotificationRule> ruleClass,
+                                                       ExecutionBudget.Limits limits)
+            throws ReflectiveOperationException {
+        ExecutionBudget budget = ExecutionBudget.enter(limits);
+        try {
+            return new BudgetedNotificationRule(ruleClass.getDeclaredConstructor().newInstance(), limits);
+        } catch (InvocationTargetException e) {
+            throw budgetFailure(ruleClass, e.getCause(), e);
+        } catch (ExceptionInInitializerError e) {
+            throw budgetFailure(ruleClass, e.getCause(), e);
+        } finally {
+            ExecutionBudget.exit(budget);
+        }
+    }
+    
+    /**
+     * 같은 규칙 클래스의 새 인스턴스로 만든 데코레이터 (필드 상태를 공유하지 않는 측정용)
+     */
+    public BudgetedNotificationRule renew() throws ReflectiveOperationException {
+        return instantiate(delegate.getClass(), limits);
+    }
+    
+    public Class<? extends NotificationRule> getRuleClass() {
+        return delegate.getClass();
+    }
+    
+    @Override
+    public boolean shouldNotify(NotificationContext context) {
+        ExecutionBudget budget = ExecutionBudget.enter(limits);
+        try {
+            return delegate.shouldNotify(context);
+        } catch (BudgetExceededError e) {
+            throw new RuleBudgetExceededException(delegate.getClass().getSimpleName(), e);
+        } finally {
+            ExecutionBudget.exit(budget);
+        }
+    }
+    
+    @Override
+    public String getMessage(NotificationContext context) {
+        ExecutionBudget budget = ExecutionBudget.enter(limits);
+        try {
+            return delegate.getMessage(context);
+        } catch (BudgetExceededError e) {
+            throw new RuleBudgetExceededException(delegate.getClass().getSimpleName(), e);
+        } finally {
+            ExecutionBudget.exit(budget);
+        }
+    }
+    
+    private static RuntimeException budgetFailure(Class<?> ruleClass, Throwable cause, Throwable original) {
+        if (cause instanceof BudgetExceededError budgetError) {
+            return new RuleBudgetExceededException(ruleClass.getSimpleName(), budgetError);
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException("규칙 인스턴스 생성 실패: " + ruleClass.getSimpleName(), original);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.notification.sandbox;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 규칙 호출 한 번의 실행 예산
+ * 
+ * 계측된 규칙 코드는 루프의 역방향 분기와 메서드 진입마다 {@link #checkpoint()},
+ * 객체/배열 생성마다 {@link #allocation()}, 예외 처리기 시작마다 {@link #handler()}를 호출합니다.
+ * 체크포인트는 카운터만 올리고, 일정 간격마다 경과 시간과 스레드 할당 바이트를 확인하므로
+ * 평가마다 감시 스레드를 두거나 스레드를 강제로 멈추지 않고도 예산을 넘은 호출이 스스로 중단됩니다.
+ * 
+ * 예산은 호출한 스레드의 ThreadLocal에 있으며, 예산 밖(규칙 경계 바깥)에서 불린 계측 지점은 아무 일도 하지 않습니다.
+ * 
+ * 계측은 규칙 클래스에만 들어가므로, JDK 메서드 하나가 오래 걸리면 그 호출이 끝날 때까지 예산을 확인하지 못합니다.
+ * 예를 들어 역추적이 폭발하는 정규식, 큰 String.repeat, 큰 배열 정렬은 반환한 뒤 다음 계측 지점에서야 중단됩니다.
+ * 이런 경우의 상한은 tick 마감(DEADLINE_DROP)이나 프로세스 격리(rules.isolation)의 요청 시간 제한이 맡습니다.
+ */
+public final class ExecutionBudget {
+    
+    private static final ThreadLocal<ExecutionBudget> CURRENT = new ThreadLocal<>();
+    
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final boolean ALLOCATION_SUPPORTED = THREAD_BEAN.isThreadAllocatedMemorySupported()
+            && THREAD_BEAN.isThreadAllocatedMemoryEnabled();
+    
+    /**
+     * 체크포인트 1024번마다 시간/할당량을 확인합니다
+     */
+    private static final long CHECKPOINT_MASK = 1023;
+    
+    /**
+     * 객체 생성 64번마다 시간/할당량을 확인합니다
+     */
+    private static final long ALLOCATION_MASK = 63;
+    
+    private final Limits limits;
+    private final long deadlineNanos;
+    private final long allocatedAtStart;
+    private long checkpoints;
+    private long allocations;
+    private BudgetExceededError exceeded;
+    
+    private ExecutionBudget(Limits limits) {
+        this.limits = limits;
+        this.deadlineNanos = System.nanoTime() + limits.maxExecutionMillis() * 1_000_000L;
+        this.allocatedAtStart = ALLOCATION_SUPPORTED ? THREAD_BEAN.getCurrentThreadAllocatedBytes() : 0;
+    }
+    
+    /**
+     * 현재 스레드에 예산을 시작합니다
+     * 
+     * @return 새로 시작한 예산, 이미 바깥 예산이 있으면 null (바깥 예산이 계속 적용됨)
+     */
+    public static ExecutionBudget enter(Limits limits) {
+        if (CURRENT.get() != null) {
+            return null;
+        }
+        ExecutionBudget budget = new ExecutionBudget(limits);
+        CURRENT.set(budget);
+        return budget;
+    }
+    
+    /**
+     * enter()로 시작한 예산을 끝냅니다
+     */
+    public static void exit(ExecutionBudget budget) {
+        if (budget != null) {
+            CURRENT.remove();
+        }
+    }
+    
+    /**
+     * 계측 지점: 역방향 분기, 메서드 진입
+     */
+    public static void checkpoint() {
+        ExecutionBudget budget = CURRENT.get();
+        if (budget != null) {
+            budget.onCheckpoint();
+        }
+    }
+    
+    /**
+     * 계측 지점: NEW / NEWARRAY / ANEWARRAY / MULTIANEWARRAY 직전
+     */
+    public static void allocation() {
+        ExecutionBudget budget = CURRENT.get();
+        if (budget != null) {
+            budget.onAllocation();
+        }
+    }
+    
+    /**
+     * 계측 지점: 예외 처리기 시작, 이미 예산을 넘었으면 다시 던집니다
+     */
+    public static void handler() {
+        ExecutionBudget budget = CURRENT.get();
+        if (budget != null && budget.exceeded != null) {
+            throw budget.exceeded;
+        }
+    }
+    
+    private void onCheckpoint() {
+        if (exceeded != null) {
+            throw exceeded;
+        }
+        if (++checkpoints > limits.instructionBudget()) {
+            fail("명령 예산 초과 (" + limits.instructionBudget() + ")");
+        }
+        if ((checkpoints & CHECKPOINT_MASK) == 0) {
+            checkLimits();
+        }
+    }
+    
+    private void onAllocation() {
+        if (exceeded != null) {
+            throw exceeded;
+        }
+        if ((++allocations & ALLOCATION_MASK) == 0) {
+            checkLimits();
+        }
+    }
+    
+    private void checkLimits() {
+        if (System.nanoTime() > deadlineNanos) {
+            fail("실행 시간 초과 (" + limits.maxExecutionMillis() + "ms)");
+        }
+        if (ALLOCATION_SUPPORTED && limits.maxAllocatedBytes() > 0
+                && THREAD_BEAN.getCurrentThreadAllocatedBytes() - allocatedAtStart > limits.maxAllocatedBytes()) {
+            fail("할당량 초과 (" + limits.maxAllocatedBytes() + " bytes)");
+        }
+    }
+    
+    private void fail(String reason) {
+        exceeded = new BudgetExceededError(reason);
+        throw exceeded;
+    }
+    
+    /**
+     * 호출 한 번의 예산
+     * 
+     * @param maxExecutionMillis 최대 실행 시간 (밀리초)
+     * @param instructionBudget 최대 체크포인트 수 (루프 반복 + 메서드 진입)
+     * @param maxAllocatedBytes 최대 할당 바이트, 0이면 확인하지 않음
+     */
+    public record Limits(long maxExecutionMillis, long instructionBudget, long maxAllocatedBytes) {
+    }
+}
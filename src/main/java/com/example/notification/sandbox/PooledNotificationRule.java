@@ -0,0 +1,43 @@
+package com.example.notification.sandbox;
+
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.dto.NotificationContext;
+
+/**
+ * 공유 클래스 로더에 올라간 규칙 인스턴스
+ * 
+ * 로더를 정리(compaction)할 때 규칙 클래스를 다른 로더로 옮기고 새 인스턴스로 바꿔 끼우므로,
+ * 호출하는 쪽은 이 객체를 계속 들고 있으면 됩니다. 옮길 때 규칙 인스턴스의 필드 상태는 새로 시작합니다.
+ */
+public final class PooledNotificationRule implements NotificationRule {
+    
+    private volatile NotificationRule delegate;
+    
+    final RuleClassLoaderPool.Slot slot;
+    
+    PooledNotificationRule(NotificationRule delegate, RuleClassLoaderPool.Slot slot) {
+        this.delegate = delegate;
+        this.slot = slot;
+    }
+    
+    void relocate(NotificationRule relocated) {
+        this.delegate = relocated;
+    }
+    
+    /**
+     * 현재 규칙 인스턴스 (샌드박스가 켜져 있으면 BudgetedNotificationRule)
+     */
+    public NotificationRule getDelegate() {
+        return delegate;
+    }
+    
+    @Override
+    public boolean shouldNotify(NotificationContext context) {
+        return delegate.shouldNotify(context);
+    }
+    
+    @Override
+    public String getMessage(NotificationContext context) {
+        return delegate.getMessage(context);
+    }
+}
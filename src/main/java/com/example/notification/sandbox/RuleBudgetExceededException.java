@@ -0,0 +1,14 @@
+package com.example.notification.sandbox;
+
+/**
+ * 규칙 호출이 실행 예산을 넘어 중단되었음을 호출한 쪽에 알리는 예외
+ * 
+ * 규칙 코드 안에서는 BudgetExceededError로 전파되고, 규칙 경계에서 이 예외로 바뀌어
+ * 평가기/백테스트의 기존 예외 처리 경로를 탑니다.
+ */
+public class RuleBudgetExceededException extends RuntimeException {
+    
+    public RuleBudgetExceededException(String ruleClass, BudgetExceededError cause) {
+        super(ruleClass + ": " + cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.notification.sandbox;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 생성된 규칙 클래스 전용 클래스 로더
+ * 
+ * 여러 규칙의 컴파일 결과(내부 클래스 포함)를 미리 변환해 메모리에 들고 있다가 처음 쓰일 때 정의하므로,
+ * 임시 컴파일 디렉토리가 지워진 뒤에 처음 쓰이는 내부 클래스도 변환된 바이트코드로 로드됩니다.
+ * 규칙마다 로더를 만들지 않고 RuleClassLoaderPool이 로더 하나에 여러 규칙을 모아 담습니다.
+ */
+public class RuleClassLoader extends ClassLoader {
+    
+    static {
+        registerAsParallelCapable();
+    }
+    
+    /**
+     * 클래스 이름 → 바이트코드 (다른 로더로 옮길 때 다시 읽으므로 정의한 뒤에도 지우지 않음)
+     */
+    private final Map<String, byte[]> classes = new ConcurrentHashMap<>();
+    
+    public RuleClassLoader(ClassLoader parent) {
+        super(parent);
+    }
+    
+    /**
+     * 클래스를 추가합니다 (이미 있는 이름이 섞여 있으면 호출한 쪽이 다른 로더를 골라야 합니다)
+     */
+    void add(Map<String, byte[]> added) {
+        classes.putAll(added);
+    }
+    
+    boolean containsAny(Collection<String> names) {
+        for (String name : names) {
+            if (classes.containsKey(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    byte[] bytesOf(String name) {
+        return classes.get(name);
+    }
+    
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        byte[] bytes = classes.get(name);
+        if (bytes == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.notification.sandbox;
+
+import com.example.notification.domain.NotificationRule;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 규칙 클래스를 여러 규칙이 함께 쓰는 로더(segment)에 나눠 담는 풀
+ * 
+ * 규칙마다 로더를 만들면 로더별 메타데이터(ClassLoaderData, 잠금 객체, 패키지 맵)가 규칙 수만큼 생겨
+ * Metaspace와 GC 루트 스캔 비용의 대부분을 차지합니다. 여기서는 로더 하나에 최대 segmentCapacity개의
+ * 클래스를 담고, 규칙은 여전히 하나씩 올리고 내립니다.
+ * 
+ * 로더는 담긴 클래스가 모두 쓰이지 않아야 수거되므로, 가득 찬 로더에서 살아 있는 클래스 비율이
+ * compactionRatio 이하로 떨어지면 남은 규칙을 다른 로더로 옮기고(새 인스턴스로 교체) 그 로더를 버립니다.
+ * release를 부르지 않고 버려진 규칙도 GC가 수거하면 약한 참조로 알아채 같은 방식으로 정리합니다.
+ * 
+ * 규칙 생성자/정적 초기화는 실행 예산만큼 걸릴 수 있으므로, 적재와 정리 모두 자리만 잠금 안에서 정하고
+ * 인스턴스는 잠금 밖에서 만듭니다.
+ */
+@Slf4j
+public class RuleClassLoaderPool {
+    
+    private final int segmentCapacity;
+    private final double compactionRatio;
+    private final ClassLoader parent;
+    private final Instantiator instantiator;
+    
+    private final List<Segment> segments = new ArrayList<>();
+    private final ReferenceQueue<PooledNotificationRule> collected = new ReferenceQueue<>();
+    
+    /**
+     * 정리하며 자리를 정했지만 아직 새 인스턴스를 만들지 않은 규칙
+     */
+    private final List<Relocation> plannedRelocations = new ArrayList<>();
+    
+    private long compactions;
+    private long relocations;
+    
+    public RuleClassLoaderPool(int segmentCapacity, double compactionRatio, ClassLoader parent,
+                               Instantiator instantiator) {
+        this.segmentCapacity = Math.max(1, segmentCapacity);
+        this.compactionRatio = compactionRatio;
+        this.parent = parent;
+        this.instantiator = instantiator;
+    }
+    
+    /**
+     * 규칙 클래스를 로더에 올리고 인스턴스를 만듭니다
+     * 
+     * @param ruleClassName 규칙 클래스의 전체 이름
+     * @param classes 검사 및 계측을 마친 클래스 (내부 클래스 포함)
+     */
+    public PooledNotificationRule load(String ruleClassName, Map<String, byte[]> classes) throws Exception {
+        Slot slot;
+        synchronized (this) {
+            expungeCollected();
+            slot = place(ruleClassName, classes);
+        }
+        
+        // 규칙 생성자/정적 초기화는 실행 예산만큼 걸릴 수 있으므로 풀 잠금 밖에서 실행합니다
+        NotificationRule instance;
+        try {
+            instance = instantiator.instantiate(slot.segment.loader.loadClass(ruleClassName));
+        } catch (Exception | LinkageError e) {
+            synchronized (this) {
+                remove(slot);
+            }
+            relocatePlanned();
+            throw e;
+        }
+        
+        PooledNotificationRule rule = new PooledNotificationRule(instance, slot);
+        synchronized (this) {
+            slot.ref = new SlotReference(rule, collected, slot);
+        }
+        relocatePlanned();
+        return rule;
+    }
+    
+    /**
+     * 규칙을 내립니다 (같은 규칙을 여러 번 내려도 됩니다)
+     * 
+     * 로더의 클래스는 로더가 수거될 때 함께 사라지므로, 지금 평가 중인 호출은 그대로 끝까지 실행됩니다.
+     */
+    public void release(PooledNotificationRule rule) {
+        synchronized (this) {
+            expungeCollected();
+            if (rule.slot.ref != null) {
+                rule.slot.ref.clear();
+            }
+            remove(rule.slot);
+        }
+        relocatePlanned();
+    }
+    
+    /**
+     * 현재 로더 수
+     */
+    public synchronized int getLoaderCount() {
+        return segments.size();
+    }
+    
+    /**
+     * 로더에 정의해 둔 클래스 수 (내린 규칙의 클래스 포함, 로더가 수거될 때까지 남음)
+     */
+    public synchronized int getClassCount() {
+        return segments.stream().mapToInt(segment -> segment.classCount).sum();
+    }
+    
+    /**
+     * 올라가 있는 규칙 수
+     */
+    public synchronized int getRuleCount() {
+        return segments.stream().mapToInt(segment -> segment.slots.size()).sum();
+    }
+    
+    public synchronized long getCompactions() {
+        return compactions;
+    }
+    
+    public synchronized long getRelocations() {
+        return relocations;
+    }
+    
+    /**
+     * 클래스 이름이 겹치지 않고 자리가 남은 로더를 골라 클래스를 담습니다 (없으면 새 로더)
+     */
+    private Slot place(String ruleClassName, Map<String, byte[]> classes) {
+        Segment segment = target(classes.keySet(), null);
+        segment.loader.add(classes);
+        segment.classCount += classes.size();
+        
+        Slot slot = new Slot(ruleClassName, classes.keySet());
+        slot.segment = segment;
+        segment.slots.add(slot);
+        segment.liveClasses += slot.classNames.size();
+        return slot;
+    }
+    
+    private Segment target(Set<String> classNames, Segment excluded) {
+        for (Segment segment : segments) {
+            if (segment != excluded
+                    && segment.classCount + classNames.size() <= segmentCapacity
+                    && !segment.loader.containsAny(classNames)) {
+                return segment;
+            }
+        }
+        Segment segment = new Segment(new RuleClassLoader(parent));
+        segments.add(segment);
+        return segment;
+    }
+    
+    private void remove(Slot slot) {
+        if (slot.released) {
+            return;
+        }
+        slot.released = true;
+        Segment segment = slot.segment;
+        segment.slots.remove(slot);
+        segment.liveClasses -= slot.classNames.size();
+        
+        if (segment.slots.isEmpty()) {
+            discardIfUnused(segment);
+        } else if (!segment.compacting
+                && segment.classCount >= segmentCapacity
+                && segment.liveClasses <= segment.classCount * compactionRatio) {
+            compact(segment);
+        }
+    }
+    
+    /**
+     * 로더에 남은 규칙마다 옮겨 갈 로더를 정하고 클래스를 담아 둡니다 (인스턴스는 relocatePlanned가 잠금 밖에서 만듦)
+     * 
+     * 아직 인스턴스를 만드는 중이거나 옮기다 실패한 규칙은 남겨 두므로, 그 규칙이 내려갈 때 로더가 버려집니다.
+     */
+    private void compact(Segment segment) {
+        segment.compacting = true;
+        compactions++;
+        for (Slot slot : segment.slots) {
+            PooledNotificationRule rule = slot.ref != null ? slot.ref.get() : null;
+            if (rule == null) {
+                continue;
+            }
+            
+            Map<String, byte[]> classes = new HashMap<>();
+            for (String name : slot.classNames) {
+                classes.put(name, segment.loader.bytesOf(name));
+            }
+            Segment destination = target(slot.classNames, segment);
+            destination.loader.add(classes);
+            destination.classCount += classes.size();
+            destination.incoming++;
+            plannedRelocations.add(new Relocation(slot, rule, destination));
+        }
+    }
+    
+    /**
+     * 정리하며 정해 둔 규칙을 새 로더의 인스턴스로 바꿔 끼웁니다
+     * 
+     * 인스턴스를 만드는 동안 내려간 규칙은 버리고, 만들지 못한 규칙은 원래 로더에 남깁니다.
+     */
+    private void relocatePlanned() {
+        List<Relocation> planned;
+        synchronized (this) {
+            if (plannedRelocations.isEmpty()) {
+                return;
+            }
+            planned = new ArrayList<>(plannedRelocations);
+            plannedRelocations.clear();
+        }
+        
+        for (Relocation relocation : planned) {
+            Slot slot = relocation.slot;
+            NotificationRule instance = null;
+            try {
+                instance = instantiator.instantiate(relocation.destination.loader.loadClass(slot.ruleClassName));
+            } catch (Exception | LinkageError e) {
+                log.warn("규칙 클래스를 다른 로더로 옮기지 못했습니다: class={}", slot.ruleClassName, e);
+            }
+            
+            synchronized (this) {
+                Segment source = slot.segment;
+                Segment destination = relocation.destination;
+                destination.incoming--;
+                if (instance == null || slot.released) {
+                    discardIfUnused(destination);
+                    continue;
+                }
+                relocation.rule.relocate(instance);
+                source.slots.remove(slot);
+                source.liveClasses -= slot.classNames.size();
+                slot.segment = destination;
+                destination.slots.add(slot);
+                destination.liveClasses += slot.classNames.size();
+                relocations++;
+                discardIfUnused(source);
+                log.debug("규칙 클래스를 다른 로더로 옮김: class={}, remaining={}, loaders={}",
+                        slot.ruleClassName, source.slots.size(), segments.size());
+            }
+        }
+    }
+    
+    /**
+     * 남은 규칙도 옮겨 올 규칙도 없는 로더를 버립니다
+     */
+    private void discardIfUnused(Segment segment) {
+        if (segment.slots.isEmpty() && segment.incoming == 0) {
+            segments.remove(segment);
+        }
+    }
+    
+    /**
+     * GC가 수거한 규칙을 내립니다
+     */
+    private void expungeCollected() {
+        SlotReference reference;
+        while ((reference = (SlotReference) collected.poll()) != null) {
+            remove(reference.slot);
+        }
+    }
+    
+    /**
+     * 규칙 클래스로 인스턴스를 만드는 방법 (샌드박스 여부에 따라 DynamicCodeEngine이 정함)
+     */
+    @FunctionalInterface
+    public interface Instantiator {
+        NotificationRule instantiate(Class<?> ruleClass) throws Exception;
+    }
+    
+    /**
+     * 로더 하나와 거기 담긴 규칙
+     */
+    private static class Segment {
+        final RuleClassLoader loader;
+        final Set<Slot> slots = new LinkedHashSet<>();
+        
+        /**
+         * 지금까지 담은 클래스 수 (로더는 클래스를 지울 수 없으므로 줄지 않음)
+         */
+        int classCount;
+        
+        /**
+         * 올라가 있는 규칙의 클래스 수
+         */
+        int liveClasses;
+        
+        /**
+         * 옮겨 오기로 정했지만 아직 인스턴스를 만들지 않은 규칙 수 (0이 될 때까지 로더를 버리지 않음)
+         */
+        int incoming;
+        
+        /**
+         * 정리를 시작한 로더 (다시 정리하지 않고 남은 규칙이 내려가기를 기다림)
+         */
+        boolean compacting;
+        
+        Segment(RuleClassLoader loader) {
+            this.loader = loader;
+        }
+    }
+    
+    /**
+     * 규칙 하나가 차지한 자리
+     */
+    static class Slot {
+        final String ruleClassName;
+        final Set<String> classNames;
+        Segment segment;
+        SlotReference ref;
+        boolean released;
+        
+        Slot(String ruleClassName, Set<String> classNames) {
+            this.ruleClassName = ruleClassName;
+            this.classNames = Set.copyOf(classNames);
+        }
+    }
+    
+    /**
+     * 정리하며 다른 로더로 옮기기로 한 규칙 (옮기는 동안 규칙이 수거되지 않도록 강한 참조로 들고 있음)
+     */
+    private record Relocation(Slot slot, PooledNotificationRule rule, Segment destination) {
+    }
+    
+    private static class SlotReference extends WeakReference<PooledNotificationRule> {
+        final Slot slot;
+        
+        SlotReference(PooledNotificationRule referent, ReferenceQueue<PooledNotificationRule> queue, Slot slot) {
+            super(referent, queue);
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.example.notification.sandbox;
+
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.dto.NotificationContext;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 생성된 규칙 클래스의 로드 시 바이트코드 변환
+ * 
+ * 한 번의 방문으로 두 가지를 합니다.
+ * 1. 클래스 참조 검사: 상위 타입, 필드/메서드 시그니처, 명령어가 참조하는 모든 클래스가
+ *    허용 패키지 안에 있는지 확인하고, 하나라도 벗어나면 로드를 거절합니다.
+ *    허용 패키지 안이라도 리플렉션, 스레드, 타이머, 프로세스처럼 샌드박스를 벗어나는 API와
+ *    예산이 적용되지 않는 다른 스레드에서 실행되거나 계측 지점 없이 멈춰 있는 API(병렬 정렬/스트림, Object.wait)는 막습니다.
+ * 2. 실행 예산 계측: 메서드 진입과 역방향 분기 앞에 {@link ExecutionBudget#checkpoint()},
+ *    객체/배열 생성 앞에 {@link ExecutionBudget#allocation()}, 예외 처리기 시작에 {@link ExecutionBudget#handler()}를 넣습니다.
+ */
+public class RuleClassTransformer {
+    
+    private static final String RULES_PACKAGE = "com/example/notification/rules/";
+    private static final String BUDGET = Type.getInternalName(ExecutionBudget.class);
+    
+    /**
+     * 규칙 코드가 항상 참조할 수 있는 애플리케이션 타입
+     */
+    private static final Set<String> APPLICATION_TYPES = Set.of(
+            Type.getInternalName(NotificationRule.class),
+            Type.getInternalName(NotificationContext.class)
+    );
+    
+    /**
+     * 허용 패키지 안이라도 막는 하위 패키지
+     */
+    private static final List<String> DENIED_PACKAGES = List.of(
+            "java/lang/reflect/",
+            "java/lang/invoke/",
+            "java/lang/ref/",
+            "java/lang/management/",
+            "java/lang/instrument/",
+            "java/lang/module/",
+            "java/lang/foreign/",
+            "java/util/concurrent/",
+            "java/util/logging/",
+            "java/util/jar/",
+            "java/util/zip/",
+            "java/util/prefs/",
+            "java/util/spi/"
+    );
+    
+    /**
+     * 막힌 패키지 안에서 예외로 허용하는 타입
+     */
+    private static final Set<String> DENIED_PACKAGE_EXCEPTIONS = Set.of(
+            "java/util/concurrent/TimeUnit",
+            "java/util/concurrent/ThreadLocalRandom",
+            "java/util/concurrent/ConcurrentHashMap",
+            "java/util/concurrent/ConcurrentMap"
+    );
+    
+    /**
+     * 허용 패키지 안에서 막는 타입
+     */
+    private static final Set<String> DENIED_TYPES = Set.of(
+            "java/lang/Runtime",
+            "java/lang/ProcessBuilder",
+            "java/lang/Process",
+            "java/lang/ProcessHandle",
+            "java/lang/Thread",
+            "java/lang/ThreadGroup",
+            "java/lang/InheritableThreadLocal",
+            "java/lang/ClassLoader",
+            "java/lang/Module",
+            "java/lang/ModuleLayer",
+            "java/lang/StackWalker",
+            "java/lang/SecurityManager",
+            "java/util/Timer",
+            "java/util/TimerTask"
+    );
+    
+    /**
+     * java.lang.System에서 호출할 수 있는 메서드
+     */
+    private static final Set<String> SYSTEM_METHODS = Set.of(
+            "currentTimeMillis", "nanoTime", "arraycopy", "identityHashCode", "lineSeparator");
+    
+    /**
+     * java.lang.Class에서 호출할 수 있는 메서드
+     */
+    private static final Set<String> CLASS_METHODS = Set.of(
+            "getName", "getSimpleName", "isInstance", "cast", "desiredAssertionStatus");
+    
+    /**
+     * java.util.Arrays에서 막는 메서드 (공용 ForkJoinPool에서 실행)
+     */
+    private static final Set<String> ARRAYS_PARALLEL_METHODS = Set.of(
+            "parallelSort", "parallelSetAll", "parallelPrefix");
+    
+    /**
+     * Object.wait 시그니처 (대기 중에는 계측 지점을 지나지 않아 시간 예산이 적용되지 않음)
+     */
+    private static final Set<String> WAIT_DESCRIPTORS = Set.of("()V", "(J)V", "(JI)V");
+    
+    /**
+     * invokedynamic에 허용하는 부트스트랩 (람다, 문자열 연결, record, 패턴 switch)
+     */
+    private static final Set<String> BOOTSTRAP_OWNERS = Set.of(
+            "java/lang/invoke/LambdaMetafactory",
+            "java/lang/invoke/StringConcatFactory",
+            "java/lang/runtime/ObjectMethods",
+            "java/lang/runtime/SwitchBootstraps"
+    );
+    
+    private final List<String> allowedPackages;
+    
+    /**
+     * @param allowedPackages 허용 패키지 (예: java.util), 하위 패키지도 허용
+     */
+    public RuleClassTransformer(Collection<String> allowedPackages) {
+        this.allowedPackages = allowedPackages.stream()
+                .map(name -> name.replace('.', '/'))
+                .toList();
+    }
+    
+    /**
+     * 클래스 참조를 검사하고 계측한 바이트코드를 반환합니다
+     * 
+     * @throws IllegalArgumentException 허용되지 않은 클래스나 메서드를 참조할 때
+     */
+    public byte[] transform(byte[] classBytes) {
+        ClassReader reader = new ClassReader(classBytes);
+        ClassWriter writer = new RuleClassWriter();
+        Set<String> violations = new LinkedHashSet<>();
+        
+        // 계측 지점을 넣으면 스택 맵 프레임이 바뀌므로 원본 프레임은 버리고 다시 계산합니다
+        reader.accept(new InstrumentingClassVisitor(writer, violations), ClassReader.SKIP_FRAMES);
+        
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(String.format("허용되지 않은 참조 (%s): %s",
+                    reader.getClassName().replace('/', '.'), String.join(", ", violations)));
+        }
+        return writer.toByteArray();
+    }
+    
+    private boolean isAllowedType(String internalName) {
+        if (internalName.startsWith(RULES_PACKAGE) || APPLICATION_TYPES.contains(internalName)) {
+            return true;
+        }
+        if (DENIED_TYPES.contains(internalName)) {
+            return false;
+        }
+        if (!DENIED_PACKAGE_EXCEPTIONS.contains(internalName)
+                && DENIED_PACKAGES.stream().anyMatch(internalName::startsWith)) {
+            return false;
+        }
+        int slash = internalName.lastIndexOf('/');
+        String packageName = slash < 0 ? "" : internalName.substring(0, slash);
+        for (String allowed : allowedPackages) {
+            if (packageName.equals(allowed) || packageName.startsWith(allowed + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 규칙 클래스끼리의 공통 상위 타입은 로드하지 않고 Object로 봅니다
+     * 
+     * 프레임 계산 중 변환 대상 클래스를 로드하면 정의가 끝나기 전에 다시 정의하게 되므로,
+     * 생성된 규칙 클래스(서로 상속하지 않음)가 섞이면 Object를 반환합니다.
+     */
+    private static class RuleClassWriter extends ClassWriter {
+        
+        RuleClassWriter() {
+            super(ClassWriter.COMPUTE_FRAMES);
+        }
+        
+        @Override
+        protected String getCommonSuperClass(String type1, String type2) {
+            if (type1.startsWith(RULES_PACKAGE) || type2.startsWith(RULES_PACKAGE)) {
+                return "java/lang/Object";
+            }
+            return super.getCommonSuperClass(type1, type2);
+        }
+        
+        @Override
+        protected ClassLoader getClassLoader() {
+            return RuleClassTransformer.class.getClassLoader();
+        }
+    }
+    
+    private class InstrumentingClassVisitor extends ClassVisitor {
+        
+        private final Set<String> violations;
+        
+        InstrumentingClassVisitor(ClassVisitor next, Set<String> violations) {
+            super(Opcodes.ASM9, next);
+            this.violations = violations;
+        }
+        
+        @Override
+        public void visit(int version, int access, String name, String signature,
+                          String superName, String[] interfaces) {
+            if (superName != null) {
+                checkType(superName);
+            }
+            if (interfaces != null) {
+                for (String type : interfaces) {
+                    checkType(type);
+                }
+            }
+            super.visit(version, access, name, signature, superName, interfaces);
+        }
+        
+        @Override
+        public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+            checkDescriptor(Type.getType(descriptor));
+            return super.visitField(access, name, descriptor, signature, value);
+        }
+        
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+                                         String[] exceptions) {
+            checkMethodDescriptor(descriptor);
+            if (exceptions != null) {
+                for (String type : exceptions) {
+                    checkType(type);
+                }
+            }
+            MethodVisitor next = super.visitMethod(access, name, descriptor, signature, exceptions);
+            return next == null ? null : new InstrumentingMethodVisitor(next);
+        }
+        
+        void checkType(String internalName) {
+            if (internalName.startsWith("[")) {
+                checkDescriptor(Type.getType(internalName));
+            } else if (!isAllowedType(internalName)) {
+                violations.add(internalName.replace('/', '.'));
+            }
+        }
+        
+        void checkDescriptor(Type type) {
+            if (type.getSort() == Type.ARRAY) {
+                type = type.getElementType();
+            }
+            if (type.getSort() == Type.OBJECT) {
+                checkType(type.getInternalName());
+            }
+        }
+        
+        void checkMethodDescriptor(String descriptor) {
+            Type methodType = Type.getMethodType(descriptor);
+            checkDescriptor(methodType.getReturnType());
+            for (Type argument : methodType.getArgumentTypes()) {
+                checkDescriptor(argument);
+            }
+        }
+        
+        void checkMethod(String owner, String name, String descriptor) {
+            checkType(owner);
+            checkMethodDescriptor(descriptor);
+            if (owner.equals("java/lang/System") && !SYSTEM_METHODS.contains(name)) {
+                violations.add("java.lang.System." + name);
+            } else if (owner.equals("java/lang/Class") && !CLASS_METHODS.contains(name)) {
+                violations.add("java.lang.Class." + name);
+            } else if (name.equals("parallelStream")
+                    || (name.equals("parallel") && owner.startsWith("java/util/stream/"))
+                    || (owner.equals("java/util/Arrays") && ARRAYS_PARALLEL_METHODS.contains(name))) {
+                // 공용 ForkJoinPool 스레드에서는 실행 예산이 적용되지 않습니다
+                violations.add(owner.replace('/', '.') + "." + name);
+            } else if (name.equals("wait") && WAIT_DESCRIPTORS.contains(descriptor)) {
+                // 어떤 타입으로 불러도 Object.wait이므로 소유 타입과 관계없이 막습니다
+                violations.add("java.lang.Object.wait");
+            }
+        }
+        
+        void checkConstant(Object value) {
+            if (value instanceof Type type) {
+                if (type.getSort() == Type.METHOD) {
+                    checkMethodDescriptor(type.getDescriptor());
+                } else {
+                    checkDescriptor(type);
+                }
+            } else if (value instanceof Handle handle) {
+                if (handle.getTag() <= Opcodes.H_PUTSTATIC) {
+                    checkType(handle.getOwner());
+                    checkDescriptor(Type.getType(handle.getDesc()));
+                } else {
+                    checkMethod(handle.getOwner(), handle.getName(), handle.getDesc());
+                }
+            }
+        }
+        
+        private class InstrumentingMethodVisitor extends MethodVisitor {
+            
+            /**
+             * 이미 지나간 라벨 (여기로 가는 분기는 역방향, 즉 루프)
+             */
+            private final Set<Label> visitedLabels = new HashSet<>();
+            
+            /**
+             * 예외 처리기 시작 라벨 (visitTryCatchBlock은 명령어보다 먼저 방문됩니다)
+             */
+            private final Set<Label> handlerLabels = new HashSet<>();
+            
+            InstrumentingMethodVisitor(MethodVisitor next) {
+                super(Opcodes.ASM9, next);
+            }
+            
+            @Override
+            public void visitCode() {
+                super.visitCode();
+                invokeBudget("checkpoint");
+            }
+            
+            @Override
+            public void visitLabel(Label label) {
+                super.visitLabel(label);
+                visitedLabels.add(label);
+                if (handlerLabels.contains(label)) {
+                    invokeBudget("handler");
+                }
+            }
+            
+            @Override
+            public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+                if (type != null) {
+                    checkType(type);
+                }
+                handlerLabels.add(handler);
+                super.visitTryCatchBlock(start, end, handler, type);
+            }
+            
+            @Override
+            public void visitJumpInsn(int opcode, Label label) {
+                if (visitedLabels.contains(label)) {
+                    invokeBudget("checkpoint");
+                }
+                super.visitJumpInsn(opcode, label);
+            }
+            
+            @Override
+            public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+                if (visitedLabels.contains(dflt) || List.of(labels).stream().anyMatch(visitedLabels::contains)) {
+                    invokeBudget("checkpoint");
+                }
+                super.visitTableSwitchInsn(min, max, dflt, labels);
+            }
+            
+            @Override
+            public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+                if (visitedLabels.contains(dflt) || List.of(labels).stream().anyMatch(visitedLabels::contains)) {
+                    invokeBudget("checkpoint");
+                }
+                super.visitLookupSwitchInsn(dflt, keys, labels);
+            }
+            
+            @Override
+            public void visitTypeInsn(int opcode, String type) {
+                checkType(type);
+                if (opcode == Opcodes.NEW || opcode == Opcodes.ANEWARRAY) {
+                    invokeBudget("allocation");
+                }
+                super.visitTypeInsn(opcode, type);
+            }
+            
+            @Override
+            public void visitIntInsn(int opcode, int operand) {
+                if (opcode == Opcodes.NEWARRAY) {
+                    invokeBudget("allocation");
+                }
+                super.visitIntInsn(opcode, operand);
+            }
+            
+            @Override
+            public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+                checkDescriptor(Type.getType(descriptor));
+                invokeBudget("allocation");
+                super.visitMultiANewArrayInsn(descriptor, numDimensions);
+            }
+            
+            @Override
+            public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+                checkType(owner);
+                checkDescriptor(Type.getType(descriptor));
+                super.visitFieldInsn(opcode, owner, name, descriptor);
+            }
+            
+            @Override
+            public void visitMethodInsn(int opcode, String owner, String name, String descriptor,
+                                        boolean isInterface) {
+                checkMethod(owner, name, descriptor);
+                super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+            }
+            
+            @Override
+            public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle,
+                                               Object... bootstrapMethodArguments) {
+                checkMethodDescriptor(descriptor);
+                if (!BOOTSTRAP_OWNERS.contains(bootstrapMethodHandle.getOwner())) {
+                    violations.add("invokedynamic " + bootstrapMethodHandle.getOwner().replace('/', '.'));
+                }
+                for (Object argument : bootstrapMethodArguments) {
+                    checkConstant(argument);
+                }
+                super.visitInvokeDynamicInsn(name, descriptor, bootstrapMethodHandle, bootstrapMethodArguments);
+            }
+            
+            @Override
+            public void visitLdcInsn(Object value) {
+                checkConstant(value);
+                super.visitLdcInsn(value);
+            }
+            
+            private void invokeBudget(String hook) {
+                super.visitMethodInsn(Opcodes.INVOKESTATIC, BUDGET, hook, "()V", false);
+            }
+        }
+    }
+}
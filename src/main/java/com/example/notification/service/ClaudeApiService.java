@@ -3,17 +3,21 @@ package com.example.notification.service;
 import com.example.notification.config.ClaudeConfig;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Claude API 통합 서비스
@@ -21,13 +25,35 @@ import java.util.Map;
  * 자연어 요청을 Claude AI에 전달하고, Java 코드를 생성받습니다.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ClaudeApiService {
     
     private final ClaudeConfig claudeConfig;
     private final WebClient.Builder webClientBuilder;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    private final Timer successTimer;
+    private final Timer errorTimer;
+    
+    public ClaudeApiService(ClaudeConfig claudeConfig,
+                            WebClient.Builder webClientBuilder,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+        this.claudeConfig = claudeConfig;
+        this.webClientBuilder = webClientBuilder;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.successTimer = requestTimer(meterRegistry, "success");
+        this.errorTimer = requestTimer(meterRegistry, "error");
+    }
+    
+    private static Timer requestTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("claude.request.latency")
+                .tag("outcome", outcome)
+                .description("Claude API 호출부터 코드 추출까지의 시간")
+                .register(meterRegistry);
+    }
     
     /**
      * 자연어 요청을 받아 NotificationRule 인터페이스를 구현하는 Java 코드를 생성합니다
@@ -57,6 +83,7 @@ public class ClaudeApiService {
                 )
         ));
         
+        long start = System.nanoTime();
         try {
             String response = webClient.post()
                     .bodyValue(requestBody)
@@ -65,16 +92,35 @@ public class ClaudeApiService {
                     .block();
             
             String generatedCode = extractCodeFromResponse(response);
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             log.info("코드 생성 성공: {} 바이트", generatedCode.length());
             
             return generatedCode;
-            
+        
         } catch (Exception e) {
+            errorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("claude.request.errors", "reason", errorReason(e)).increment();
             log.error("Claude API 호출 중 오류 발생", e);
             throw new RuntimeException("코드 생성 실패: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * 호출 실패 원인 (메트릭 태그용, HTTP 상태 코드 대신 고정된 분류만 사용합니다)
+     */
+    private static String errorReason(Exception e) {
+        if (e instanceof WebClientResponseException response) {
+            if (response.getStatusCode().value() == 429) {
+                return "rate_limited";
+            }
+            return response.getStatusCode().is5xxServerError() ? "server_error" : "client_error";
+        }
+        if (e instanceof WebClientRequestException) {
+            return "connection";
+        }
+        return "invalid_response";
+    }
+    
     /**
      * Claude API에 전달할 프롬프트를 구성합니다
      */
@@ -128,7 +174,7 @@ public class ClaudeApiService {
             
             // 코드 블록이 없으면 전체 텍스트를 반환
             return text.trim();
-            
+        
         } catch (Exception e) {
             log.error("응답에서 코드 추출 중 오류 발생", e);
             throw new RuntimeException("코드 추출 실패", e);
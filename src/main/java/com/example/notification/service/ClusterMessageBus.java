@@ -0,0 +1,282 @@
+package com.example.notification.service;
+
+import com.example.notification.config.ClusterConfig;
+import com.example.notification.dto.NotificationMessage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 노드 간 메시지 버스 (PostgreSQL LISTEN/NOTIFY)
+ * 
+ * 노드마다 자기 전용 채널을 LISTEN 하고, 다른 노드에 붙어 있는 사용자의 알림은
+ * 대상 노드 채널로 배치 단위 NOTIFY 합니다. 수신한 메시지는 Spring 이벤트로 전달합니다.
+ */
+@Service
+@Slf4j
+public class ClusterMessageBus {
+    
+    private static final String CHANNEL_PREFIX = "notif_";
+    private static final String PRESENCE_CHANNEL = "notif_presence";
+    private static final int LISTEN_TIMEOUT_MS = 500;
+    
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ClusterConfig config;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private final String localChannel;
+    private volatile boolean running;
+    private Thread listener;
+    
+    private final Counter sentCounter;
+    private final Counter receivedCounter;
+    private final Counter oversizedCounter;
+    private final Counter failedCounter;
+    
+    public ClusterMessageBus(DataSource dataSource,
+                             JdbcTemplate jdbcTemplate,
+                             ObjectMapper objectMapper,
+                             ClusterConfig config,
+                             ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.config = config;
+        this.eventPublisher = eventPublisher;
+        this.localChannel = channelOf(config.getNodeId());
+        this.sentCounter = meterRegistry.counter("cluster.route.sent");
+        this.receivedCounter = meterRegistry.counter("cluster.route.received");
+        this.oversizedCounter = meterRegistry.counter("cluster.route.oversized");
+        this.failedCounter = meterRegistry.counter("cluster.route.failed");
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cluster-listener");
+        listener.setDaemon(true);
+        listener.start();
+        log.info("노드 간 메시지 버스 시작: nodeId={}, channel={}", config.getNodeId(), localChannel);
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.join(LISTEN_TIMEOUT_MS * 4L);
+        }
+    }
+    
+    /**
+     * 대상 노드로 알림 배치를 보냅니다
+     * NOTIFY 페이로드 한도(UTF-8 바이트 기준)를 넘지 않도록 여러 메시지로 나눕니다.
+     * 
+     * NOTIFY 실패는 예외로 던지지 않고 넘기지 못한 알림으로 돌려줍니다.
+     * 호출한 채널이 이미 이 노드에서 보낸 알림을 재시도로 다시 보내지 않게 하려는 것입니다.
+     * 
+     * @return 대상 노드로 넘기지 못한 알림 (한도 초과, 직렬화 실패, NOTIFY 실패)
+     */
+    public List<NotificationMessage> send(String nodeId, List<NotificationMessage> messages) {
+        String channel = channelOf(nodeId);
+        String header = "{\"origin\":" + quote(config.getNodeId()) + ",\"messages\":[";
+        int headerBytes = utf8Length(header);
+        StringBuilder payload = new StringBuilder(header);
+        int payloadBytes = headerBytes;
+        List<NotificationMessage> chunk = new ArrayList<>();
+        List<NotificationMessage> undelivered = new ArrayList<>();
+        
+        for (NotificationMessage message : messages) {
+            String json;
+            try {
+                json = objectMapper.writeValueAsString(message);
+            } catch (Exception e) {
+                log.error("노드 간 메시지 직렬화 실패: userId={}", message.getUserId(), e);
+                undelivered.add(message);
+                continue;
+            }
+            int jsonBytes = utf8Length(json);
+            if (headerBytes + jsonBytes + 2 > config.getMaxPayloadBytes()) {
+                oversizedCounter.increment();
+                log.warn("노드 간 전달 한도를 넘는 알림은 이 노드에 남깁니다: userId={}, bytes={}",
+                        message.getUserId(), jsonBytes);
+                undelivered.add(message);
+                continue;
+            }
+            // 구분자 ',' 1바이트 + 닫는 "]}" 2바이트
+            if (!chunk.isEmpty() && payloadBytes + jsonBytes + 3 > config.getMaxPayloadBytes()) {
+                flush(channel, payload.append("]}").toString(), chunk, undelivered);
+                payload.setLength(header.length());
+                payloadBytes = headerBytes;
+                chunk = new ArrayList<>();
+            }
+            if (!chunk.isEmpty()) {
+                payload.append(',');
+                payloadBytes++;
+            }
+            payload.append(json);
+            payloadBytes += jsonBytes;
+            chunk.add(message);
+        }
+        if (!chunk.isEmpty()) {
+            flush(channel, payload.append("]}").toString(), chunk, undelivered);
+        }
+        return undelivered;
+    }
+    
+    private void flush(String channel, String payload, List<NotificationMessage> chunk,
+                       List<NotificationMessage> undelivered) {
+        try {
+            notify(channel, payload);
+            sentCounter.increment(chunk.size());
+        } catch (Exception e) {
+            failedCounter.increment(chunk.size());
+            log.warn("노드 간 알림 전달 실패: channel={}, count={}: {}", channel, chunk.size(), e.getMessage());
+            undelivered.addAll(chunk);
+        }
+    }
+    
+    /**
+     * 이 노드에서 사용자가 알림을 구독했음을 모든 노드에 알립니다
+     */
+    public void broadcastPresence(String userId) {
+        notify(PRESENCE_CHANNEL,
+                "{\"userId\":" + quote(userId) + ",\"nodeId\":" + quote(config.getNodeId()) + "}");
+    }
+    
+    private void notify(String channel, String payload) {
+        jdbcTemplate.queryForRowSet("SELECT pg_notify(?, ?)", channel, payload);
+    }
+    
+    /**
+     * 전용 연결 하나로 LISTEN 하면서 수신한 알림을 이벤트로 전달합니다
+     * 연결이 끊기면 다시 연결합니다.
+     */
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + localChannel);
+                    statement.execute("LISTEN " + PRESENCE_CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(LISTEN_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getName(), notification.getParameter());
+                    }
+                }
+            
+            } catch (Exception e) {
+                if (running) {
+                    log.warn("노드 간 메시지 수신 연결 오류, 재연결합니다: {}", e.getMessage());
+                    sleepQuietly(1000);
+                }
+            }
+        }
+    }
+    
+    void handle(String channel, String payload) {
+        try {
+            JsonNode root = objectMapper.readTree(payload);
+            
+            if (PRESENCE_CHANNEL.equals(channel)) {
+                String nodeId = root.path("nodeId").asText();
+                if (!config.getNodeId().equals(nodeId)) {
+                    eventPublisher.publishEvent(new RemotePresenceEvent(root.path("userId").asText(), nodeId));
+                }
+                return;
+            }
+            
+            List<NotificationMessage> messages = new ArrayList<>();
+            for (JsonNode node : root.path("messages")) {
+                messages.add(objectMapper.treeToValue(node, NotificationMessage.class));
+            }
+            receivedCounter.increment(messages.size());
+            eventPublisher.publishEvent(new RemoteNotificationsEvent(root.path("origin").asText(), messages));
+        
+        } catch (Exception e) {
+            log.error("노드 간 메시지 처리 실패: channel={}", channel, e);
+        }
+    }
+    
+    /**
+     * 노드 ID를 PostgreSQL 채널 이름으로 바꿉니다 (식별자 길이 제한 때문에 해시 사용)
+     */
+    static String channelOf(String nodeId) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(nodeId.getBytes(StandardCharsets.UTF_8));
+            return CHANNEL_PREFIX + HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * 문자열을 인코딩하지 않고 UTF-8 바이트 길이를 셉니다
+     */
+    static int utf8Length(CharSequence value) {
+        int bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+    
+    private String quote(String value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+    
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
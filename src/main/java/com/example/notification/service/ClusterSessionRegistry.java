@@ -0,0 +1,252 @@
+package com.example.notification.service;
+
+import com.example.notification.config.ClusterConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 클러스터 세션 레지스트리
+ * 
+ * 어떤 사용자가 어느 노드에 WebSocket으로 붙어 있는지를 DB에 기록하고 조회합니다.
+ * 기록은 접속/종료 이벤트마다 별도 스레드에서 비동기로 하고,
+ * 조회는 여러 사용자를 한 번에 묻고 결과를 짧게 캐시합니다.
+ */
+@Service
+@Slf4j
+public class ClusterSessionRegistry {
+    
+    private static final String NOTIFICATION_DESTINATION = "/user/queue/notifications";
+    private static final int CACHE_MAX_SIZE = 100000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterConfig config;
+    private final WebSocketPresenceTracker presenceTracker;
+    private final ClusterMessageBus messageBus;
+    
+    /**
+     * DB 기록 전용 스레드 (접속 이벤트를 처리하는 스레드를 막지 않도록)
+     */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-registry-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    /**
+     * 사용자 ID → 다른 노드 목록 캐시
+     */
+    private final Map<String, CachedNodes> cache = new ConcurrentHashMap<>();
+    
+    public ClusterSessionRegistry(JdbcTemplate jdbcTemplate,
+                                  ClusterConfig config,
+                                  WebSocketPresenceTracker presenceTracker,
+                                  ClusterMessageBus messageBus) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+        this.presenceTracker = presenceTracker;
+        this.messageBus = messageBus;
+    }
+    
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+    
+    /**
+     * 노드를 등록하고, 같은 노드 ID로 남아 있던 이전 세션 기록을 정리합니다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void register() {
+        if (!isEnabled()) {
+            return;
+        }
+        heartbeat();
+        int stale = jdbcTemplate.update("DELETE FROM websocket_sessions WHERE node_id = ?", config.getNodeId());
+        for (String userId : presenceTracker.getOnlineUsers()) {
+            writer.execute(() -> upsertSession(userId));
+        }
+        log.info("클러스터 노드 등록: nodeId={}, 정리한 이전 세션={}건", config.getNodeId(), stale);
+    }
+    
+    @EventListener
+    public void onPresence(UserPresenceEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        writer.execute(() -> {
+            if (event.online()) {
+                upsertSession(event.userId());
+            } else {
+                jdbcTemplate.update("DELETE FROM websocket_sessions WHERE user_id = ? AND node_id = ?",
+                        event.userId(), config.getNodeId());
+            }
+        });
+    }
+    
+    /**
+     * 알림 목적지를 구독하면 다른 노드에 알려 그 노드가 보관 중인 알림을 넘겨받습니다
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        Principal user = event.getUser();
+        Object destination = event.getMessage().getHeaders().get("simpDestination");
+        if (!isEnabled() || user == null || !NOTIFICATION_DESTINATION.equals(destination)) {
+            return;
+        }
+        writer.execute(() -> messageBus.broadcastPresence(user.getName()));
+    }
+    
+    /**
+     * 다른 노드에 사용자가 새로 붙었으면 캐시를 버립니다
+     */
+    @EventListener
+    public void onRemotePresence(RemotePresenceEvent event) {
+        cache.remove(event.userId());
+    }
+    
+    /**
+     * 생존 신호를 남기고 죽은 노드의 세션 기록을 정리합니다
+     */
+    @Scheduled(fixedDelayString = "${cluster.heartbeat-interval-ms:5000}")
+    public void heartbeat() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO cluster_nodes (node_id) VALUES (?) " +
+                    "ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = CURRENT_TIMESTAMP",
+                    config.getNodeId());
+            
+            int pruned = jdbcTemplate.update(
+                    "DELETE FROM websocket_sessions WHERE node_id IN (" +
+                    "SELECT node_id FROM cluster_nodes " +
+                    "WHERE heartbeat_at < CURRENT_TIMESTAMP - (? * INTERVAL '1 millisecond'))",
+                    config.getNodeTtlMs());
+            jdbcTemplate.update(
+                    "DELETE FROM cluster_nodes WHERE heartbeat_at < CURRENT_TIMESTAMP - (? * INTERVAL '1 millisecond')",
+                    config.getNodeTtlMs());
+            if (pruned > 0) {
+                log.info("죽은 노드의 세션 기록 정리: {}건", pruned);
+            }
+        } catch (Exception e) {
+            log.warn("클러스터 생존 신호 실패: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 사용자가 다른 노드에 접속해 있는지 확인합니다
+     */
+    public boolean isOnlineElsewhere(String userId) {
+        return !findRemoteNodes(List.of(userId)).isEmpty();
+    }
+    
+    /**
+     * 여러 사용자가 붙어 있는 다른 노드를 한 번에 조회합니다
+     * 캐시에 없는 사용자만 쿼리 하나로 묻습니다.
+     * 
+     * @return 사용자 ID → 노드 ID 목록 (다른 노드에 접속하지 않은 사용자는 포함하지 않음)
+     */
+    public Map<String, List<String>> findRemoteNodes(Collection<String> userIds) {
+        Map<String, List<String>> result = new HashMap<>();
+        if (!isEnabled() || userIds.isEmpty()) {
+            return result;
+        }
+        long now = System.currentTimeMillis();
+        List<String> misses = new ArrayList<>();
+        
+        for (String userId : userIds) {
+            CachedNodes cached = cache.get(userId);
+            if (cached != null && cached.expiresAt() > now) {
+                if (!cached.nodes().isEmpty()) {
+                    result.put(userId, cached.nodes());
+                }
+            } else {
+                misses.add(userId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+        
+        Map<String, List<String>> found = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT s.user_id, s.node_id FROM websocket_sessions s " +
+                "JOIN cluster_nodes n ON n.node_id = s.node_id " +
+                "WHERE s.user_id = ANY(?) AND s.node_id <> ? " +
+                "AND n.heartbeat_at >= CURRENT_TIMESTAMP - (? * INTERVAL '1 millisecond')",
+                rs -> {
+                    found.computeIfAbsent(rs.getString("user_id"), key -> new ArrayList<>())
+                            .add(rs.getString("node_id"));
+                },
+                misses.toArray(String[]::new), config.getNodeId(), config.getNodeTtlMs());
+        
+        if (cache.size() > CACHE_MAX_SIZE) {
+            cache.clear();
+        }
+        long expiresAt = now + config.getRegistryCacheTtlMs();
+        for (String userId : misses) {
+            List<String> nodes = found.getOrDefault(userId, List.of());
+            cache.put(userId, new CachedNodes(nodes, expiresAt));
+            if (!nodes.isEmpty()) {
+                result.put(userId, nodes);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 생존 신호가 유효한 노드 목록
+     */
+    public Set<String> getLiveNodes() {
+        return Set.copyOf(jdbcTemplate.queryForList(
+                "SELECT node_id FROM cluster_nodes " +
+                "WHERE heartbeat_at >= CURRENT_TIMESTAMP - (? * INTERVAL '1 millisecond')",
+                String.class, config.getNodeTtlMs()));
+    }
+    
+    /**
+     * 종료 시 이 노드의 기록을 지워 다른 노드가 바로 알 수 있게 합니다
+     */
+    @PreDestroy
+    public void deregister() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("DELETE FROM websocket_sessions WHERE node_id = ?", config.getNodeId());
+            jdbcTemplate.update("DELETE FROM cluster_nodes WHERE node_id = ?", config.getNodeId());
+        } catch (Exception e) {
+            log.warn("클러스터 노드 해제 실패: {}", e.getMessage());
+        }
+    }
+    
+    private void upsertSession(String userId) {
+        jdbcTemplate.update(
+                "INSERT INTO websocket_sessions (user_id, node_id) VALUES (?, ?) " +
+                "ON CONFLICT (user_id, node_id) DO UPDATE SET updated_at = CURRENT_TIMESTAMP",
+                userId, config.getNodeId());
+    }
+    
+    private record CachedNodes(List<String> nodes, long expiresAt) {
+    }
+}
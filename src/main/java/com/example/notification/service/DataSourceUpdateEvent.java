@@ -0,0 +1,13 @@
+package com.example.notification.service;
+
+import java.util.Set;
+
+/**
+ * 외부 데이터 갱신 이벤트
+ * 
+ * @param source 데이터 출처 (weather, stock, news, custom)
+ * @param changedFields 값이 바뀐 필드 이름
+ * @param publishedAt 갱신 시각 (epoch 밀리초), 갱신부터 알림까지의 지연 측정에 사용
+ */
+public record DataSourceUpdateEvent(String source, Set<String> changedFields, long publishedAt) {
+}
@@ -1,34 +1,106 @@
 package com.example.notification.service;
 
+import com.example.notification.config.SandboxConfig;
+import com.example.notification.diagnostics.RuleCompileEvent;
 import com.example.notification.domain.NotificationRule;
+import com.example.notification.sandbox.BudgetedNotificationRule;
+import com.example.notification.sandbox.PooledNotificationRule;
+import com.example.notification.sandbox.RuleBudgetExceededException;
+import com.example.notification.sandbox.RuleClassLoaderPool;
+import com.example.notification.sandbox.RuleClassTransformer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.objectweb.asm.ClassReader;
 import org.springframework.stereotype.Service;
 
 import javax.tools.*;
 import java.io.File;
 import java.io.IOException;
-import java.net.URL;
-import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * 동적 코드 컴파일 및 실행 엔진
  * 
  * Claude AI가 생성한 Java 코드를 런타임에 컴파일하고,
  * NotificationRule 인스턴스를 생성하여 반환합니다.
+ * 
+ * 샌드박스가 켜져 있으면 컴파일된 클래스를 로드하기 전에 허용 패키지 밖 참조를 검사하고
+ * 실행 예산 계측 지점을 넣은 뒤, 호출마다 예산을 적용하는 데코레이터로 감싸 반환합니다.
+ * 규칙 클래스는 여러 규칙이 함께 쓰는 로더(RuleClassLoaderPool)에 올리므로, 더 쓰지 않는 규칙은 unload로 내립니다.
  */
 @Service
 @Slf4j
 public class DynamicCodeEngine {
     
     private static final String TEMP_DIR_PREFIX = "notification-rules";
+    private static final String RULES_PACKAGE = "com.example.notification.rules.";
     private static final Pattern CLASS_NAME_PATTERN = Pattern.compile("public\\s+class\\s+(\\w+)");
     
+    /**
+     * 클래스 파일 상수 풀 태그 (JVMS 4.4)
+     */
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    
+    private final SandboxConfig sandboxConfig;
+    private final MeterRegistry meterRegistry;
+    
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final RuleClassLoaderPool loaderPool;
+    
+    public DynamicCodeEngine(SandboxConfig sandboxConfig, MeterRegistry meterRegistry) {
+        this.sandboxConfig = sandboxConfig;
+        this.meterRegistry = meterRegistry;
+        this.successTimer = compileTimer(meterRegistry, "success");
+        this.failureTimer = compileTimer(meterRegistry, "failure");
+        this.batchTimer = Timer.builder("rule.compile.batch.duration")
+                .description("규칙 소스 묶음 컴파일부터 인스턴스 생성까지의 시간")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("rule.compile.batch.size")
+                .register(meterRegistry);
+        this.loaderPool = new RuleClassLoaderPool(sandboxConfig.getLoaderSegmentCapacity(),
+                sandboxConfig.getLoaderCompactionRatio(), getClass().getClassLoader(), this::newInstance);
+        Gauge.builder("rule.classloaders", loaderPool, RuleClassLoaderPool::getLoaderCount)
+                .description("규칙 클래스를 담은 로더 수")
+                .register(meterRegistry);
+        Gauge.builder("rule.classloaders.classes", loaderPool, RuleClassLoaderPool::getClassCount)
+                .description("로더에 정의해 둔 규칙 클래스 수 (내린 규칙 포함)")
+                .register(meterRegistry);
+        Gauge.builder("rule.classloaders.rules", loaderPool, RuleClassLoaderPool::getRuleCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("rule.classloaders.compactions", loaderPool, RuleClassLoaderPool::getCompactions)
+                .register(meterRegistry);
+        FunctionCounter.builder("rule.classloaders.relocations", loaderPool, RuleClassLoaderPool::getRelocations)
+                .register(meterRegistry);
+    }
+    
+    private static Timer compileTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("rule.compile.duration")
+                .tag("outcome", outcome)
+                .description("규칙 소스 컴파일부터 인스턴스 생성까지의 시간")
+                .register(meterRegistry);
+    }
+    
     /**
      * Java 소스 코드를 컴파일하고 NotificationRule 인스턴스를 생성합니다
      * 
@@ -37,6 +109,281 @@ public class DynamicCodeEngine {
      * @throws Exception 컴파일 또는 인스턴스화 실패 시
      */
     public NotificationRule compileAndLoad(String sourceCode) throws Exception {
+        return compileTimed(sourceCode, true);
+    }
+    
+    /**
+     * 컴파일과 바이트코드 검사만 하고 클래스를 로드하지 않습니다 (격리 모드에서 규칙 코드를 이 JVM에서 실행하지 않기 위해)
+     * 
+     * @throws Exception 컴파일 실패 또는 허용되지 않은 코드일 때
+     */
+    public void verify(String sourceCode) throws Exception {
+        compileTimed(sourceCode, false);
+    }
+    
+    private NotificationRule compileTimed(String sourceCode, boolean load) throws Exception {
+        RuleCompileEvent event = new RuleCompileEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            NotificationRule rule = compile(sourceCode, load);
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return rule;
+        
+        } catch (Exception e) {
+            outcome = failureReason(e);
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("rule.compile.failures", "reason", outcome).increment();
+            throw e;
+        
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setClassName(extractClassName(sourceCode));
+                event.setSourceLength(sourceCode.length());
+                event.setSandboxed(sandboxConfig.isEnabled());
+                event.setOutcome(outcome);
+                event.commit();
+            }
+        }
+    }
+    
+    /**
+     * 컴파일 실패 원인 (메트릭 태그용, 값의 종류가 고정되어 있습니다)
+     */
+    private static String failureReason(Exception e) {
+        if (e instanceof RuleCompilationException) {
+            return "compile";
+        }
+        if (e instanceof RuleBudgetExceededException) {
+            return "budget";
+        }
+        if (e instanceof IllegalArgumentException) {
+            return "rejected";
+        }
+        return "error";
+    }
+    
+    /**
+     * 여러 규칙 소스를 묶어 컴파일하고 각각 인스턴스를 생성합니다
+     * 
+     * 클래스 이름이 겹치지 않는 소스끼리 javac 한 번에 넣고, 묶음 전체가 파일 관리자(클래스패스 색인)를 함께 씁니다.
+     * 규칙마다 따로 공유 로더에 올리므로 결과는 compileAndLoad를 하나씩 부른 것과 같으며,
+     * 한 소스의 오류는 그 항목만 실패로 돌려줍니다.
+     * 함께 컴파일하면 javac가 같은 묶음의 다른 규칙 클래스를 찾아 주지만 로드 후에는 보이지 않으므로,
+     * 그런 참조가 있는 항목은 따로 컴파일했을 때처럼 실패로 돌려줍니다.
+     * 
+     * @return 입력과 같은 순서의 결과
+     */
+    public List<LoadResult> compileAndLoadAll(List<String> sources) {
+        return compileAll(sources, true);
+    }
+    
+    /**
+     * 여러 규칙 소스를 묶어 컴파일과 바이트코드 검사만 합니다 (클래스를 로드하지 않으므로 성공한 결과의 rule은 null)
+     * 
+     * @return 입력과 같은 순서의 결과
+     */
+    public List<LoadResult> verifyAll(List<String> sources) {
+        return compileAll(sources, false);
+    }
+    
+    private List<LoadResult> compileAll(List<String> sources, boolean load) {
+        long start = System.nanoTime();
+        LoadResult[] results = new LoadResult[sources.size()];
+        
+        // 같은 이름의 클래스는 한 번의 javac에 함께 넣을 수 없으므로 이름이 겹치지 않는 묶음(round)으로 나눕니다
+        List<Map<String, Integer>> rounds = new ArrayList<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (int i = 0; i < sources.size(); i++) {
+            String className = extractClassName(sources.get(i));
+            if (className == null) {
+                results[i] = failed(new IllegalArgumentException("유효한 클래스 이름을 찾을 수 없습니다"));
+                continue;
+            }
+            int round = occurrences.merge(className, 1, Integer::sum) - 1;
+            if (round == rounds.size()) {
+                rounds.add(new HashMap<>());
+            }
+            rounds.get(round).put(className, i);
+        }
+        
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            IllegalStateException error = new IllegalStateException("Java 컴파일러를 찾을 수 없습니다. JDK가 필요합니다.");
+            rounds.forEach(round -> round.values().forEach(index -> results[index] = failed(error)));
+        } else {
+            try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+                for (Map<String, Integer> round : rounds) {
+                    compileRound(compiler, fileManager, sources, round, results, load);
+                }
+            } catch (IOException e) {
+                log.warn("파일 관리자 정리 실패", e);
+            }
+        }
+        
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizeSummary.record(sources.size());
+        log.info("규칙 묶음 컴파일 완료: {}건, javac {}회", sources.size(), rounds.size());
+        return Arrays.asList(results);
+    }
+    
+    /**
+     * 클래스 이름이 서로 다른 소스들을 javac 한 번으로 컴파일합니다
+     * 오류가 난 소스는 실패로 기록하고 나머지만으로 다시 컴파일합니다 (javac는 오류가 하나라도 있으면 클래스 파일을 쓰지 않습니다).
+     * 
+     * @param round 클래스 이름 → 입력 순번
+     * @param load false면 검사까지만 하고 로드하지 않습니다
+     */
+    private void compileRound(JavaCompiler compiler, StandardJavaFileManager fileManager,
+                              List<String> sources, Map<String, Integer> round, LoadResult[] results, boolean load) {
+        Map<String, Integer> pending = new HashMap<>(round);
+        while (!pending.isEmpty()) {
+            Path tempDir = null;
+            try {
+                tempDir = Files.createTempDirectory(TEMP_DIR_PREFIX);
+                Path sourceDir = Files.createDirectories(tempDir.resolve("src"));
+                Path outputDir = Files.createDirectories(tempDir.resolve("classes"));
+                
+                List<File> sourceFiles = new ArrayList<>(pending.size());
+                for (Map.Entry<String, Integer> entry : pending.entrySet()) {
+                    Path sourceFile = sourceDir.resolve(entry.getKey() + ".java");
+                    Files.writeString(sourceFile, sources.get(entry.getValue()));
+                    sourceFiles.add(sourceFile.toFile());
+                }
+                
+                DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+                OutputTrackingFileManager trackingManager = new OutputTrackingFileManager(fileManager);
+                List<String> options = Arrays.asList(
+                        "-d", outputDir.toString(),
+                        "-classpath", System.getProperty("java.class.path")
+                );
+                boolean success = compiler.getTask(null, trackingManager, diagnostics, options, null,
+                        fileManager.getJavaFileObjectsFromFiles(sourceFiles)).call();
+                
+                if (!success) {
+                    Map<String, StringBuilder> errors = collectErrors(diagnostics);
+                    errors.keySet().retainAll(pending.keySet());
+                    if (errors.isEmpty()) {
+                        // 어느 소스의 오류인지 알 수 없으면 남은 항목을 모두 실패로 처리합니다
+                        RuleCompilationException error = new RuleCompilationException("컴파일 오류:\n" + diagnostics.getDiagnostics());
+                        pending.values().forEach(index -> results[index] = failed(error));
+                        return;
+                    }
+                    errors.forEach((className, message) -> {
+                        results[pending.remove(className)] = failed(new RuleCompilationException(message.toString()));
+                    });
+                    continue;
+                }
+                
+                Map<String, byte[]> compiled = readClassFiles(outputDir);
+                for (Map.Entry<String, Integer> entry : pending.entrySet()) {
+                    Map<String, byte[]> owned = new HashMap<>();
+                    trackingManager.classesOf(entry.getKey())
+                            .forEach(name -> owned.put(name, compiled.get(name)));
+                    Set<String> others = new HashSet<>(compiled.keySet());
+                    others.removeAll(owned.keySet());
+                    try {
+                        // 함께 컴파일한 다른 규칙의 클래스는 따로 로드되므로 참조하면 실행 중에 찾지 못합니다
+                        String reference = findReference(owned, others);
+                        if (reference != null) {
+                            throw new RuleCompilationException("같은 묶음의 다른 규칙 클래스를 참조할 수 없습니다: " + reference);
+                        }
+                        Map<String, byte[]> prepared = prepareClasses(owned);
+                        results[entry.getValue()] = new LoadResult(load ? instantiate(entry.getKey(), prepared) : null, null);
+                    } catch (Exception e) {
+                        results[entry.getValue()] = failed(e);
+                    }
+                }
+                return;
+            
+            } catch (IOException e) {
+                pending.values().forEach(index -> results[index] = failed(e));
+                return;
+            
+            } finally {
+                if (tempDir != null) {
+                    deleteDirectory(tempDir.toFile());
+                }
+            }
+        }
+    }
+    
+    /**
+     * 클래스 파일의 상수 풀에서 주어진 클래스를 가리키는 항목을 찾습니다
+     * 
+     * 클래스 참조(new, 형 변환, 필드/메서드 소유자 등)와 필드/메서드 시그니처에 나오는 타입을 봅니다.
+     * 
+     * @param classes 검사할 클래스 이름 → 바이트코드
+     * @param targets 참조하면 안 되는 클래스 이름 (점 구분)
+     * @return 처음 찾은 참조 대상, 없으면 null
+     */
+    private static String findReference(Map<String, byte[]> classes, Set<String> targets) {
+        if (targets.isEmpty()) {
+            return null;
+        }
+        Map<String, String> descriptors = new HashMap<>();
+        for (String target : targets) {
+            descriptors.put("L" + target.replace('.', '/') + ";", target);
+        }
+        for (byte[] bytes : classes.values()) {
+            ClassReader reader = new ClassReader(bytes);
+            char[] buffer = new char[reader.getMaxStringLength()];
+            for (int i = 1; i < reader.getItemCount(); i++) {
+                int offset = reader.getItem(i);
+                if (offset == 0) {
+                    continue;   // long/double가 차지하는 두 번째 칸
+                }
+                // 클래스 항목은 내부 이름(a/b/C)이나 배열 서술자, 나머지는 서술자(La/b/C;) 형태입니다
+                String descriptor = switch (reader.readByte(offset - 1)) {
+                    case CONSTANT_CLASS -> {
+                        String name = reader.readUTF8(offset, buffer);
+                        yield name.startsWith("[") ? name : "L" + name + ";";
+                    }
+                    case CONSTANT_NAME_AND_TYPE -> reader.readUTF8(offset + 2, buffer);
+                    case CONSTANT_METHOD_TYPE -> reader.readUTF8(offset, buffer);
+                    default -> null;
+                };
+                if (descriptor == null) {
+                    continue;
+                }
+                for (Map.Entry<String, String> target : descriptors.entrySet()) {
+                    if (descriptor.contains(target.getKey())) {
+                        return target.getValue();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 컴파일 오류를 소스(클래스 이름)별로 모읍니다
+     */
+    private static Map<String, StringBuilder> collectErrors(DiagnosticCollector<JavaFileObject> diagnostics) {
+        Map<String, StringBuilder> errors = new HashMap<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() != Diagnostic.Kind.ERROR || diagnostic.getSource() == null) {
+                continue;
+            }
+            errors.computeIfAbsent(sourceClassName(diagnostic.getSource()), key -> new StringBuilder("컴파일 오류:\n"))
+                    .append(String.format("Line %d: %s%n", diagnostic.getLineNumber(), diagnostic.getMessage(null)));
+        }
+        return errors;
+    }
+    
+    private static String sourceClassName(FileObject source) {
+        String fileName = Path.of(source.toUri()).getFileName().toString();
+        return fileName.substring(0, fileName.length() - ".java".length());
+    }
+    
+    private LoadResult failed(Exception e) {
+        meterRegistry.counter("rule.compile.failures", "reason", failureReason(e)).increment();
+        return new LoadResult(null, e);
+    }
+    
+    private NotificationRule compile(String sourceCode, boolean load) throws Exception {
         log.info("동적 코드 컴파일 시작");
         
         // 클래스 이름 추출
@@ -101,37 +448,26 @@ public class DynamicCodeEngine {
                             diagnostic.getMessage(null)));
                 }
                 log.error(errors.toString());
-                throw new RuntimeException(errors.toString());
+                throw new RuleCompilationException(errors.toString());
             }
             
             log.info("컴파일 성공: {}", className);
             
-            // 클래스 로드
-            URLClassLoader classLoader = new URLClassLoader(
-                    new URL[]{outputDir.toUri().toURL()},
-                    this.getClass().getClassLoader()
-            );
+            // 바이트코드 검사 및 계측 (내부 클래스 포함)
+            Map<String, byte[]> classes = prepareClasses(readClassFiles(outputDir));
             
-            // package 이름을 포함한 전체 클래스 이름
-            String fullClassName = "com.example.notification.rules." + className;
-            Class<?> ruleClass = classLoader.loadClass(fullClassName);
-            
-            // NotificationRule 인터페이스 구현 확인
-            if (!NotificationRule.class.isAssignableFrom(ruleClass)) {
-                throw new IllegalArgumentException(
-                        className + "는 NotificationRule 인터페이스를 구현하지 않습니다"
-                );
+            fileManager.close();
+            if (!load) {
+                return null;
             }
             
-            // 인스턴스 생성
-            NotificationRule rule = (NotificationRule) ruleClass.getDeclaredConstructor().newInstance();
+            // 클래스 로드 및 인스턴스 생성
+            NotificationRule rule = instantiate(className, classes);
             
             log.info("클래스 로드 및 인스턴스화 성공: {}", className);
             
-            fileManager.close();
-            
             return rule;
-            
+        
         } finally {
             // 임시 파일 정리 (옵션)
             // 프로덕션에서는 정기적으로 정리하거나 별도 관리 필요
@@ -139,6 +475,84 @@ public class DynamicCodeEngine {
         }
     }
     
+    /**
+     * 규칙 클래스를 공유 로더에 올리고 인스턴스를 생성합니다
+     * 
+     * @param classes 검사 및 계측을 마친 클래스 (내부 클래스 포함)
+     */
+    private NotificationRule instantiate(String className, Map<String, byte[]> classes) throws Exception {
+        // package 이름을 포함한 전체 클래스 이름
+        return loaderPool.load(RULES_PACKAGE + className, classes);
+    }
+    
+    /**
+     * 로드한 규칙 클래스의 인스턴스를 만듭니다 (로더를 정리하며 다른 로더로 옮길 때도 사용)
+     */
+    private NotificationRule newInstance(Class<?> ruleClass) throws Exception {
+        // NotificationRule 인터페이스 구현 확인
+        if (!NotificationRule.class.isAssignableFrom(ruleClass)) {
+            throw new IllegalArgumentException(
+                    ruleClass.getSimpleName() + "는 NotificationRule 인터페이스를 구현하지 않습니다"
+            );
+        }
+        
+        // 인스턴스 생성 (샌드박스에서는 초기화도 실행 예산 안에서)
+        return sandboxConfig.isEnabled()
+                ? BudgetedNotificationRule.instantiate(ruleClass.asSubclass(NotificationRule.class),
+                        sandboxConfig.toLimits())
+                : (NotificationRule) ruleClass.getDeclaredConstructor().newInstance();
+    }
+    
+    /**
+     * 더 쓰지 않는 규칙을 로더에서 내립니다 (null이면 무시)
+     * 
+     * 내리지 않고 버린 규칙도 GC가 수거하면 내려가지만, 바로 내리면 로더를 더 일찍 정리할 수 있습니다.
+     */
+    public void unload(NotificationRule rule) {
+        if (rule instanceof PooledNotificationRule pooled) {
+            loaderPool.release(pooled);
+        }
+    }
+    
+    /**
+     * 컴파일 결과 디렉토리의 클래스 파일을 읽습니다
+     * 
+     * @return 클래스 이름 → 바이트코드
+     */
+    private Map<String, byte[]> readClassFiles(Path outputDir) throws IOException {
+        Map<String, byte[]> classes = new HashMap<>();
+        try (Stream<Path> files = Files.walk(outputDir)) {
+            for (Path file : (Iterable<Path>) files.filter(path -> path.toString().endsWith(".class"))::iterator) {
+                String relative = outputDir.relativize(file).toString();
+                String name = relative.substring(0, relative.length() - ".class".length())
+                        .replace(File.separatorChar, '.');
+                classes.put(name, Files.readAllBytes(file));
+            }
+        }
+        return classes;
+    }
+    
+    /**
+     * 규칙 패키지 밖의 클래스를 거르고, 샌드박스가 켜져 있으면 검사 및 계측합니다
+     * 
+     * @throws IllegalArgumentException 규칙 패키지 밖에 클래스를 선언했거나 허용 패키지 밖의 클래스를 참조할 때
+     */
+    private Map<String, byte[]> prepareClasses(Map<String, byte[]> classes) {
+        RuleClassTransformer transformer = sandboxConfig.isEnabled()
+                ? new RuleClassTransformer(sandboxConfig.getAllowedPackages())
+                : null;
+        
+        Map<String, byte[]> prepared = new HashMap<>();
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            String name = entry.getKey();
+            if (!name.startsWith(RULES_PACKAGE)) {
+                throw new IllegalArgumentException("규칙은 " + RULES_PACKAGE + " 패키지에 있어야 합니다: " + name);
+            }
+            prepared.put(name, transformer != null ? transformer.transform(entry.getValue()) : entry.getValue());
+        }
+        return prepared;
+    }
+    
     /**
      * 소스 코드에서 클래스 이름을 추출합니다
      */
@@ -168,4 +582,42 @@ public class DynamicCodeEngine {
             directory.delete();
         }
     }
+    
+    /**
+     * 묶음 컴파일 항목 하나의 결과 (실패면 error만 있고, 성공이면 rule이 있음 - verifyAll은 rule도 null)
+     */
+    public record LoadResult(NotificationRule rule, Exception error) {
+        
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+    
+    /**
+     * javac가 쓰는 클래스 파일을 원본 소스별로 기록합니다 (묶음 컴파일에서 결과를 규칙별로 나누기 위해)
+     */
+    private static class OutputTrackingFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        
+        /**
+         * 소스 클래스 이름 → 그 소스에서 나온 클래스 이름 (내부 클래스, 같은 파일의 다른 최상위 클래스 포함)
+         */
+        private final Map<String, List<String>> outputs = new HashMap<>();
+        
+        OutputTrackingFileManager(StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+        
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                                   JavaFileObject.Kind kind, FileObject sibling) throws IOException {
+            if (kind == JavaFileObject.Kind.CLASS && sibling != null) {
+                outputs.computeIfAbsent(sourceClassName(sibling), key -> new ArrayList<>()).add(className);
+            }
+            return super.getJavaFileForOutput(location, className, kind, sibling);
+        }
+        
+        List<String> classesOf(String sourceClassName) {
+            return outputs.getOrDefault(sourceClassName, List.of());
+        }
+    }
 }
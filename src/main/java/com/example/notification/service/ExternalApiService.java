@@ -1,37 +1,103 @@
 package com.example.notification.service;
 
 import com.example.notification.dto.NotificationContext;
+import com.example.notification.history.ContextHistoryLog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 외부 API 통합 서비스
  * 
  * 날씨, 주식, 뉴스 등의 외부 API로부터 데이터를 가져옵니다.
  * 데모 버전에서는 목데이터를 반환합니다.
+ * 
+ * 시세 피드처럼 값을 밀어 주는 출처는 {@link #publishUpdate}로 최신 값을 반영하고,
+ * 바뀐 필드를 {@link DataSourceUpdateEvent}로 알립니다 (스트리밍 평가용).
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ExternalApiService {
     
+    public static final String WEATHER = "weather";
+    public static final String STOCK = "stock";
+    public static final String NEWS = "news";
+    public static final String CUSTOM = "custom";
+    
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContextHistoryLog historyLog;
+    
     private final Random random = new Random();
     
+    /**
+     * 출처별 최신 값 (스트리밍 평가용 스냅샷의 원본)
+     */
+    private final Map<String, Map<String, Object>> liveData = new ConcurrentHashMap<>();
+    
     /**
      * 모든 외부 API 데이터를 가져와서 NotificationContext를 구성합니다
      */
     public NotificationContext fetchContext() {
-        return NotificationContext.builder()
+        NotificationContext context = NotificationContext.builder()
                 .weatherData(fetchWeatherData())
                 .stockData(fetchStockData())
                 .newsData(fetchNewsData())
                 .timestamp(System.currentTimeMillis())
                 .build();
+        
+        // 백테스트용 이력 기록
+        historyLog.append(context);
+        return context;
+    }
+    
+    /**
+     * 출처의 최신 값을 반영하고 바뀐 필드가 있으면 갱신 이벤트를 발행합니다
+     * 
+     * @param source 데이터 출처 (weather, stock, news, custom)
+     * @param fields 새 값 (일부 필드만 넘겨도 됨)
+     */
+    public void publishUpdate(String source, Map<String, Object> fields) {
+        long now = System.currentTimeMillis();
+        Set<String> changed = new HashSet<>();
+        
+        liveData.compute(source, (key, current) -> {
+            Map<String, Object> next = current != null ? new HashMap<>(current) : new HashMap<>();
+            fields.forEach((field, value) -> {
+                if (!Objects.equals(next.put(field, value), value)) {
+                    changed.add(field);
+                }
+            });
+            return Map.copyOf(next);
+        });
+        
+        if (!changed.isEmpty()) {
+            historyLog.append(currentContext());
+            eventPublisher.publishEvent(new DataSourceUpdateEvent(source, Set.copyOf(changed), now));
+        }
+    }
+    
+    /**
+     * 최신 값으로 NotificationContext를 구성합니다
+     * 아직 갱신이 없었던 출처는 한 번 조회한 값으로 채웁니다.
+     */
+    public NotificationContext currentContext() {
+        return NotificationContext.builder()
+                .weatherData(liveData.computeIfAbsent(WEATHER, key -> Map.copyOf(fetchWeatherData())))
+                .stockData(liveData.computeIfAbsent(STOCK, key -> Map.copyOf(fetchStockData())))
+                .newsData(liveData.computeIfAbsent(NEWS, key -> Map.copyOf(fetchNewsData())))
+                .customData(liveData.get(CUSTOM))
+                .timestamp(System.currentTimeMillis())
+                .build();
     }
     
     /**
@@ -0,0 +1,14 @@
+package com.example.notification.service;
+
+/**
+ * 과부하 규칙 감지 이벤트 (알림/경보 연동용)
+ * 
+ * @param ruleId 규칙 ID
+ * @param cpuNanosPerEval 감지 구간의 평가당 평균 CPU 시간 (나노초)
+ * @param allocatedBytesPerEval 감지 구간의 평가당 평균 할당 바이트
+ * @param action 적용한 조치 (DEMOTED / DISABLED, 격리 모드에서 워커를 반복해서 종료시킨 경우 CRASHED)
+ * @param demotionFactor 조치 후 감속 배수 (비활성화면 0)
+ */
+public record HotRuleDetectedEvent(Long ruleId, long cpuNanosPerEval, long allocatedBytesPerEval,
+                                   String action, int demotionFactor) {
+}
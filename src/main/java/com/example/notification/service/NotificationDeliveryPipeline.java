@@ -0,0 +1,225 @@
+package com.example.notification.service;
+
+import com.example.notification.channel.NoActiveChannelException;
+import com.example.notification.channel.NotificationChannelRouter;
+import com.example.notification.config.NotificationConfig;
+import com.example.notification.dto.NotificationMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기 알림 발송 파이프라인
+ * 
+ * 규칙 평가 스레드는 메시지를 제한된 큐에 넣기만 하고,
+ * 전용 발송 스레드가 큐를 배치 단위로 비우면서 채널 라우터로 넘깁니다.
+ */
+@Service
+@Slf4j
+public class NotificationDeliveryPipeline {
+    
+    private final NotificationChannelRouter channelRouter;
+    private final NotificationConfig.Delivery config;
+    
+    /**
+     * 여러 생산자(스케줄러, API)와 여러 발송 스레드가 공유하는 제한 큐
+     */
+    private final BlockingQueue<NotificationMessage> queue;
+    
+    private final List<Thread> senders = new ArrayList<>();
+    private volatile boolean running;
+    
+    private final Counter enqueuedCounter;
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+    private final Counter spilledCounter;
+    private final Timer deliveryLatency;
+    private final DistributionSummary batchSizeSummary;
+    
+    public NotificationDeliveryPipeline(NotificationChannelRouter channelRouter,
+                                        NotificationConfig notificationConfig,
+                                        MeterRegistry meterRegistry) {
+        this.channelRouter = channelRouter;
+        this.config = notificationConfig.getDelivery();
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        
+        this.enqueuedCounter = meterRegistry.counter("notification.delivery.enqueued");
+        this.deliveredCounter = meterRegistry.counter("notification.delivery.delivered");
+        this.failedCounter = meterRegistry.counter("notification.delivery.failed");
+        this.droppedCounter = meterRegistry.counter("notification.delivery.dropped");
+        this.spilledCounter = meterRegistry.counter("notification.delivery.spilled");
+        this.deliveryLatency = Timer.builder("notification.delivery.latency")
+                .description("알림 생성부터 채널 워커 전달까지의 지연")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("notification.delivery.batch.size")
+                .register(meterRegistry);
+        Gauge.builder("notification.delivery.queue.depth", queue, Collection::size)
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < config.getSenderThreads(); i++) {
+            Thread sender = new Thread(this::runSender, "notification-sender-" + i);
+            sender.setDaemon(true);
+            sender.start();
+            senders.add(sender);
+        }
+        log.info("알림 발송 파이프라인 시작: senderThreads={}, queueCapacity={}, overflowPolicy={}",
+                config.getSenderThreads(), config.getQueueCapacity(), config.getOverflowPolicy());
+    }
+    
+    /**
+     * 종료 시 큐에 남은 메시지를 모두 발송한 뒤 스레드를 정리합니다
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread sender : senders) {
+            sender.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        if (!queue.isEmpty()) {
+            log.warn("발송되지 못한 알림이 남아 있습니다: {}건", queue.size());
+        }
+    }
+    
+    /**
+     * 알림을 발송 큐에 넣습니다
+     * 
+     * @return 큐에 들어갔거나 직접 발송되었으면 true, 버려졌으면 false
+     */
+    public boolean submit(NotificationMessage message) {
+        if (queue.offer(message)) {
+            enqueuedCounter.increment();
+            return true;
+        }
+        
+        switch (config.getOverflowPolicy()) {
+            case DROP_OLDEST -> {
+                if (queue.poll() != null) {
+                    droppedCounter.increment();
+                }
+                if (queue.offer(message)) {
+                    enqueuedCounter.increment();
+                    return true;
+                }
+                droppedCounter.increment();
+                return false;
+            }
+            case SPILL_TO_CALLER -> {
+                spilledCounter.increment();
+                deliverBatch(List.of(message));
+                return true;
+            }
+            default -> {
+                droppedCounter.increment();
+                log.warn("발송 큐가 가득 차 알림을 버립니다: userId={}, ruleId={}",
+                        message.getUserId(), message.getRuleId());
+                return false;
+            }
+        }
+    }
+    
+    /**
+     * 현재 큐에 쌓여 있는 메시지 수
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+    
+    /**
+     * 발송 스레드 루프: 첫 메시지를 기다린 뒤 배치 크기만큼 한 번에 꺼내 발송합니다
+     */
+    private void runSender() {
+        List<NotificationMessage> batch = new ArrayList<>(config.getBatchSize());
+        
+        while (running || !queue.isEmpty()) {
+            try {
+                NotificationMessage first = queue.poll(config.getPollTimeoutMs(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, config.getBatchSize() - 1);
+                
+                deliverBatch(batch);
+            
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("알림 배치 발송 중 오류", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    /**
+     * 배치 단위로 채널 라우터에 넘깁니다
+     */
+    void deliverBatch(List<NotificationMessage> batch) {
+        batchSizeSummary.record(batch.size());
+        
+        if (route(batch)) {
+            deliveredCounter.increment(batch.size());
+        } else {
+            failedCounter.increment(batch.size());
+        }
+        
+        log.debug("알림 배치 전달 완료: {}건", batch.size());
+    }
+    
+    /**
+     * 알림 하나를 호출한 스레드에서 바로 채널 워커로 넘기고 실제 발송 결과를 돌려받습니다
+     * 
+     * @return 모든 채널의 발송이 성공하면 true, 최종 실패하거나 거부되면 false로 완료되는 결과,
+     *         보낼 채널이 없으면 {@link NoActiveChannelException}으로 완료되며 실패로 세지 않습니다
+     */
+    public CompletableFuture<Boolean> deliver(NotificationMessage message) {
+        CompletableFuture<Boolean> result;
+        try {
+            result = channelRouter.routeTracked(message);
+            deliveryLatency.record(System.currentTimeMillis() - message.getCreatedAt(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.error("알림 전달 실패: userId={}", message.getUserId(), e);
+            result = CompletableFuture.completedFuture(false);
+        }
+        return result.whenComplete((sent, e) -> {
+            if (NoActiveChannelException.causeOf(e) == null) {
+                (Boolean.TRUE.equals(sent) ? deliveredCounter : failedCounter).increment();
+            }
+        });
+    }
+    
+    private boolean route(List<NotificationMessage> messages) {
+        try {
+            boolean accepted = channelRouter.route(messages);
+            long now = System.currentTimeMillis();
+            for (NotificationMessage message : messages) {
+                deliveryLatency.record(now - message.getCreatedAt(), TimeUnit.MILLISECONDS);
+            }
+            return accepted;
+        
+        } catch (Exception e) {
+            log.error("알림 전달 실패: {}건", messages.size(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.notification.service;
+
+import com.example.notification.config.NotificationConfig;
+import com.example.notification.dto.NotificationDigest;
+import com.example.notification.dto.NotificationMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 알림 다이제스트 서비스
+ * 
+ * 한 사용자에게 발생한 알림을 tick(또는 설정한 구간) 동안 모았다가
+ * 하나의 다이제스트로 발송 파이프라인에 넘깁니다.
+ */
+@Service
+@Slf4j
+public class NotificationDigestService {
+    
+    private final NotificationDeliveryPipeline deliveryPipeline;
+    private final NotificationConfig.Digest config;
+    
+    /**
+     * 사용자별 수집 버퍼
+     * 버퍼 변경은 항상 compute 안에서 일어나므로 remove와 원자적으로 구분됩니다.
+     */
+    private final Map<String, UserBuffer> buffers = new ConcurrentHashMap<>();
+    
+    private final Counter coalescedCounter;
+    
+    public NotificationDigestService(NotificationDeliveryPipeline deliveryPipeline,
+                                     NotificationConfig notificationConfig,
+                                     MeterRegistry meterRegistry) {
+        this.deliveryPipeline = deliveryPipeline;
+        this.config = notificationConfig.getDelivery().getDigest();
+        this.coalescedCounter = meterRegistry.counter("notification.digest.coalesced");
+    }
+    
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+    
+    /**
+     * 알림을 사용자 버퍼에 추가합니다
+     */
+    public void add(NotificationMessage message) {
+        buffers.compute(message.getUserId(), (userId, buffer) -> {
+            if (buffer == null) {
+                buffer = new UserBuffer(message.getCreatedAt());
+            }
+            buffer.add(message, config.getMaxItemsPerUser());
+            return buffer;
+        });
+    }
+    
+    /**
+     * tick이 끝났을 때 모든 사용자 버퍼를 발송합니다 (tick 단위 모드)
+     */
+    public void flushTick() {
+        if (config.getWindowMs() > 0) {
+            return;
+        }
+        int flushed = 0;
+        for (String userId : buffers.keySet()) {
+            UserBuffer buffer = buffers.remove(userId);
+            if (buffer != null) {
+                emit(userId, buffer);
+                flushed++;
+            }
+        }
+        log.debug("tick 다이제스트 발송: {}명", flushed);
+    }
+    
+    /**
+     * 구간이 지난 사용자 버퍼를 발송합니다
+     * tick 단위 모드에서는 tick 밖에서 들어온 알림이 max-hold-ms 이상 머물지 않도록 합니다.
+     */
+    @Scheduled(fixedDelayString = "${notification.delivery.digest.flush-interval-ms:1000}")
+    public void flushExpired() {
+        if (!config.isEnabled() || buffers.isEmpty()) {
+            return;
+        }
+        long window = config.getWindowMs() > 0 ? config.getWindowMs() : config.getMaxHoldMs();
+        long deadline = System.currentTimeMillis() - window;
+        
+        for (Map.Entry<String, UserBuffer> entry : buffers.entrySet()) {
+            if (entry.getValue().firstAt <= deadline && buffers.remove(entry.getKey(), entry.getValue())) {
+                emit(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+    
+    private void emit(String userId, UserBuffer buffer) {
+        if (buffer.total == 1) {
+            deliveryPipeline.submit(buffer.items.get(0));
+            return;
+        }
+        coalescedCounter.increment(buffer.total - 1);
+        deliveryPipeline.submit(toMessage(userId, buffer.items, buffer.total, buffer.firstAt));
+    }
+    
+    /**
+     * 이미 모인 알림 목록을 바로 다이제스트 하나로 묶습니다 (아웃박스 디스패처용)
+     */
+    public NotificationMessage coalesce(String userId, List<NotificationMessage> messages) {
+        int shown = Math.min(messages.size(), config.getMaxItemsPerUser());
+        coalescedCounter.increment(messages.size() - 1);
+        return toMessage(userId, new ArrayList<>(messages.subList(0, shown)),
+                messages.size(), messages.get(0).getCreatedAt());
+    }
+    
+    /**
+     * 여러 알림을 다이제스트 메시지 하나로 만듭니다
+     */
+    static NotificationMessage toMessage(String userId, List<NotificationMessage> items, int total, long firstAt) {
+        int overflow = total - items.size();
+        String summary = overflow > 0
+                ? String.format("알림 %d건 (%d건 표시, %d건 생략)", total, items.size(), overflow)
+                : String.format("알림 %d건", total);
+        
+        NotificationDigest digest = NotificationDigest.builder()
+                .userId(userId)
+                .items(items)
+                .totalCount(total)
+                .overflowCount(overflow)
+                .summary(summary)
+                .build();
+        
+        return NotificationMessage.builder()
+                .userId(userId)
+                .message(summary)
+                .createdAt(firstAt)
+                .digest(digest)
+                .build();
+    }
+    
+    /**
+     * 사용자 한 명의 수집 버퍼
+     */
+    private static class UserBuffer {
+        private final long firstAt;
+        private final List<NotificationMessage> items = new ArrayList<>();
+        private int total;
+        
+        UserBuffer(long firstAt) {
+            this.firstAt = firstAt;
+        }
+        
+        void add(NotificationMessage message, int maxItems) {
+            total++;
+            if (items.size() < maxItems) {
+                items.add(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.notification.service;
+
+import com.example.notification.channel.NoActiveChannelException;
+import com.example.notification.config.NotificationConfig;
+import com.example.notification.dto.NotificationMessage;
+import com.example.notification.service.NotificationOutboxService.ClaimedNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 아웃박스 디스패처
+ * 
+ * 커밋된 아웃박스 행을 배치로 점유해 발송하고 완료 처리합니다 (at-least-once).
+ * 점유/완료는 각각 짧은 단일 문장 트랜잭션이며, 발송 중에는 DB 트랜잭션을 열어두지 않습니다.
+ * 
+ * 행은 채널 워커의 {@code send}가 실제로 성공한 뒤에만 DONE이 되고,
+ * 재시도 끝에 최종 실패하거나 대기열에서 거부되면 실패로 되돌립니다.
+ * 켜진 채널이 없는 사용자의 행은 다시 시도해도 같으므로 SKIPPED로 남깁니다.
+ * 결과를 기다리는 동안 행은 IN_FLIGHT로 남으므로, 노드가 죽으면 lease 회수로 다시 발송됩니다.
+ */
+@Service
+@Slf4j
+public class NotificationOutboxDispatcher {
+    
+    private final NotificationOutboxService outboxService;
+    private final NotificationDeliveryPipeline deliveryPipeline;
+    private final NotificationDigestService digestService;
+    private final NotificationConfig.Outbox config;
+    
+    /**
+     * 채널 워커 스레드가 넣고 디스패처가 비우는 발송 결과
+     */
+    private final Queue<Completion> completions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    private final Counter dispatchedCounter;
+    private final Counter failedCounter;
+    private final Counter skippedCounter;
+    
+    public NotificationOutboxDispatcher(NotificationOutboxService outboxService,
+                                        NotificationDeliveryPipeline deliveryPipeline,
+                                        NotificationDigestService digestService,
+                                        NotificationConfig notificationConfig,
+                                        MeterRegistry meterRegistry) {
+        this.outboxService = outboxService;
+        this.deliveryPipeline = deliveryPipeline;
+        this.digestService = digestService;
+        this.config = notificationConfig.getOutbox();
+        this.dispatchedCounter = meterRegistry.counter("notification.outbox.dispatched");
+        this.failedCounter = meterRegistry.counter("notification.outbox.failed");
+        this.skippedCounter = meterRegistry.counter("notification.outbox.skipped");
+        Gauge.builder("notification.outbox.in_flight", inFlight, AtomicInteger::get)
+                .description("채널 발송 결과를 기다리는 아웃박스 행 수")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 돌아온 발송 결과를 반영하고, 대기 중인 행이 남지 않을 때까지 배치 단위로 점유 → 발송합니다
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        if (!outboxService.isEnabled()) {
+            return;
+        }
+        
+        try {
+            complete();
+            
+            // 거부된 행은 다음 주기에 다시 시도하도록 이번 루프를 멈춤
+            boolean more;
+            do {
+                if (inFlight.get() >= config.getMaxInFlight()) {
+                    break;
+                }
+                List<ClaimedNotification> claimed = outboxService.claim();
+                more = !claimed.isEmpty() && deliver(claimed);
+            } while (more);
+            
+            complete();
+        
+        } catch (Exception e) {
+            log.error("아웃박스 발송 중 오류", e);
+        }
+    }
+    
+    /**
+     * 만료된 점유 회수 및 완료 행 정리
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.maintenance-interval-ms:60000}")
+    public void maintain() {
+        if (!outboxService.isEnabled()) {
+            return;
+        }
+        int reclaimed = outboxService.reclaimExpired();
+        int purged = outboxService.purgeDelivered();
+        if (reclaimed > 0 || purged > 0) {
+            log.info("아웃박스 정리: reclaimed={}, purged={}", reclaimed, purged);
+        }
+    }
+    
+    /**
+     * 점유한 행을 사용자별로 묶어 채널 워커에 넘깁니다
+     * 다이제스트 모드이면 사용자별로 하나의 다이제스트 프레임으로 보내고, 결과는 묶인 행 모두에 반영합니다.
+     * 
+     * @return 모든 행이 채널 대기열에 들어가면 true
+     */
+    private boolean deliver(List<ClaimedNotification> claimed) {
+        Map<String, List<ClaimedNotification>> byUser = new LinkedHashMap<>();
+        for (ClaimedNotification row : claimed) {
+            byUser.computeIfAbsent(row.message().getUserId(), k -> new ArrayList<>()).add(row);
+        }
+        
+        boolean accepted = true;
+        for (Map.Entry<String, List<ClaimedNotification>> entry : byUser.entrySet()) {
+            List<ClaimedNotification> rows = entry.getValue();
+            
+            if (digestService.isEnabled() && rows.size() > 1) {
+                List<NotificationMessage> items = new ArrayList<>(rows.size());
+                rows.forEach(row -> items.add(row.message()));
+                NotificationMessage digest = digestService.coalesce(entry.getKey(), items);
+                accepted &= track(rows, deliveryPipeline.deliver(digest));
+            } else {
+                for (ClaimedNotification row : rows) {
+                    accepted &= track(List.of(row), deliveryPipeline.deliver(row.message()));
+                }
+            }
+        }
+        return accepted;
+    }
+    
+    /**
+     * @return 대기열에서 바로 거부되지 않았으면 true (보낼 채널이 없어 건너뛴 경우 포함)
+     */
+    private boolean track(List<ClaimedNotification> rows, CompletableFuture<Boolean> result) {
+        List<Long> ids = rows.stream().map(ClaimedNotification::id).toList();
+        inFlight.addAndGet(ids.size());
+        result.whenComplete((sent, e) -> completions.add(new Completion(ids, outcome(sent, e))));
+        return !result.isDone() || result.handle((sent, e) -> outcome(sent, e) != Outcome.FAILED).join();
+    }
+    
+    private static Outcome outcome(Boolean sent, Throwable e) {
+        if (NoActiveChannelException.causeOf(e) != null) {
+            return Outcome.SKIPPED;
+        }
+        return Boolean.TRUE.equals(sent) ? Outcome.DELIVERED : Outcome.FAILED;
+    }
+    
+    /**
+     * 돌아온 발송 결과를 모아 한 번에 완료/실패 처리합니다
+     */
+    void complete() {
+        List<Long> delivered = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        List<Long> skipped = new ArrayList<>();
+        Completion completion;
+        while ((completion = completions.poll()) != null) {
+            switch (completion.outcome()) {
+                case DELIVERED -> delivered.addAll(completion.ids());
+                case FAILED -> failed.addAll(completion.ids());
+                case SKIPPED -> skipped.addAll(completion.ids());
+            }
+        }
+        if (delivered.isEmpty() && failed.isEmpty() && skipped.isEmpty()) {
+            return;
+        }
+        
+        try {
+            int marked = outboxService.markDelivered(delivered);
+            if (marked < delivered.size()) {
+                // 발송은 됐지만 그 사이 lease가 만료돼 회수된 행, 다시 발송될 수 있음
+                log.warn("아웃박스 완료 처리 누락: 점유를 잃은 행 {}건", delivered.size() - marked);
+            }
+            outboxService.markFailed(failed, "channel delivery failed");
+            outboxService.markSkipped(skipped, "no active channel");
+        } finally {
+            inFlight.addAndGet(-(delivered.size() + failed.size() + skipped.size()));
+        }
+        
+        dispatchedCounter.increment(delivered.size());
+        failedCounter.increment(failed.size());
+        skippedCounter.increment(skipped.size());
+        log.debug("아웃박스 발송: delivered={}, failed={}, skipped={}", delivered.size(), failed.size(), skipped.size());
+    }
+    
+    private enum Outcome {
+        DELIVERED,
+        FAILED,
+        /**
+         * 켜진 채널이 없어 보내지 않음
+         */
+        SKIPPED
+    }
+    
+    private record Completion(List<Long> ids, Outcome outcome) {
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.notification.service;
+
+import com.example.notification.channel.ChannelType;
+import com.example.notification.config.ClusterConfig;
+import com.example.notification.config.NotificationConfig;
+import com.example.notification.dto.NotificationMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 알림 아웃박스 저장소
+ * 
+ * 규칙 평가 트랜잭션 안에서 알림을 배치 INSERT하고,
+ * 디스패처가 SKIP LOCKED로 행을 점유해 발송한 뒤 완료 처리합니다.
+ * 점유할 때마다 attempts가 늘어나고, 발송 실패나 lease 만료로 되돌릴 때 최대 시도 횟수에
+ * 도달한 행은 FAILED로 남깁니다. 완료/실패 처리는 아직 자기가 점유 중인 행에만 적용됩니다.
+ */
+@Service
+@Slf4j
+public class NotificationOutboxService {
+    
+    private static final String INSERT_SQL = """
+            INSERT INTO notification_outbox (user_id, rule_id, message, created_at)
+            VALUES (?, ?, ?, ?)
+            """;
+    
+    private static final String CLAIM_SQL = """
+            UPDATE notification_outbox o
+               SET status = 'IN_FLIGHT', claimed_at = CURRENT_TIMESTAMP,
+                   claimed_by = ?, attempts = o.attempts + 1
+             WHERE o.id IN (
+                   SELECT id FROM notification_outbox
+                    WHERE status = 'PENDING'
+                    ORDER BY id
+                    LIMIT ?
+                      FOR UPDATE SKIP LOCKED)
+            RETURNING o.id, o.user_id, o.rule_id, o.message, o.created_at
+            """;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationConfig.Outbox config;
+    
+    /**
+     * 점유자 식별자 (클러스터 노드 ID)
+     */
+    private final String ownerId;
+    
+    /**
+     * 실제로 쓰는 lease 시간 (켜진 채널의 최악 재시도 시간보다 길게 맞춘 값)
+     */
+    private final long leaseTimeoutMs;
+    
+    public NotificationOutboxService(JdbcTemplate jdbcTemplate,
+                                     NotificationConfig notificationConfig,
+                                     ClusterConfig clusterConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = notificationConfig.getOutbox();
+        this.ownerId = clusterConfig.getNodeId();
+        this.leaseTimeoutMs = leaseTimeoutMs(notificationConfig);
+    }
+    
+    /**
+     * 설정된 lease가 켜진 채널의 최악 재시도 시간보다 짧으면 그 두 배로 늘립니다
+     * 
+     * 재시도 중인 행의 lease가 먼저 끝나면 다른 노드가 회수해 같은 알림을 다시 보내기 때문입니다.
+     */
+    static long leaseTimeoutMs(NotificationConfig notificationConfig) {
+        long configured = notificationConfig.getOutbox().getLeaseTimeoutMs();
+        long worstCaseRetryMs = 0;
+        for (ChannelType type : ChannelType.values()) {
+            NotificationConfig.Channel channel = notificationConfig.getChannel(type);
+            if (channel.isEnabled()) {
+                worstCaseRetryMs = Math.max(worstCaseRetryMs, channel.worstCaseRetryMs());
+            }
+        }
+        if (configured > worstCaseRetryMs) {
+            return configured;
+        }
+        log.warn("아웃박스 lease({}ms)가 채널 최악 재시도 시간({}ms)보다 짧아 {}ms로 늘립니다",
+                configured, worstCaseRetryMs, worstCaseRetryMs * 2);
+        return worstCaseRetryMs * 2;
+    }
+    
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+    
+    /**
+     * 알림을 아웃박스에 배치로 기록합니다
+     * 호출한 쪽의 트랜잭션에 참여하므로 롤백되면 함께 사라집니다.
+     */
+    public void append(List<NotificationMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, config.getInsertBatchSize(), (ps, message) -> {
+            ps.setString(1, message.getUserId());
+            if (message.getRuleId() != null) {
+                ps.setLong(2, message.getRuleId());
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setString(3, message.getMessage());
+            ps.setTimestamp(4, new Timestamp(message.getCreatedAt()));
+        });
+        log.debug("아웃박스 기록: {}건", messages.size());
+    }
+    
+    /**
+     * 발송 대기 행을 점유합니다
+     * 다른 디스패처가 잠근 행은 건너뛰므로 여러 인스턴스가 동시에 실행해도 겹치지 않습니다.
+     */
+    public List<ClaimedNotification> claim() {
+        List<ClaimedNotification> claimed = jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> {
+                    long ruleId = rs.getLong("rule_id");
+                    NotificationMessage message = NotificationMessage.builder()
+                            .userId(rs.getString("user_id"))
+                            .ruleId(rs.wasNull() ? null : ruleId)
+                            .message(rs.getString("message"))
+                            .createdAt(rs.getTimestamp("created_at").getTime())
+                            .build();
+                    return new ClaimedNotification(rs.getLong("id"), message);
+                },
+                ownerId, config.getClaimBatchSize());
+        
+        claimed.sort(Comparator.comparingLong(ClaimedNotification::id));
+        return claimed;
+    }
+    
+    /**
+     * 발송 완료 처리
+     * lease가 만료돼 회수되었거나 다른 노드가 다시 점유한 행은 건드리지 않습니다.
+     * 
+     * @return 완료 처리한 행 수 (ids보다 적으면 나머지는 다시 발송될 수 있음)
+     */
+    public int markDelivered(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("""
+                UPDATE notification_outbox
+                   SET status = 'DONE', delivered_at = CURRENT_TIMESTAMP
+                 WHERE id = ANY(?) AND status = 'IN_FLIGHT' AND claimed_by = ?
+                """,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+                    ps.setString(2, ownerId);
+                });
+    }
+    
+    /**
+     * 발송 실패 처리: 최대 시도 횟수 전까지는 다시 대기 상태로 돌립니다
+     * lease가 만료돼 다른 노드가 다시 점유한 행은 건드리지 않습니다.
+     */
+    public void markFailed(Collection<Long> ids, String error) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String truncated = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        jdbcTemplate.update("""
+                UPDATE notification_outbox
+                   SET status = CASE WHEN attempts >= ? THEN 'FAILED' ELSE 'PENDING' END,
+                       claimed_at = NULL, last_error = ?
+                 WHERE id = ANY(?) AND status = 'IN_FLIGHT' AND claimed_by = ?
+                """,
+                ps -> {
+                    ps.setInt(1, config.getMaxAttempts());
+                    ps.setString(2, truncated);
+                    ps.setArray(3, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+                    ps.setString(4, ownerId);
+                });
+    }
+    
+    /**
+     * 보낼 채널이 없는 행을 SKIPPED로 남깁니다 (다시 시도해도 같으므로 재시도하지 않음)
+     * markFailed와 같이 아직 점유 중인 행에만 적용합니다.
+     */
+    public void markSkipped(Collection<Long> ids, String reason) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("""
+                UPDATE notification_outbox
+                   SET status = 'SKIPPED', claimed_at = NULL, last_error = ?
+                 WHERE id = ANY(?) AND status = 'IN_FLIGHT' AND claimed_by = ?
+                """,
+                ps -> {
+                    ps.setString(1, reason);
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+                    ps.setString(3, ownerId);
+                });
+    }
+    
+    /**
+     * 점유 후 lease 시간이 지나도록 완료되지 않은 행을 되돌립니다 (디스패처 장애 대비)
+     * 최대 시도 횟수에 도달한 행은 다시 대기시키지 않고 FAILED로 남깁니다.
+     */
+    public int reclaimExpired() {
+        return jdbcTemplate.update("""
+                UPDATE notification_outbox
+                   SET status = CASE WHEN attempts >= ? THEN 'FAILED' ELSE 'PENDING' END,
+                       claimed_at = NULL, last_error = 'lease expired'
+                 WHERE status = 'IN_FLIGHT' AND claimed_at < ?
+                """,
+                config.getMaxAttempts(), new Timestamp(System.currentTimeMillis() - leaseTimeoutMs));
+    }
+    
+    /**
+     * 보관 기간이 지난 발송 완료 행과 건너뛴 행을 삭제합니다
+     */
+    public int purgeDelivered() {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - config.getRetentionHours() * 3_600_000L);
+        return jdbcTemplate.update("DELETE FROM notification_outbox WHERE status = 'DONE' AND delivered_at < ?", cutoff)
+                + jdbcTemplate.update("DELETE FROM notification_outbox WHERE status = 'SKIPPED' AND created_at < ?", cutoff);
+    }
+    
+    /**
+     * 점유한 아웃박스 행
+     */
+    public record ClaimedNotification(long id, NotificationMessage message) {
+    }
+}
@@ -1,22 +1,38 @@
 package com.example.notification.service;
 
+import com.example.notification.channel.ChannelType;
+import com.example.notification.config.NotificationConfig;
+import com.example.notification.dto.ChannelPreference;
+import com.example.notification.dto.NotificationMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 알림 발송 서비스
  * 
  * WebSocket, Email, Push, SMS 등 다양한 채널로 알림을 발송합니다.
- * 데모 버전에서는 WebSocket만 구현합니다.
+ * 실제 전송은 {@link NotificationDeliveryPipeline}의 발송 스레드가 비동기로 수행하며,
+ * 사용자별 채널 설정에 따라 채널 전용 워커로 나뉘어 발송됩니다.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
     
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationDeliveryPipeline deliveryPipeline;
+    private final NotificationDigestService digestService;
+    private final NotificationOutboxService outboxService;
+    private final UserChannelPreferenceService preferenceService;
+    private final WebSocketPresenceTracker presenceTracker;
+    private final ClusterSessionRegistry clusterRegistry;
+    private final OfflineNotificationBuffer offlineBuffer;
+    private final NotificationConfig notificationConfig;
     
     /**
      * 사용자에게 알림을 발송합니다
@@ -25,22 +41,115 @@ public class NotificationService {
      * @param message 알림 메시지
      */
     public void sendNotification(String userId, String message) {
-        log.info("알림 발송: userId={}, message={}", userId, message);
+        sendNotification(userId, null, message);
+    }
+    
+    /**
+     * 규칙에서 발생한 알림을 발송 큐에 넣습니다
+     * 
+     * @param userId 사용자 ID
+     * @param ruleId 알림을 발생시킨 규칙 ID
+     * @param message 알림 메시지
+     */
+    public void sendNotification(String userId, Long ruleId, String message) {
+        log.info("알림 발송 요청: userId={}, ruleId={}", userId, ruleId);
+        
+        NotificationMessage notification = NotificationMessage.builder()
+                .userId(userId)
+                .ruleId(ruleId)
+                .message(message)
+                .createdAt(System.currentTimeMillis())
+                .build();
         
-        try {
-            // WebSocket을 통한 실시간 알림
-            messagingTemplate.convertAndSendToUser(
-                    userId,
-                    "/queue/notifications",
-                    message
-            );
-            
-            log.debug("WebSocket 알림 발송 성공: userId={}", userId);
-            
-        } catch (Exception e) {
-            log.error("알림 발송 실패: userId={}", userId, e);
+        dispatch(notification);
+    }
+    
+    /**
+     * 스케줄러 실행(tick) 한 번에서 발생한 알림을 발행합니다
+     * 
+     * 아웃박스 모드에서는 현재 트랜잭션 안에서 아웃박스에 배치로 기록하고,
+     * 그렇지 않으면 트랜잭션이 커밋된 뒤에 발송 파이프라인으로 넘깁니다.
+     * 어느 쪽이든 롤백된 tick의 알림은 사용자에게 전달되지 않습니다.
+     * 
+     * 전달 대상(접속 세션 또는 WebSocket 외 채널)이 없는 사용자의 알림은
+     * 렌더링하지 않은 채로 재접속 버퍼에 보관합니다.
+     */
+    public void publishTick(List<NotificationMessage> notifications) {
+        if (clusterRegistry.isEnabled()) {
+            // 이 노드에 없는 사용자의 다른 노드 접속 여부를 쿼리 하나로 미리 캐시
+            clusterRegistry.findRemoteNodes(notifications.stream()
+                    .map(NotificationMessage::getUserId)
+                    .filter(userId -> !presenceTracker.isOnline(userId))
+                    .distinct()
+                    .toList());
+        }
+        
+        List<NotificationMessage> deliverable = new ArrayList<>(notifications.size());
+        List<NotificationMessage> parked = new ArrayList<>();
+        for (NotificationMessage notification : notifications) {
+            (hasDeliveryTarget(notification.getUserId()) ? deliverable : parked).add(notification);
         }
         
-        // TODO: Email, Push, SMS 발송 기능 추가
+        if (outboxService.isEnabled()) {
+            outboxService.append(deliverable);
+            runAfterCommit(() -> parked.forEach(offlineBuffer::add));
+            return;
+        }
+        
+        runAfterCommit(() -> {
+            deliverable.forEach(this::dispatch);
+            flushTick();
+            parked.forEach(offlineBuffer::add);
+        });
+    }
+    
+    /**
+     * 사용자에게 지금 알림을 전달할 곳이 있는지 확인합니다
+     */
+    private boolean hasDeliveryTarget(String userId) {
+        for (ChannelPreference preference : preferenceService.getActiveChannels(userId)) {
+            if (!notificationConfig.getChannel(preference.getChannel()).isEnabled()) {
+                continue;
+            }
+            if (preference.getChannel() != ChannelType.WEBSOCKET
+                    || presenceTracker.isOnline(userId)
+                    || clusterRegistry.isOnlineElsewhere(userId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    private void dispatch(NotificationMessage notification) {
+        if (digestService.isEnabled()) {
+            // 다이제스트 모드: 사용자별로 모았다가 한 번에 발송
+            digestService.add(notification);
+        } else if (!deliveryPipeline.submit(notification)) {
+            log.warn("알림이 발송 큐에 들어가지 못했습니다: userId={}, ruleId={}",
+                    notification.getUserId(), notification.getRuleId());
+        }
+    }
+    
+    /**
+     * tick이 끝났음을 알립니다
+     * 다이제스트 모드에서는 tick 동안 모인 사용자별 알림을 발송합니다.
+     */
+    private void flushTick() {
+        if (digestService.isEnabled()) {
+            digestService.flushTick();
+        }
     }
 }
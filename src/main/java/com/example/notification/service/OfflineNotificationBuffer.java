@@ -0,0 +1,113 @@
+package com.example.notification.service;
+
+import com.example.notification.config.NotificationConfig;
+import com.example.notification.dto.NotificationMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 미접속 사용자용 재접속 버퍼
+ * 
+ * WebSocket 세션이 없는 사용자의 알림을 사용자별 고정 크기 링 버퍼에 보관했다가
+ * 다시 구독하면 한 번에 재전송합니다. 메시지는 렌더링하지 않은 채로 보관하고 재전송할 때
+ * 처음 렌더링하므로, 재접속 전에 밀려나거나 만료된 알림은 getMessage()를 호출하지 않습니다.
+ * 
+ * 렌더링은 NotificationMessage.getMessage()가 메시지 단위로 동기화하므로 재전송 스레드에서
+ * 해도 안전하고 한 번만 일어납니다. 대신 보관하는 동안 렌더러가 규칙 인스턴스와 평가 컨텍스트를
+ * 붙잡고 있어, 내려간 규칙의 클래스 로더도 사용자별 용량과 보관 기간(ttl)만큼은 회수되지 않습니다.
+ */
+@Service
+@Slf4j
+public class OfflineNotificationBuffer {
+    
+    private final NotificationConfig.OfflineBuffer config;
+    
+    /**
+     * 사용자 ID → 링 버퍼 (버퍼 변경은 compute 안에서만 일어납니다)
+     */
+    private final Map<String, ArrayDeque<NotificationMessage>> buffers = new ConcurrentHashMap<>();
+    
+    private final Counter bufferedCounter;
+    private final Counter evictedCounter;
+    private final Counter replayedCounter;
+    
+    public OfflineNotificationBuffer(NotificationConfig notificationConfig, MeterRegistry meterRegistry) {
+        this.config = notificationConfig.getOfflineBuffer();
+        this.bufferedCounter = meterRegistry.counter("notification.offline.buffered");
+        this.evictedCounter = meterRegistry.counter("notification.offline.evicted");
+        this.replayedCounter = meterRegistry.counter("notification.offline.replayed");
+        Gauge.builder("notification.offline.users", buffers, Map::size)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 알림을 렌더링하지 않고 사용자 버퍼에 보관합니다
+     */
+    public void add(NotificationMessage message) {
+        String userId = message.getUserId();
+        if (!buffers.containsKey(userId) && buffers.size() >= config.getMaxUsers()) {
+            evictedCounter.increment();
+            return;
+        }
+        
+        buffers.compute(userId, (key, buffer) -> {
+            if (buffer == null) {
+                buffer = new ArrayDeque<>();
+            }
+            if (buffer.size() >= config.getCapacityPerUser()) {
+                buffer.pollFirst();
+                evictedCounter.increment();
+            }
+            buffer.addLast(message);
+            return buffer;
+        });
+        bufferedCounter.increment();
+    }
+    
+    /**
+     * 사용자 버퍼를 비우고 보관 기간 안의 알림을 반환합니다 (렌더링은 보내는 쪽에서 일어남)
+     */
+    public List<NotificationMessage> drain(String userId) {
+        ArrayDeque<NotificationMessage> buffer = buffers.remove(userId);
+        if (buffer == null) {
+            return List.of();
+        }
+        
+        long cutoff = System.currentTimeMillis() - config.getTtlMs();
+        List<NotificationMessage> messages = new ArrayList<>(buffer.size());
+        for (NotificationMessage message : buffer) {
+            if (message.getCreatedAt() >= cutoff) {
+                messages.add(message);
+            }
+        }
+        replayedCounter.increment(messages.size());
+        return messages;
+    }
+    
+    /**
+     * 보관 기간이 지난 알림을 정리합니다
+     */
+    @Scheduled(fixedDelayString = "${notification.offline-buffer.cleanup-interval-ms:600000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - config.getTtlMs();
+        for (String userId : buffers.keySet()) {
+            buffers.computeIfPresent(userId, (key, buffer) -> {
+                while (!buffer.isEmpty() && buffer.peekFirst().getCreatedAt() < cutoff) {
+                    buffer.pollFirst();
+                    evictedCounter.increment();
+                }
+                return buffer.isEmpty() ? null : buffer;
+            });
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.notification.service;
+
+import com.example.notification.dto.NotificationMessage;
+
+import java.util.List;
+
+/**
+ * 다른 노드에서 이 노드의 WebSocket 사용자에게 전달해 달라고 보낸 알림
+ * 
+ * @param originNodeId 보낸 노드
+ * @param messages 알림 배치
+ */
+public record RemoteNotificationsEvent(String originNodeId, List<NotificationMessage> messages) {
+}
@@ -0,0 +1,10 @@
+package com.example.notification.service;
+
+/**
+ * 다른 노드에서 사용자가 알림 목적지를 구독했다는 알림
+ * 
+ * @param userId 사용자 ID
+ * @param nodeId 사용자가 접속한 노드
+ */
+public record RemotePresenceEvent(String userId, String nodeId) {
+}
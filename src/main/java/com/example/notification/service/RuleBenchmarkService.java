@@ -0,0 +1,317 @@
+package com.example.notification.service;
+
+import com.example.notification.config.RuleBenchmarkConfig;
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.dto.NotificationContext;
+import com.example.notification.dto.RuleBenchmarkResult;
+import com.example.notification.sandbox.BudgetedNotificationRule;
+import com.example.notification.sandbox.PooledNotificationRule;
+import com.example.notification.sandbox.RuleBudgetExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 생성된 규칙의 활성화 전 성능 검사
+ * 
+ * 고정 시드로 만든 합성 컨텍스트 코퍼스에 대해 shouldNotify/getMessage를 반복 호출하며
+ * 호출별 지연(System.nanoTime)과 스레드 할당 바이트(ThreadMXBean)를 측정하고 설정한 예산과 비교합니다.
+ * 
+ * 측정은 별도 스레드에서 하므로 제한 시간을 넘긴 규칙(무한 루프 등)도 생성 요청을 붙잡지 않습니다.
+ * 다만 자바 스레드는 강제로 멈출 수 없어, 인터럽트를 무시하는 루프는 데몬 스레드로 남습니다.
+ */
+@Service
+@Slf4j
+public class RuleBenchmarkService {
+    
+    private static final String[] CONDITIONS = {"Clear", "Clouds", "Rain", "Snow", "Mist", "Thunderstorm"};
+    private static final String[] HEADLINES = {
+            "기술주 강세 지속",
+            "원자재 가격 상승 우려",
+            "AI 산업 성장세 두드러져",
+            "환율 급등에 수출주 약세",
+            "반도체 업황 회복 기대",
+            "금리 동결 전망 우세"
+    };
+    
+    private final RuleBenchmarkConfig config;
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final boolean allocationSupported;
+    private final ExecutorService executor;
+    
+    /**
+     * 합성 컨텍스트 코퍼스 (처음 사용할 때 만들어 재사용)
+     */
+    private volatile List<NotificationContext> corpus;
+    
+    public RuleBenchmarkService(RuleBenchmarkConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.allocationSupported = threadBean.isThreadAllocatedMemorySupported();
+        if (allocationSupported && !threadBean.isThreadAllocatedMemoryEnabled()) {
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        
+        // 제한 시간을 넘긴 측정 스레드가 남아 있어도 다음 검사가 막히지 않도록 고정 크기 풀을 쓰지 않습니다
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "rule-benchmark-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+    
+    /**
+     * 규칙을 합성 코퍼스에 대해 측정하고 예산과 비교합니다
+     * 
+     * 규칙이 필드에 상태를 둘 수 있으므로, 기본 생성자로 새 인스턴스를 만들어 측정합니다.
+     */
+    public RuleBenchmarkResult benchmark(NotificationRule rule) {
+        NotificationRule subject = freshInstance(rule);
+        List<NotificationContext> contexts = corpus();
+        long startedAt = System.nanoTime();
+        
+        Future<RuleBenchmarkResult> future = executor.submit(() -> measure(subject, contexts));
+        RuleBenchmarkResult result;
+        try {
+            result = future.get(config.getTimeoutMs(), TimeUnit.MILLISECONDS);
+        
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("규칙 벤치마크 제한 시간 초과: class={}, timeoutMs={}",
+                    rule.getClass().getSimpleName(), config.getTimeoutMs());
+            result = failed("제한 시간 초과 (" + config.getTimeoutMs() + "ms)");
+        
+        } catch (ExecutionException e) {
+            // 측정 루프는 RuntimeException을 호출 단위로 세므로, 여기까지 오는 것은 Error(StackOverflowError 등)입니다
+            log.warn("규칙 벤치마크 중 오류: class={}", rule.getClass().getSimpleName(), e.getCause());
+            result = failed("실행 중 오류: " + e.getCause());
+        
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("규칙 벤치마크가 중단되었습니다", e);
+        }
+        
+        meterRegistry.timer("rule.benchmark.duration")
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("rule.benchmark.results",
+                "outcome", result.isWithinBudget() ? "passed" : "violated").increment();
+        
+        log.info("규칙 벤치마크: class={}, meanNs={}, p99Ns={}, messageMeanNs={}, bytesPerCall={}, fireRate={}, errors={}, violations={}",
+                rule.getClass().getSimpleName(), result.getMeanNanos(), result.getP99Nanos(),
+                result.getMessageMeanNanos(), result.getAllocatedBytesPerCall(),
+                String.format("%.3f", result.getFireRate()), result.getErrorCount(), result.getViolations());
+        return result;
+    }
+    
+    /**
+     * 측정 스레드에서 워밍업 후 코퍼스를 반복 호출합니다
+     */
+    private RuleBenchmarkResult measure(NotificationRule rule, List<NotificationContext> contexts) {
+        for (int pass = 0; pass < config.getWarmupPasses(); pass++) {
+            for (NotificationContext context : contexts) {
+                try {
+                    if (rule.shouldNotify(context)) {
+                        rule.getMessage(context);
+                    }
+                } catch (RuleBudgetExceededException e) {
+                    return failed("실행 예산 초과: " + e.getMessage());
+                } catch (RuntimeException ignored) {
+                    // 워밍업 중 예외는 측정 단계에서 셉니다
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    return failed("중단됨");
+                }
+            }
+        }
+        
+        int passes = Math.max(1, config.getMeasuredPasses());
+        long[] latencies = new long[contexts.size() * passes];
+        int calls = 0;
+        int fired = 0;
+        int errors = 0;
+        long messageNanos = 0;
+        int messageCalls = 0;
+        
+        long allocatedBefore = allocationSupported ? threadBean.getCurrentThreadAllocatedBytes() : 0;
+        for (int pass = 0; pass < passes; pass++) {
+            for (NotificationContext context : contexts) {
+                boolean notify;
+                long t0 = System.nanoTime();
+                try {
+                    notify = rule.shouldNotify(context);
+                } catch (RuleBudgetExceededException e) {
+                    return failed("실행 예산 초과: " + e.getMessage());
+                } catch (RuntimeException e) {
+                    notify = false;
+                    errors++;
+                }
+                long t1 = System.nanoTime();
+                latencies[calls++] = t1 - t0;
+                
+                if (notify) {
+                    fired++;
+                    try {
+                        rule.getMessage(context);
+                    } catch (RuleBudgetExceededException e) {
+                        return failed("실행 예산 초과: " + e.getMessage());
+                    } catch (RuntimeException e) {
+                        errors++;
+                    }
+                    messageNanos += System.nanoTime() - t1;
+                    messageCalls++;
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return failed("중단됨");
+            }
+        }
+        long allocated = allocationSupported ? threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore : -1;
+        
+        long total = 0;
+        for (long latency : latencies) {
+            total += latency;
+        }
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        
+        RuleBenchmarkResult result = RuleBenchmarkResult.builder()
+                .calls(calls)
+                .meanNanos(total / calls)
+                .p99Nanos(sorted[Math.max(0, (int) Math.ceil(calls * 0.99) - 1)])
+                .maxNanos(sorted[calls - 1])
+                .messageMeanNanos(messageCalls > 0 ? messageNanos / messageCalls : 0)
+                .allocatedBytesPerCall(allocated >= 0 ? allocated / (calls + messageCalls) : -1)
+                .fireRate((double) fired / calls)
+                .errorCount(errors)
+                .build();
+        result.setViolations(violations(result));
+        return result;
+    }
+    
+    private List<String> violations(RuleBenchmarkResult result) {
+        List<String> violations = new ArrayList<>();
+        if (result.getMeanNanos() > config.getMaxMeanNanos()) {
+            violations.add(String.format("shouldNotify 평균 %dns > %dns", result.getMeanNanos(), config.getMaxMeanNanos()));
+        }
+        if (result.getP99Nanos() > config.getMaxP99Nanos()) {
+            violations.add(String.format("shouldNotify p99 %dns > %dns", result.getP99Nanos(), config.getMaxP99Nanos()));
+        }
+        if (result.getMessageMeanNanos() > config.getMaxMessageMeanNanos()) {
+            violations.add(String.format("getMessage 평균 %dns > %dns",
+                    result.getMessageMeanNanos(), config.getMaxMessageMeanNanos()));
+        }
+        if (result.getAllocatedBytesPerCall() > config.getMaxAllocatedBytesPerCall()) {
+            violations.add(String.format("호출당 할당 %dB > %dB",
+                    result.getAllocatedBytesPerCall(), config.getMaxAllocatedBytesPerCall()));
+        }
+        return violations;
+    }
+    
+    private RuleBenchmarkResult failed(String reason) {
+        return RuleBenchmarkResult.builder()
+                .allocatedBytesPerCall(-1)
+                .violations(List.of(reason))
+                .build();
+    }
+    
+    private NotificationRule freshInstance(NotificationRule rule) {
+        if (rule instanceof PooledNotificationRule pooled) {
+            rule = pooled.getDelegate();
+        }
+        try {
+            if (rule instanceof BudgetedNotificationRule budgeted) {
+                return budgeted.renew();
+            }
+            return rule.getClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("규칙 새 인스턴스 생성 실패, 원본 인스턴스로 측정합니다: class={}", rule.getClass().getName());
+            return rule;
+        }
+    }
+    
+    private List<NotificationContext> corpus() {
+        int size = Math.max(1, config.getCorpusSize());
+        List<NotificationContext> current = corpus;
+        if (current == null || current.size() != size) {
+            current = buildCorpus(size, config.getCorpusSeed());
+            corpus = current;
+        }
+        return current;
+    }
+    
+    /**
+     * 합성 컨텍스트 코퍼스를 만듭니다
+     * 
+     * ExternalApiService의 목데이터보다 넓은 범위(극단 기온, 급등락)를 쓰고,
+     * 일부 컨텍스트는 데이터 출처를 비워 null 처리 경로도 함께 측정합니다.
+     */
+    static List<NotificationContext> buildCorpus(int size, long seed) {
+        Random random = new Random(seed);
+        List<NotificationContext> contexts = new ArrayList<>(size);
+        long timestamp = System.currentTimeMillis();
+        
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> weatherData = new HashMap<>();
+            weatherData.put("temperature", Math.round((-30 + random.nextDouble() * 75) * 10.0) / 10.0);
+            weatherData.put("condition", CONDITIONS[random.nextInt(CONDITIONS.length)]);
+            weatherData.put("humidity", random.nextInt(101));
+            weatherData.put("windSpeed", random.nextDouble() * 30);
+            
+            Map<String, Object> stockData = new HashMap<>();
+            double price = 1500 + random.nextDouble() * 2500;
+            double changePercent = random.nextGaussian() * 2;
+            stockData.put("symbol", "KOSPI");
+            stockData.put("price", Math.round(price * 100.0) / 100.0);
+            stockData.put("change", Math.round(price * changePercent) / 100.0);
+            stockData.put("changePercent", Math.round(changePercent * 100.0) / 100.0);
+            
+            String[] headlines = new String[random.nextInt(HEADLINES.length + 1)];
+            for (int h = 0; h < headlines.length; h++) {
+                headlines[h] = HEADLINES[random.nextInt(HEADLINES.length)];
+            }
+            Map<String, Object> newsData = new HashMap<>();
+            newsData.put("headlines", headlines);
+            newsData.put("count", headlines.length);
+            
+            // 약 5%는 출처 하나를 비워 둡니다
+            int missing = random.nextInt(60);
+            contexts.add(NotificationContext.builder()
+                    .weatherData(missing == 0 ? null : weatherData)
+                    .stockData(missing == 1 ? null : stockData)
+                    .newsData(missing == 2 ? null : newsData)
+                    .customData(new HashMap<>())
+                    .timestamp(timestamp + i * 60000L)
+                    .build());
+        }
+        return List.copyOf(contexts);
+    }
+}
@@ -0,0 +1,443 @@
+package com.example.notification.service;
+
+import com.example.notification.config.RuleBulkConfig;
+import com.example.notification.config.RuleIsolationConfig;
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.domain.RuleEntity;
+import com.example.notification.dto.BulkRuleResult;
+import com.example.notification.dto.CreateRuleRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 규칙 대량 생성/활성화/비활성화 서비스
+ * 
+ * 항목을 청크 단위로 처리합니다.
+ * - 생성: 제한된 풀에서 Claude API를 동시에 호출하고 (다음 청크를 미리 요청), 청크를 묶어 컴파일한 뒤
+ *   미리 받아 둔 시퀀스 ID로 JDBC 배치 INSERT 한 번에 저장합니다.
+ * - 저장이 커밋되면 규칙 캐시에 바로 올리고 항목별 결과를 내보냅니다.
+ * 격리 모드에서는 컴파일과 검사만 하고 로드, 성능 검사, 캐시 적재는 하지 않습니다 (평가할 때 워커가 로드).
+ */
+@Service
+@Slf4j
+public class RuleBulkService {
+    
+    private static final String INSERT_SQL = """
+            INSERT INTO notification_rules (id, user_id, natural_language_request, source_id, class_name,
+                active, cron_expression, trigger_mode, cooldown_seconds, hysteresis_ticks, priority,
+                created_at, benchmark_status, benchmark_mean_nanos, benchmark_p99_nanos,
+                benchmark_message_mean_nanos, benchmark_allocated_bytes, benchmark_violations, benchmarked_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    
+    private final ClaudeApiService claudeApiService;
+    private final DynamicCodeEngine dynamicCodeEngine;
+    private final RuleManagementService ruleManagementService;
+    private final RuleVersionService versionService;
+    private final RuleSourceStore sourceStore;
+    private final RuleDependencyIndex dependencyIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RuleBulkConfig config;
+    private final RuleIsolationConfig isolationConfig;
+    private final MeterRegistry meterRegistry;
+    
+    /**
+     * 대량 작업 실행 (작업 하나가 스레드 하나, 대기열 없음)
+     */
+    private final ExecutorService jobExecutor;
+    
+    /**
+     * Claude API 호출 (모든 대량 작업이 공유)
+     */
+    private final ExecutorService generationExecutor;
+    
+    public RuleBulkService(ClaudeApiService claudeApiService,
+                           DynamicCodeEngine dynamicCodeEngine,
+                           RuleManagementService ruleManagementService,
+                           RuleVersionService versionService,
+                           RuleSourceStore sourceStore,
+                           RuleDependencyIndex dependencyIndex,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           RuleBulkConfig config,
+                           RuleIsolationConfig isolationConfig,
+                           MeterRegistry meterRegistry) {
+        this.claudeApiService = claudeApiService;
+        this.dynamicCodeEngine = dynamicCodeEngine;
+        this.ruleManagementService = ruleManagementService;
+        this.versionService = versionService;
+        this.sourceStore = sourceStore;
+        this.dependencyIndex = dependencyIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = config;
+        this.isolationConfig = isolationConfig;
+        this.meterRegistry = meterRegistry;
+        
+        AtomicInteger jobSequence = new AtomicInteger();
+        this.jobExecutor = new ThreadPoolExecutor(config.getMaxConcurrentJobs(), config.getMaxConcurrentJobs(),
+                0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "rule-bulk-" + jobSequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        AtomicInteger generationSequence = new AtomicInteger();
+        this.generationExecutor = Executors.newFixedThreadPool(config.getGenerationConcurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "rule-bulk-generate-" + generationSequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        generationExecutor.shutdownNow();
+    }
+    
+    public int getMaxItems() {
+        return config.getMaxItems();
+    }
+    
+    /**
+     * 규칙을 대량 생성합니다
+     * 
+     * @param listener 항목별 결과를 받는 콜백 (작업 스레드에서 호출)
+     * @return 모든 항목을 처리하면 완료되는 future
+     * @throws RejectedExecutionException 동시에 진행 중인 대량 작업이 너무 많을 때
+     */
+    public CompletableFuture<Void> createRules(List<CreateRuleRequest> requests, Consumer<BulkRuleResult> listener) {
+        return CompletableFuture.runAsync(() -> runCreate(requests, listener), jobExecutor);
+    }
+    
+    /**
+     * 규칙을 대량 활성화하고 캐시에 올립니다
+     * 
+     * @throws RejectedExecutionException 동시에 진행 중인 대량 작업이 너무 많을 때
+     */
+    public CompletableFuture<Void> activateRules(List<Long> ruleIds, Consumer<BulkRuleResult> listener) {
+        return CompletableFuture.runAsync(() -> runSetActive(ruleIds, true, listener), jobExecutor);
+    }
+    
+    /**
+     * 규칙을 대량 비활성화하고 캐시에서 내립니다
+     * 
+     * @throws RejectedExecutionException 동시에 진행 중인 대량 작업이 너무 많을 때
+     */
+    public CompletableFuture<Void> deactivateRules(List<Long> ruleIds, Consumer<BulkRuleResult> listener) {
+        return CompletableFuture.runAsync(() -> runSetActive(ruleIds, false, listener), jobExecutor);
+    }
+    
+    private void runCreate(List<CreateRuleRequest> requests, Consumer<BulkRuleResult> listener) {
+        log.info("규칙 대량 생성 시작: {}건", requests.size());
+        int chunkSize = Math.max(1, config.getChunkSize());
+        
+        // 현재 청크를 컴파일/저장하는 동안 다음 청크의 코드를 미리 생성합니다
+        List<Future<String>> next = generate(requests, 0, chunkSize);
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            List<Future<String>> current = next;
+            next = generate(requests, from + chunkSize, chunkSize);
+            createChunk(requests, from, current, listener);
+        }
+        log.info("규칙 대량 생성 완료: {}건", requests.size());
+    }
+    
+    private List<Future<String>> generate(List<CreateRuleRequest> requests, int from, int chunkSize) {
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = from; i < Math.min(from + chunkSize, requests.size()); i++) {
+            String request = requests.get(i).getRequest();
+            futures.add(generationExecutor.submit(() -> claudeApiService.generateRuleCode(request)));
+        }
+        return futures;
+    }
+    
+    /**
+     * 청크 하나를 컴파일, 성능 검사, 저장, 캐시 적재 순으로 처리합니다
+     */
+    private void createChunk(List<CreateRuleRequest> requests, int from,
+                             List<Future<String>> generated, Consumer<BulkRuleResult> listener) {
+        // 1. 생성된 코드 수집
+        List<Integer> indexes = new ArrayList<>();
+        List<String> sources = new ArrayList<>();
+        for (int i = 0; i < generated.size(); i++) {
+            try {
+                sources.add(generated.get(i).get());
+                indexes.add(from + i);
+            } catch (ExecutionException e) {
+                emit(listener, failed(from + i, requests.get(from + i).getUserId(), e.getCause()), "create");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("규칙 대량 생성이 중단되었습니다", e);
+            }
+        }
+        
+        // 2. 묶음 컴파일 및 성능 검사 (격리 모드는 검사만 하므로 인스턴스가 null)
+        List<DynamicCodeEngine.LoadResult> loaded = isolationConfig.isEnabled()
+                ? dynamicCodeEngine.verifyAll(sources)
+                : dynamicCodeEngine.compileAndLoadAll(sources);
+        List<Integer> preparedIndexes = new ArrayList<>();
+        List<RuleEntity> entities = new ArrayList<>();
+        List<String> preparedSources = new ArrayList<>();
+        List<NotificationRule> instances = new ArrayList<>();
+        for (int i = 0; i < loaded.size(); i++) {
+            int index = indexes.get(i);
+            CreateRuleRequest request = requests.get(index);
+            DynamicCodeEngine.LoadResult result = loaded.get(i);
+            if (!result.isSuccess()) {
+                emit(listener, failed(index, request.getUserId(), result.error()), "create");
+                continue;
+            }
+            try {
+                entities.add(ruleManagementService.prepareRule(request, sources.get(i), result.rule()));
+                preparedSources.add(sources.get(i));
+                instances.add(result.rule());
+                preparedIndexes.add(index);
+            } catch (Exception e) {
+                dynamicCodeEngine.unload(result.rule());
+                emit(listener, failed(index, request.getUserId(), e), "create");
+            }
+        }
+        if (entities.isEmpty()) {
+            return;
+        }
+        
+        // 3. 청크 하나를 한 트랜잭션으로 저장
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(entities, preparedSources));
+        } catch (Exception e) {
+            log.error("규칙 대량 저장 실패: {}건", entities.size(), e);
+            instances.forEach(dynamicCodeEngine::unload);
+            for (int i = 0; i < entities.size(); i++) {
+                emit(listener, failed(preparedIndexes.get(i), entities.get(i).getUserId(), e), "create");
+            }
+            return;
+        }
+        
+        // 4. 캐시 및 의존성 색인 적재 (검토 대기 규칙은 인스턴스를 내려놓고 활성화할 때 다시 로드)
+        Map<Long, String> activated = new HashMap<>();
+        for (int i = 0; i < entities.size(); i++) {
+            RuleEntity entity = entities.get(i);
+            if (entity.getActive()) {
+                if (instances.get(i) != null) {
+                    ruleManagementService.cacheRule(entity.getId(), instances.get(i));
+                }
+                activated.put(entity.getId(), preparedSources.get(i));
+            } else {
+                dynamicCodeEngine.unload(instances.get(i));
+            }
+            emit(listener, BulkRuleResult.builder()
+                    .index(preparedIndexes.get(i))
+                    .ruleId(entity.getId())
+                    .userId(entity.getUserId())
+                    .className(entity.getClassName())
+                    .status(entity.getActive() ? BulkRuleResult.Status.CREATED : BulkRuleResult.Status.FLAGGED)
+                    .build(), "create");
+        }
+        dependencyIndex.addAll(activated);
+    }
+    
+    /**
+     * 시퀀스에서 ID를 한 번에 받아 JDBC 배치로 저장합니다 (IDENTITY 저장처럼 한 행씩 왕복하지 않도록)
+     * 소스는 청크 안의 중복을 합쳐 INSERT 한 번으로 저장합니다.
+     */
+    private void insert(List<RuleEntity> entities, List<String> sources) {
+        Map<String, Long> sourceIds = sourceStore.storeAll(sources);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('notification_rules', 'id')) FROM generate_series(1, ?)",
+                Long.class, entities.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < entities.size(); i++) {
+            entities.get(i).setId(ids.get(i));
+            entities.get(i).setCreatedAt(now);
+            entities.get(i).setUpdatedAt(now);
+            entities.get(i).setSourceId(sourceIds.get(sources.get(i)));
+        }
+        
+        jdbcTemplate.batchUpdate(INSERT_SQL, entities, entities.size(), (ps, entity) -> {
+            ps.setLong(1, entity.getId());
+            ps.setString(2, entity.getUserId());
+            ps.setString(3, entity.getNaturalLanguageRequest());
+            ps.setLong(4, entity.getSourceId());
+            ps.setString(5, entity.getClassName());
+            ps.setBoolean(6, entity.getActive());
+            ps.setString(7, entity.getCronExpression());
+            ps.setString(8, entity.getTriggerMode().name());
+            ps.setInt(9, entity.getCooldownSeconds());
+            ps.setInt(10, entity.getHysteresisTicks());
+            ps.setInt(11, entity.getPriority());
+            ps.setTimestamp(12, Timestamp.valueOf(entity.getCreatedAt()));
+            ps.setString(13, entity.getBenchmarkStatus().name());
+            ps.setObject(14, entity.getBenchmarkMeanNanos(), Types.BIGINT);
+            ps.setObject(15, entity.getBenchmarkP99Nanos(), Types.BIGINT);
+            ps.setObject(16, entity.getBenchmarkMessageMeanNanos(), Types.BIGINT);
+            ps.setObject(17, entity.getBenchmarkAllocatedBytes(), Types.BIGINT);
+            ps.setString(18, entity.getBenchmarkViolations());
+            ps.setObject(19, entity.getBenchmarkedAt() != null ? Timestamp.valueOf(entity.getBenchmarkedAt()) : null,
+                    Types.TIMESTAMP);
+            ps.setTimestamp(20, Timestamp.valueOf(entity.getUpdatedAt()));
+        });
+        
+        Set<String> userIds = new LinkedHashSet<>();
+        entities.forEach(entity -> userIds.add(entity.getUserId()));
+        userIds.forEach(versionService::increment);
+    }
+    
+    private void runSetActive(List<Long> ruleIds, boolean active, Consumer<BulkRuleResult> listener) {
+        String operation = active ? "activate" : "deactivate";
+        log.info("규칙 대량 {} 시작: {}건", operation, ruleIds.size());
+        int chunkSize = Math.max(1, config.getChunkSize());
+        
+        for (int from = 0; from < ruleIds.size(); from += chunkSize) {
+            List<Long> chunk = ruleIds.subList(from, Math.min(from + chunkSize, ruleIds.size()));
+            int offset = from;
+            try {
+                List<ChangedRule> changed = transactionTemplate.execute(status -> setActive(chunk, active));
+                finishSetActive(chunk, offset, active, changed, listener);
+            } catch (Exception e) {
+                log.error("규칙 대량 {} 실패: {}건", operation, chunk.size(), e);
+                for (int i = 0; i < chunk.size(); i++) {
+                    emit(listener, BulkRuleResult.builder()
+                            .index(offset + i)
+                            .ruleId(chunk.get(i))
+                            .status(BulkRuleResult.Status.FAILED)
+                            .error(e.getMessage())
+                            .build(), operation);
+                }
+            }
+        }
+        log.info("규칙 대량 {} 완료: {}건", operation, ruleIds.size());
+    }
+    
+    /**
+     * UPDATE ... RETURNING 한 번으로 상태를 바꾸고 바뀐 사용자별 규칙 버전을 올립니다
+     * 
+     * 활성화는 검토 승인이므로 검토 대기(FLAGGED) 규칙은 단건 활성화와 같이 APPROVED로 바꿉니다.
+     */
+    private List<ChangedRule> setActive(List<Long> ruleIds, boolean active) {
+        List<ChangedRule> updated = jdbcTemplate.query("""
+                        UPDATE notification_rules SET active = ?, updated_at = CURRENT_TIMESTAMP,
+                            benchmark_status = CASE WHEN ? AND benchmark_status = 'FLAGGED'
+                                THEN 'APPROVED' ELSE benchmark_status END
+                        WHERE id = ANY(?)
+                        RETURNING id, user_id, class_name, source_id
+                        """,
+                (rs, rowNum) -> new ChangedRule(rs.getLong("id"), rs.getString("user_id"),
+                        rs.getString("class_name"), rs.getLong("source_id"), null),
+                active, active, ruleIds.toArray(Long[]::new));
+        
+        // 활성화한 규칙은 컴파일할 소스를 함께 읽습니다 (같은 소스는 한 번만)
+        List<ChangedRule> changed = updated;
+        if (active) {
+            Map<Long, String> sources = sourceStore.loadAll(updated.stream().map(ChangedRule::sourceId).toList());
+            changed = updated.stream()
+                    .map(rule -> new ChangedRule(rule.id(), rule.userId(), rule.className(), rule.sourceId(),
+                            sources.get(rule.sourceId())))
+                    .toList();
+        }
+        
+        Set<String> userIds = new LinkedHashSet<>();
+        changed.forEach(rule -> userIds.add(rule.userId()));
+        userIds.forEach(versionService::increment);
+        return changed;
+    }
+    
+    /**
+     * 커밋 후 캐시와 의존성 색인을 갱신하고 결과를 내보냅니다 (활성화한 규칙은 묶음 컴파일해 캐시에 올림)
+     */
+    private void finishSetActive(List<Long> chunk, int offset, boolean active,
+                                 List<ChangedRule> changed, Consumer<BulkRuleResult> listener) {
+        String operation = active ? "activate" : "deactivate";
+        List<DynamicCodeEngine.LoadResult> loaded = active && !isolationConfig.isEnabled()
+                ? dynamicCodeEngine.compileAndLoadAll(changed.stream().map(ChangedRule::generatedCode).toList())
+                : null;
+        
+        if (active) {
+            Map<Long, String> codeByRule = new HashMap<>();
+            changed.forEach(rule -> codeByRule.put(rule.id(), rule.generatedCode()));
+            dependencyIndex.addAll(codeByRule);
+        } else {
+            dependencyIndex.removeAll(changed.stream().map(ChangedRule::id).toList());
+        }
+        
+        Map<Long, BulkRuleResult> results = new HashMap<>();
+        for (int i = 0; i < changed.size(); i++) {
+            ChangedRule rule = changed.get(i);
+            String error = null;
+            if (active && loaded != null) {
+                DynamicCodeEngine.LoadResult result = loaded.get(i);
+                if (result.isSuccess()) {
+                    ruleManagementService.cacheRule(rule.id(), result.rule());
+                } else {
+                    // 활성화는 유지하고, 다음 실행에서 다시 로드를 시도합니다
+                    error = "캐시 적재 실패: " + result.error().getMessage();
+                }
+            } else if (!active) {
+                ruleManagementService.evictRule(rule.id());
+            }
+            results.put(rule.id(), BulkRuleResult.builder()
+                    .ruleId(rule.id())
+                    .userId(rule.userId())
+                    .className(rule.className())
+                    .status(active ? BulkRuleResult.Status.ACTIVATED : BulkRuleResult.Status.DEACTIVATED)
+                    .error(error)
+                    .build());
+        }
+        
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkRuleResult result = results.get(chunk.get(i));
+            if (result == null) {
+                result = BulkRuleResult.builder()
+                        .ruleId(chunk.get(i))
+                        .status(BulkRuleResult.Status.NOT_FOUND)
+                        .build();
+            }
+            result.setIndex(offset + i);
+            emit(listener, result, operation);
+        }
+    }
+    
+    private static BulkRuleResult failed(int index, String userId, Throwable error) {
+        return BulkRuleResult.builder()
+                .index(index)
+                .userId(userId)
+                .status(BulkRuleResult.Status.FAILED)
+                .error(error.getMessage())
+                .build();
+    }
+    
+    private void emit(Consumer<BulkRuleResult> listener, BulkRuleResult result, String operation) {
+        meterRegistry.counter("rule.bulk.items", "operation", operation, "status", result.getStatus().name())
+                .increment();
+        listener.accept(result);
+    }
+    
+    private record ChangedRule(long id, String userId, String className, long sourceId, String generatedCode) {
+    }
+}
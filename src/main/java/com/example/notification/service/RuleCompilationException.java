@@ -0,0 +1,13 @@
+package com.example.notification.service;
+
+/**
+ * 생성된 규칙 소스가 컴파일되지 않았을 때 던지는 예외
+ * 
+ * 메시지에는 javac 진단(줄 번호와 오류 내용)이 담깁니다.
+ */
+public class RuleCompilationException extends RuntimeException {
+    
+    public RuleCompilationException(String diagnostics) {
+        super(diagnostics);
+    }
+}
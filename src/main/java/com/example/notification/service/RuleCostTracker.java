@@ -0,0 +1,337 @@
+package com.example.notification.service;
+
+import com.example.notification.config.RuleCostConfig;
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.dto.NotificationContext;
+import com.example.notification.dto.RuleCostResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * 규칙별 CPU 시간 / 할당 바이트 측정 및 과부하 규칙 제한
+ * 
+ * 평가 N번 중 한 번(무작위)만 ThreadMXBean으로 스레드 CPU 시간과 할당 바이트를 재서
+ * 규칙별 LongAdder에 더합니다. 측정하지 않는 평가는 카운터 하나만 올리므로 측정 비용이 평가 비용의 몇 %를 넘지 않습니다.
+ * 
+ * 판정 구간마다 구간 평균이 예산을 넘은 규칙을 세고, 연속으로 넘으면 감속 배수를 두 배로 늘려
+ * 실행 시점 N번 중 한 번만 평가합니다. 최대 배수에서도 넘으면 규칙을 비활성화합니다.
+ * 감속 상태는 노드 메모리에만 있으므로 재시작하거나 샤드가 다른 노드로 옮겨 가면 다시 판정합니다.
+ */
+@Service
+@Slf4j
+public class RuleCostTracker {
+    
+    /**
+     * 이 시간 동안 평가 요청이 없던 규칙(삭제/비활성화됨)은 집계에서 뺍니다
+     */
+    private static final long IDLE_EVICT_MS = 3600000;
+    
+    private final RuleCostConfig config;
+    private final RuleManagementService ruleManagementService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final boolean allocationSupported;
+    private final boolean enabled;
+    
+    private final Map<Long, RuleCost> costs = new ConcurrentHashMap<>();
+    
+    /**
+     * 측정 한 번(프로브 네 번)의 비용 (나노초), 시작할 때 잽니다
+     */
+    private final long probeNanos;
+    private final LongAdder totalSamples = new LongAdder();
+    private final LongAdder totalSampledCpuNanos = new LongAdder();
+    
+    /**
+     * 표본 평가의 shouldNotify 호출 시간 (규칙 ID는 태그로 붙이지 않습니다, 규칙별 비용은 top API로 봅니다)
+     */
+    private final Timer shouldNotifyLatency;
+    
+    public RuleCostTracker(RuleCostConfig config,
+                           RuleManagementService ruleManagementService,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry) {
+        this.config = config;
+        this.ruleManagementService = ruleManagementService;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        
+        boolean cpuSupported = threadBean.isCurrentThreadCpuTimeSupported();
+        if (cpuSupported && !threadBean.isThreadCpuTimeEnabled()) {
+            threadBean.setThreadCpuTimeEnabled(true);
+        }
+        this.allocationSupported = threadBean.isThreadAllocatedMemorySupported();
+        if (allocationSupported && !threadBean.isThreadAllocatedMemoryEnabled()) {
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        if (config.isEnabled() && !cpuSupported) {
+            log.warn("스레드 CPU 시간 측정을 지원하지 않는 JVM입니다. 규칙별 비용 측정을 끕니다.");
+        }
+        this.enabled = config.isEnabled() && cpuSupported;
+        this.probeNanos = enabled ? calibrate() : 0;
+        
+        this.shouldNotifyLatency = Timer.builder("rule.should.notify.latency")
+                .description("규칙 shouldNotify 호출 시간 (표본)")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1000))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(meterRegistry);
+        Gauge.builder("rule.cost.demoted", costs, map -> map.values().stream()
+                        .filter(cost -> cost.demotionFactor > 1).count())
+                .description("감속된 규칙 수")
+                .register(meterRegistry);
+        Gauge.builder("rule.cost.overhead.ratio", this, RuleCostTracker::getOverheadRatio)
+                .description("측정 비용 / 추정 평가 CPU 시간")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 이번 실행 시점에 규칙을 평가할지 판단합니다 (감속된 규칙은 N번 중 한 번만 true)
+     */
+    public boolean admit(Long ruleId) {
+        if (!enabled) {
+            return true;
+        }
+        RuleCost cost = costs.computeIfAbsent(ruleId, RuleCost::new);
+        cost.lastSeenAt = System.currentTimeMillis();
+        int factor = cost.demotionFactor;
+        return factor <= 1 || cost.admitSequence.getAndIncrement() % factor == 0;
+    }
+    
+    /**
+     * 규칙 조건을 평가하면서 표본으로 뽑힌 평가의 CPU 시간과 할당 바이트를 기록합니다
+     * 
+     * 표본 평가의 호출 시간은 비용 측정이 꺼져 있어도 지연 히스토그램에 기록합니다.
+     */
+    public boolean shouldNotify(Long ruleId, NotificationRule rule, NotificationContext context) {
+        boolean sampled = config.getSampleEvery() <= 1
+                || ThreadLocalRandom.current().nextInt(config.getSampleEvery()) == 0;
+        if (!enabled) {
+            return sampled ? timedShouldNotify(rule, context) : rule.shouldNotify(context);
+        }
+        RuleCost cost = costs.computeIfAbsent(ruleId, RuleCost::new);
+        cost.evaluations.increment();
+        if (!sampled) {
+            return rule.shouldNotify(context);
+        }
+        
+        long allocatedBefore = allocationSupported ? threadBean.getCurrentThreadAllocatedBytes() : 0;
+        long cpuBefore = threadBean.getCurrentThreadCpuTime();
+        long start = System.nanoTime();
+        try {
+            return rule.shouldNotify(context);
+        } finally {
+            shouldNotifyLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            long cpu = threadBean.getCurrentThreadCpuTime() - cpuBefore;
+            long allocated = allocationSupported ? threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore : 0;
+            cost.samples.increment();
+            cost.cpuNanos.add(cpu);
+            cost.allocatedBytes.add(allocated);
+            totalSamples.increment();
+            totalSampledCpuNanos.add(cpu);
+        }
+    }
+    
+    private boolean timedShouldNotify(NotificationRule rule, NotificationContext context) {
+        long start = System.nanoTime();
+        try {
+            return rule.shouldNotify(context);
+        } finally {
+            shouldNotifyLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    /**
+     * 판정 구간마다 규칙별 구간 평균을 예산과 비교해 감속/복구/비활성화합니다
+     */
+    @Scheduled(fixedDelayString = "${rules.cost.window-ms:60000}")
+    public void evaluateWindow() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (RuleCost cost : costs.values()) {
+            if (now - cost.lastSeenAt > IDLE_EVICT_MS) {
+                costs.remove(cost.ruleId, cost);
+                continue;
+            }
+            
+            long samples = cost.samples.sum();
+            long cpuNanos = cost.cpuNanos.sum();
+            long allocatedBytes = cost.allocatedBytes.sum();
+            long windowSamples = samples - cost.lastSamples;
+            if (windowSamples < config.getMinSamplesPerWindow()) {
+                continue;
+            }
+            cost.windowCpuNanosPerEval = (cpuNanos - cost.lastCpuNanos) / windowSamples;
+            cost.windowAllocatedBytesPerEval = (allocatedBytes - cost.lastAllocatedBytes) / windowSamples;
+            cost.lastSamples = samples;
+            cost.lastCpuNanos = cpuNanos;
+            cost.lastAllocatedBytes = allocatedBytes;
+            
+            boolean hot = cost.windowCpuNanosPerEval > config.getMaxCpuNanosPerEval()
+                    || (allocationSupported && cost.windowAllocatedBytesPerEval > config.getMaxAllocatedBytesPerEval());
+            if (hot) {
+                cost.coolWindows = 0;
+                if (++cost.hotWindows >= config.getPersistentWindows()) {
+                    cost.hotWindows = 0;
+                    escalate(cost);
+                }
+            } else {
+                cost.hotWindows = 0;
+                if (cost.demotionFactor > 1 && ++cost.coolWindows >= config.getRecoveryWindows()) {
+                    cost.coolWindows = 0;
+                    cost.demotionFactor /= 2;
+                    log.info("규칙 감속 완화: ruleId={}, demotionFactor={}", cost.ruleId, cost.demotionFactor);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 감속 배수를 두 배로 늘리고, 이미 최대면 규칙을 비활성화합니다
+     */
+    private void escalate(RuleCost cost) {
+        String action;
+        if (cost.demotionFactor < config.getMaxDemotionFactor()) {
+            cost.demotionFactor = Math.min(config.getMaxDemotionFactor(), cost.demotionFactor * 2);
+            action = "DEMOTED";
+        } else if (config.isDisableWhenExhausted()) {
+            try {
+                ruleManagementService.deactivateRule(cost.ruleId);
+            } catch (Exception e) {
+                log.error("과부하 규칙 비활성화 실패: ruleId={}", cost.ruleId, e);
+                return;
+            }
+            costs.remove(cost.ruleId, cost);
+            cost.demotionFactor = 0;
+            action = "DISABLED";
+        } else {
+            return;
+        }
+        
+        log.warn("과부하 규칙 {}: ruleId={}, cpuNanosPerEval={}, allocatedBytesPerEval={}, demotionFactor={}",
+                action, cost.ruleId, cost.windowCpuNanosPerEval, cost.windowAllocatedBytesPerEval,
+                cost.demotionFactor);
+        meterRegistry.counter("rule.cost.hot", "action", action).increment();
+        eventPublisher.publishEvent(new HotRuleDetectedEvent(cost.ruleId, cost.windowCpuNanosPerEval,
+                cost.windowAllocatedBytesPerEval, action, cost.demotionFactor));
+    }
+    
+    /**
+     * 비용이 큰 순서로 규칙을 반환합니다
+     * 
+     * @param sortBy cpu(추정 누적 CPU 시간) 또는 alloc(추정 누적 할당 바이트)
+     */
+    public List<RuleCostResponse> top(int limit, String sortBy) {
+        ToLongFunction<RuleCostResponse> key = switch (sortBy) {
+            case "cpu" -> RuleCostResponse::getEstimatedCpuNanos;
+            case "alloc" -> response -> response.getAllocatedBytesPerEval() * response.getEvaluations();
+            default -> throw new IllegalArgumentException("지원하지 않는 정렬 기준입니다: " + sortBy);
+        };
+        return costs.values().stream()
+                .map(this::toResponse)
+                .sorted(Comparator.comparingLong(key).reversed())
+                .limit(limit)
+                .toList();
+    }
+    
+    /**
+     * 측정 비용이 추정 평가 CPU 시간에서 차지하는 비율
+     */
+    public double getOverheadRatio() {
+        long sampledCpu = totalSampledCpuNanos.sum();
+        if (sampledCpu == 0) {
+            return 0;
+        }
+        double estimatedCpu = (double) sampledCpu * Math.max(1, config.getSampleEvery());
+        return totalSamples.sum() * probeNanos / estimatedCpu;
+    }
+    
+    private RuleCostResponse toResponse(RuleCost cost) {
+        long evaluations = cost.evaluations.sum();
+        long samples = cost.samples.sum();
+        long cpuPerEval = samples > 0 ? cost.cpuNanos.sum() / samples : 0;
+        return RuleCostResponse.builder()
+                .ruleId(cost.ruleId)
+                .evaluations(evaluations)
+                .samples(samples)
+                .cpuNanosPerEval(cpuPerEval)
+                .allocatedBytesPerEval(samples > 0 ? cost.allocatedBytes.sum() / samples : 0)
+                .estimatedCpuNanos(cpuPerEval * evaluations)
+                .windowCpuNanosPerEval(cost.windowCpuNanosPerEval)
+                .windowAllocatedBytesPerEval(cost.windowAllocatedBytesPerEval)
+                .demotionFactor(cost.demotionFactor)
+                .hotWindows(cost.hotWindows)
+                .build();
+    }
+    
+    /**
+     * 프로브(CPU 시간, 할당 바이트를 앞뒤로 한 번씩) 비용을 잽니다
+     */
+    private long calibrate() {
+        int rounds = 10000;
+        long sink = 0;
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            sink += threadBean.getCurrentThreadCpuTime();
+            sink += threadBean.getCurrentThreadCpuTime();
+            if (allocationSupported) {
+                sink += threadBean.getCurrentThreadAllocatedBytes();
+                sink += threadBean.getCurrentThreadAllocatedBytes();
+            }
+        }
+        long perSample = (System.nanoTime() - startedAt) / rounds;
+        log.info("규칙 비용 측정 프로브: {}ns/표본, sampleEvery={} (sink={})", perSample, config.getSampleEvery(), sink & 1);
+        return perSample;
+    }
+    
+    /**
+     * 규칙 하나의 누적 비용
+     * 
+     * 누적 카운터는 평가 스레드들이 경합 없이 더하도록 LongAdder를 쓰고,
+     * 구간 상태(last*, *Windows)는 판정 스레드만 씁니다.
+     */
+    private static class RuleCost {
+        private final Long ruleId;
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final AtomicLong admitSequence = new AtomicLong();
+        
+        private volatile int demotionFactor = 1;
+        private volatile long lastSeenAt = System.currentTimeMillis();
+        private volatile long windowCpuNanosPerEval;
+        private volatile long windowAllocatedBytesPerEval;
+        
+        private long lastSamples;
+        private long lastCpuNanos;
+        private long lastAllocatedBytes;
+        private int hotWindows;
+        private int coolWindows;
+        
+        RuleCost(Long ruleId) {
+            this.ruleId = ruleId;
+        }
+    }
+}
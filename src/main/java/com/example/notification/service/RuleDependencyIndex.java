@@ -0,0 +1,191 @@
+package com.example.notification.service;
+
+import com.example.notification.config.StreamingConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 규칙별 데이터 의존성 색인
+ * 
+ * 생성된 규칙 코드에서 context.getStockData().get("price") 같은 접근을 찾아
+ * "stock.price" 형태의 의존성을 뽑고, 필드 → 규칙 ID 역색인을 만듭니다.
+ * 필드를 특정할 수 없으면 출처 전체("stock.*")에, 출처도 특정할 수 없으면 모든 갱신("*")에 의존한다고 봅니다.
+ * 
+ * 규칙 생성/활성화/비활성화 시 바로 반영하고, 주기적인 refresh로 DB의 활성 목록과 다시 맞춥니다.
+ */
+@Service
+@Slf4j
+public class RuleDependencyIndex {
+    
+    static final String ANY = "*";
+    
+    private static final Pattern SOURCE_ACCESS = Pattern.compile("get(Weather|Stock|News|Custom)Data\\(\\)");
+    private static final Pattern FIELD_ACCESS = Pattern.compile(
+            "get(Weather|Stock|News|Custom)Data\\(\\)\\s*\\.\\s*get(?:OrDefault)?\\(\\s*\"([^\"]+)\"");
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final RuleSourceStore sourceStore;
+    private final StreamingConfig config;
+    
+    /**
+     * 규칙 ID → 의존성, 의존성 → 규칙 ID (함께 교체)
+     */
+    private volatile Map<Long, Set<String>> dependenciesByRule = Map.of();
+    private volatile Map<String, Set<Long>> rulesByDependency = Map.of();
+    
+    public RuleDependencyIndex(JdbcTemplate jdbcTemplate, RuleSourceStore sourceStore, StreamingConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sourceStore = sourceStore;
+        this.config = config;
+    }
+    
+    /**
+     * 활성 규칙 목록을 맞추고, 새로 생긴 규칙의 코드만 읽어 분석합니다 (같은 소스는 한 번만 분석)
+     */
+    @Scheduled(fixedDelayString = "${rules.streaming.dependency-refresh-ms:30000}")
+    public synchronized void refresh() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        List<Long> activeIds = jdbcTemplate.queryForList(
+                "SELECT id FROM notification_rules WHERE active = true", Long.class);
+        
+        Map<Long, Set<String>> next = new HashMap<>();
+        List<Long> added = new ArrayList<>();
+        for (Long ruleId : activeIds) {
+            Set<String> known = dependenciesByRule.get(ruleId);
+            if (known != null) {
+                next.put(ruleId, known);
+            } else {
+                added.add(ruleId);
+            }
+        }
+        
+        if (!added.isEmpty()) {
+            Map<Long, Long> sourceByRule = new HashMap<>();
+            jdbcTemplate.query(
+                    "SELECT id, source_id FROM notification_rules WHERE id = ANY(?)",
+                    rs -> {
+                        sourceByRule.put(rs.getLong("id"), rs.getLong("source_id"));
+                    },
+                    (Object) added.toArray(Long[]::new));
+            
+            Map<Long, Set<String>> dependenciesBySource = new HashMap<>();
+            sourceStore.loadAll(sourceByRule.values()).forEach((sourceId, code) ->
+                    dependenciesBySource.put(sourceId, extractDependencies(code)));
+            sourceByRule.forEach((ruleId, sourceId) ->
+                    next.put(ruleId, dependenciesBySource.getOrDefault(sourceId, Set.of(ANY))));
+        }
+        
+        replace(next);
+        log.debug("규칙 의존성 색인 갱신: 규칙 {}건, 새로 분석 {}건", next.size(), added.size());
+    }
+    
+    /**
+     * 생성/활성화된 규칙을 다음 refresh를 기다리지 않고 바로 색인에 넣습니다
+     * 
+     * @param codeByRule 규칙 ID → 규칙 코드
+     */
+    public synchronized void addAll(Map<Long, String> codeByRule) {
+        if (!config.isEnabled() || codeByRule.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<String>> next = new HashMap<>(dependenciesByRule);
+        Map<String, Set<String>> dependenciesByCode = new HashMap<>();
+        codeByRule.forEach((ruleId, code) -> next.put(ruleId,
+                dependenciesByCode.computeIfAbsent(code, RuleDependencyIndex::extractDependencies)));
+        replace(next);
+    }
+    
+    public void add(Long ruleId, String code) {
+        addAll(Collections.singletonMap(ruleId, code));
+    }
+    
+    /**
+     * 비활성화/삭제된 규칙을 바로 색인에서 뺍니다
+     */
+    public synchronized void removeAll(Collection<Long> ruleIds) {
+        if (!config.isEnabled() || ruleIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<String>> next = new HashMap<>(dependenciesByRule);
+        ruleIds.forEach(next::remove);
+        replace(next);
+    }
+    
+    public void remove(Long ruleId) {
+        removeAll(List.of(ruleId));
+    }
+    
+    private void replace(Map<Long, Set<String>> next) {
+        Map<String, Set<Long>> inverted = new HashMap<>();
+        next.forEach((ruleId, dependencies) -> dependencies.forEach(dependency ->
+                inverted.computeIfAbsent(dependency, key -> new HashSet<>()).add(ruleId)));
+        
+        dependenciesByRule = next;
+        rulesByDependency = inverted;
+    }
+    
+    /**
+     * 바뀐 필드에 의존하는 규칙 ID
+     */
+    public Set<Long> affectedRules(String source, Collection<String> changedFields) {
+        Map<String, Set<Long>> index = rulesByDependency;
+        Set<Long> affected = new HashSet<>(index.getOrDefault(ANY, Set.of()));
+        affected.addAll(index.getOrDefault(source + ".*", Set.of()));
+        for (String field : changedFields) {
+            affected.addAll(index.getOrDefault(source + "." + field, Set.of()));
+        }
+        return affected;
+    }
+    
+    /**
+     * 규칙 코드에서 데이터 의존성을 뽑습니다
+     */
+    static Set<String> extractDependencies(String code) {
+        Set<String> dependencies = new HashSet<>();
+        if (code == null) {
+            return Set.of(ANY);
+        }
+        
+        Matcher fields = FIELD_ACCESS.matcher(code);
+        int fieldAccesses = 0;
+        while (fields.find()) {
+            dependencies.add(fields.group(1).toLowerCase() + "." + fields.group(2));
+            fieldAccesses++;
+        }
+        
+        // 필드 이름 없이 출처 맵을 쓰는 곳이 있으면 (null 확인 제외) 출처 전체에 의존
+        Matcher sources = SOURCE_ACCESS.matcher(code);
+        int sourceAccesses = 0;
+        Set<String> sourcesUsed = new HashSet<>();
+        while (sources.find()) {
+            String rest = code.substring(sources.end()).stripLeading();
+            if (!rest.startsWith("==") && !rest.startsWith("!=")) {
+                sourceAccesses++;
+                sourcesUsed.add(sources.group(1).toLowerCase());
+            }
+        }
+        if (sourceAccesses > fieldAccesses) {
+            sourcesUsed.forEach(source -> dependencies.add(source + ".*"));
+        }
+        
+        if (dependencies.isEmpty()) {
+            dependencies.add(ANY);
+        }
+        return Set.copyOf(dependencies);
+    }
+}
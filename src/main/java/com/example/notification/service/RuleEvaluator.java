@@ -0,0 +1,270 @@
+package com.example.notification.service;
+
+import com.example.notification.diagnostics.RuleEvaluationEvent;
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.domain.RuleEntity;
+import com.example.notification.dto.NotificationContext;
+import com.example.notification.dto.NotificationMessage;
+import com.example.notification.worker.RuleWorkerPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 규칙 평가기
+ * 
+ * 규칙 목록을 주어진 컨텍스트로 평가하고, 발생한 알림을 한 번에 발행합니다.
+ * 주기 실행(스케줄러)과 스트리밍 실행이 같은 경로를 사용합니다.
+ * 호출한 쪽의 트랜잭션 안에서 실행되어야 합니다.
+ * 격리 모드(rules.isolation.enabled)에서는 규칙을 워커 JVM에서 평가하고 결과만 받아 같은 방식으로 처리합니다.
+ */
+@Service
+@Slf4j
+public class RuleEvaluator {
+    
+    private final RuleManagementService ruleManagementService;
+    private final RuleExecutionStatsRecorder statsRecorder;
+    private final NotificationService notificationService;
+    private final RuleTriggerStateStore triggerStateStore;
+    private final RuleCostTracker costTracker;
+    private final RuleWorkerPool workerPool;
+    
+    /**
+     * 초당 평가 수 측정 (직전 1초 구간)
+     */
+    private long currentSecond;
+    private int currentSecondCount;
+    private long lastSecond;
+    private int lastSecondCount;
+    
+    private final Counter evaluationCounter;
+    
+    public RuleEvaluator(RuleManagementService ruleManagementService,
+                         RuleExecutionStatsRecorder statsRecorder,
+                         NotificationService notificationService,
+                         RuleTriggerStateStore triggerStateStore,
+                         RuleCostTracker costTracker,
+                         RuleWorkerPool workerPool,
+                         MeterRegistry meterRegistry) {
+        this.ruleManagementService = ruleManagementService;
+        this.statsRecorder = statsRecorder;
+        this.notificationService = notificationService;
+        this.triggerStateStore = triggerStateStore;
+        this.costTracker = costTracker;
+        this.workerPool = workerPool;
+        this.evaluationCounter = meterRegistry.counter("rule.evaluations");
+        Gauge.builder("rule.evaluations.per.second", this, RuleEvaluator::getEvaluationsPerSecond)
+                .description("직전 1초 동안 평가한 규칙 수")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 규칙 목록을 순서대로 평가하고 발생한 알림을 발행합니다 (아웃박스 기록 또는 커밋 후 발송)
+     * 
+     * 과부하로 감속된 규칙은 감속 배수만큼의 실행 시점 중 한 번만 평가하고 나머지는 건너뜁니다.
+     * 
+     * @param deadline 이 시각(epoch 밀리초)이 지나면 남은 규칙은 평가하지 않습니다
+     * @return 처리한 규칙 수 (감속으로 건너뛴 규칙 포함, deadline이 지나 멈췄으면 목록보다 적음),
+     *         발생한 알림 수, 감속으로 건너뛴 규칙 수
+     */
+    public EvaluationResult evaluate(List<RuleEntity> rules, NotificationContext context, long deadline) {
+        if (workerPool.isEnabled()) {
+            return evaluateIsolated(rules, context, deadline);
+        }
+        List<NotificationMessage> notifications = new ArrayList<>();
+        int evaluated = 0;
+        int throttled = 0;
+        for (RuleEntity ruleEntity : rules) {
+            if (System.currentTimeMillis() >= deadline) {
+                break;
+            }
+            evaluated++;
+            if (!costTracker.admit(ruleEntity.getId())) {
+                throttled++;
+                continue;
+            }
+            try {
+                NotificationMessage notification = executeRule(ruleEntity, context);
+                if (notification != null) {
+                    notifications.add(notification);
+                }
+            } catch (Exception e) {
+                statsRecorder.recordError(ruleEntity.getId());
+                log.error("규칙 실행 중 오류: ruleId={}", ruleEntity.getId(), e);
+            }
+        }
+        recordEvaluations(evaluated - throttled);
+        
+        notificationService.publishTick(notifications);
+        return new EvaluationResult(evaluated, ruleIdsOf(notifications), throttled);
+    }
+    
+    /**
+     * 워커 JVM에서 평가합니다
+     * 
+     * 감속은 그대로 적용하지만 CPU 시간/할당 측정과 JFR 이벤트는 워커 안이라 남기지 않습니다.
+     * 조건이 참이면 워커가 메시지까지 렌더링해서 돌려줍니다.
+     */
+    private EvaluationResult evaluateIsolated(List<RuleEntity> rules, NotificationContext context, long deadline) {
+        List<RuleEntity> admitted = new ArrayList<>(rules.size());
+        int throttled = 0;
+        for (RuleEntity ruleEntity : rules) {
+            if (costTracker.admit(ruleEntity.getId())) {
+                admitted.add(ruleEntity);
+            } else {
+                throttled++;
+            }
+        }
+        
+        Map<Long, RuleWorkerPool.Outcome> outcomes = workerPool.evaluate(admitted, context, deadline);
+        List<NotificationMessage> notifications = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (RuleEntity ruleEntity : admitted) {
+            RuleWorkerPool.Outcome outcome = outcomes.get(ruleEntity.getId());
+            if (outcome == null) {
+                continue;
+            }
+            statsRecorder.recordExecution(ruleEntity.getId());
+            if (outcome.status() == RuleWorkerPool.Status.FAILED) {
+                statsRecorder.recordError(ruleEntity.getId());
+                log.error("규칙 실행 중 오류: ruleId={}, error={}", ruleEntity.getId(), outcome.message());
+                continue;
+            }
+            boolean conditionMet = outcome.status() == RuleWorkerPool.Status.FIRED;
+            if (triggerStateStore.shouldFire(ruleEntity, conditionMet, now)) {
+                statsRecorder.recordNotification(ruleEntity.getId());
+                notifications.add(NotificationMessage.builder()
+                        .userId(ruleEntity.getUserId())
+                        .ruleId(ruleEntity.getId())
+                        .message(outcome.message())
+                        .createdAt(now)
+                        .build());
+            }
+        }
+        recordEvaluations(outcomes.size());
+        
+        notificationService.publishTick(notifications);
+        int evaluated = outcomes.size() == admitted.size() ? rules.size() : outcomes.size() + throttled;
+        return new EvaluationResult(evaluated, ruleIdsOf(notifications), throttled);
+    }
+    
+    private synchronized void recordEvaluations(int count) {
+        evaluationCounter.increment(count);
+        long second = System.currentTimeMillis() / 1000;
+        if (second != currentSecond) {
+            lastSecond = currentSecond;
+            lastSecondCount = currentSecondCount;
+            currentSecond = second;
+            currentSecondCount = 0;
+        }
+        currentSecondCount += count;
+    }
+    
+    /**
+     * 직전 1초 동안 평가한 규칙 수 (그 뒤로 평가가 없었으면 0)
+     */
+    public int getEvaluationsPerSecond() {
+        long previous = System.currentTimeMillis() / 1000 - 1;
+        synchronized (this) {
+            if (currentSecond == previous) {
+                return currentSecondCount;
+            }
+            return lastSecond == previous ? lastSecondCount : 0;
+        }
+    }
+    
+    /**
+     * 개별 규칙을 실행합니다
+     * 
+     * @return 알림이 발생하면 발송할 메시지, 아니면 null
+     */
+    private NotificationMessage executeRule(RuleEntity ruleEntity, NotificationContext context) {
+        log.debug("규칙 실행: ruleId={}, className={}", 
+                ruleEntity.getId(), ruleEntity.getClassName());
+        
+        // 1. 컴파일된 규칙 인스턴스 가져오기
+        NotificationRule rule = ruleManagementService.getRuleInstance(ruleEntity.getId());
+        
+        // 2. 실행 횟수 기록 (규칙 행은 갱신하지 않고 통계 수집기에 모음)
+        statsRecorder.recordExecution(ruleEntity.getId());
+        
+        // 3. 알림 조건 평가 (표본 평가는 CPU 시간/할당 바이트 기록, 임계값을 넘으면 JFR 이벤트 기록,
+        //    EDGE 모드/재알림 대기 반영)
+        RuleEvaluationEvent event = new RuleEvaluationEvent();
+        event.begin();
+        boolean conditionMet = costTracker.shouldNotify(ruleEntity.getId(), rule, context);
+        event.end();
+        if (event.shouldCommit()) {
+            event.setRuleId(ruleEntity.getId());
+            event.setUserId(ruleEntity.getUserId());
+            event.setClassName(ruleEntity.getClassName());
+            event.setConditionMet(conditionMet);
+            event.commit();
+        }
+        boolean shouldNotify = triggerStateStore.shouldFire(
+                ruleEntity, conditionMet, System.currentTimeMillis());
+        
+        NotificationMessage notification = null;
+        if (shouldNotify) {
+            log.info("알림 발생: ruleId={}, userId={}", 
+                    ruleEntity.getId(), ruleEntity.getUserId());
+            
+            // 4. 알림 횟수 기록
+            statsRecorder.recordNotification(ruleEntity.getId());
+            
+            // 5. 알림 메시지는 전달 대상이 생길 때 렌더링
+            notification = NotificationMessage.builder()
+                    .userId(ruleEntity.getUserId())
+                    .ruleId(ruleEntity.getId())
+                    .renderer(() -> renderMessage(ruleEntity.getId(), rule, context))
+                    .createdAt(System.currentTimeMillis())
+                    .build();
+        }
+        
+        return notification;
+    }
+    
+    /**
+     * 규칙의 getMessage()를 호출합니다 (전달 대상이 생긴 시점에 렌더러에서 호출됨)
+     * 
+     * 렌더링은 평가가 끝난 뒤 채널/재접속 버퍼 쪽 스레드에서 일어나 평가 루프의 오류 처리를 거치지
+     * 않으므로, 여기서 예외를 규칙 오류로 기록하고 대체 문구를 돌려줍니다. 조건은 이미 참이었으므로
+     * 알림 자체는 버리지 않고, 정상적으로 반환하므로 렌더러가 떨어져 나가 오류는 한 번만 기록됩니다.
+     */
+    private String renderMessage(Long ruleId, NotificationRule rule, NotificationContext context) {
+        try {
+            return rule.getMessage(context);
+        } catch (Exception e) {
+            statsRecorder.recordError(ruleId);
+            log.error("알림 메시지 렌더링 중 오류: ruleId={}", ruleId, e);
+            return "알림 메시지를 만들지 못했습니다 (규칙 " + ruleId + ")";
+        }
+    }
+    
+    private static List<Long> ruleIdsOf(List<NotificationMessage> notifications) {
+        return notifications.stream().map(NotificationMessage::getRuleId).toList();
+    }
+    
+    /**
+     * 평가 결과
+     * 
+     * @param evaluated 처리한 규칙 수 (감속으로 건너뛴 규칙 포함)
+     * @param notifiedRuleIds 알림이 발생한 규칙 ID
+     * @param throttled 감속으로 건너뛴 규칙 수
+     */
+    public record EvaluationResult(int evaluated, List<Long> notifiedRuleIds, int throttled) {
+        
+        /**
+         * 발생한 알림 수
+         */
+        public int notified() {
+            return notifiedRuleIds.size();
+        }
+    }
+}
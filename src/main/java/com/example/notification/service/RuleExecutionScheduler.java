@@ -1,94 +1,278 @@
 package com.example.notification.service;
 
-import com.example.notification.domain.NotificationRule;
+import com.example.notification.config.RuleSchedulingConfig;
+import com.example.notification.diagnostics.RuleTickEvent;
 import com.example.notification.domain.RuleEntity;
 import com.example.notification.dto.NotificationContext;
 import com.example.notification.repository.RuleRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 규칙 실행 스케줄러
  * 
  * 주기적으로 (기본 10분마다) 모든 활성화된 규칙을 실행하고,
  * 조건이 충족되면 알림을 발송합니다.
+ * 클러스터 모드에서는 이 노드가 임대한 샤드의 규칙만 실행합니다.
+ * 
+ * SPREAD 모드에서는 정각에 몰아서 실행하지 않고, 규칙마다 ID 해시로 정한
+ * 오프셋에 맞춰 주기 전체에 나눠 실행합니다.
+ * 
+ * 한 tick 안에서는 우선순위가 높은 규칙부터 평가하고, 실행이 다음 tick까지 길어지면
+ * 설정한 정책(SKIP / COALESCE / DEADLINE_DROP)으로 겹침을 막습니다.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RuleExecutionScheduler {
     
     private final RuleManagementService ruleManagementService;
     private final RuleRepository ruleRepository;
     private final ExternalApiService externalApiService;
-    private final NotificationService notificationService;
+    private final RuleEvaluator ruleEvaluator;
+    private final RuleShardLeaseManager shardLeaseManager;
+    private final RuleSpreadSchedule spreadSchedule;
+    private final RuleSchedulingConfig schedulingConfig;
+    private final SchedulerTickRecorder tickRecorder;
+    private final TransactionTemplate transactionTemplate;
+    
+    /**
+     * ALIGNED 모드 tick 실행 스레드와 초과 실행 상태
+     */
+    private final ExecutorService tickExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rule-tick");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean tickRunning = new AtomicBoolean();
+    private final AtomicLong pendingScheduledAt = new AtomicLong(-1);
+    private final AtomicInteger overrunTicks = new AtomicInteger();
+    
+    /**
+     * SPREAD 모드: 지난 tick 시각과 재사용 중인 외부 API 데이터
+     */
+    private long lastTickAt = System.currentTimeMillis();
+    private NotificationContext cachedContext;
+    
+    public RuleExecutionScheduler(RuleManagementService ruleManagementService,
+                                  RuleRepository ruleRepository,
+                                  ExternalApiService externalApiService,
+                                  RuleEvaluator ruleEvaluator,
+                                  RuleShardLeaseManager shardLeaseManager,
+                                  RuleSpreadSchedule spreadSchedule,
+                                  RuleSchedulingConfig schedulingConfig,
+                                  SchedulerTickRecorder tickRecorder,
+                                  PlatformTransactionManager transactionManager) {
+        this.ruleManagementService = ruleManagementService;
+        this.ruleRepository = ruleRepository;
+        this.externalApiService = externalApiService;
+        this.ruleEvaluator = ruleEvaluator;
+        this.shardLeaseManager = shardLeaseManager;
+        this.spreadSchedule = spreadSchedule;
+        this.schedulingConfig = schedulingConfig;
+        this.tickRecorder = tickRecorder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
     
     /**
-     * 10분마다 모든 활성화된 규칙을 실행합니다
+     * 10분마다 모든 활성화된 규칙 실행을 예약합니다 (ALIGNED 모드)
+     * 
+     * 실제 평가는 전용 스레드에서 하므로 이 메서드는 항상 제시각에 호출되고,
+     * 이전 실행이 끝나지 않았으면 초과 실행 정책을 적용합니다.
      */
     @Scheduled(cron = "0 0/10 * * * ?")
-    @Transactional
     public void executeAllRules() {
+        if (schedulingConfig.getMode() != RuleSchedulingConfig.Mode.ALIGNED) {
+            return;
+        }
+        submitTick(System.currentTimeMillis(), false);
+    }
+    
+    /**
+     * @param catchUp 밀려 있던 tick을 이전 실행이 끝난 뒤 이어서 실행하는 경우 true
+     */
+    private void submitTick(long scheduledAt, boolean catchUp) {
+        if (!tickRunning.compareAndSet(false, true)) {
+            RuleSchedulingConfig.OverrunPolicy policy = schedulingConfig.getOverrunPolicy();
+            overrunTicks.incrementAndGet();
+            tickRecorder.recordOverrun(policy);
+            if (policy != RuleSchedulingConfig.OverrunPolicy.SKIP) {
+                // 밀린 tick은 가장 최근 것 하나만 남깁니다
+                pendingScheduledAt.set(scheduledAt);
+            }
+            return;
+        }
+        tickExecutor.execute(() -> runTick(scheduledAt, catchUp));
+    }
+    
+    private void runTick(long scheduledAt, boolean catchUp) {
+        try {
+            int overrun = overrunTicks.getAndSet(0);
+            SchedulerTickRecorder.TickStats stats =
+                    transactionTemplate.execute(status -> executeTick(scheduledAt, catchUp, overrun));
+            // tick 기록은 커밋 뒤 따로 저장합니다 (기록 INSERT가 실패해 tick 트랜잭션이 중단되면 아웃박스 행까지 잃으므로)
+            if (stats != null) {
+                tickRecorder.record(stats);
+            }
+        } catch (Exception e) {
+            log.error("규칙 실행 tick 오류", e);
+        } finally {
+            tickRunning.set(false);
+            long pending = pendingScheduledAt.getAndSet(-1);
+            if (pending >= 0) {
+                submitTick(pending, true);
+            }
+        }
+    }
+    
+    /**
+     * @return 기록할 tick 실행 결과, 임대한 샤드가 없어 건너뛰었으면 null
+     */
+    private SchedulerTickRecorder.TickStats executeTick(long scheduledAt, boolean catchUp, int overrun) {
+        long startedAt = System.currentTimeMillis();
+        RuleSchedulingConfig.OverrunPolicy policy = schedulingConfig.getOverrunPolicy();
+        // 밀린 tick은 예정 시각이 이미 지나 있으므로, 예산을 실제 시작 시각부터 잽니다
+        long deadline = policy == RuleSchedulingConfig.OverrunPolicy.DEADLINE_DROP
+                ? (catchUp ? startedAt : scheduledAt) + schedulingConfig.getTickBudgetMs()
+                : Long.MAX_VALUE;
+        
+        RuleTickEvent event = new RuleTickEvent();
+        event.begin();
+        int[] counts = {0, 0, 0};
+        try {
+            if (!shardLeaseManager.isEnabled()) {
+                counts = executeRules(null, deadline);
+            } else {
+                Set<Integer> shards = shardLeaseManager.beginEvaluation();
+                try {
+                    if (shards.isEmpty()) {
+                        log.info("임대한 규칙 샤드가 없어 실행을 건너뜁니다");
+                        return null;
+                    }
+                    counts = executeRules(shards, deadline);
+                } finally {
+                    shardLeaseManager.endEvaluation();
+                }
+            }
+            
+            return new SchedulerTickRecorder.TickStats(scheduledAt, startedAt,
+                    System.currentTimeMillis(), overrun, policy, counts[0], counts[1], counts[0] - counts[1]);
+        
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setMode(RuleSchedulingConfig.Mode.ALIGNED.name());
+                event.setOverrunPolicy(policy.name());
+                event.setLag(startedAt - scheduledAt);
+                event.setOverrunTicks(overrun);
+                event.setTargetRules(counts[0]);
+                event.setEvaluatedRules(counts[1]);
+                event.setNotifications(counts[2]);
+                event.commit();
+            }
+        }
+    }
+    
+    /**
+     * 규칙을 우선순위 순으로 실행합니다
+     * 
+     * @param shards 실행할 샤드, null이면 모든 활성화된 규칙
+     * @param deadline 이 시각(epoch 밀리초)이 지나면 남은 규칙을 버립니다
+     * @return {대상 규칙 수, 평가한 규칙 수, 발생한 알림 수}
+     */
+    private int[] executeRules(Set<Integer> shards, long deadline) {
         log.info("규칙 실행 스케줄러 시작");
         
-        // 1. 외부 API 데이터 수집
+        // 1. 외부 API 데이터 수집 (밀린 tick이어도 실행 시점의 데이터로 평가)
         NotificationContext context = externalApiService.fetchContext();
         
-        // 2. 모든 활성화된 규칙 조회
-        List<RuleEntity> activeRules = ruleManagementService.getActiveRules();
+        // 2. 활성화된 규칙 조회 (클러스터 모드에서는 임대한 샤드만)
+        List<RuleEntity> activeRules = shards == null
+                ? ruleManagementService.getActiveRules()
+                : ruleRepository.findActiveByShards(shardLeaseManager.getShardCount(), shards);
         
-        log.info("실행할 규칙 개수: {}", activeRules.size());
+        log.info("실행할 규칙 개수: {}, shards={}", activeRules.size(), shards == null ? "all" : shards.size());
         
-        // 3. 각 규칙 실행
-        for (RuleEntity ruleEntity : activeRules) {
-            try {
-                executeRule(ruleEntity, context);
-            } catch (Exception e) {
-                log.error("규칙 실행 중 오류: ruleId={}", ruleEntity.getId(), e);
-            }
-        }
+        // 3. 각 규칙 실행 후 발생한 알림 발행
+        RuleEvaluator.EvaluationResult result = ruleEvaluator.evaluate(activeRules, context, deadline);
         
         log.info("규칙 실행 스케줄러 종료");
+        return new int[]{activeRules.size(), result.evaluated(), result.notified()};
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        tickExecutor.shutdown();
+        tickExecutor.awaitTermination(10, TimeUnit.SECONDS);
     }
     
     /**
-     * 개별 규칙을 실행합니다
+     * 매 tick마다 오프셋이 지나간 규칙만 실행합니다 (SPREAD 모드)
      */
-    private void executeRule(RuleEntity ruleEntity, NotificationContext context) {
-        log.debug("규칙 실행: ruleId={}, className={}", 
-                ruleEntity.getId(), ruleEntity.getClassName());
-        
-        // 1. 컴파일된 규칙 인스턴스 가져오기
-        NotificationRule rule = ruleManagementService.getRuleInstance(ruleEntity.getId());
-        
-        // 2. 실행 횟수 증가
-        ruleEntity.setExecutionCount(ruleEntity.getExecutionCount() + 1);
-        ruleEntity.setLastExecutedAt(LocalDateTime.now());
-        
-        // 3. 알림 조건 평가
-        boolean shouldNotify = rule.shouldNotify(context);
+    @Scheduled(fixedRateString = "${rules.scheduling.tick-ms:1000}")
+    @Transactional
+    public void executeDueRules() {
+        if (schedulingConfig.getMode() != RuleSchedulingConfig.Mode.SPREAD) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Long> dueIds = spreadSchedule.dueRuleIds(lastTickAt, now);
+        lastTickAt = now;
         
-        if (shouldNotify) {
-            // 4. 알림 메시지 생성
-            String message = rule.getMessage(context);
+        Set<Integer> shards = null;
+        if (shardLeaseManager.isEnabled()) {
+            shards = shardLeaseManager.beginEvaluation();
+        }
+        try {
+            if (shards != null) {
+                int shardCount = shardLeaseManager.getShardCount();
+                Set<Integer> owned = shards;
+                dueIds = dueIds.stream()
+                        .filter(ruleId -> owned.contains((int) (ruleId % shardCount)))
+                        .toList();
+            }
+            if (dueIds.isEmpty()) {
+                return;
+            }
             
-            log.info("알림 발생: ruleId={}, userId={}, message={}", 
-                    ruleEntity.getId(), ruleEntity.getUserId(), message);
+            if (cachedContext == null || now - cachedContext.getTimestamp() >= schedulingConfig.getContextTtlMs()) {
+                cachedContext = externalApiService.fetchContext();
+            }
             
-            // 5. 알림 발송
-            notificationService.sendNotification(ruleEntity.getUserId(), message);
+            List<RuleEntity> dueRules = ruleRepository.findAllById(dueIds).stream()
+                    .filter(rule -> Boolean.TRUE.equals(rule.getActive()))
+                    .toList();
+            log.debug("분산 실행: 규칙 {}건 / 색인 {}건", dueRules.size(), spreadSchedule.size());
             
-            // 6. 알림 횟수 증가
-            ruleEntity.setNotificationCount(ruleEntity.getNotificationCount() + 1);
-        }
+            RuleTickEvent event = new RuleTickEvent();
+            event.begin();
+            RuleEvaluator.EvaluationResult result = ruleEvaluator.evaluate(dueRules, cachedContext, Long.MAX_VALUE);
+            event.end();
+            if (event.shouldCommit()) {
+                event.setMode(RuleSchedulingConfig.Mode.SPREAD.name());
+                event.setTargetRules(dueRules.size());
+                event.setEvaluatedRules(result.evaluated());
+                event.setNotifications(result.notified());
+                event.commit();
+            }
         
-        // 7. 변경사항 저장
-        ruleRepository.save(ruleEntity);
+        } finally {
+            if (shards != null) {
+                shardLeaseManager.endEvaluation();
+            }
+        }
     }
 }
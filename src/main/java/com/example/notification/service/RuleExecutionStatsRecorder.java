@@ -0,0 +1,200 @@
+package com.example.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 규칙 실행 통계 수집기
+ * 
+ * 평가 경로에서는 메모리 카운터만 올리고, 주기적으로 규칙별 증분을 rule_execution_stats에 배치 INSERT 합니다.
+ * 행의 bucket_start는 플러시 시각(분 단위)이므로, 이미 롤업한 구간에 늦게 들어오는 행이 없습니다.
+ */
+@Service
+@Slf4j
+public class RuleExecutionStatsRecorder {
+    
+    /**
+     * 삭제 표시 보관 기간 (삭제 시점에 진행 중이던 평가가 끝나기에 충분한 시간)
+     */
+    private static final long TOMBSTONE_RETENTION_MS = TimeUnit.HOURS.toMillis(1);
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    
+    /**
+     * 규칙 ID → 마지막 플러시 이후 증분
+     * 항목은 규칙이 삭제될 때만 지우므로 평가 스레드가 잡은 카운터가 플러시 중에 사라지지 않습니다.
+     */
+    private final Map<Long, Counters> pending = new ConcurrentHashMap<>();
+    
+    /**
+     * 삭제된 규칙 ID → 삭제 시각 (epoch 밀리초)
+     * 삭제 시점에 평가 중이던 스레드가 카운터를 다시 만들어도 기록하지 않도록 보관 기간 동안 남겨 둡니다.
+     */
+    private final Map<Long, Long> tombstones = new ConcurrentHashMap<>();
+    
+    private final Counter flushedRowsCounter;
+    
+    public RuleExecutionStatsRecorder(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushedRowsCounter = meterRegistry.counter("rule.stats.flushed.rows");
+    }
+    
+    public void recordExecution(Long ruleId) {
+        Counters counters = counters(ruleId);
+        counters.executions.incrementAndGet();
+        counters.lastExecutedAt.accumulateAndGet(System.currentTimeMillis(), Math::max);
+    }
+    
+    public void recordNotification(Long ruleId) {
+        counters(ruleId).notifications.incrementAndGet();
+    }
+    
+    public void recordError(Long ruleId) {
+        counters(ruleId).errors.incrementAndGet();
+    }
+    
+    /**
+     * 삭제된 규칙의 미플러시 증분을 버리고, 이후에 들어오는 증분도 기록하지 않습니다
+     */
+    public void forget(Long ruleId) {
+        tombstones.put(ruleId, System.currentTimeMillis());
+        pending.remove(ruleId);
+    }
+    
+    /**
+     * 아직 플러시하지 않은 증분 (누적값 조회용)
+     */
+    public Snapshot pendingOf(Long ruleId) {
+        Counters counters = pending.get(ruleId);
+        if (counters == null) {
+            return Snapshot.EMPTY;
+        }
+        return new Snapshot(counters.executions.get(), counters.notifications.get(), counters.errors.get(),
+                counters.lastExecutedAt.get());
+    }
+    
+    private Counters counters(Long ruleId) {
+        if (tombstones.containsKey(ruleId)) {
+            // 삭제된 규칙은 버릴 카운터에 올립니다
+            return new Counters();
+        }
+        return pending.computeIfAbsent(ruleId, id -> new Counters());
+    }
+    
+    /**
+     * 규칙별 증분을 꺼내 한 번의 배치 INSERT로 기록합니다
+     * 실패하면 꺼낸 증분을 되돌려 다음 플러시에 다시 씁니다.
+     */
+    @Scheduled(fixedDelayString = "${rules.stats.flush-interval-ms:60000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        tombstones.values().removeIf(forgottenAt -> now - forgottenAt > TOMBSTONE_RETENTION_MS);
+        
+        List<Row> rows = new ArrayList<>();
+        pending.forEach((ruleId, counters) -> {
+            if (tombstones.containsKey(ruleId)) {
+                // 삭제 확인과 카운터 생성 사이에 forget이 끼어든 경우
+                pending.remove(ruleId);
+                return;
+            }
+            Snapshot drained = counters.drain();
+            if (!drained.isEmpty()) {
+                rows.add(new Row(ruleId, drained));
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+        
+        Timestamp bucketStart = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES));
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate("""
+                    INSERT INTO rule_execution_stats
+                        (rule_id, bucket_start, executions, notifications, errors, last_executed_at)
+                    VALUES (?, ?, ?, ?, ?, ?)
+                    """,
+                    rows, rows.size(), (ps, row) -> {
+                        ps.setLong(1, row.ruleId());
+                        ps.setTimestamp(2, bucketStart);
+                        ps.setInt(3, row.delta().executions());
+                        ps.setInt(4, row.delta().notifications());
+                        ps.setInt(5, row.delta().errors());
+                        ps.setTimestamp(6, row.delta().lastExecutedAt() > 0
+                                ? Timestamp.valueOf(toLocalDateTime(row.delta().lastExecutedAt()))
+                                : null);
+                    }));
+            flushedRowsCounter.increment(rows.size());
+            log.debug("규칙 실행 통계 플러시: {}건", rows.size());
+        
+        } catch (Exception e) {
+            rows.forEach(row -> counters(row.ruleId()).restore(row.delta()));
+            log.warn("규칙 실행 통계 플러시 실패, 다음 주기에 다시 기록합니다: {}건", rows.size(), e);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+    
+    static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+    
+    /**
+     * 규칙 하나의 증분 (lastExecutedAt은 epoch 밀리초, 없으면 0)
+     */
+    public record Snapshot(int executions, int notifications, int errors, long lastExecutedAt) {
+        
+        static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0);
+        
+        boolean isEmpty() {
+            return executions == 0 && notifications == 0 && errors == 0;
+        }
+    }
+    
+    private record Row(Long ruleId, Snapshot delta) {
+    }
+    
+    private static class Counters {
+        private final AtomicInteger executions = new AtomicInteger();
+        private final AtomicInteger notifications = new AtomicInteger();
+        private final AtomicInteger errors = new AtomicInteger();
+        private final AtomicLong lastExecutedAt = new AtomicLong();
+        
+        Snapshot drain() {
+            return new Snapshot(executions.getAndSet(0), notifications.getAndSet(0), errors.getAndSet(0),
+                    lastExecutedAt.get());
+        }
+        
+        void restore(Snapshot delta) {
+            executions.addAndGet(delta.executions());
+            notifications.addAndGet(delta.notifications());
+            errors.addAndGet(delta.errors());
+        }
+    }
+}
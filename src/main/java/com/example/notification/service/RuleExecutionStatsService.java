@@ -0,0 +1,394 @@
+package com.example.notification.service;
+
+import com.example.notification.config.RuleStatsConfig;
+import com.example.notification.dto.RuleStatsBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 규칙 실행 통계 조회 및 롤업 서비스
+ * 
+ * 원본(rule_execution_stats) → 시간별 → 일별로 롤업하고, 단계별 완료 시각(watermark)을
+ * rule_stats_rollups에 같은 트랜잭션으로 기록합니다. 조회는 watermark를 기준으로
+ * 일별(DAILY 이전) + 시간별(DAILY~HOURLY) + 원본(HOURLY 이후)을 합치므로 중복이나 누락이 없습니다.
+ * 롤업과 파티션 관리는 advisory lock을 얻은 노드 하나만 수행합니다.
+ */
+@Service
+@Slf4j
+public class RuleExecutionStatsService {
+    
+    /**
+     * 롤업/파티션 관리용 advisory lock 키
+     */
+    private static final long ROLLUP_LOCK_KEY = 0x52554c4553544154L;
+    
+    private static final String PARTITION_PREFIX = "rule_execution_stats_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    
+    private static final String WATERMARKS_CTE = """
+            WITH w AS (
+                SELECT MAX(rolled_until) FILTER (WHERE level = 'HOURLY') AS hw,
+                       MAX(rolled_until) FILTER (WHERE level = 'DAILY') AS dw
+                  FROM rule_stats_rollups
+            )
+            """;
+    
+    private static final String TOTALS_SQL = WATERMARKS_CTE + """
+            SELECT s.rule_id, SUM(s.executions), SUM(s.notifications), SUM(s.errors), MAX(s.last_executed_at)
+              FROM (
+                    SELECT d.rule_id, d.executions, d.notifications, d.errors, d.last_executed_at
+                      FROM rule_execution_stats_daily d, w
+                     WHERE d.rule_id = ANY(?) AND d.bucket_day < w.dw
+                    UNION ALL
+                    SELECT h.rule_id, h.executions, h.notifications, h.errors, h.last_executed_at
+                      FROM rule_execution_stats_hourly h, w
+                     WHERE h.rule_id = ANY(?) AND h.bucket_hour >= w.dw AND h.bucket_hour < w.hw
+                    UNION ALL
+                    SELECT r.rule_id, r.executions, r.notifications, r.errors, r.last_executed_at
+                      FROM rule_execution_stats r, w
+                     WHERE r.rule_id = ANY(?) AND r.bucket_start >= w.hw
+                   ) s
+             GROUP BY s.rule_id
+            """;
+    
+    private static final String RAW_HISTORY_SQL = """
+            SELECT bucket_start, SUM(executions), SUM(notifications), SUM(errors), MAX(last_executed_at)
+              FROM rule_execution_stats
+             WHERE rule_id = ? AND bucket_start >= ? AND bucket_start < ?
+             GROUP BY bucket_start
+             ORDER BY bucket_start
+            """;
+    
+    private static final String HOURLY_HISTORY_SQL = WATERMARKS_CTE + """
+            SELECT s.bucket, SUM(s.executions), SUM(s.notifications), SUM(s.errors), MAX(s.last_executed_at)
+              FROM (
+                    SELECT h.bucket_hour AS bucket, h.executions, h.notifications, h.errors, h.last_executed_at
+                      FROM rule_execution_stats_hourly h, w
+                     WHERE h.rule_id = ? AND h.bucket_hour < w.hw
+                    UNION ALL
+                    SELECT date_trunc('hour', r.bucket_start), r.executions, r.notifications, r.errors,
+                           r.last_executed_at
+                      FROM rule_execution_stats r, w
+                     WHERE r.rule_id = ? AND r.bucket_start >= w.hw
+                   ) s
+             WHERE s.bucket >= ? AND s.bucket < ?
+             GROUP BY s.bucket
+             ORDER BY s.bucket
+            """;
+    
+    private static final String DAILY_HISTORY_SQL = WATERMARKS_CTE + """
+            SELECT s.bucket, SUM(s.executions), SUM(s.notifications), SUM(s.errors), MAX(s.last_executed_at)
+              FROM (
+                    SELECT d.bucket_day::timestamp AS bucket, d.executions, d.notifications, d.errors,
+                           d.last_executed_at
+                      FROM rule_execution_stats_daily d, w
+                     WHERE d.rule_id = ? AND d.bucket_day < w.dw
+                    UNION ALL
+                    SELECT date_trunc('day', h.bucket_hour), h.executions, h.notifications, h.errors,
+                           h.last_executed_at
+                      FROM rule_execution_stats_hourly h, w
+                     WHERE h.rule_id = ? AND h.bucket_hour >= w.dw AND h.bucket_hour < w.hw
+                    UNION ALL
+                    SELECT date_trunc('day', r.bucket_start), r.executions, r.notifications, r.errors,
+                           r.last_executed_at
+                      FROM rule_execution_stats r, w
+                     WHERE r.rule_id = ? AND r.bucket_start >= w.hw
+                   ) s
+             WHERE s.bucket >= ? AND s.bucket < ?
+             GROUP BY s.bucket
+             ORDER BY s.bucket
+            """;
+    
+    private static final String ROLLUP_HOURLY_SQL = """
+            INSERT INTO rule_execution_stats_hourly
+                (rule_id, bucket_hour, executions, notifications, errors, last_executed_at)
+            SELECT rule_id, date_trunc('hour', bucket_start), SUM(executions), SUM(notifications), SUM(errors),
+                   MAX(last_executed_at)
+              FROM rule_execution_stats
+             WHERE bucket_start >= ? AND bucket_start < ?
+             GROUP BY rule_id, date_trunc('hour', bucket_start)
+            ON CONFLICT (rule_id, bucket_hour) DO UPDATE
+               SET executions = EXCLUDED.executions,
+                   notifications = EXCLUDED.notifications,
+                   errors = EXCLUDED.errors,
+                   last_executed_at = EXCLUDED.last_executed_at
+            """;
+    
+    private static final String ROLLUP_DAILY_SQL = """
+            INSERT INTO rule_execution_stats_daily
+                (rule_id, bucket_day, executions, notifications, errors, last_executed_at)
+            SELECT rule_id, date_trunc('day', bucket_hour)::date, SUM(executions), SUM(notifications), SUM(errors),
+                   MAX(last_executed_at)
+              FROM rule_execution_stats_hourly
+             WHERE bucket_hour >= ? AND bucket_hour < ?
+             GROUP BY rule_id, date_trunc('day', bucket_hour)::date
+            ON CONFLICT (rule_id, bucket_day) DO UPDATE
+               SET executions = EXCLUDED.executions,
+                   notifications = EXCLUDED.notifications,
+                   errors = EXCLUDED.errors,
+                   last_executed_at = EXCLUDED.last_executed_at
+            """;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RuleExecutionStatsRecorder recorder;
+    private final RuleStatsConfig config;
+    
+    private final Timer rollupTimer;
+    
+    public RuleExecutionStatsService(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     RuleExecutionStatsRecorder recorder,
+                                     RuleStatsConfig config,
+                                     MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recorder = recorder;
+        this.config = config;
+        this.rollupTimer = meterRegistry.timer("rule.stats.rollup.duration");
+    }
+    
+    @PostConstruct
+    public void init() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            log.warn("규칙 실행 통계 초기 관리 작업 실패", e);
+        }
+    }
+    
+    /**
+     * 롤업, 파티션 생성/삭제, 보관 기간 정리를 한 트랜잭션에서 수행합니다
+     * 다른 노드가 수행 중이면 건너뜁니다.
+     */
+    @Scheduled(fixedDelayString = "${rules.stats.rollup-interval-ms:300000}",
+            initialDelayString = "${rules.stats.rollup-interval-ms:300000}")
+    public void maintain() {
+        rollupTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+            Boolean locked = jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ROLLUP_LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                log.debug("다른 노드가 규칙 실행 통계를 롤업 중입니다");
+                return;
+            }
+            ensurePartitions();
+            LocalDateTime hourlyWatermark = rollupHourly();
+            rollupDaily(hourlyWatermark);
+            purge(hourlyWatermark);
+        }));
+    }
+    
+    /**
+     * 끝난 지 rollupDelay가 지난 시간 구간의 원본을 시간별 표로 옮깁니다
+     * 
+     * @return 갱신된 시간별 watermark
+     */
+    private LocalDateTime rollupHourly() {
+        LocalDateTime from = watermark("HOURLY");
+        LocalDateTime until = LocalDateTime.now()
+                .minus(config.getRollupDelayMs(), ChronoUnit.MILLIS)
+                .truncatedTo(ChronoUnit.HOURS);
+        if (!until.isAfter(from)) {
+            return from;
+        }
+        int rows = jdbcTemplate.update(ROLLUP_HOURLY_SQL, Timestamp.valueOf(from), Timestamp.valueOf(until));
+        setWatermark("HOURLY", until);
+        log.info("규칙 실행 통계 시간별 롤업: {} ~ {}, {}행", from, until, rows);
+        return until;
+    }
+    
+    /**
+     * 시간별 롤업이 끝난 날의 값을 일별 표로 옮깁니다
+     */
+    private void rollupDaily(LocalDateTime hourlyWatermark) {
+        LocalDateTime from = watermark("DAILY");
+        LocalDateTime until = hourlyWatermark.truncatedTo(ChronoUnit.DAYS);
+        if (!until.isAfter(from)) {
+            return;
+        }
+        int rows = jdbcTemplate.update(ROLLUP_DAILY_SQL, Timestamp.valueOf(from), Timestamp.valueOf(until));
+        setWatermark("DAILY", until);
+        log.info("규칙 실행 통계 일별 롤업: {} ~ {}, {}행", from, until, rows);
+    }
+    
+    /**
+     * 어제부터 partitionsAhead일 뒤까지의 원본 일 파티션을 만듭니다
+     */
+    private void ensurePartitions() {
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusDays(1); !day.isAfter(today.plusDays(config.getPartitionsAhead()));
+             day = day.plusDays(1)) {
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s%s PARTITION OF rule_execution_stats FOR VALUES FROM ('%s') TO ('%s')",
+                    PARTITION_PREFIX, day.format(PARTITION_SUFFIX), day, day.plusDays(1)));
+        }
+    }
+    
+    /**
+     * 보관 기간이 지난 원본 파티션(시간별 롤업이 끝난 것만)과 롤업 행을 삭제합니다
+     */
+    private void purge(LocalDateTime hourlyWatermark) {
+        LocalDate rawCutoff = LocalDate.now().minusDays(config.getRawRetentionDays());
+        if (hourlyWatermark.toLocalDate().isBefore(rawCutoff)) {
+            rawCutoff = hourlyWatermark.toLocalDate();
+        }
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname
+                  FROM pg_inherits i
+                  JOIN pg_class c ON c.oid = i.inhrelid
+                  JOIN pg_class p ON p.oid = i.inhparent
+                 WHERE p.relname = 'rule_execution_stats'
+                """, String.class);
+        for (String partition : partitions) {
+            LocalDate day = partitionDay(partition);
+            if (day != null && !day.plusDays(1).isAfter(rawCutoff)) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("규칙 실행 통계 원본 파티션 삭제: {}", partition);
+            }
+        }
+        
+        LocalDateTime dailyWatermark = watermark("DAILY");
+        LocalDateTime hourlyCutoff = LocalDate.now().minusDays(config.getHourlyRetentionDays()).atStartOfDay();
+        jdbcTemplate.update("DELETE FROM rule_execution_stats_hourly WHERE bucket_hour < ?",
+                Timestamp.valueOf(hourlyCutoff.isBefore(dailyWatermark) ? hourlyCutoff : dailyWatermark));
+        if (config.getDailyRetentionDays() > 0) {
+            jdbcTemplate.update("DELETE FROM rule_execution_stats_daily WHERE bucket_day < ?",
+                    Date.valueOf(LocalDate.now().minusDays(config.getDailyRetentionDays())));
+        }
+    }
+    
+    private static LocalDate partitionDay(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    
+    private LocalDateTime watermark(String level) {
+        return jdbcTemplate.queryForObject(
+                "SELECT rolled_until FROM rule_stats_rollups WHERE level = ?", Timestamp.class, level)
+                .toLocalDateTime();
+    }
+    
+    private void setWatermark(String level, LocalDateTime until) {
+        jdbcTemplate.update("UPDATE rule_stats_rollups SET rolled_until = ? WHERE level = ?",
+                Timestamp.valueOf(until), level);
+    }
+    
+    /**
+     * 규칙별 누적 통계 (DB에 기록된 값 + 이 노드에서 아직 플러시하지 않은 증분)
+     */
+    public Map<Long, Totals> totals(Collection<Long> ruleIds) {
+        Map<Long, Totals> totals = new HashMap<>();
+        if (ruleIds.isEmpty()) {
+            return totals;
+        }
+        Long[] ids = ruleIds.toArray(Long[]::new);
+        jdbcTemplate.query(TOTALS_SQL, rs -> {
+            Timestamp last = rs.getTimestamp(5);
+            totals.put(rs.getLong(1), new Totals(rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                    last != null ? last.toLocalDateTime() : null));
+        }, (Object) ids, (Object) ids, (Object) ids);
+        
+        for (Long ruleId : ruleIds) {
+            RuleExecutionStatsRecorder.Snapshot pending = recorder.pendingOf(ruleId);
+            if (!pending.isEmpty()) {
+                totals.put(ruleId, totals.getOrDefault(ruleId, Totals.EMPTY).plus(pending));
+            }
+        }
+        return totals;
+    }
+    
+    /**
+     * 규칙 하나의 실행 이력을 구간별로 조회합니다 (아직 플러시하지 않은 증분은 포함하지 않음)
+     * 
+     * @param from 시작 시각 (포함)
+     * @param to 끝 시각 (제외)
+     */
+    public List<RuleStatsBucket> history(Long ruleId, Resolution resolution, LocalDateTime from, LocalDateTime to) {
+        Timestamp start = Timestamp.valueOf(from);
+        Timestamp end = Timestamp.valueOf(to);
+        return switch (resolution) {
+            case RAW -> jdbcTemplate.query(RAW_HISTORY_SQL, (rs, i) -> toBucket(rs), ruleId, start, end);
+            case HOUR -> jdbcTemplate.query(HOURLY_HISTORY_SQL, (rs, i) -> toBucket(rs),
+                    ruleId, ruleId, start, end);
+            case DAY -> jdbcTemplate.query(DAILY_HISTORY_SQL, (rs, i) -> toBucket(rs),
+                    ruleId, ruleId, ruleId, start, end);
+        };
+    }
+    
+    private static RuleStatsBucket toBucket(ResultSet rs) throws SQLException {
+        Timestamp last = rs.getTimestamp(5);
+        return RuleStatsBucket.builder()
+                .bucketStart(rs.getTimestamp(1).toLocalDateTime())
+                .executions(rs.getLong(2))
+                .notifications(rs.getLong(3))
+                .errors(rs.getLong(4))
+                .lastExecutedAt(last != null ? last.toLocalDateTime() : null)
+                .build();
+    }
+    
+    /**
+     * 삭제된 규칙의 통계를 지웁니다 (호출한 쪽의 트랜잭션에 참여)
+     */
+    public void deleteRule(Long ruleId) {
+        jdbcTemplate.update("DELETE FROM rule_execution_stats WHERE rule_id = ?", ruleId);
+        jdbcTemplate.update("DELETE FROM rule_execution_stats_hourly WHERE rule_id = ?", ruleId);
+        jdbcTemplate.update("DELETE FROM rule_execution_stats_daily WHERE rule_id = ?", ruleId);
+        recorder.forget(ruleId);
+    }
+    
+    /**
+     * 이력 조회 단위
+     */
+    public enum Resolution {
+        /**
+         * 노드 플러시 단위 (원본 보관 기간 안에서만 조회 가능)
+         */
+        RAW,
+        HOUR,
+        DAY
+    }
+    
+    /**
+     * 규칙 하나의 누적 통계
+     */
+    public record Totals(long executions, long notifications, long errors, LocalDateTime lastExecutedAt) {
+        
+        public static final Totals EMPTY = new Totals(0, 0, 0, null);
+        
+        Totals plus(RuleExecutionStatsRecorder.Snapshot pending) {
+            LocalDateTime pendingLast = pending.lastExecutedAt() > 0
+                    ? RuleExecutionStatsRecorder.toLocalDateTime(pending.lastExecutedAt())
+                    : null;
+            LocalDateTime last = lastExecutedAt == null
+                    || (pendingLast != null && pendingLast.isAfter(lastExecutedAt)) ? pendingLast : lastExecutedAt;
+            return new Totals(executions + pending.executions(), notifications + pending.notifications(),
+                    errors + pending.errors(), last);
+        }
+    }
+}
@@ -1,18 +1,33 @@
 package com.example.notification.service;
 
+import com.example.notification.config.RuleBenchmarkConfig;
+import com.example.notification.config.RuleIsolationConfig;
+import com.example.notification.config.RuleListingConfig;
+import com.example.notification.diagnostics.RuleLoadEvent;
+import com.example.notification.domain.BenchmarkStatus;
 import com.example.notification.domain.NotificationRule;
 import com.example.notification.domain.RuleEntity;
+import com.example.notification.domain.TriggerMode;
 import com.example.notification.dto.CreateRuleRequest;
+import com.example.notification.dto.RuleBenchmarkResult;
+import com.example.notification.dto.RulePageResponse;
 import com.example.notification.dto.RuleResponse;
+import com.example.notification.dto.RuleStatsBucket;
+import com.example.notification.dto.RuleSummaryResponse;
 import com.example.notification.repository.RuleRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -24,13 +39,21 @@ import java.util.stream.Collectors;
  * 컴파일하여 저장 및 관리합니다.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RuleManagementService {
     
     private final RuleRepository ruleRepository;
     private final ClaudeApiService claudeApiService;
     private final DynamicCodeEngine dynamicCodeEngine;
+    private final RuleTriggerStateStore triggerStateStore;
+    private final RuleBenchmarkService benchmarkService;
+    private final RuleBenchmarkConfig benchmarkConfig;
+    private final RuleVersionService versionService;
+    private final RuleListingConfig listingConfig;
+    private final RuleExecutionStatsService statsService;
+    private final RuleSourceStore sourceStore;
+    private final RuleDependencyIndex dependencyIndex;
+    private final RuleIsolationConfig isolationConfig;
     
     /**
      * 컴파일된 규칙 인스턴스 캐시
@@ -38,6 +61,41 @@ public class RuleManagementService {
      */
     private final Map<Long, NotificationRule> ruleCache = new ConcurrentHashMap<>();
     
+    private final Counter cacheHitCounter;
+    private final Counter cacheMissCounter;
+    
+    public RuleManagementService(RuleRepository ruleRepository,
+                                 ClaudeApiService claudeApiService,
+                                 DynamicCodeEngine dynamicCodeEngine,
+                                 RuleTriggerStateStore triggerStateStore,
+                                 RuleBenchmarkService benchmarkService,
+                                 RuleBenchmarkConfig benchmarkConfig,
+                                 RuleVersionService versionService,
+                                 RuleListingConfig listingConfig,
+                                 RuleExecutionStatsService statsService,
+                                 RuleSourceStore sourceStore,
+                                 RuleDependencyIndex dependencyIndex,
+                                 RuleIsolationConfig isolationConfig,
+                                 MeterRegistry meterRegistry) {
+        this.ruleRepository = ruleRepository;
+        this.claudeApiService = claudeApiService;
+        this.dynamicCodeEngine = dynamicCodeEngine;
+        this.triggerStateStore = triggerStateStore;
+        this.benchmarkService = benchmarkService;
+        this.benchmarkConfig = benchmarkConfig;
+        this.versionService = versionService;
+        this.listingConfig = listingConfig;
+        this.statsService = statsService;
+        this.sourceStore = sourceStore;
+        this.dependencyIndex = dependencyIndex;
+        this.isolationConfig = isolationConfig;
+        this.cacheHitCounter = meterRegistry.counter("rule.cache.requests", "result", "hit");
+        this.cacheMissCounter = meterRegistry.counter("rule.cache.requests", "result", "miss");
+        Gauge.builder("rule.cache.size", ruleCache, Map::size)
+                .description("컴파일되어 메모리에 올라간 규칙 인스턴스 수")
+                .register(meterRegistry);
+    }
+    
     private static final Pattern CLASS_NAME_PATTERN = Pattern.compile("public\\s+class\\s+(\\w+)");
     
     /**
@@ -45,61 +103,156 @@ public class RuleManagementService {
      * 
      * 1. Claude API를 통해 코드 생성
      * 2. 동적 컴파일 및 테스트
-     * 3. DB에 저장
-     * 4. 캐시에 로드
+     * 3. 합성 컨텍스트로 성능 검사 (예산 초과 시 거절하거나 비활성 상태로 검토 대기)
+     * 4. DB에 저장 (소스는 내용이 같은 기존 행을 공유)
+     * 5. 캐시에 로드
+     * 
+     * 격리 모드에서는 규칙 코드를 이 JVM에서 실행하지 않도록 2에서 컴파일과 검사만 하고,
+     * 성능 검사와 캐시 적재는 건너뜁니다 (평가할 때 워커가 로드).
+     * 
+     * @throws IllegalArgumentException 허용되지 않은 코드이거나 성능 예산 초과로 거절할 때
      */
     @Transactional
     public RuleResponse createRule(CreateRuleRequest request) {
         log.info("새로운 규칙 생성 요청: userId={}, request={}", 
                 request.getUserId(), request.getRequest());
         
+        NotificationRule ruleInstance = null;
+        boolean cached = false;
         try {
             // 1. Claude API로 코드 생성
             String generatedCode = claudeApiService.generateRuleCode(request.getRequest());
             log.debug("생성된 코드:\n{}", generatedCode);
             
             // 2. 동적 컴파일 및 테스트
-            NotificationRule ruleInstance = dynamicCodeEngine.compileAndLoad(generatedCode);
+            if (isolationConfig.isEnabled()) {
+                dynamicCodeEngine.verify(generatedCode);
+            } else {
+                ruleInstance = dynamicCodeEngine.compileAndLoad(generatedCode);
+            }
             
-            // 3. 클래스 이름 추출
-            String className = extractClassName(generatedCode);
+            // 3. 성능 검사 및 엔티티 구성
+            RuleEntity entity = prepareRule(request, generatedCode, ruleInstance);
             
             // 4. DB에 저장
-            RuleEntity entity = RuleEntity.builder()
-                    .userId(request.getUserId())
-                    .naturalLanguageRequest(request.getRequest())
-                    .generatedCode(generatedCode)
-                    .className(className)
-                    .active(true)
-                    .cronExpression(request.getCronExpression() != null ? 
-                            request.getCronExpression() : "0 0/10 * * * ?")
-                    .executionCount(0)
-                    .notificationCount(0)
-                    .build();
-            
+            entity.setSourceId(sourceStore.store(generatedCode));
             entity = ruleRepository.save(entity);
+            versionService.increment(entity.getUserId());
             
-            // 5. 캐시에 로드
-            ruleCache.put(entity.getId(), ruleInstance);
+            // 5. 캐시에 로드 (검토 대기 규칙은 활성화할 때 로드)
+            if (entity.getActive()) {
+                if (ruleInstance != null) {
+                    ruleCache.put(entity.getId(), ruleInstance);
+                    cached = true;
+                }
+                dependencyIndex.add(entity.getId(), generatedCode);
+            }
             
-            log.info("규칙 생성 성공: id={}, className={}", entity.getId(), className);
+            log.info("규칙 생성 성공: id={}, className={}, benchmark={}",
+                    entity.getId(), entity.getClassName(), entity.getBenchmarkStatus());
             
             return toResponse(entity);
-            
+        
+        } catch (IllegalArgumentException e) {
+            // 허용되지 않은 코드나 성능 예산 초과로 거절: 요청 오류로 그대로 전달
+            log.warn("규칙 생성 거절: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("규칙 생성 실패", e);
             throw new RuntimeException("규칙 생성 중 오류가 발생했습니다: " + e.getMessage(), e);
+        } finally {
+            // 캐시에 올리지 않은 인스턴스(거절, 검토 대기, 저장 실패)는 로더에서 내림
+            if (!cached) {
+                dynamicCodeEngine.unload(ruleInstance);
+            }
+        }
+    }
+    
+    /**
+     * 컴파일된 규칙의 성능을 검사하고 저장할 엔티티를 구성합니다 (저장하지는 않음, sourceId는 호출한 쪽이 채움)
+     * 
+     * 예산을 넘으면 설정에 따라 거절하거나, 비활성 상태(검토 대기)로 만듭니다.
+     * 
+     * @param ruleInstance 성능 검사할 인스턴스, 격리 모드라 로드하지 않았으면 null (검사 생략)
+     * @throws IllegalArgumentException 클래스 이름이 없거나 성능 예산 초과로 거절할 때
+     */
+    RuleEntity prepareRule(CreateRuleRequest request, String generatedCode, NotificationRule ruleInstance) {
+        String className = extractClassName(generatedCode);
+        
+        RuleBenchmarkResult benchmark = benchmarkService.isEnabled() && ruleInstance != null
+                ? benchmarkService.benchmark(ruleInstance)
+                : null;
+        BenchmarkStatus benchmarkStatus = BenchmarkStatus.SKIPPED;
+        if (benchmark != null) {
+            if (benchmark.isWithinBudget()) {
+                benchmarkStatus = BenchmarkStatus.PASSED;
+            } else if (benchmarkConfig.getOnViolation() == RuleBenchmarkConfig.Action.REJECT) {
+                throw new IllegalArgumentException("성능 예산 초과: " + String.join(", ", benchmark.getViolations()));
+            } else {
+                benchmarkStatus = BenchmarkStatus.FLAGGED;
+                log.warn("성능 예산 초과로 검토 대기: className={}, violations={}",
+                        className, benchmark.getViolations());
+            }
         }
+        
+        RuleEntity entity = RuleEntity.builder()
+                .userId(request.getUserId())
+                .naturalLanguageRequest(request.getRequest())
+                .className(className)
+                .active(benchmarkStatus != BenchmarkStatus.FLAGGED)
+                .cronExpression(request.getCronExpression() != null ? 
+                        request.getCronExpression() : "0 0/10 * * * ?")
+                .triggerMode(request.getTriggerMode() != null ?
+                        request.getTriggerMode() : TriggerMode.LEVEL)
+                .cooldownSeconds(request.getCooldownSeconds() != null ?
+                        request.getCooldownSeconds() : 0)
+                .hysteresisTicks(request.getHysteresisTicks() != null ?
+                        request.getHysteresisTicks() : 0)
+                .priority(request.getPriority() != null ? request.getPriority() : 0)
+                .build();
+        applyBenchmark(entity, benchmarkStatus, benchmark);
+        return entity;
     }
     
     /**
-     * 특정 사용자의 모든 규칙을 조회합니다
+     * 특정 사용자의 규칙 요약을 ID 순으로 한 페이지 조회합니다
+     * 
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지면 null)
+     * @param limit 페이지 크기 (null이면 기본값, 최대값을 넘으면 최대값)
      */
     @Transactional(readOnly = true)
-    public List<RuleResponse> getRulesByUserId(String userId) {
-        return ruleRepository.findByUserId(userId).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public RulePageResponse<RuleSummaryResponse> getRuleSummaries(String userId, Long cursor, Integer limit) {
+        int size = pageSize(limit);
+        List<RuleSummaryResponse> rows = ruleRepository.findSummariesByUserId(
+                userId, cursor != null ? cursor : 0L, PageRequest.ofSize(size + 1));
+        return toPage(rows, size, RuleSummaryResponse::getId);
+    }
+    
+    /**
+     * 특정 사용자의 규칙을 생성 코드까지 포함해 ID 순으로 한 페이지 조회합니다
+     */
+    @Transactional(readOnly = true)
+    public RulePageResponse<RuleResponse> getRulesByUserId(String userId, Long cursor, Integer limit) {
+        int size = pageSize(limit);
+        List<RuleResponse> rows = toResponses(ruleRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                userId, cursor != null ? cursor : 0L, PageRequest.ofSize(size + 1)));
+        return toPage(rows, size, RuleResponse::getId);
+    }
+    
+    /**
+     * 규칙의 생성 코드를 조회합니다
+     */
+    @Transactional(readOnly = true)
+    public String getRuleSource(Long ruleId) {
+        return sourceStore.findByRuleId(ruleId)
+                .orElseThrow(() -> new IllegalArgumentException("규칙을 찾을 수 없습니다: " + ruleId));
+    }
+    
+    /**
+     * 사용자의 규칙 목록 버전 (목록 API의 ETag)
+     */
+    public long getRuleVersion(String userId) {
+        return versionService.getVersion(userId);
     }
     
     /**
@@ -112,6 +265,37 @@ public class RuleManagementService {
         return toResponse(entity);
     }
     
+    /**
+     * 성능 검사에서 검토 대상으로 표시된 규칙을 조회합니다
+     */
+    @Transactional(readOnly = true)
+    public List<RuleResponse> getFlaggedRules() {
+        return toResponses(ruleRepository.findByBenchmarkStatusOrderByIdAsc(BenchmarkStatus.FLAGGED));
+    }
+    
+    /**
+     * 규칙을 활성화합니다
+     * 
+     * 검토 대기(FLAGGED) 규칙은 검토자가 활성화하면 다시 측정하지 않고 승인(APPROVED)으로 바꿔
+     * 검토 대기 목록에서 뺍니다.
+     */
+    @Transactional
+    public RuleResponse activateRule(Long ruleId) {
+        RuleEntity entity = ruleRepository.findById(ruleId)
+                .orElseThrow(() -> new IllegalArgumentException("규칙을 찾을 수 없습니다: " + ruleId));
+        
+        entity.setActive(true);
+        if (entity.getBenchmarkStatus() == BenchmarkStatus.FLAGGED) {
+            entity.setBenchmarkStatus(BenchmarkStatus.APPROVED);
+        }
+        entity = ruleRepository.save(entity);
+        versionService.increment(entity.getUserId());
+        dependencyIndex.add(ruleId, sourceStore.load(entity.getSourceId()));
+        
+        log.info("규칙 활성화: id={}, benchmark={}", ruleId, entity.getBenchmarkStatus());
+        return toResponse(entity);
+    }
+    
     /**
      * 규칙을 비활성화합니다
      */
@@ -122,20 +306,29 @@ public class RuleManagementService {
         
         entity.setActive(false);
         ruleRepository.save(entity);
+        versionService.increment(entity.getUserId());
         
-        // 캐시에서 제거
-        ruleCache.remove(ruleId);
+        // 캐시 및 트리거 상태에서 제거 (규칙 클래스도 로더에서 내림)
+        dynamicCodeEngine.unload(ruleCache.remove(ruleId));
+        triggerStateStore.release(ruleId);
+        dependencyIndex.remove(ruleId);
         
         log.info("규칙 비활성화: id={}", ruleId);
     }
     
     /**
-     * 규칙을 삭제합니다
+     * 규칙을 삭제합니다 (실행 통계도 함께 삭제)
      */
     @Transactional
     public void deleteRule(Long ruleId) {
-        ruleRepository.deleteById(ruleId);
-        ruleCache.remove(ruleId);
+        ruleRepository.findById(ruleId).ifPresent(entity -> {
+            ruleRepository.delete(entity);
+            statsService.deleteRule(ruleId);
+            versionService.increment(entity.getUserId());
+        });
+        dynamicCodeEngine.unload(ruleCache.remove(ruleId));
+        triggerStateStore.release(ruleId);
+        dependencyIndex.remove(ruleId);
         log.info("규칙 삭제: id={}", ruleId);
     }
     
@@ -144,46 +337,158 @@ public class RuleManagementService {
      * 캐시에 없으면 DB에서 로드하여 컴파일합니다
      */
     public NotificationRule getRuleInstance(Long ruleId) {
+        NotificationRule cached = ruleCache.get(ruleId);
+        if (cached != null) {
+            cacheHitCounter.increment();
+            return cached;
+        }
+        cacheMissCounter.increment();
         return ruleCache.computeIfAbsent(ruleId, id -> {
-            RuleEntity entity = ruleRepository.findById(id)
-                    .orElseThrow(() -> new IllegalArgumentException("규칙을 찾을 수 없습니다: " + id));
-            
+            RuleLoadEvent event = new RuleLoadEvent();
+            event.begin();
+            event.setRuleId(id);
             try {
-                return dynamicCodeEngine.compileAndLoad(entity.getGeneratedCode());
-            } catch (Exception e) {
-                log.error("규칙 로드 실패: id={}", id, e);
-                throw new RuntimeException("규칙 로드 실패", e);
+                RuleEntity entity = ruleRepository.findById(id)
+                        .orElseThrow(() -> new IllegalArgumentException("규칙을 찾을 수 없습니다: " + id));
+                event.setUserId(entity.getUserId());
+                event.setClassName(entity.getClassName());
+                
+                try {
+                    NotificationRule rule = dynamicCodeEngine.compileAndLoad(sourceStore.load(entity.getSourceId()));
+                    event.setSuccess(true);
+                    return rule;
+                } catch (Exception e) {
+                    log.error("규칙 로드 실패: id={}", id, e);
+                    throw new RuntimeException("규칙 로드 실패", e);
+                }
+            } finally {
+                event.commit();
             }
         });
     }
     
     /**
-     * 모든 활성화된 규칙을 조회합니다
+     * 이미 컴파일한 규칙 인스턴스를 캐시에 올립니다 (대량 생성/활성화용)
+     */
+    void cacheRule(Long ruleId, NotificationRule rule) {
+        dynamicCodeEngine.unload(ruleCache.put(ruleId, rule));
+    }
+    
+    /**
+     * 비활성화된 규칙을 캐시와 트리거 상태에서 내립니다
+     */
+    void evictRule(Long ruleId) {
+        dynamicCodeEngine.unload(ruleCache.remove(ruleId));
+        triggerStateStore.release(ruleId);
+    }
+    
+    /**
+     * 모든 활성화된 규칙을 실행 우선순위 순으로 조회합니다
      */
     @Transactional(readOnly = true)
     public List<RuleEntity> getActiveRules() {
-        return ruleRepository.findByActiveTrue();
+        return ruleRepository.findByActiveTrueOrderByPriorityDescIdAsc();
+    }
+    
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return listingConfig.getDefaultPageSize();
+        }
+        return Math.max(1, Math.min(limit, listingConfig.getMaxPageSize()));
+    }
+    
+    /**
+     * 한 건 더 조회한 결과로 다음 페이지가 있는지 판단합니다
+     */
+    private <T> RulePageResponse<T> toPage(List<T> rows, int size, Function<T, Long> idOf) {
+        boolean hasMore = rows.size() > size;
+        List<T> items = hasMore ? rows.subList(0, size) : rows;
+        return RulePageResponse.<T>builder()
+                .items(items)
+                .nextCursor(hasMore ? idOf.apply(items.get(items.size() - 1)) : null)
+                .build();
+    }
+    
+    /**
+     * 규칙 실행 이력을 조회합니다
+     */
+    @Transactional(readOnly = true)
+    public List<RuleStatsBucket> getRuleHistory(Long ruleId, RuleExecutionStatsService.Resolution resolution,
+                                                LocalDateTime from, LocalDateTime to) {
+        if (!ruleRepository.existsById(ruleId)) {
+            throw new IllegalArgumentException("규칙을 찾을 수 없습니다: " + ruleId);
+        }
+        return statsService.history(ruleId, resolution, from, to);
     }
     
     /**
      * Entity를 Response DTO로 변환합니다
      */
     private RuleResponse toResponse(RuleEntity entity) {
+        return toResponses(List.of(entity)).get(0);
+    }
+    
+    /**
+     * Entity 목록을 Response DTO로 변환합니다 (실행 통계와 소스는 한 번에 조회)
+     */
+    private List<RuleResponse> toResponses(List<RuleEntity> entities) {
+        Map<Long, RuleExecutionStatsService.Totals> totals = statsService.totals(
+                entities.stream().map(RuleEntity::getId).collect(Collectors.toList()));
+        Map<Long, String> sources = sourceStore.loadAll(
+                entities.stream().map(RuleEntity::getSourceId).collect(Collectors.toList()));
+        return entities.stream()
+                .map(entity -> toResponse(entity, sources.get(entity.getSourceId()),
+                        totals.getOrDefault(entity.getId(), RuleExecutionStatsService.Totals.EMPTY)))
+                .collect(Collectors.toList());
+    }
+    
+    private RuleResponse toResponse(RuleEntity entity, String source, RuleExecutionStatsService.Totals stats) {
         return RuleResponse.builder()
                 .id(entity.getId())
                 .userId(entity.getUserId())
                 .naturalLanguageRequest(entity.getNaturalLanguageRequest())
-                .generatedCode(entity.getGeneratedCode())
+                .generatedCode(source)
                 .className(entity.getClassName())
                 .active(entity.getActive())
                 .cronExpression(entity.getCronExpression())
+                .triggerMode(entity.getTriggerMode())
+                .cooldownSeconds(entity.getCooldownSeconds())
+                .hysteresisTicks(entity.getHysteresisTicks())
+                .priority(entity.getPriority())
                 .createdAt(entity.getCreatedAt())
-                .lastExecutedAt(entity.getLastExecutedAt())
-                .executionCount(entity.getExecutionCount())
-                .notificationCount(entity.getNotificationCount())
+                .lastExecutedAt(stats.lastExecutedAt())
+                .executionCount(stats.executions())
+                .notificationCount(stats.notifications())
+                .errorCount(stats.errors())
+                .benchmarkStatus(entity.getBenchmarkStatus())
+                .benchmarkMeanNanos(entity.getBenchmarkMeanNanos())
+                .benchmarkP99Nanos(entity.getBenchmarkP99Nanos())
+                .benchmarkMessageMeanNanos(entity.getBenchmarkMessageMeanNanos())
+                .benchmarkAllocatedBytes(entity.getBenchmarkAllocatedBytes())
+                .benchmarkViolations(entity.getBenchmarkViolations())
+                .benchmarkedAt(entity.getBenchmarkedAt())
                 .build();
     }
     
+    /**
+     * 성능 검사 결과를 엔티티에 기록합니다
+     */
+    private void applyBenchmark(RuleEntity entity, BenchmarkStatus status, RuleBenchmarkResult benchmark) {
+        entity.setBenchmarkStatus(status);
+        if (benchmark == null) {
+            return;
+        }
+        entity.setBenchmarkMeanNanos(benchmark.getMeanNanos());
+        entity.setBenchmarkP99Nanos(benchmark.getP99Nanos());
+        entity.setBenchmarkMessageMeanNanos(benchmark.getMessageMeanNanos());
+        entity.setBenchmarkAllocatedBytes(benchmark.getAllocatedBytesPerCall());
+        if (!benchmark.isWithinBudget()) {
+            String violations = String.join("\n", benchmark.getViolations());
+            entity.setBenchmarkViolations(violations.length() > 1000 ? violations.substring(0, 1000) : violations);
+        }
+        entity.setBenchmarkedAt(LocalDateTime.now());
+    }
+    
     /**
      * 소스 코드에서 클래스 이름을 추출합니다
      */
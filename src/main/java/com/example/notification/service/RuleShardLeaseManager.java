@@ -0,0 +1,193 @@
+package com.example.notification.service;
+
+import com.example.notification.config.ClusterConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 규칙 평가 샤드 임대 관리자
+ * 
+ * 규칙을 rule_id % shardCount 로 샤드에 나누고, 각 노드는 rule_shard_leases 테이블에서
+ * 시간 제한이 있는 임대를 얻은 샤드의 규칙만 평가합니다.
+ * 살아 있는 노드 수가 바뀌면 노드당 목표 샤드 수(올림(샤드 수 / 노드 수))에 맞춰
+ * 남는 샤드는 내놓고 모자라면 비어 있거나 만료된 샤드를 가져옵니다.
+ */
+@Service
+@Slf4j
+public class RuleShardLeaseManager {
+    
+    private static final String RENEW_SQL = """
+            UPDATE rule_shard_leases
+               SET lease_until = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond')
+             WHERE owner_node = ? AND shard_id < ?
+            RETURNING shard_id
+            """;
+    
+    private static final String ACQUIRE_SQL = """
+            UPDATE rule_shard_leases
+               SET owner_node = ?, lease_until = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond')
+             WHERE shard_id IN (
+                   SELECT shard_id FROM rule_shard_leases
+                    WHERE shard_id < ?
+                      AND (owner_node IS NULL OR lease_until < CURRENT_TIMESTAMP)
+                    ORDER BY shard_id
+                    LIMIT ?
+                      FOR UPDATE SKIP LOCKED)
+            RETURNING shard_id
+            """;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterConfig config;
+    private final ClusterSessionRegistry clusterRegistry;
+    private final RuleTriggerStateStore triggerStateStore;
+    
+    /**
+     * 현재 임대 중인 샤드와 임대 만료 시각 (로컬 시계 기준, 보수적으로 계산)
+     */
+    private volatile Set<Integer> ownedShards = Set.of();
+    private volatile long leaseValidUntil;
+    
+    /**
+     * 진행 중인 평가 수, 평가 중에는 샤드를 내놓지 않습니다
+     */
+    private final AtomicInteger evaluating = new AtomicInteger();
+    
+    public RuleShardLeaseManager(JdbcTemplate jdbcTemplate,
+                                 ClusterConfig config,
+                                 ClusterSessionRegistry clusterRegistry,
+                                 RuleTriggerStateStore triggerStateStore,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+        this.clusterRegistry = clusterRegistry;
+        this.triggerStateStore = triggerStateStore;
+        Gauge.builder("rule.shards.owned", this, manager -> manager.ownedShards.size())
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 샤딩 사용 여부 (클러스터 모드일 때만)
+     */
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+    
+    public int getShardCount() {
+        return config.getShardCount();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!isEnabled()) {
+            return;
+        }
+        jdbcTemplate.update(
+                "INSERT INTO rule_shard_leases (shard_id) SELECT generate_series(0, ? - 1) " +
+                "ON CONFLICT (shard_id) DO NOTHING",
+                config.getShardCount());
+        rebalance();
+    }
+    
+    /**
+     * 평가를 시작하면서 이번 tick에 평가할 샤드를 고정합니다
+     * 반드시 {@link #endEvaluation()}과 짝을 맞춰 호출해야 합니다.
+     * 
+     * @return 평가할 샤드 (임대가 만료됐으면 빈 집합)
+     */
+    public synchronized Set<Integer> beginEvaluation() {
+        evaluating.incrementAndGet();
+        if (System.currentTimeMillis() >= leaseValidUntil) {
+            return Set.of();
+        }
+        return ownedShards;
+    }
+    
+    public void endEvaluation() {
+        evaluating.decrementAndGet();
+    }
+    
+    /**
+     * 임대를 갱신하고 노드 수에 맞춰 샤드를 재분배합니다
+     */
+    @Scheduled(fixedDelayString = "${cluster.shard-rebalance-interval-ms:5000}")
+    public synchronized void rebalance() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            int shardCount = config.getShardCount();
+            int liveNodes = Math.max(1, clusterRegistry.getLiveNodes().size());
+            int target = (shardCount + liveNodes - 1) / liveNodes;
+            
+            Set<Integer> owned = new TreeSet<>(jdbcTemplate.queryForList(RENEW_SQL, Integer.class,
+                    config.getShardLeaseMs(), config.getNodeId(), shardCount));
+            Set<Integer> previous = ownedShards;
+            
+            if (owned.size() > target && evaluating.get() == 0) {
+                List<Integer> surplus = new ArrayList<>(owned).subList(target, owned.size());
+                releaseLeases(List.copyOf(surplus));
+                owned.removeAll(surplus);
+            } else if (owned.size() < target) {
+                owned.addAll(jdbcTemplate.queryForList(ACQUIRE_SQL, Integer.class,
+                        config.getNodeId(), config.getShardLeaseMs(), shardCount, target - owned.size()));
+            }
+            
+            Set<Integer> acquired = new HashSet<>(owned);
+            acquired.removeAll(previous);
+            if (!acquired.isEmpty()) {
+                triggerStateStore.loadShards(shardCount, acquired);
+            }
+            
+            ownedShards = Set.copyOf(owned);
+            leaseValidUntil = startedAt + config.getShardLeaseMs();
+            
+            if (!owned.equals(previous)) {
+                log.info("규칙 샤드 재분배: nodeId={}, liveNodes={}, target={}, owned={}",
+                        config.getNodeId(), liveNodes, target, owned.size());
+            }
+        } catch (Exception e) {
+            log.warn("규칙 샤드 임대 갱신 실패: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 종료 시 모든 샤드를 내놓아 다른 노드가 임대 만료를 기다리지 않게 합니다
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (!isEnabled() || ownedShards.isEmpty()) {
+            return;
+        }
+        try {
+            releaseLeases(List.copyOf(ownedShards));
+        } catch (Exception e) {
+            log.warn("규칙 샤드 반납 실패: {}", e.getMessage());
+        }
+        ownedShards = Set.of();
+    }
+    
+    private void releaseLeases(List<Integer> shards) {
+        // 상태를 먼저 저장해야 다음 소유 노드가 EDGE/cooldown 상태를 이어받습니다
+        triggerStateStore.releaseShards(config.getShardCount(), shards);
+        jdbcTemplate.update(
+                "UPDATE rule_shard_leases SET owner_node = NULL, lease_until = NULL " +
+                "WHERE owner_node = ? AND shard_id = ANY(?)",
+                config.getNodeId(), shards.toArray(Integer[]::new));
+        log.debug("규칙 샤드 반납: {}", shards);
+    }
+}
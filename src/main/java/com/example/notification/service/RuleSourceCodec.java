@@ -0,0 +1,146 @@
+package com.example.notification.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 규칙 소스 코드 인코딩
+ * 
+ * 소스는 UTF-8 바이트의 SHA-256으로 식별하고, 규칙 코드에 흔한 선언/호출을 담은
+ * 사전(preset dictionary)을 붙여 deflate로 압축합니다. 규칙 소스는 대개 수 KB라서
+ * 사전 없이 압축하면 앞부분의 import/시그니처가 거의 줄지 않습니다.
+ * V12 마이그레이션은 적용 당시의 인코딩과 사전을 복사해 두고 씁니다.
+ */
+public final class RuleSourceCodec {
+    
+    /**
+     * deflate + DICTIONARY_V1
+     * 저장된 행이 이 사전에 의존하므로 사전을 바꿀 때는 새 인코딩 번호를 추가해야 합니다.
+     */
+    public static final int DEFLATE_DICT_V1 = 1;
+    
+    /**
+     * 자주 나오는 문자열일수록 뒤에 둡니다 (deflate는 가까운 거리를 더 짧게 부호화)
+     */
+    private static final byte[] DICTIONARY_V1 = """
+            import java.util.List;
+            import java.util.Map;
+            import java.time.LocalTime;
+            .doubleValue() .intValue() instanceof Number
+            context.getCustomData() context.getNewsData() "headlines" "count"
+            context.getStockData().get("symbol") context.getStockData().get("changePercent")
+            context.getWeatherData().get("condition") context.getWeatherData().get("humidity")
+            String.format("%.1f℃ %s %.2f%% 
+            private static final double THRESHOLD = 
+                    return false;
+                }
+                
+                @Override
+                public boolean shouldNotify(NotificationContext context) {
+                    if (context.getWeatherData() == null) {
+                    Object tempObj = context.getWeatherData().get("temperature");
+                    if (context.getStockData() == null) {
+                    Object priceObj = context.getStockData().get("price");
+                    if (tempObj == null) {
+                    return ((Number) tempObj).doubleValue() < 
+                    if (priceObj == null) {
+                    return ((Number) priceObj).doubleValue() > 
+                
+                @Override
+                public String getMessage(NotificationContext context) {
+                    double temperature = ((Number) context.getWeatherData().get("temperature")).doubleValue();
+                    double price = ((Number) context.getStockData().get("price")).doubleValue();
+                    return String.format(
+            package com.example.notification.rules;
+            
+            import com.example.notification.domain.NotificationRule;
+            import com.example.notification.dto.NotificationContext;
+            
+            public class  implements NotificationRule {
+            
+            """.getBytes(StandardCharsets.UTF_8);
+    
+    private RuleSourceCodec() {
+    }
+    
+    /**
+     * 소스 코드의 SHA-256
+     */
+    public static byte[] hash(String source) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * 압축 전 바이트 수 (rule_sources.original_length)
+     */
+    public static int utf8Length(String source) {
+        return source.getBytes(StandardCharsets.UTF_8).length;
+    }
+    
+    /**
+     * 사전을 붙여 deflate로 압축합니다 (인코딩 DEFLATE_DICT_V1)
+     */
+    public static byte[] compress(String source, int level) {
+        byte[] input = source.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setDictionary(DICTIONARY_V1);
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 3));
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    /**
+     * 저장된 값을 소스 코드로 되돌립니다
+     * 
+     * @param originalLength 압축 전 UTF-8 바이트 수
+     */
+    public static String decompress(byte[] compressed, int encoding, int originalLength) {
+        if (encoding != DEFLATE_DICT_V1) {
+            throw new IllegalArgumentException("알 수 없는 규칙 소스 인코딩: " + encoding);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            // 한 바이트 여유를 두어 기록된 길이보다 길게 풀리면 손상으로 봅니다
+            byte[] output = new byte[originalLength + 1];
+            int length = 0;
+            while (!inflater.finished()) {
+                int read = inflater.inflate(output, length, output.length - length);
+                if (read == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY_V1);
+                    } else if (!inflater.finished() && (inflater.needsInput() || length == output.length)) {
+                        throw new IllegalStateException("규칙 소스가 손상되었습니다");
+                    }
+                }
+                length += read;
+            }
+            if (length != originalLength) {
+                throw new IllegalStateException("규칙 소스가 손상되었습니다");
+            }
+            return new String(output, 0, length, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("규칙 소스가 손상되었습니다", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
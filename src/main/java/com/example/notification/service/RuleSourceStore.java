@@ -0,0 +1,174 @@
+package com.example.notification.service;
+
+import com.example.notification.config.RuleSourceConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 규칙 소스 저장소
+ * 
+ * 생성 코드를 내용 해시(SHA-256)로 식별해 rule_sources에 한 번만 압축 저장하고,
+ * 규칙은 source_id로 참조합니다. 같은 요청에서 나온 동일한 코드는 한 행을 공유합니다.
+ */
+@Service
+@Slf4j
+public class RuleSourceStore {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final RuleSourceConfig config;
+    
+    private final Counter newSourceCounter;
+    private final Counter sharedSourceCounter;
+    
+    public RuleSourceStore(JdbcTemplate jdbcTemplate, RuleSourceConfig config, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+        this.newSourceCounter = meterRegistry.counter("rule.sources.stored", "result", "new");
+        this.sharedSourceCounter = meterRegistry.counter("rule.sources.stored", "result", "shared");
+    }
+    
+    /**
+     * 소스를 저장하고 ID를 반환합니다 (같은 내용이 있으면 그 ID, 호출한 쪽의 트랜잭션에 참여)
+     */
+    public long store(String source) {
+        return storeAll(List.of(source)).get(source);
+    }
+    
+    /**
+     * 여러 소스를 INSERT 한 번으로 저장합니다
+     * 
+     * 이미 있는 행은 last_used_at만 갱신합니다. 행 잠금을 잡으므로 트랜잭션이 끝날 때까지
+     * 정리 작업이 그 소스를 지우지 못하고, 해시 순으로 잠가 동시 저장끼리 교착되지 않습니다.
+     * 
+     * @return 소스 → ID
+     */
+    public Map<String, Long> storeAll(Collection<String> sources) {
+        Map<String, Long> ids = new HashMap<>();
+        if (sources.isEmpty()) {
+            return ids;
+        }
+        HexFormat hex = HexFormat.of();
+        Map<String, String> sourceByHash = new HashMap<>();
+        for (String source : new LinkedHashSet<>(sources)) {
+            sourceByHash.put(hex.formatHex(RuleSourceCodec.hash(source)), source);
+        }
+        List<String> hashes = new ArrayList<>(sourceByHash.keySet());
+        hashes.sort(Comparator.naturalOrder());
+        
+        StringBuilder sql = new StringBuilder("""
+                INSERT INTO rule_sources (hash, encoding, compressed, original_length)
+                VALUES\s""");
+        List<Object> params = new ArrayList<>();
+        for (int i = 0; i < hashes.size(); i++) {
+            String source = sourceByHash.get(hashes.get(i));
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?)");
+            params.add(hex.parseHex(hashes.get(i)));
+            params.add(RuleSourceCodec.DEFLATE_DICT_V1);
+            params.add(RuleSourceCodec.compress(source, config.getCompressionLevel()));
+            params.add(RuleSourceCodec.utf8Length(source));
+        }
+        sql.append("""
+                
+                ON CONFLICT (hash) DO UPDATE SET last_used_at = CURRENT_TIMESTAMP
+                RETURNING id, hash, (xmax = 0) AS inserted
+                """);
+        
+        int inserted = 0;
+        for (Map<String, Object> row : jdbcTemplate.queryForList(sql.toString(), params.toArray())) {
+            String hash = hex.formatHex((byte[]) row.get("hash"));
+            ids.put(sourceByHash.get(hash), ((Number) row.get("id")).longValue());
+            if (Boolean.TRUE.equals(row.get("inserted"))) {
+                inserted++;
+            }
+        }
+        newSourceCounter.increment(inserted);
+        sharedSourceCounter.increment(hashes.size() - inserted);
+        return ids;
+    }
+    
+    /**
+     * 소스 하나를 읽어 압축을 풉니다
+     */
+    public String load(long sourceId) {
+        String source = loadAll(List.of(sourceId)).get(sourceId);
+        if (source == null) {
+            throw new IllegalArgumentException("규칙 소스를 찾을 수 없습니다: " + sourceId);
+        }
+        return source;
+    }
+    
+    /**
+     * 여러 소스를 한 번에 읽습니다 (없는 ID는 결과에서 빠짐)
+     */
+    public Map<Long, String> loadAll(Collection<Long> sourceIds) {
+        Map<Long, String> sources = new HashMap<>();
+        Set<Long> distinct = new LinkedHashSet<>(sourceIds);
+        distinct.remove(null);
+        if (distinct.isEmpty()) {
+            return sources;
+        }
+        jdbcTemplate.query(
+                "SELECT id, encoding, compressed, original_length FROM rule_sources WHERE id = ANY(?)",
+                rs -> {
+                    sources.put(rs.getLong("id"), RuleSourceCodec.decompress(
+                            rs.getBytes("compressed"), rs.getInt("encoding"), rs.getInt("original_length")));
+                },
+                (Object) distinct.toArray(Long[]::new));
+        return sources;
+    }
+    
+    /**
+     * 규칙이 참조하는 소스를 읽습니다
+     */
+    public Optional<String> findByRuleId(long ruleId) {
+        return jdbcTemplate.query("""
+                        SELECT s.encoding, s.compressed, s.original_length
+                          FROM notification_rules r
+                          JOIN rule_sources s ON s.id = r.source_id
+                         WHERE r.id = ?
+                        """,
+                (rs, rowNum) -> RuleSourceCodec.decompress(
+                        rs.getBytes("compressed"), rs.getInt("encoding"), rs.getInt("original_length")),
+                ruleId).stream().findFirst();
+    }
+    
+    /**
+     * 참조하는 규칙이 없고 grace 기간 동안 쓰이지 않은 소스를 삭제합니다
+     * 
+     * 삭제와 동시에 다른 트랜잭션이 같은 소스를 참조하면 외래 키 검사로 이 삭제가 실패하므로
+     * 규칙이 사라진 소스를 가리키는 일은 없습니다.
+     */
+    @Scheduled(fixedDelayString = "${rules.sources.purge-interval-ms:3600000}",
+            initialDelayString = "${rules.sources.purge-interval-ms:3600000}")
+    public void purgeUnreferenced() {
+        try {
+            int deleted = jdbcTemplate.update("""
+                    DELETE FROM rule_sources s
+                     WHERE s.last_used_at < ?
+                       AND NOT EXISTS (SELECT 1 FROM notification_rules r WHERE r.source_id = s.id)
+                    """,
+                    new Timestamp(System.currentTimeMillis() - config.getPurgeGraceMs()));
+            if (deleted > 0) {
+                log.info("참조 없는 규칙 소스 삭제: {}건", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("규칙 소스 정리 실패, 다음 주기에 다시 시도합니다", e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.notification.service;
+
+import com.example.notification.config.RuleSchedulingConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 규칙별 실행 오프셋 색인 (SPREAD 모드)
+ * 
+ * 규칙 ID를 해시해 주기 안의 고정 오프셋을 정하고, 오프셋 순으로 정렬한 배열로 보관합니다.
+ * 매 tick에는 지난 tick 이후 오프셋이 지나간 규칙만 이진 탐색으로 골라냅니다.
+ */
+@Service
+@Slf4j
+public class RuleSpreadSchedule {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final RuleSchedulingConfig config;
+    
+    /**
+     * 오프셋 순으로 정렬된 (오프셋, 규칙 ID) 색인, 통째로 교체됩니다
+     */
+    private volatile Index index = new Index(new long[0], new long[0]);
+    
+    public RuleSpreadSchedule(JdbcTemplate jdbcTemplate, RuleSchedulingConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+    }
+    
+    /**
+     * 활성 규칙 ID만 읽어 색인을 다시 만듭니다
+     */
+    @Scheduled(fixedDelayString = "${rules.scheduling.index-refresh-ms:60000}")
+    public void refresh() {
+        if (config.getMode() != RuleSchedulingConfig.Mode.SPREAD) {
+            return;
+        }
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM notification_rules WHERE active = true", Long.class);
+        
+        long window = config.getEffectiveWindowMs();
+        long[][] pairs = new long[ids.size()][];
+        for (int i = 0; i < pairs.length; i++) {
+            long ruleId = ids.get(i);
+            pairs[i] = new long[]{offsetOf(ruleId, window), ruleId};
+        }
+        Arrays.sort(pairs, (a, b) -> Long.compare(a[0], b[0]));
+        
+        long[] offsets = new long[pairs.length];
+        long[] ruleIds = new long[pairs.length];
+        for (int i = 0; i < pairs.length; i++) {
+            offsets[i] = pairs[i][0];
+            ruleIds[i] = pairs[i][1];
+        }
+        index = new Index(offsets, ruleIds);
+        log.debug("규칙 오프셋 색인 갱신: {}건, window={}ms", ruleIds.length, window);
+    }
+    
+    /**
+     * (from, to] 사이에 실행 시점이 온 규칙 ID를 반환합니다
+     * 
+     * @param from 지난 tick 시각 (epoch 밀리초, 제외)
+     * @param to 이번 tick 시각 (epoch 밀리초, 포함)
+     */
+    public List<Long> dueRuleIds(long from, long to) {
+        long interval = config.getIntervalMs();
+        from = Math.max(from, to - interval);
+        Index current = index;
+        List<Long> due = new ArrayList<>();
+        
+        // 구간이 주기 경계를 넘으면 두 주기에 걸쳐 찾습니다
+        long firstBase = Math.floorDiv(from, interval) * interval;
+        for (long base = firstBase; base <= to; base += interval) {
+            long lower = Math.max(from - base, -1);
+            long upper = Math.min(to - base, interval - 1);
+            if (upper <= lower) {
+                continue;
+            }
+            for (int i = firstAfter(current.offsets, lower); i < current.offsets.length
+                    && current.offsets[i] <= upper; i++) {
+                due.add(current.ruleIds[i]);
+            }
+        }
+        return due;
+    }
+    
+    public int size() {
+        return index.ruleIds.length;
+    }
+    
+    /**
+     * 규칙 ID의 고정 오프셋 (연속된 ID도 고르게 퍼지도록 비트를 섞음)
+     */
+    static long offsetOf(long ruleId, long window) {
+        long h = ruleId;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return Math.floorMod(h, window);
+    }
+    
+    /**
+     * offsets에서 value보다 큰 첫 위치
+     */
+    private static int firstAfter(long[] offsets, long value) {
+        int low = 0;
+        int high = offsets.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (offsets[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private record Index(long[] offsets, long[] ruleIds) {
+    }
+}
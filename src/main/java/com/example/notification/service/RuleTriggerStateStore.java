@@ -0,0 +1,236 @@
+package com.example.notification.service;
+
+import com.example.notification.domain.RuleEntity;
+import com.example.notification.domain.TriggerMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 규칙별 트리거 상태 저장소
+ * 
+ * EDGE 모드와 재알림 대기(cooldown)를 위해 규칙마다 마지막 조건 값과
+ * 대기 만료 시각을 기억합니다. 규칙 ID를 조밀한 슬롯 번호로 바꿔
+ * BitSet과 원시 배열에 보관하고, 바뀐 슬롯만 주기적으로 DB에 체크포인트합니다.
+ */
+@Service
+@Slf4j
+public class RuleTriggerStateStore {
+    
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    private static final String UPSERT_SQL = """
+            INSERT INTO rule_trigger_state (rule_id, last_state, cooldown_until, updated_at)
+            VALUES (?, ?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (rule_id) DO UPDATE
+               SET last_state = EXCLUDED.last_state,
+                   cooldown_until = EXCLUDED.cooldown_until,
+                   updated_at = EXCLUDED.updated_at
+            """;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 규칙 ID → 슬롯 번호
+     */
+    private final Map<Long, Integer> slotByRuleId = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int nextSlot;
+    
+    /**
+     * 슬롯별 상태: 마지막 조건 값, 체크포인트 필요 여부
+     */
+    private final BitSet lastState = new BitSet(INITIAL_CAPACITY);
+    private final BitSet dirty = new BitSet(INITIAL_CAPACITY);
+    
+    /**
+     * 슬롯별 규칙 ID, 재알림 가능 시각 (epoch 밀리초), 연속 false 횟수
+     */
+    private long[] ruleIds = new long[INITIAL_CAPACITY];
+    private long[] cooldownUntil = new long[INITIAL_CAPACITY];
+    private int[] falseStreak = new int[INITIAL_CAPACITY];
+    
+    private final Counter suppressedCounter;
+    
+    public RuleTriggerStateStore(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.suppressedCounter = meterRegistry.counter("rule.trigger.suppressed");
+    }
+    
+    /**
+     * 조건 평가 결과를 반영하고 알림을 보내야 하는지 판단합니다
+     * 
+     * @param rule 규칙
+     * @param conditionMet shouldNotify() 결과
+     * @param now 현재 시각 (epoch 밀리초)
+     * @return 알림을 발송해야 하면 true
+     */
+    public synchronized boolean shouldFire(RuleEntity rule, boolean conditionMet, long now) {
+        int slot = slotOf(rule.getId());
+        boolean wasTrue = lastState.get(slot);
+        boolean fire = false;
+        
+        if (conditionMet) {
+            falseStreak[slot] = 0;
+            fire = rule.getTriggerMode() != TriggerMode.EDGE || !wasTrue;
+        } else if (wasTrue) {
+            // 히스테리시스: 연속으로 hysteresisTicks번을 넘게 false여야 재무장
+            if (++falseStreak[slot] > rule.getHysteresisTicks()) {
+                lastState.clear(slot);
+                falseStreak[slot] = 0;
+                dirty.set(slot);
+            }
+        }
+        
+        if (fire && cooldownUntil[slot] > now) {
+            // 대기 중에 막힌 상승 에지는 상태를 바꾸지 않아, 대기가 끝난 뒤에도 조건이 참이면 발송됩니다
+            suppressedCounter.increment();
+            return false;
+        }
+        if (conditionMet && !wasTrue) {
+            lastState.set(slot);
+            dirty.set(slot);
+        }
+        if (fire && rule.getCooldownSeconds() > 0) {
+            cooldownUntil[slot] = now + rule.getCooldownSeconds() * 1000L;
+            dirty.set(slot);
+        }
+        return fire;
+    }
+    
+    /**
+     * 비활성화/삭제된 규칙의 슬롯을 반납합니다
+     */
+    public synchronized void release(Long ruleId) {
+        Integer slot = slotByRuleId.remove(ruleId);
+        if (slot == null) {
+            return;
+        }
+        lastState.clear(slot);
+        dirty.clear(slot);
+        ruleIds[slot] = 0;
+        cooldownUntil[slot] = 0;
+        falseStreak[slot] = 0;
+        freeSlots.push(slot);
+    }
+    
+    /**
+     * 시작 시 마지막 체크포인트를 불러옵니다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT rule_id, last_state, cooldown_until FROM rule_trigger_state",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getBoolean(2), rs.getLong(3)});
+        apply(rows);
+        log.info("트리거 상태 로드: {}건", rows.size());
+    }
+    
+    /**
+     * 새로 맡게 된 샤드의 상태를 DB에서 다시 읽습니다
+     * 이전 소유 노드가 넘기기 전에 체크포인트한 값이 기준이 됩니다.
+     */
+    public void loadShards(int shardCount, Collection<Integer> shards) {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT rule_id, last_state, cooldown_until FROM rule_trigger_state " +
+                "WHERE MOD(rule_id, ?) = ANY(?)",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getBoolean(2), rs.getLong(3)},
+                shardCount, shards.toArray(Integer[]::new));
+        apply(rows);
+        log.debug("샤드 트리거 상태 로드: shards={}, {}건", shards, rows.size());
+    }
+    
+    /**
+     * 다른 노드로 넘기는 샤드의 상태를 저장한 뒤 슬롯을 반납합니다
+     */
+    public void releaseShards(int shardCount, Collection<Integer> shards) {
+        checkpoint();
+        synchronized (this) {
+            for (Long ruleId : List.copyOf(slotByRuleId.keySet())) {
+                if (shards.contains((int) (ruleId % shardCount))) {
+                    release(ruleId);
+                }
+            }
+        }
+    }
+    
+    private synchronized void apply(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            int slot = slotOf((Long) row[0]);
+            lastState.set(slot, (Boolean) row[1]);
+            cooldownUntil[slot] = (Long) row[2];
+            falseStreak[slot] = 0;
+            dirty.clear(slot);
+        }
+    }
+    
+    /**
+     * 바뀐 슬롯만 모아 한 번의 배치 upsert로 저장합니다
+     */
+    @Scheduled(fixedDelayString = "${rules.trigger-state.checkpoint-interval-ms:30000}")
+    @PreDestroy
+    public void checkpoint() {
+        List<Object[]> batch = new ArrayList<>();
+        
+        synchronized (this) {
+            for (int slot = dirty.nextSetBit(0); slot >= 0; slot = dirty.nextSetBit(slot + 1)) {
+                batch.add(new Object[]{ruleIds[slot], lastState.get(slot), cooldownUntil[slot]});
+            }
+            dirty.clear();
+        }
+        
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+            log.debug("트리거 상태 체크포인트: {}건", batch.size());
+        } catch (Exception e) {
+            // 삭제된 규칙 등으로 실패하면 다음 체크포인트에서 다시 시도
+            log.warn("트리거 상태 체크포인트 실패: {}건", batch.size(), e);
+            synchronized (this) {
+                for (Object[] row : batch) {
+                    Integer slot = slotByRuleId.get((Long) row[0]);
+                    if (slot != null) {
+                        dirty.set(slot);
+                    }
+                }
+            }
+        }
+    }
+    
+    private int slotOf(Long ruleId) {
+        Integer slot = slotByRuleId.get(ruleId);
+        if (slot != null) {
+            return slot;
+        }
+        
+        slot = freeSlots.isEmpty() ? nextSlot++ : freeSlots.pop();
+        if (slot >= ruleIds.length) {
+            int capacity = ruleIds.length * 2;
+            ruleIds = Arrays.copyOf(ruleIds, capacity);
+            cooldownUntil = Arrays.copyOf(cooldownUntil, capacity);
+            falseStreak = Arrays.copyOf(falseStreak, capacity);
+        }
+        ruleIds[slot] = ruleId;
+        slotByRuleId.put(ruleId, slot);
+        return slot;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.notification.service;
+
+import com.example.notification.config.RuleListingConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 규칙 버전 관리
+ * 
+ * 사용자의 규칙 목록이 바뀔 때마다 버전을 올리고, 목록 API는 이 버전을 ETag로 씁니다.
+ * 대시보드가 같은 목록을 반복 조회할 때 DB를 읽지 않고 304로 응답할 수 있도록 버전을 TTL 캐시에 보관합니다.
+ */
+@Service
+@Slf4j
+public class RuleVersionService {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final RuleListingConfig config;
+    
+    /**
+     * 사용자 ID → 규칙 버전
+     */
+    private final Map<String, CachedVersion> cache = new ConcurrentHashMap<>();
+    
+    public RuleVersionService(JdbcTemplate jdbcTemplate, RuleListingConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+    }
+    
+    /**
+     * 사용자의 현재 규칙 버전을 반환합니다 (캐시), 규칙을 만든 적이 없으면 0
+     */
+    public long getVersion(String userId) {
+        long now = System.currentTimeMillis();
+        CachedVersion cached = cache.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.version();
+        }
+        
+        List<Long> rows = jdbcTemplate.queryForList(
+                "SELECT version FROM rule_versions WHERE user_id = ?", Long.class, userId);
+        long version = rows.isEmpty() ? 0 : rows.get(0);
+        
+        if (cache.size() >= config.getVersionCacheMaxSize()) {
+            cache.clear();
+        }
+        cache.put(userId, new CachedVersion(version, now + config.getVersionCacheTtlMs()));
+        return version;
+    }
+    
+    /**
+     * 사용자의 규칙 버전을 올립니다
+     * 
+     * 규칙 변경과 같은 트랜잭션에서 호출해야 하며, 캐시는 커밋된 뒤에 비웁니다.
+     * (커밋 전에 비우면 다른 요청이 이전 버전을 다시 캐시에 올릴 수 있습니다)
+     */
+    public void increment(String userId) {
+        jdbcTemplate.update("""
+                INSERT INTO rule_versions (user_id, version) VALUES (?, 1)
+                ON CONFLICT (user_id) DO UPDATE SET version = rule_versions.version + 1
+                """, userId);
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.remove(userId);
+                }
+            });
+        } else {
+            cache.remove(userId);
+        }
+        log.debug("규칙 버전 증가: userId={}", userId);
+    }
+    
+    private record CachedVersion(long version, long expiresAt) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.notification.service;
+
+import com.example.notification.config.ClusterConfig;
+import com.example.notification.config.RuleSchedulingConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스케줄러 tick 실행 기록
+ * 
+ * tick마다 예정 시각 대비 지연(lag), 평가한 규칙 비율(coverage),
+ * 시간 예산 초과로 버린 규칙 수를 scheduler_ticks 테이블과 메트릭에 남깁니다.
+ */
+@Service
+@Slf4j
+public class SchedulerTickRecorder {
+    
+    private static final String INSERT_SQL = """
+            INSERT INTO scheduler_ticks (node_id, scheduled_at, started_at, finished_at, lag_ms,
+                                         overrun_ticks, policy, rule_count, evaluated_count,
+                                         dropped_count, coverage)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterConfig clusterConfig;
+    
+    private final Timer lagTimer;
+    private final Timer durationTimer;
+    private final DistributionSummary coverageSummary;
+    private final Counter droppedCounter;
+    private final Counter overrunCounter;
+    
+    public SchedulerTickRecorder(JdbcTemplate jdbcTemplate,
+                                 ClusterConfig clusterConfig,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clusterConfig = clusterConfig;
+        this.lagTimer = Timer.builder("rule.tick.lag")
+                .description("tick 예정 시각부터 실제 시작까지의 지연")
+                .register(meterRegistry);
+        this.durationTimer = meterRegistry.timer("rule.tick.duration");
+        this.coverageSummary = DistributionSummary.builder("rule.tick.coverage")
+                .description("tick 안에서 평가를 마친 규칙 비율")
+                .register(meterRegistry);
+        this.droppedCounter = meterRegistry.counter("rule.tick.dropped");
+        this.overrunCounter = meterRegistry.counter("rule.tick.overrun");
+    }
+    
+    /**
+     * 이전 tick이 끝나지 않아 새 tick을 건너뛰거나 합쳤음을 기록합니다
+     */
+    public void recordOverrun(RuleSchedulingConfig.OverrunPolicy policy) {
+        overrunCounter.increment();
+        log.warn("이전 규칙 실행이 끝나지 않았습니다: policy={}", policy);
+    }
+    
+    /**
+     * 끝난 tick 하나를 기록합니다
+     * 
+     * 규칙 평가 트랜잭션이 커밋된 뒤에 부릅니다. 같은 트랜잭션 안에서 INSERT가 실패하면
+     * PostgreSQL은 트랜잭션 전체를 중단시키므로, 예외를 삼켜도 그 tick의 아웃박스 행이 함께 롤백됩니다.
+     */
+    public void record(TickStats stats) {
+        long lag = Math.max(0, stats.startedAt() - stats.scheduledAt());
+        double coverage = stats.ruleCount() == 0 ? 1.0 : (double) stats.evaluatedCount() / stats.ruleCount();
+        
+        lagTimer.record(lag, TimeUnit.MILLISECONDS);
+        durationTimer.record(stats.finishedAt() - stats.startedAt(), TimeUnit.MILLISECONDS);
+        coverageSummary.record(coverage);
+        droppedCounter.increment(stats.droppedCount());
+        
+        if (stats.droppedCount() > 0) {
+            log.warn("tick 시간 예산 초과로 규칙 {}건을 건너뛰었습니다 (coverage={})",
+                    stats.droppedCount(), String.format("%.4f", coverage));
+        }
+        
+        try {
+            jdbcTemplate.update(INSERT_SQL,
+                    clusterConfig.getNodeId(),
+                    new Timestamp(stats.scheduledAt()),
+                    new Timestamp(stats.startedAt()),
+                    new Timestamp(stats.finishedAt()),
+                    lag,
+                    stats.overrunTicks(),
+                    stats.policy().name(),
+                    stats.ruleCount(),
+                    stats.evaluatedCount(),
+                    stats.droppedCount(),
+                    coverage);
+        } catch (Exception e) {
+            log.warn("tick 기록 저장 실패: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * tick 한 번의 실행 결과
+     * 
+     * @param scheduledAt 예정 시각 (epoch 밀리초)
+     * @param startedAt 실제 시작 시각
+     * @param finishedAt 종료 시각
+     * @param overrunTicks 이 실행 전까지 건너뛰거나 합친 tick 수
+     * @param policy 적용한 정책
+     * @param ruleCount 평가 대상 규칙 수
+     * @param evaluatedCount 평가를 마친 규칙 수
+     * @param droppedCount 시간 예산 초과로 버린 규칙 수
+     */
+    public record TickStats(long scheduledAt,
+                            long startedAt,
+                            long finishedAt,
+                            int overrunTicks,
+                            RuleSchedulingConfig.OverrunPolicy policy,
+                            int ruleCount,
+                            int evaluatedCount,
+                            int droppedCount) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.notification.service;
+
+import com.example.notification.config.StreamingConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 로컬 모의 시세 피드
+ * 
+ * 실제 시세 API 대신 KOSPI 지수를 무작위 보행으로 움직여 짧은 주기로 발행합니다.
+ * 스트리밍 평가의 지연과 처리량을 확인하는 용도입니다.
+ */
+@Component
+@Slf4j
+public class SimulatedMarketFeed {
+    
+    private final ExternalApiService externalApiService;
+    private final StreamingConfig.SimulatedFeed config;
+    
+    private final Random random = new Random();
+    private final double openPrice = 2500 + (random.nextDouble() * 700);
+    private double price = openPrice;
+    
+    public SimulatedMarketFeed(ExternalApiService externalApiService, StreamingConfig streamingConfig) {
+        this.externalApiService = externalApiService;
+        this.config = streamingConfig.getSimulatedFeed();
+    }
+    
+    @Scheduled(fixedRateString = "${rules.streaming.simulated-feed.interval-ms:200}")
+    public void tick() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        price = price * (1 + random.nextGaussian() * config.getVolatility());
+        double change = price - openPrice;
+        
+        externalApiService.publishUpdate(ExternalApiService.STOCK, Map.of(
+                "symbol", "KOSPI",
+                "price", Math.round(price * 100.0) / 100.0,
+                "change", Math.round(change * 100.0) / 100.0,
+                "changePercent", Math.round(change / openPrice * 10000.0) / 100.0));
+    }
+}
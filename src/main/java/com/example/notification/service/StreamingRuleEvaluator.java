@@ -0,0 +1,243 @@
+package com.example.notification.service;
+
+import com.example.notification.config.StreamingConfig;
+import com.example.notification.domain.RuleEntity;
+import com.example.notification.dto.NotificationContext;
+import com.example.notification.repository.RuleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스트리밍 규칙 평가기
+ * 
+ * 데이터 갱신 이벤트를 받아 바뀐 필드에 의존하는 규칙만 바로 평가합니다.
+ * 짧은 구간(batch-window-ms)에 들어온 갱신을 묶어 한 번에 평가하고,
+ * 규칙마다 최소 평가 간격을 두어 시세가 빠르게 움직여도 CPU 사용량이 제한되도록 합니다.
+ */
+@Service
+@Slf4j
+public class StreamingRuleEvaluator {
+    
+    private final StreamingConfig config;
+    private final RuleDependencyIndex dependencyIndex;
+    private final RuleRepository ruleRepository;
+    private final ExternalApiService externalApiService;
+    private final RuleEvaluator ruleEvaluator;
+    private final RuleShardLeaseManager shardLeaseManager;
+    private final TransactionTemplate transactionTemplate;
+    
+    private final BlockingQueue<DataSourceUpdateEvent> queue;
+    private Thread worker;
+    private volatile boolean running;
+    
+    /**
+     * 규칙 ID → 마지막 평가 시각, 최소 간격 때문에 미뤄진 규칙 ID → 가장 이른 갱신 시각
+     * (작업 스레드에서만 접근)
+     */
+    private final Map<Long, Long> lastEvaluatedAt = new HashMap<>();
+    private final Map<Long, Long> deferred = new HashMap<>();
+    
+    private final Counter droppedCounter;
+    private final Counter deferredCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer latencyTimer;
+    
+    public StreamingRuleEvaluator(StreamingConfig config,
+                                  RuleDependencyIndex dependencyIndex,
+                                  RuleRepository ruleRepository,
+                                  ExternalApiService externalApiService,
+                                  RuleEvaluator ruleEvaluator,
+                                  RuleShardLeaseManager shardLeaseManager,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.config = config;
+        this.dependencyIndex = dependencyIndex;
+        this.ruleRepository = ruleRepository;
+        this.externalApiService = externalApiService;
+        this.ruleEvaluator = ruleEvaluator;
+        this.shardLeaseManager = shardLeaseManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        
+        this.droppedCounter = meterRegistry.counter("rule.streaming.updates.dropped");
+        this.deferredCounter = meterRegistry.counter("rule.streaming.deferred");
+        this.batchSizeSummary = DistributionSummary.builder("rule.streaming.batch.rules")
+                .description("마이크로 배치 하나에서 평가한 규칙 수")
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("rule.streaming.latency")
+                .description("데이터 갱신부터 알림 발행까지의 지연")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "rule-stream");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("스트리밍 규칙 평가 시작: batchWindowMs={}, ruleMinIntervalMs={}",
+                config.getBatchWindowMs(), config.getRuleMinIntervalMs());
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+    
+    /**
+     * 갱신 이벤트를 받아 대기열에 넣습니다 (발행한 스레드를 막지 않음)
+     */
+    @EventListener
+    public void onUpdate(DataSourceUpdateEvent event) {
+        if (running && !queue.offer(event)) {
+            droppedCounter.increment();
+        }
+    }
+    
+    private void run() {
+        List<DataSourceUpdateEvent> batch = new ArrayList<>();
+        
+        while (running) {
+            try {
+                DataSourceUpdateEvent first = queue.poll(config.getBatchWindowMs(), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    // 첫 갱신 이후 구간이 끝날 때까지 들어온 갱신을 모읍니다
+                    long windowEnd = System.currentTimeMillis() + config.getBatchWindowMs();
+                    long remaining;
+                    while ((remaining = windowEnd - System.currentTimeMillis()) > 0) {
+                        DataSourceUpdateEvent next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                        queue.drainTo(batch);
+                    }
+                }
+                processBatch(batch);
+            
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("스트리밍 규칙 평가 중 오류", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void processBatch(List<DataSourceUpdateEvent> batch) {
+        long now = System.currentTimeMillis();
+        
+        // 1. 바뀐 필드에 의존하는 규칙과 규칙별 가장 이른 갱신 시각
+        Map<Long, Long> candidates = new HashMap<>();
+        for (DataSourceUpdateEvent event : batch) {
+            for (Long ruleId : dependencyIndex.affectedRules(event.source(), event.changedFields())) {
+                candidates.merge(ruleId, event.publishedAt(), Math::min);
+            }
+        }
+        
+        // 2. 최소 간격이 지난 규칙만 평가하고 나머지는 미룹니다
+        Map<Long, Long> due = new HashMap<>();
+        for (Iterator<Map.Entry<Long, Long>> it = deferred.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Long, Long> entry = it.next();
+            if (isPastMinInterval(entry.getKey(), now)) {
+                due.merge(entry.getKey(), entry.getValue(), Math::min);
+                it.remove();
+            }
+        }
+        candidates.forEach((ruleId, publishedAt) -> {
+            if (isPastMinInterval(ruleId, now)) {
+                due.merge(ruleId, publishedAt, Math::min);
+            } else {
+                if (!deferred.containsKey(ruleId)) {
+                    deferredCounter.increment();
+                }
+                deferred.merge(ruleId, publishedAt, Math::min);
+            }
+        });
+        if (due.isEmpty()) {
+            return;
+        }
+        
+        // 3. 클러스터 모드에서는 임대한 샤드의 규칙만
+        Set<Long> ruleIds = new HashSet<>(due.keySet());
+        Set<Integer> shards = shardLeaseManager.isEnabled() ? shardLeaseManager.beginEvaluation() : null;
+        try {
+            if (shards != null) {
+                int shardCount = shardLeaseManager.getShardCount();
+                ruleIds.removeIf(ruleId -> !shards.contains((int) (ruleId % shardCount)));
+            }
+            if (ruleIds.isEmpty()) {
+                return;
+            }
+            evaluate(ruleIds, due, now);
+        } finally {
+            if (shards != null) {
+                shardLeaseManager.endEvaluation();
+            }
+        }
+    }
+    
+    private void evaluate(Set<Long> ruleIds, Map<Long, Long> publishedAtByRule, long now) {
+        NotificationContext context = externalApiService.currentContext();
+        
+        RuleEvaluator.EvaluationResult result = transactionTemplate.execute(status -> {
+            List<RuleEntity> rules = ruleRepository.findAllById(ruleIds).stream()
+                    .filter(rule -> Boolean.TRUE.equals(rule.getActive()))
+                    .toList();
+            return ruleEvaluator.evaluate(rules, context, Long.MAX_VALUE);
+        });
+        
+        ruleIds.forEach(ruleId -> lastEvaluatedAt.put(ruleId, now));
+        batchSizeSummary.record(ruleIds.size());
+        
+        // 알림마다 그 규칙을 깨운 갱신 시각부터 잽니다 (배치에서 가장 오래된 갱신 하나로 재지 않음)
+        if (result != null) {
+            long finishedAt = System.currentTimeMillis();
+            for (Long ruleId : result.notifiedRuleIds()) {
+                Long publishedAt = publishedAtByRule.get(ruleId);
+                if (publishedAt != null) {
+                    latencyTimer.record(finishedAt - publishedAt, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+        
+        if (lastEvaluatedAt.size() > 100000) {
+            lastEvaluatedAt.values().removeIf(at -> now - at >= config.getRuleMinIntervalMs());
+        }
+    }
+    
+    private boolean isPastMinInterval(Long ruleId, long now) {
+        Long last = lastEvaluatedAt.get(ruleId);
+        return last == null || now - last >= config.getRuleMinIntervalMs();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.notification.service;
+
+import com.example.notification.channel.ChannelType;
+import com.example.notification.config.NotificationConfig;
+import com.example.notification.dto.ChannelPreference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 알림 채널 설정 서비스
+ * 
+ * 발송 경로에서 매 알림마다 조회되므로 사용자별 결과를 TTL 캐시에 보관합니다.
+ */
+@Service
+@Slf4j
+public class UserChannelPreferenceService {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationConfig.Preferences config;
+    
+    /**
+     * 사용자 ID → 활성 채널 목록
+     */
+    private final Map<String, CachedPreferences> cache = new ConcurrentHashMap<>();
+    
+    public UserChannelPreferenceService(JdbcTemplate jdbcTemplate, NotificationConfig notificationConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = notificationConfig.getPreferences();
+    }
+    
+    /**
+     * 발송에 사용할 활성 채널 목록을 반환합니다 (캐시)
+     * 설정이 없는 사용자는 WebSocket만 사용합니다.
+     */
+    public List<ChannelPreference> getActiveChannels(String userId) {
+        long now = System.currentTimeMillis();
+        CachedPreferences cached = cache.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.channels();
+        }
+        
+        List<ChannelPreference> channels = loadPreferences(userId).stream()
+                .filter(ChannelPreference::isEnabled)
+                .toList();
+        if (channels.isEmpty()) {
+            channels = List.of(defaultPreference(userId));
+        }
+        
+        if (cache.size() >= config.getCacheMaxSize()) {
+            cache.clear();
+        }
+        cache.put(userId, new CachedPreferences(channels, now + config.getCacheTtlMs()));
+        return channels;
+    }
+    
+    /**
+     * 저장된 채널 설정을 조회합니다 (비활성 채널 포함)
+     */
+    @Transactional(readOnly = true)
+    public List<ChannelPreference> getPreferences(String userId) {
+        return loadPreferences(userId);
+    }
+    
+    /**
+     * 사용자의 채널 설정을 통째로 바꿉니다
+     */
+    @Transactional
+    public List<ChannelPreference> updatePreferences(String userId, List<ChannelPreference> preferences) {
+        jdbcTemplate.update("DELETE FROM user_channel_preferences WHERE user_id = ?", userId);
+        if (!preferences.isEmpty()) {
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO user_channel_preferences (user_id, channel, address, enabled)
+                    VALUES (?, ?, ?, ?)
+                    """,
+                    preferences, preferences.size(), (ps, preference) -> {
+                        ps.setString(1, userId);
+                        ps.setString(2, preference.getChannel().name());
+                        ps.setString(3, preference.getAddress());
+                        ps.setBoolean(4, preference.isEnabled());
+                    });
+        }
+        
+        cache.remove(userId);
+        log.info("채널 설정 변경: userId={}, channels={}", userId, preferences.size());
+        return loadPreferences(userId);
+    }
+    
+    private List<ChannelPreference> loadPreferences(String userId) {
+        return jdbcTemplate.query(
+                "SELECT channel, address, enabled FROM user_channel_preferences WHERE user_id = ? ORDER BY channel",
+                (rs, rowNum) -> ChannelPreference.builder()
+                        .channel(ChannelType.valueOf(rs.getString("channel")))
+                        .address(rs.getString("address"))
+                        .enabled(rs.getBoolean("enabled"))
+                        .build(),
+                userId);
+    }
+    
+    private ChannelPreference defaultPreference(String userId) {
+        return ChannelPreference.builder()
+                .channel(ChannelType.WEBSOCKET)
+                .address(userId)
+                .enabled(true)
+                .build();
+    }
+    
+    private record CachedPreferences(List<ChannelPreference> channels, long expiresAt) {
+    }
+}
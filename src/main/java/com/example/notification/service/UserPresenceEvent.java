@@ -0,0 +1,10 @@
+package com.example.notification.service;
+
+/**
+ * 사용자의 이 노드 접속 상태 변경 이벤트
+ * 
+ * @param userId 사용자 ID
+ * @param online 첫 세션이 연결되면 true, 마지막 세션이 끊기면 false
+ */
+public record UserPresenceEvent(String userId, boolean online) {
+}
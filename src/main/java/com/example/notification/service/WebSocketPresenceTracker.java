@@ -0,0 +1,102 @@
+package com.example.notification.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebSocket 접속 상태 추적기
+ * 
+ * /ws 엔드포인트의 STOMP 세션 연결/종료 이벤트로 사용자별 활성 세션을 관리합니다.
+ * 접속하지 않은 사용자에게는 메시지 렌더링과 브로커 전송을 하지 않기 위해 사용합니다.
+ */
+@Service
+@Slf4j
+public class WebSocketPresenceTracker {
+    
+    /**
+     * 사용자 ID → 활성 STOMP 세션 ID 집합
+     */
+    private final Map<String, Set<String>> sessionsByUser = new ConcurrentHashMap<>();
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public WebSocketPresenceTracker(ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        Gauge.builder("notification.presence.online.users", sessionsByUser, Map::size)
+                .register(meterRegistry);
+    }
+    
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        String sessionId = (String) event.getMessage().getHeaders().get("simpSessionId");
+        if (user == null || sessionId == null) {
+            return;
+        }
+        boolean[] first = new boolean[1];
+        sessionsByUser.compute(user.getName(), (userId, sessions) -> {
+            if (sessions == null) {
+                sessions = ConcurrentHashMap.newKeySet();
+                first[0] = true;
+            }
+            sessions.add(sessionId);
+            return sessions;
+        });
+        log.debug("WebSocket 접속: userId={}, sessionId={}", user.getName(), sessionId);
+        
+        if (first[0]) {
+            eventPublisher.publishEvent(new UserPresenceEvent(user.getName(), true));
+        }
+    }
+    
+    @EventListener
+    public void onDisconnected(SessionDisconnectEvent event) {
+        Principal user = event.getUser();
+        if (user == null) {
+            return;
+        }
+        boolean[] last = new boolean[1];
+        sessionsByUser.computeIfPresent(user.getName(), (userId, sessions) -> {
+            sessions.remove(event.getSessionId());
+            last[0] = sessions.isEmpty();
+            return last[0] ? null : sessions;
+        });
+        log.debug("WebSocket 종료: userId={}, sessionId={}", user.getName(), event.getSessionId());
+        
+        if (last[0]) {
+            eventPublisher.publishEvent(new UserPresenceEvent(user.getName(), false));
+        }
+    }
+    
+    /**
+     * 사용자가 이 노드에 활성 WebSocket 세션을 가지고 있는지 확인합니다
+     */
+    public boolean isOnline(String userId) {
+        return sessionsByUser.containsKey(userId);
+    }
+    
+    /**
+     * 이 노드에 접속 중인 사용자 ID 목록
+     */
+    public Set<String> getOnlineUsers() {
+        return Set.copyOf(sessionsByUser.keySet());
+    }
+    
+    /**
+     * 현재 접속 중인 사용자 수
+     */
+    public int getOnlineUserCount() {
+        return sessionsByUser.size();
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.notification.worker;
+
+import com.example.notification.config.SandboxConfig;
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.dto.NotificationContext;
+import com.example.notification.service.DynamicCodeEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.net.UnixDomainSocketAddress;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 규칙 워커 JVM 진입점
+ * 
+ * 부모(RuleWorkerPool)가 만든 Unix 도메인 소켓에 연결해 요청을 하나씩 처리합니다.
+ * 스프링 컨텍스트 없이 DynamicCodeEngine만 써서 규칙을 컴파일/로드하므로 가볍게 뜹니다.
+ * 규칙을 평가하기 직전마다 공유 메모리 파일(state)에 규칙 ID를 써 두어, 워커가 죽으면
+ * 부모가 어느 규칙을 평가하던 중이었는지 알 수 있게 합니다.
+ */
+@Slf4j
+public final class RuleWorkerMain {
+    
+    private final DynamicCodeEngine engine;
+    private final MappedByteBuffer state;
+    private final Map<Long, NotificationRule> rules = new HashMap<>();
+    private final MemoryPoolMXBean metaspace;
+    
+    private NotificationContext context;
+    private long contextSeq = -1;
+    
+    private RuleWorkerMain(DynamicCodeEngine engine, MappedByteBuffer state) {
+        this.engine = engine;
+        this.state = state;
+        this.metaspace = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getName().equals("Metaspace"))
+                .findFirst()
+                .orElse(null);
+    }
+    
+    /**
+     * 인자: socket=경로 state=경로 sandbox.enabled=... sandbox.max-execution-time=... (RuleWorkerProcess 참고)
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        
+        SandboxConfig sandbox = new SandboxConfig();
+        sandbox.setEnabled(Boolean.parseBoolean(options.get("sandbox.enabled")));
+        sandbox.setMaxExecutionTime(Long.parseLong(options.get("sandbox.max-execution-time")));
+        sandbox.setMaxMemory(Long.parseLong(options.get("sandbox.max-memory")));
+        sandbox.setInstructionBudget(Long.parseLong(options.get("sandbox.instruction-budget")));
+        sandbox.setAllowedPackages(new ArrayList<>(Arrays.asList(options.get("sandbox.allowed-packages").split(","))));
+        sandbox.setLoaderSegmentCapacity(Integer.parseInt(options.get("sandbox.loader-segment-capacity")));
+        sandbox.setLoaderCompactionRatio(Double.parseDouble(options.get("sandbox.loader-compaction-ratio")));
+        DynamicCodeEngine engine = new DynamicCodeEngine(sandbox, new SimpleMeterRegistry());
+        
+        try (FileChannel stateChannel = FileChannel.open(Path.of(options.get("state")),
+                     StandardOpenOption.READ, StandardOpenOption.WRITE);
+             SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(options.get("socket")))) {
+            MappedByteBuffer state = stateChannel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 65536));
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 65536));
+            
+            out.writeByte(RuleWorkerProtocol.READY);
+            out.writeLong(ProcessHandle.current().pid());
+            out.flush();
+            log.info("규칙 워커 시작: pid={}", ProcessHandle.current().pid());
+            
+            new RuleWorkerMain(engine, state).serve(in, out);
+        }
+    }
+    
+    private void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        while (true) {
+            byte type;
+            try {
+                type = in.readByte();
+            } catch (EOFException e) {
+                log.info("부모 연결이 끊어져 규칙 워커를 종료합니다");
+                return;
+            }
+            switch (type) {
+                case RuleWorkerProtocol.CONTEXT -> {
+                    contextSeq = in.readLong();
+                    context = RuleWorkerProtocol.readContext(in);
+                }
+                case RuleWorkerProtocol.LOAD -> load(in, out);
+                case RuleWorkerProtocol.UNLOAD -> {
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        engine.unload(rules.remove(in.readLong()));
+                    }
+                }
+                case RuleWorkerProtocol.EVALUATE -> evaluate(in, out);
+                case RuleWorkerProtocol.PING -> {
+                    MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+                    out.writeByte(RuleWorkerProtocol.PONG);
+                    out.writeLong(heap.getUsed());
+                    out.writeLong(heap.getMax());
+                    out.writeLong(metaspace != null ? metaspace.getUsage().getUsed() : -1);
+                    out.writeInt(rules.size());
+                    out.flush();
+                }
+                case RuleWorkerProtocol.SHUTDOWN -> {
+                    log.info("규칙 워커 종료 요청");
+                    return;
+                }
+                default -> throw new IOException("알 수 없는 메시지: " + type);
+            }
+        }
+    }
+    
+    /**
+     * 받은 소스를 묶어 컴파일하고 규칙별 성공 여부를 돌려줍니다
+     */
+    private void load(DataInputStream in, DataOutputStream out) throws IOException {
+        int count = in.readInt();
+        long[] ruleIds = new long[count];
+        List<String> sources = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ruleIds[i] = in.readLong();
+            sources.add(RuleWorkerProtocol.readString(in));
+        }
+        
+        List<DynamicCodeEngine.LoadResult> loaded = engine.compileAndLoadAll(sources);
+        out.writeByte(RuleWorkerProtocol.LOADED);
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            DynamicCodeEngine.LoadResult result = loaded.get(i);
+            out.writeLong(ruleIds[i]);
+            out.writeBoolean(result.isSuccess());
+            if (result.isSuccess()) {
+                engine.unload(rules.put(ruleIds[i], result.rule()));
+            } else {
+                RuleWorkerProtocol.writeString(out, String.valueOf(result.error().getMessage()));
+            }
+        }
+    }
+    
+    /**
+     * 요청받은 규칙을 순서대로 평가합니다 (조건이 참이면 메시지도 여기서 렌더링)
+     */
+    private void evaluate(DataInputStream in, DataOutputStream out) throws IOException {
+        int requestId = in.readInt();
+        long requestContextSeq = in.readLong();
+        int count = in.readInt();
+        long[] ruleIds = new long[count];
+        for (int i = 0; i < count; i++) {
+            ruleIds[i] = in.readLong();
+        }
+        
+        out.writeByte(RuleWorkerProtocol.RESULT);
+        out.writeInt(requestId);
+        out.writeInt(count);
+        for (long ruleId : ruleIds) {
+            out.writeLong(ruleId);
+            NotificationRule rule = rules.get(ruleId);
+            if (rule == null) {
+                out.writeByte(RuleWorkerProtocol.STATUS_NOT_LOADED);
+                continue;
+            }
+            if (requestContextSeq != contextSeq) {
+                out.writeByte(RuleWorkerProtocol.STATUS_FAILED);
+                RuleWorkerProtocol.writeString(out, "컨텍스트가 맞지 않습니다: " + requestContextSeq);
+                continue;
+            }
+            
+            state.putLong(0, ruleId);
+            try {
+                if (rule.shouldNotify(context)) {
+                    String message = rule.getMessage(context);
+                    out.writeByte(RuleWorkerProtocol.STATUS_FIRED);
+                    RuleWorkerProtocol.writeString(out, message);
+                } else {
+                    out.writeByte(RuleWorkerProtocol.STATUS_NOT_MET);
+                }
+            } catch (VirtualMachineError e) {
+                throw e;
+            } catch (Throwable e) {
+                out.writeByte(RuleWorkerProtocol.STATUS_FAILED);
+                RuleWorkerProtocol.writeString(out, e.toString());
+            }
+        }
+        state.putLong(0, 0);
+        out.flush();
+    }
+}
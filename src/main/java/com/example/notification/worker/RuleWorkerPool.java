@@ -0,0 +1,393 @@
+package com.example.notification.worker;
+
+import com.example.notification.config.RuleIsolationConfig;
+import com.example.notification.config.SandboxConfig;
+import com.example.notification.domain.RuleEntity;
+import com.example.notification.dto.NotificationContext;
+import com.example.notification.service.HotRuleDetectedEvent;
+import com.example.notification.service.RuleManagementService;
+import com.example.notification.service.RuleSourceStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 프로세스 밖 규칙 워커 풀
+ * 
+ * 격리 모드(rules.isolation.enabled)에서 규칙을 별도 JVM 워커에서 컴파일/평가합니다.
+ * 워커마다 -Xmx, MaxMetaspaceSize가 따로 걸려 있어 메모리를 많이 쓰거나 클래스를 많이 만드는 규칙이
+ * 서버 JVM을 멈추게 하지 못하고, 워커가 죽으면 그 워커만 다시 띄웁니다.
+ * 
+ * 규칙은 ID로 워커에 고정 배정되어 한 번 로드한 클래스를 계속 재사용하고,
+ * 워커별로 batch-size개씩 묶어 한 번의 왕복으로 평가합니다. 워커는 병렬로 돌고
+ * 각 워커 안에서는 받은 순서(우선순위)대로 평가하므로, deadline에 걸리면 워커마다 뒤쪽 규칙이 빠집니다.
+ */
+@Service
+@Slf4j
+public class RuleWorkerPool {
+    
+    private final RuleIsolationConfig config;
+    private final SandboxConfig sandboxConfig;
+    private final RuleSourceStore sourceStore;
+    private final RuleManagementService ruleManagementService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    
+    private final List<RuleWorkerProcess> workers = new ArrayList<>();
+    private ExecutorService ioExecutor;
+    private ScheduledExecutorService watchdog;
+    private Path directory;
+    
+    /**
+     * 마지막으로 받은 컨텍스트와 그 순번 (같은 tick 안의 묶음은 컨텍스트를 다시 보내지 않음)
+     */
+    private NotificationContext lastContext;
+    private long contextSeq;
+    
+    /**
+     * 규칙별로 워커를 죽인 횟수
+     */
+    private final Map<Long, Integer> crashes = new ConcurrentHashMap<>();
+    
+    private final Timer batchTimer;
+    
+    public RuleWorkerPool(RuleIsolationConfig config,
+                          SandboxConfig sandboxConfig,
+                          RuleSourceStore sourceStore,
+                          RuleManagementService ruleManagementService,
+                          ApplicationEventPublisher eventPublisher,
+                          MeterRegistry meterRegistry) {
+        this.config = config;
+        this.sandboxConfig = sandboxConfig;
+        this.sourceStore = sourceStore;
+        this.ruleManagementService = ruleManagementService;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.batchTimer = Timer.builder("rule.isolation.batch.duration")
+                .description("워커 하나에 보낸 평가 묶음의 왕복 시간")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() throws IOException {
+        if (!config.isEnabled()) {
+            return;
+        }
+        directory = Files.createTempDirectory("rule-workers");
+        AtomicInteger sequence = new AtomicInteger();
+        ioExecutor = Executors.newFixedThreadPool(config.getWorkers(), runnable -> {
+            Thread thread = new Thread(runnable, "rule-worker-io-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rule-worker-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        for (int i = 0; i < config.getWorkers(); i++) {
+            RuleWorkerProcess worker = new RuleWorkerProcess(i, config, sandboxConfig, directory, watchdog);
+            worker.start();
+            workers.add(worker);
+            
+            String tag = String.valueOf(i);
+            Gauge.builder("rule.isolation.worker.heap.used", worker, w -> w.getHealth() != null ? w.getHealth().heapUsed() : 0)
+                    .tag("worker", tag)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("rule.isolation.worker.metaspace.used", worker, w -> w.getHealth() != null ? w.getHealth().metaspaceUsed() : 0)
+                    .tag("worker", tag)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("rule.isolation.worker.rules", worker, w -> w.getHealth() != null ? w.getHealth().loadedRules() : 0)
+                    .tag("worker", tag)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("rule.isolation.workers.alive", workers, list -> list.stream().filter(RuleWorkerProcess::isAlive).count())
+                .register(meterRegistry);
+        log.info("규칙 워커 풀 시작: workers={}, maxHeap={}, maxMetaspace={}, batchSize={}",
+                config.getWorkers(), config.getMaxHeap(), config.getMaxMetaspace(), config.getBatchSize());
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!config.isEnabled()) {
+            return;
+        }
+        for (RuleWorkerProcess worker : workers) {
+            worker.lock.lock();
+            try {
+                worker.shutdown();
+            } finally {
+                worker.lock.unlock();
+            }
+        }
+        ioExecutor.shutdown();
+        ioExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        watchdog.shutdownNow();
+    }
+    
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+    
+    /**
+     * 규칙 목록을 워커에 나눠 평가합니다
+     * 
+     * @param deadline 이 시각(epoch 밀리초)이 지나면 남은 묶음은 보내지 않습니다
+     * @return 규칙 ID별 결과 (deadline에 걸려 보내지 못한 규칙은 빠짐)
+     */
+    public Map<Long, Outcome> evaluate(List<RuleEntity> rules, NotificationContext context, long deadline) {
+        long seq = contextSeqOf(context);
+        List<List<RuleEntity>> assigned = new ArrayList<>(workers.size());
+        for (int i = 0; i < workers.size(); i++) {
+            assigned.add(new ArrayList<>());
+        }
+        for (RuleEntity rule : rules) {
+            assigned.get(Math.floorMod(rule.getId(), workers.size())).add(rule);
+        }
+        
+        List<Future<Map<Long, Outcome>>> futures = new ArrayList<>(workers.size());
+        for (int i = 0; i < workers.size(); i++) {
+            RuleWorkerProcess worker = workers.get(i);
+            List<RuleEntity> share = assigned.get(i);
+            if (!share.isEmpty()) {
+                futures.add(ioExecutor.submit(() -> runShare(worker, share, seq, context, deadline)));
+            }
+        }
+        
+        Map<Long, Outcome> outcomes = new HashMap<>(rules.size() * 2);
+        for (Future<Map<Long, Outcome>> future : futures) {
+            try {
+                outcomes.putAll(future.get());
+            } catch (ExecutionException e) {
+                log.error("규칙 워커 평가 중 오류", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return outcomes;
+    }
+    
+    private synchronized long contextSeqOf(NotificationContext context) {
+        if (context != lastContext) {
+            lastContext = context;
+            contextSeq++;
+        }
+        return contextSeq;
+    }
+    
+    /**
+     * 워커 하나에 배정된 규칙을 batch-size개씩 보냅니다
+     */
+    private Map<Long, Outcome> runShare(RuleWorkerProcess worker, List<RuleEntity> share, long seq,
+                                        NotificationContext context, long deadline) {
+        Map<Long, Outcome> outcomes = new HashMap<>(share.size() * 2);
+        worker.lock.lock();
+        try {
+            for (int from = 0; from < share.size(); from += config.getBatchSize()) {
+                if (System.currentTimeMillis() >= deadline) {
+                    break;
+                }
+                List<RuleEntity> batch = share.subList(from, Math.min(share.size(), from + config.getBatchSize()));
+                outcomes.putAll(runBatch(worker, batch, seq, context));
+            }
+        } finally {
+            worker.lock.unlock();
+        }
+        return outcomes;
+    }
+    
+    /**
+     * 묶음 하나를 평가합니다
+     * 
+     * 워커가 죽으면 다시 띄우고, 죽을 때 평가 중이던 규칙을 뺀 나머지로 한 번만 다시 시도합니다.
+     */
+    private Map<Long, Outcome> runBatch(RuleWorkerProcess worker, List<RuleEntity> batch, long seq,
+                                        NotificationContext context) {
+        List<RuleEntity> pending = batch;
+        Map<Long, Outcome> outcomes = new HashMap<>();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (!worker.isAlive() && !restart(worker, "dead")) {
+                break;
+            }
+            long startedAt = System.nanoTime();
+            try {
+                outcomes.putAll(worker.evaluate(pending, seq, context, this::loadSources));
+                batchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                return outcomes;
+            
+            } catch (RuleWorkerProcess.WorkerFailure e) {
+                log.error("규칙 워커 실패: worker={}, culprit={}, rules={}", worker.index, e.culprit, pending.size(), e);
+                restart(worker, "crash");
+                if (e.culprit == 0) {
+                    break;
+                }
+                long culprit = e.culprit;
+                outcomes.put(culprit, Outcome.failed("규칙 평가 중 워커가 종료되었습니다: " + e.getMessage()));
+                onCrash(culprit);
+                pending = pending.stream().filter(rule -> rule.getId() != culprit).toList();
+            }
+        }
+        for (RuleEntity rule : pending) {
+            outcomes.putIfAbsent(rule.getId(), Outcome.failed("규칙 워커를 사용할 수 없습니다"));
+        }
+        return outcomes;
+    }
+    
+    private Map<Long, String> loadSources(List<RuleEntity> rules) {
+        Map<Long, String> sources = sourceStore.loadAll(rules.stream().map(RuleEntity::getSourceId).toList());
+        Map<Long, String> byRule = new HashMap<>(rules.size() * 2);
+        for (RuleEntity rule : rules) {
+            String source = sources.get(rule.getSourceId());
+            if (source != null) {
+                byRule.put(rule.getId(), source);
+            }
+        }
+        return byRule;
+    }
+    
+    /**
+     * 워커를 죽인 규칙을 세고, 한도에 이르면 비활성화합니다
+     */
+    private void onCrash(long ruleId) {
+        int count = crashes.merge(ruleId, 1, Integer::sum);
+        if (count < config.getMaxCrashesPerRule()) {
+            return;
+        }
+        try {
+            ruleManagementService.deactivateRule(ruleId);
+        } catch (Exception e) {
+            log.error("워커를 종료시킨 규칙 비활성화 실패: ruleId={}", ruleId, e);
+            return;
+        }
+        crashes.remove(ruleId);
+        log.warn("워커를 {}번 종료시킨 규칙 비활성화: ruleId={}", count, ruleId);
+        meterRegistry.counter("rule.isolation.crash.disabled").increment();
+        eventPublisher.publishEvent(new HotRuleDetectedEvent(ruleId, 0, 0, "CRASHED", 0));
+    }
+    
+    private boolean restart(RuleWorkerProcess worker, String reason) {
+        meterRegistry.counter("rule.isolation.restarts", "reason", reason).increment();
+        worker.kill();
+        try {
+            worker.start();
+            return true;
+        } catch (IOException e) {
+            log.error("규칙 워커 재시작 실패: worker={}, reason={}", worker.index, reason, e);
+            return false;
+        }
+    }
+    
+    /**
+     * 워커 상태 점검
+     * 
+     * 평가 중인 워커는 건너뛰고, 죽었거나 힙/Metaspace 사용률이 한도를 넘은 워커는 다시 띄웁니다.
+     * 오래 평가하지 않은 규칙은 워커에서 내려 Metaspace를 돌려받습니다.
+     */
+    @Scheduled(fixedDelayString = "${rules.isolation.health-check-interval-ms:10000}")
+    public void checkHealth() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        long maxMetaspace = parseSize(config.getMaxMetaspace());
+        for (RuleWorkerProcess worker : workers) {
+            if (!worker.lock.tryLock()) {
+                continue;
+            }
+            try {
+                if (!worker.isAlive()) {
+                    restart(worker, "dead");
+                    continue;
+                }
+                int unloaded = worker.unloadIdle(System.currentTimeMillis() - config.getIdleUnloadMs());
+                RuleWorkerProcess.Health health = worker.ping();
+                if (unloaded > 0) {
+                    log.info("유휴 규칙 언로드: worker={}, unloaded={}, remaining={}",
+                            worker.index, unloaded, worker.getLoadedCount());
+                }
+                
+                if (health.heapUsed() > health.heapMax() * config.getMaxHeapUsageRatio()) {
+                    log.warn("규칙 워커 힙 사용률 초과로 재시작: worker={}, heapUsed={}, heapMax={}",
+                            worker.index, health.heapUsed(), health.heapMax());
+                    worker.shutdown();
+                    restart(worker, "heap");
+                } else if (health.metaspaceUsed() > maxMetaspace * config.getMaxMetaspaceUsageRatio()) {
+                    log.warn("규칙 워커 Metaspace 사용률 초과로 재시작: worker={}, metaspaceUsed={}, rules={}",
+                            worker.index, health.metaspaceUsed(), health.loadedRules());
+                    worker.shutdown();
+                    restart(worker, "metaspace");
+                }
+            } catch (RuleWorkerProcess.WorkerFailure e) {
+                log.error("규칙 워커 상태 점검 실패: worker={}", worker.index, e);
+                restart(worker, "unresponsive");
+            } finally {
+                worker.lock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * JVM 크기 표기(256m, 1g 등)를 바이트로 바꿉니다
+     */
+    static long parseSize(String size) {
+        String value = size.trim().toLowerCase();
+        long unit = switch (value.charAt(value.length() - 1)) {
+            case 'k' -> 1L << 10;
+            case 'm' -> 1L << 20;
+            case 'g' -> 1L << 30;
+            default -> 1;
+        };
+        String digits = unit == 1 ? value : value.substring(0, value.length() - 1);
+        return Long.parseLong(digits) * unit;
+    }
+    
+    /**
+     * 규칙 하나의 평가 결과
+     * 
+     * @param status 조건 충족 여부 또는 실패
+     * @param message FIRED면 워커에서 렌더링한 알림 메시지, FAILED면 오류 내용
+     */
+    public record Outcome(Status status, String message) {
+        
+        static final Outcome NOT_MET = new Outcome(Status.NOT_MET, null);
+        
+        static Outcome fired(String message) {
+            return new Outcome(Status.FIRED, message);
+        }
+        
+        static Outcome failed(String error) {
+            return new Outcome(Status.FAILED, error);
+        }
+    }
+    
+    public enum Status {
+        NOT_MET,
+        FIRED,
+        FAILED
+    }
+}
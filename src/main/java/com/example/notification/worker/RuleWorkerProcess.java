@@ -0,0 +1,422 @@
+package com.example.notification.worker;
+
+import com.example.notification.config.RuleIsolationConfig;
+import com.example.notification.config.SandboxConfig;
+import com.example.notification.domain.RuleEntity;
+import com.example.notification.dto.NotificationContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 워커 JVM 하나에 대한 부모 쪽 핸들
+ * 
+ * 요청/응답은 한 번에 하나씩만 오가므로 호출하는 쪽이 lock을 잡고 사용합니다.
+ * 어떤 요청이든 I/O 오류나 시간 초과가 나면 프로세스를 죽이고 WorkerFailure를 던지며,
+ * 그때 상태 파일에 남은 규칙 ID가 마지막으로 평가하던 규칙입니다.
+ */
+@Slf4j
+class RuleWorkerProcess {
+    
+    private static final String MAIN_CLASS = RuleWorkerMain.class.getName();
+    private static final String BOOT_LAUNCHER = "org.springframework.boot.loader.launch.PropertiesLauncher";
+    
+    final int index;
+    final ReentrantLock lock = new ReentrantLock();
+    
+    private final RuleIsolationConfig config;
+    private final SandboxConfig sandboxConfig;
+    private final Path directory;
+    private final ScheduledExecutorService watchdog;
+    
+    private Process process;
+    private SocketChannel channel;
+    private DataInputStream in;
+    private DataOutputStream out;
+    private FileChannel stateChannel;
+    private MappedByteBuffer state;
+    private long pid;
+    
+    /**
+     * 워커에 로드된 규칙과 마지막 평가 시각
+     */
+    private final Map<Long, Long> loaded = new HashMap<>();
+    
+    /**
+     * 컴파일에 실패한 규칙과 오류 (워커를 다시 띄울 때까지 다시 보내지 않음)
+     */
+    private final Map<Long, String> loadErrors = new HashMap<>();
+    
+    private long sentContextSeq = -1;
+    private int requestSeq;
+    private volatile Health health;
+    
+    RuleWorkerProcess(int index, RuleIsolationConfig config, SandboxConfig sandboxConfig,
+                      Path directory, ScheduledExecutorService watchdog) {
+        this.index = index;
+        this.config = config;
+        this.sandboxConfig = sandboxConfig;
+        this.directory = directory;
+        this.watchdog = watchdog;
+    }
+    
+    /**
+     * 워커 JVM을 띄우고 READY를 받을 때까지 기다립니다
+     */
+    void start() throws IOException {
+        Path socket = directory.resolve("worker-" + index + ".sock");
+        Path statePath = directory.resolve("worker-" + index + ".state");
+        Files.deleteIfExists(socket);
+        Files.write(statePath, new byte[Long.BYTES]);
+        
+        stateChannel = FileChannel.open(statePath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        state = stateChannel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+        
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socket));
+            process = new ProcessBuilder(command(socket, statePath))
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            
+            ScheduledFuture<?> timeout = watchdog.schedule(() -> {
+                log.error("규칙 워커 시작 시간 초과: worker={}", index);
+                process.destroyForcibly();
+                closeQuietly(server);
+            }, config.getStartupTimeoutMs(), TimeUnit.MILLISECONDS);
+            try {
+                channel = server.accept();
+                in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 65536));
+                out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 65536));
+                expect(RuleWorkerProtocol.READY);
+                pid = in.readLong();
+            } finally {
+                timeout.cancel(false);
+                Files.deleteIfExists(socket);
+            }
+        } catch (IOException e) {
+            kill();
+            throw e;
+        }
+        
+        loaded.clear();
+        loadErrors.clear();
+        sentContextSeq = -1;
+        health = null;
+        log.info("규칙 워커 시작: worker={}, pid={}", index, pid);
+    }
+    
+    private List<String> command(Path socket, Path statePath) {
+        String java = ProcessHandle.current().info().command()
+                .orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String classPath = System.getProperty("java.class.path");
+        
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.add("-Xmx" + config.getMaxHeap());
+        command.add("-XX:MaxMetaspaceSize=" + config.getMaxMetaspace());
+        command.add("-XX:+ExitOnOutOfMemoryError");
+        command.add("-Dlogback.configurationFile=logback-worker.xml");
+        command.addAll(config.getJvmOptions());
+        command.add("-cp");
+        command.add(classPath);
+        if (classPath.endsWith(".jar") && !classPath.contains(System.getProperty("path.separator"))) {
+            // bootJar로 실행 중이면 중첩 jar를 읽을 수 있는 스프링 부트 런처를 거칩니다
+            command.add("-Dloader.main=" + MAIN_CLASS);
+            command.add(BOOT_LAUNCHER);
+        } else {
+            command.add(MAIN_CLASS);
+        }
+        command.add("socket=" + socket);
+        command.add("state=" + statePath);
+        command.add("sandbox.enabled=" + sandboxConfig.isEnabled());
+        command.add("sandbox.max-execution-time=" + sandboxConfig.getMaxExecutionTime());
+        command.add("sandbox.max-memory=" + sandboxConfig.getMaxMemory());
+        command.add("sandbox.instruction-budget=" + sandboxConfig.getInstructionBudget());
+        command.add("sandbox.allowed-packages=" + String.join(",", sandboxConfig.getAllowedPackages()));
+        command.add("sandbox.loader-segment-capacity=" + sandboxConfig.getLoaderSegmentCapacity());
+        command.add("sandbox.loader-compaction-ratio=" + sandboxConfig.getLoaderCompactionRatio());
+        return command;
+    }
+    
+    boolean isAlive() {
+        return process != null && process.isAlive() && channel != null && channel.isOpen();
+    }
+    
+    /**
+     * 규칙 묶음을 평가합니다
+     * 
+     * 컨텍스트가 바뀌었으면 먼저 보내고, 워커에 없는 규칙은 소스를 함께 보내 로드합니다.
+     * 세 메시지를 한 번에 쓰고 flush한 뒤 응답을 순서대로 읽으므로 왕복은 한 번입니다.
+     * 
+     * @param sourceLoader 로드가 필요한 규칙 → 규칙 ID별 소스
+     * @return 규칙 ID별 결과 (목록 순서)
+     */
+    Map<Long, RuleWorkerPool.Outcome> evaluate(List<RuleEntity> rules, long contextSeq, NotificationContext context,
+                                               Function<List<RuleEntity>, Map<Long, String>> sourceLoader) {
+        Map<Long, RuleWorkerPool.Outcome> outcomes = new HashMap<>(rules.size() * 2);
+        List<Long> ruleIds = new ArrayList<>(rules.size());
+        List<RuleEntity> missing = new ArrayList<>();
+        for (RuleEntity rule : rules) {
+            String loadError = loadErrors.get(rule.getId());
+            if (loadError != null) {
+                outcomes.put(rule.getId(), RuleWorkerPool.Outcome.failed(loadError));
+                continue;
+            }
+            ruleIds.add(rule.getId());
+            if (!loaded.containsKey(rule.getId())) {
+                missing.add(rule);
+            }
+        }
+        if (ruleIds.isEmpty()) {
+            return outcomes;
+        }
+        Map<Long, String> sources = missing.isEmpty() ? Map.of() : sourceLoader.apply(missing);
+        
+        return call(() -> {
+            if (contextSeq != sentContextSeq) {
+                out.writeByte(RuleWorkerProtocol.CONTEXT);
+                out.writeLong(contextSeq);
+                RuleWorkerProtocol.writeContext(out, context);
+                sentContextSeq = contextSeq;
+            }
+            if (!sources.isEmpty()) {
+                out.writeByte(RuleWorkerProtocol.LOAD);
+                out.writeInt(sources.size());
+                for (Map.Entry<Long, String> source : sources.entrySet()) {
+                    out.writeLong(source.getKey());
+                    RuleWorkerProtocol.writeString(out, source.getValue());
+                }
+            }
+            int requestId = ++requestSeq;
+            out.writeByte(RuleWorkerProtocol.EVALUATE);
+            out.writeInt(requestId);
+            out.writeLong(contextSeq);
+            out.writeInt(ruleIds.size());
+            for (long ruleId : ruleIds) {
+                out.writeLong(ruleId);
+            }
+            out.flush();
+            
+            if (!sources.isEmpty()) {
+                expect(RuleWorkerProtocol.LOADED);
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    long ruleId = in.readLong();
+                    if (in.readBoolean()) {
+                        loaded.put(ruleId, System.currentTimeMillis());
+                    } else {
+                        loadErrors.put(ruleId, "규칙 로드 실패: " + RuleWorkerProtocol.readString(in));
+                    }
+                }
+            }
+            
+            expect(RuleWorkerProtocol.RESULT);
+            if (in.readInt() != requestId) {
+                throw new IOException("요청 ID가 맞지 않습니다");
+            }
+            int count = in.readInt();
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < count; i++) {
+                long ruleId = in.readLong();
+                byte status = in.readByte();
+                RuleWorkerPool.Outcome outcome = switch (status) {
+                    case RuleWorkerProtocol.STATUS_NOT_MET -> RuleWorkerPool.Outcome.NOT_MET;
+                    case RuleWorkerProtocol.STATUS_FIRED -> RuleWorkerPool.Outcome.fired(RuleWorkerProtocol.readString(in));
+                    case RuleWorkerProtocol.STATUS_FAILED -> RuleWorkerPool.Outcome.failed(RuleWorkerProtocol.readString(in));
+                    case RuleWorkerProtocol.STATUS_NOT_LOADED -> RuleWorkerPool.Outcome.failed(
+                            loadErrors.getOrDefault(ruleId, "규칙 소스를 찾을 수 없습니다"));
+                    default -> throw new IOException("알 수 없는 결과 상태: " + status);
+                };
+                if (status != RuleWorkerProtocol.STATUS_NOT_LOADED) {
+                    loaded.put(ruleId, now);
+                }
+                outcomes.put(ruleId, outcome);
+            }
+            return outcomes;
+        });
+    }
+    
+    /**
+     * 워커 상태를 묻고 결과를 health에 남깁니다
+     */
+    Health ping() {
+        return call(() -> {
+            out.writeByte(RuleWorkerProtocol.PING);
+            out.flush();
+            expect(RuleWorkerProtocol.PONG);
+            health = new Health(in.readLong(), in.readLong(), in.readLong(), in.readInt());
+            return health;
+        });
+    }
+    
+    /**
+     * 마지막 평가가 기준 시각보다 오래된 규칙을 워커에서 내립니다
+     * 
+     * @return 내린 규칙 수
+     */
+    int unloadIdle(long idleBefore) {
+        List<Long> idle = new ArrayList<>();
+        loaded.forEach((ruleId, lastUsed) -> {
+            if (lastUsed < idleBefore) {
+                idle.add(ruleId);
+            }
+        });
+        unload(idle);
+        return idle.size();
+    }
+    
+    /**
+     * 규칙을 워커에서 내립니다 (응답 없음)
+     */
+    void unload(List<Long> ruleIds) {
+        List<Long> present = ruleIds.stream()
+                .filter(ruleId -> loaded.remove(ruleId) != null | loadErrors.remove(ruleId) != null)
+                .toList();
+        if (present.isEmpty() || !isAlive()) {
+            return;
+        }
+        call(() -> {
+            out.writeByte(RuleWorkerProtocol.UNLOAD);
+            out.writeInt(present.size());
+            for (long ruleId : present) {
+                out.writeLong(ruleId);
+            }
+            out.flush();
+            return null;
+        });
+    }
+    
+    Health getHealth() {
+        return health;
+    }
+    
+    int getLoadedCount() {
+        return loaded.size();
+    }
+    
+    /**
+     * 정상 종료를 요청하고, 제때 끝나지 않으면 강제로 종료합니다
+     */
+    void shutdown() {
+        if (isAlive()) {
+            try {
+                out.writeByte(RuleWorkerProtocol.SHUTDOWN);
+                out.flush();
+                process.waitFor(2, TimeUnit.SECONDS);
+            } catch (IOException e) {
+                log.debug("규칙 워커 종료 요청 실패: worker={}", index, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        kill();
+    }
+    
+    /**
+     * 프로세스를 강제로 종료하고 연결을 닫습니다
+     * 
+     * @return 상태 파일에 남은 규칙 ID (평가 중이 아니었으면 0)
+     */
+    long kill() {
+        long culprit = state != null ? state.getLong(0) : 0;
+        if (process != null) {
+            process.destroyForcibly();
+        }
+        closeQuietly(channel);
+        closeQuietly(stateChannel);
+        channel = null;
+        stateChannel = null;
+        state = null;
+        return culprit;
+    }
+    
+    /**
+     * 요청 시간 제한을 걸고 실행합니다 (시간이 지나면 감시 스레드가 프로세스를 죽여 읽기를 끝냄)
+     */
+    private <T> T call(IoCall<T> call) {
+        if (!isAlive()) {
+            throw new WorkerFailure(index, kill(), "규칙 워커가 실행 중이 아닙니다", null);
+        }
+        Process current = process;
+        ScheduledFuture<?> timeout = watchdog.schedule(current::destroyForcibly,
+                config.getRequestTimeoutMs(), TimeUnit.MILLISECONDS);
+        try {
+            return call.run();
+        } catch (IOException | UncheckedIOException e) {
+            String reason = timeout.isDone() ? "요청 시간 초과" : "워커 연결 끊김";
+            throw new WorkerFailure(index, kill(), reason, e);
+        } finally {
+            timeout.cancel(false);
+        }
+    }
+    
+    private void expect(byte type) throws IOException {
+        byte actual = in.readByte();
+        if (actual != type) {
+            throw new IOException("예상하지 않은 메시지: expected=" + type + ", actual=" + actual);
+        }
+    }
+    
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.debug("닫기 실패", e);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface IoCall<T> {
+        T run() throws IOException;
+    }
+    
+    /**
+     * PONG으로 받은 워커 상태
+     */
+    record Health(long heapUsed, long heapMax, long metaspaceUsed, int loadedRules) {
+    }
+    
+    /**
+     * 워커가 죽었거나 응답하지 않음
+     * 
+     * @param culprit 죽을 때 평가 중이던 규칙 ID (없으면 0)
+     */
+    static class WorkerFailure extends RuntimeException {
+        final int worker;
+        final long culprit;
+        
+        WorkerFailure(int worker, long culprit, String message, Throwable cause) {
+            super(message + ": worker=" + worker, cause);
+            this.worker = worker;
+            this.culprit = culprit;
+        }
+    }
+}
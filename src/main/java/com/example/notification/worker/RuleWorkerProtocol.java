@@ -0,0 +1,184 @@
+package com.example.notification.worker;
+
+import com.example.notification.dto.NotificationContext;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 규칙 워커 바이너리 프로토콜
+ * 
+ * 메시지는 종류 1바이트 뒤에 고정 순서의 필드가 오며, 규칙 ID는 long, 문자열은 길이(int) + UTF-8 바이트입니다.
+ * 컨텍스트는 바뀔 때만 한 번 보내고 EVALUATE는 규칙 ID 배열만 담으므로 tick마다 오가는 양은
+ * 규칙 수 × (8바이트 + 결과 1바이트) + 발생한 알림 메시지 정도입니다.
+ * 
+ * <pre>
+ * 부모 → 워커
+ *   CONTEXT   long seq, 컨텍스트
+ *   LOAD      int n, n × (long ruleId, string source)          → LOADED
+ *   UNLOAD    int n, n × long ruleId
+ *   EVALUATE  int requestId, long contextSeq, int n, n × long   → RESULT
+ *   PING                                                        → PONG
+ *   SHUTDOWN
+ * 워커 → 부모
+ *   READY     long pid
+ *   LOADED    int n, n × (long ruleId, boolean ok, [string error])
+ *   RESULT    int requestId, int n, n × (long ruleId, byte status, [string message | error])
+ *   PONG      long heapUsed, long heapMax, long metaspaceUsed, int loadedRules
+ * </pre>
+ */
+public final class RuleWorkerProtocol {
+    
+    public static final byte CONTEXT = 1;
+    public static final byte LOAD = 2;
+    public static final byte UNLOAD = 3;
+    public static final byte EVALUATE = 4;
+    public static final byte PING = 5;
+    public static final byte SHUTDOWN = 6;
+    
+    public static final byte READY = 10;
+    public static final byte LOADED = 11;
+    public static final byte RESULT = 12;
+    public static final byte PONG = 13;
+    
+    /**
+     * RESULT의 규칙별 상태
+     */
+    public static final byte STATUS_NOT_MET = 0;
+    public static final byte STATUS_FIRED = 1;
+    public static final byte STATUS_FAILED = 2;
+    public static final byte STATUS_NOT_LOADED = 3;
+    
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_STRING = 1;
+    private static final byte VALUE_INT = 2;
+    private static final byte VALUE_LONG = 3;
+    private static final byte VALUE_DOUBLE = 4;
+    private static final byte VALUE_BOOLEAN = 5;
+    private static final byte VALUE_LIST = 6;
+    private static final byte VALUE_MAP = 7;
+    
+    private RuleWorkerProtocol() {
+    }
+    
+    public static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    public static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    public static void writeContext(DataOutputStream out, NotificationContext context) throws IOException {
+        writeMap(out, context.getWeatherData());
+        writeMap(out, context.getStockData());
+        writeMap(out, context.getNewsData());
+        writeMap(out, context.getCustomData());
+        out.writeBoolean(context.getTimestamp() != null);
+        if (context.getTimestamp() != null) {
+            out.writeLong(context.getTimestamp());
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    public static NotificationContext readContext(DataInputStream in) throws IOException {
+        return NotificationContext.builder()
+                .weatherData((Map<String, Object>) readValue(in))
+                .stockData((Map<String, Object>) readValue(in))
+                .newsData((Map<String, Object>) readValue(in))
+                .customData((Map<String, Object>) readValue(in))
+                .timestamp(in.readBoolean() ? in.readLong() : null)
+                .build();
+    }
+    
+    private static void writeMap(DataOutputStream out, Map<String, Object> map) throws IOException {
+        writeValue(out, map);
+    }
+    
+    /**
+     * 컨텍스트 값 (외부 API 응답을 옮긴 맵이므로 JSON과 같은 종류만 다룹니다, 그 밖의 값은 문자열로 보냄)
+     */
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(VALUE_NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(VALUE_STRING);
+            writeString(out, string);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(VALUE_INT);
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long number) {
+            out.writeByte(VALUE_LONG);
+            out.writeLong(number);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(VALUE_LIST);
+            out.writeInt(list.size());
+            for (Object item : list) {
+                writeValue(out, item);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(VALUE_MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(out, String.valueOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            out.writeByte(VALUE_STRING);
+            writeString(out, value.toString());
+        }
+    }
+    
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case VALUE_NULL -> null;
+            case VALUE_STRING -> readString(in);
+            case VALUE_INT -> in.readInt();
+            case VALUE_LONG -> in.readLong();
+            case VALUE_DOUBLE -> in.readDouble();
+            case VALUE_BOOLEAN -> in.readBoolean();
+            case VALUE_LIST -> {
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield list;
+            }
+            case VALUE_MAP -> {
+                int size = in.readInt();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(readString(in), readValue(in));
+                }
+                yield map;
+            }
+            default -> throw new IOException("알 수 없는 값 종류: " + type);
+        };
+    }
+}
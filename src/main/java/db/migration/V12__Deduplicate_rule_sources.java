@@ -0,0 +1,146 @@
+package db.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * 기존 규칙의 generated_code를 rule_sources로 옮깁니다
+ * 
+ * 압축과 해시가 필요해 SQL이 아닌 Java 마이그레이션입니다.
+ * 마이그레이션은 한 번 적용되면 바뀌지 않아야 하므로 애플리케이션 코드(RuleSourceCodec)를 쓰지 않고
+ * 적용 당시의 인코딩(DEFLATE_DICT_V1)과 사전을 이 클래스에 그대로 둡니다.
+ */
+@Slf4j
+public class V12__Deduplicate_rule_sources extends BaseJavaMigration {
+    
+    private static final int BATCH_SIZE = 500;
+    
+    /**
+     * rule_sources.encoding 값 (RuleSourceCodec.DEFLATE_DICT_V1)
+     */
+    private static final int DEFLATE_DICT_V1 = 1;
+    
+    /**
+     * RuleSourceCodec.DICTIONARY_V1과 바이트 단위로 같아야 합니다
+     */
+    private static final byte[] DICTIONARY_V1 = """
+            import java.util.List;
+            import java.util.Map;
+            import java.time.LocalTime;
+            .doubleValue() .intValue() instanceof Number
+            context.getCustomData() context.getNewsData() "headlines" "count"
+            context.getStockData().get("symbol") context.getStockData().get("changePercent")
+            context.getWeatherData().get("condition") context.getWeatherData().get("humidity")
+            String.format("%.1f℃ %s %.2f%% 
+            private static final double THRESHOLD = 
+                    return false;
+                }
+                
+                @Override
+                public boolean shouldNotify(NotificationContext context) {
+                    if (context.getWeatherData() == null) {
+                    Object tempObj = context.getWeatherData().get("temperature");
+                    if (context.getStockData() == null) {
+                    Object priceObj = context.getStockData().get("price");
+                    if (tempObj == null) {
+                    return ((Number) tempObj).doubleValue() < 
+                    if (priceObj == null) {
+                    return ((Number) priceObj).doubleValue() > 
+                
+                @Override
+                public String getMessage(NotificationContext context) {
+                    double temperature = ((Number) context.getWeatherData().get("temperature")).doubleValue();
+                    double price = ((Number) context.getStockData().get("price")).doubleValue();
+                    return String.format(
+            package com.example.notification.rules;
+            
+            import com.example.notification.domain.NotificationRule;
+            import com.example.notification.dto.NotificationContext;
+            
+            public class  implements NotificationRule {
+            
+            """.getBytes(StandardCharsets.UTF_8);
+    
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        
+        Map<String, Long> sourceIds = new HashMap<>();
+        HexFormat hex = HexFormat.of();
+        int migrated = 0;
+        try (PreparedStatement select = connection.prepareStatement(
+                     "SELECT id, generated_code FROM notification_rules WHERE source_id IS NULL ORDER BY id");
+             PreparedStatement insert = connection.prepareStatement("""
+                     INSERT INTO rule_sources (hash, encoding, compressed, original_length)
+                     VALUES (?, ?, ?, ?)
+                     ON CONFLICT (hash) DO UPDATE SET last_used_at = CURRENT_TIMESTAMP
+                     RETURNING id
+                     """);
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE notification_rules SET source_id = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    byte[] source = rs.getString("generated_code").getBytes(StandardCharsets.UTF_8);
+                    byte[] hash = sha256.digest(source);
+                    Long sourceId = sourceIds.get(hex.formatHex(hash));
+                    if (sourceId == null) {
+                        insert.setBytes(1, hash);
+                        insert.setInt(2, DEFLATE_DICT_V1);
+                        insert.setBytes(3, compress(source));
+                        insert.setInt(4, source.length);
+                        try (ResultSet inserted = insert.executeQuery()) {
+                            inserted.next();
+                            sourceId = inserted.getLong(1);
+                        }
+                        sourceIds.put(hex.formatHex(hash), sourceId);
+                    }
+                    update.setLong(1, sourceId);
+                    update.setLong(2, rs.getLong("id"));
+                    update.addBatch();
+                    if (++migrated % BATCH_SIZE == 0) {
+                        update.executeBatch();
+                    }
+                }
+            }
+            update.executeBatch();
+        }
+        
+        log.info("규칙 소스 이전 완료: 규칙 {}건 → 소스 {}건", migrated, sourceIds.size());
+    }
+    
+    /**
+     * 사전을 붙여 deflate로 압축합니다 (인코딩 DEFLATE_DICT_V1, 최고 압축)
+     * 
+     * 애플리케이션은 이 결과를 RuleSourceCodec.decompress로 풀기 때문에 테스트에서 호환성을 확인합니다.
+     */
+    static byte[] compress(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setDictionary(DICTIONARY_V1);
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 3));
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+-- 규칙 실행 통계
+-- tick마다 notification_rules 행을 갱신하지 않도록 실행/알림/오류 수를 추가 전용 테이블에 모읍니다.
+-- 원본(노드별 플러시 단위) → 시간별 → 일별로 롤업하고, 롤업이 끝난 구간은 rule_stats_rollups에 기록합니다.
+
+-- 원본: 노드가 플러시할 때마다 규칙별 증분 한 행 (일 단위 파티션, 보관 기간이 지나면 파티션째 삭제)
+CREATE TABLE rule_execution_stats (
+    rule_id BIGINT NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    executions INTEGER NOT NULL,
+    notifications INTEGER NOT NULL,
+    errors INTEGER NOT NULL,
+    last_executed_at TIMESTAMP
+) PARTITION BY RANGE (bucket_start);
+
+CREATE INDEX idx_rule_execution_stats_rule ON rule_execution_stats(rule_id, bucket_start);
+
+-- 이후 파티션은 RuleExecutionStatsService가 미리 만듭니다
+DO $$
+DECLARE
+    d DATE;
+BEGIN
+    FOR d IN SELECT generate_series(current_date - 1, current_date + 3, interval '1 day')::date LOOP
+        EXECUTE format('CREATE TABLE rule_execution_stats_%s PARTITION OF rule_execution_stats FOR VALUES FROM (%L) TO (%L)',
+                       to_char(d, 'YYYYMMDD'), d, d + 1);
+    END LOOP;
+END $$;
+
+CREATE TABLE rule_execution_stats_hourly (
+    rule_id BIGINT NOT NULL,
+    bucket_hour TIMESTAMP NOT NULL,
+    executions BIGINT NOT NULL,
+    notifications BIGINT NOT NULL,
+    errors BIGINT NOT NULL,
+    last_executed_at TIMESTAMP,
+    PRIMARY KEY (rule_id, bucket_hour)
+);
+
+CREATE INDEX idx_rule_execution_stats_hourly_hour ON rule_execution_stats_hourly(bucket_hour);
+
+CREATE TABLE rule_execution_stats_daily (
+    rule_id BIGINT NOT NULL,
+    bucket_day DATE NOT NULL,
+    executions BIGINT NOT NULL,
+    notifications BIGINT NOT NULL,
+    errors BIGINT NOT NULL,
+    last_executed_at TIMESTAMP,
+    PRIMARY KEY (rule_id, bucket_day)
+);
+
+CREATE INDEX idx_rule_execution_stats_daily_day ON rule_execution_stats_daily(bucket_day);
+
+-- 단계별 롤업 완료 시각: HOURLY 이전 원본은 시간별 표에, DAILY 이전 시간별 값은 일별 표에 반영됨
+CREATE TABLE rule_stats_rollups (
+    level VARCHAR(10) PRIMARY KEY,
+    rolled_until TIMESTAMP NOT NULL
+);
+
+INSERT INTO rule_stats_rollups (level, rolled_until) VALUES
+    ('HOURLY', date_trunc('hour', LOCALTIMESTAMP)),
+    ('DAILY', date_trunc('day', LOCALTIMESTAMP));
+
+-- 기존 누적값은 어제(또는 마지막 실행일) 일별 행으로 옮깁니다
+INSERT INTO rule_execution_stats_daily (rule_id, bucket_day, executions, notifications, errors, last_executed_at)
+SELECT id,
+       LEAST(COALESCE(last_executed_at, created_at)::date, current_date - 1),
+       execution_count,
+       notification_count,
+       0,
+       last_executed_at
+FROM notification_rules
+WHERE execution_count > 0 OR notification_count > 0;
+
+ALTER TABLE notification_rules DROP COLUMN execution_count;
+ALTER TABLE notification_rules DROP COLUMN notification_count;
+ALTER TABLE notification_rules DROP COLUMN last_executed_at;
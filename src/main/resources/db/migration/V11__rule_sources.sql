@@ -0,0 +1,21 @@
+-- 규칙 소스 저장소
+-- 생성 코드를 규칙마다 TEXT로 들고 있지 않고, 내용(SHA-256)으로 식별되는 압축 소스 한 행을 여러 규칙이 참조합니다.
+-- 기존 행은 V12(Java 마이그레이션)가 옮기고, V13이 generated_code 컬럼을 삭제합니다.
+
+CREATE TABLE rule_sources (
+    id BIGSERIAL PRIMARY KEY,
+    hash BYTEA NOT NULL UNIQUE,          -- 원본 UTF-8 바이트의 SHA-256
+    encoding SMALLINT NOT NULL,          -- 1: deflate + 사전 v1 (RuleSourceCodec)
+    compressed BYTEA NOT NULL,
+    original_length INTEGER NOT NULL,    -- 압축 전 바이트 수
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_used_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 이미 압축된 값이므로 TOAST 압축을 다시 시도하지 않습니다
+ALTER TABLE rule_sources ALTER COLUMN compressed SET STORAGE EXTERNAL;
+
+ALTER TABLE notification_rules ADD COLUMN source_id BIGINT REFERENCES rule_sources(id);
+
+-- 참조 없는 소스 정리와 외래 키 확인용
+CREATE INDEX idx_notification_rules_source_id ON notification_rules(source_id);
@@ -0,0 +1,6 @@
+-- 모든 규칙이 rule_sources를 참조하게 되었으므로 규칙 행의 소스 사본을 삭제합니다
+-- 컬럼 삭제만으로는 기존 TOAST 공간이 줄지 않으므로, 공간을 돌려받으려면 점검 시간에
+-- VACUUM FULL notification_rules (또는 pg_repack)를 실행합니다.
+
+ALTER TABLE notification_rules ALTER COLUMN source_id SET NOT NULL;
+ALTER TABLE notification_rules DROP COLUMN generated_code;
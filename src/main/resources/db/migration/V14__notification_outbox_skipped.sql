@@ -0,0 +1,3 @@
+-- 켜진 채널이 없어 건너뛴(SKIPPED) 아웃박스 행 정리용 부분 인덱스
+-- 발송되지 않았으므로 delivered_at 대신 created_at 기준으로 보관 기간을 따집니다.
+CREATE INDEX idx_notification_outbox_skipped ON notification_outbox(created_at) WHERE status = 'SKIPPED';
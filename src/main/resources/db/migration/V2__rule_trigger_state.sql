@@ -0,0 +1,16 @@
+-- 알림 발생 방식 (LEVEL: 조건 유지 시 매번, EDGE: false→true 전환 시에만)
+ALTER TABLE notification_rules ADD COLUMN trigger_mode VARCHAR(10) NOT NULL DEFAULT 'LEVEL';
+
+-- 재알림 대기 시간 (초)
+ALTER TABLE notification_rules ADD COLUMN cooldown_seconds INTEGER NOT NULL DEFAULT 0;
+
+-- 재무장(re-arm) 전에 조건이 연속으로 false여야 하는 실행 횟수
+ALTER TABLE notification_rules ADD COLUMN hysteresis_ticks INTEGER NOT NULL DEFAULT 0;
+
+-- 규칙별 트리거 상태 체크포인트
+CREATE TABLE rule_trigger_state (
+    rule_id BIGINT PRIMARY KEY REFERENCES notification_rules(id) ON DELETE CASCADE,
+    last_state BOOLEAN NOT NULL,
+    cooldown_until BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,24 @@
+-- 알림 아웃박스 테이블
+-- 규칙 평가 트랜잭션 안에서 기록되고, 커밋 이후 별도 디스패처가 발송합니다.
+CREATE TABLE notification_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    user_id VARCHAR(255) NOT NULL,
+    rule_id BIGINT,
+    message TEXT NOT NULL,
+    status VARCHAR(16) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_at TIMESTAMP,
+    claimed_by VARCHAR(255),
+    delivered_at TIMESTAMP,
+    last_error VARCHAR(1000)
+);
+
+-- 발송 대기 행 조회용 부분 인덱스
+CREATE INDEX idx_notification_outbox_pending ON notification_outbox(id) WHERE status = 'PENDING';
+
+-- 만료된 점유(claim) 회수용 부분 인덱스
+CREATE INDEX idx_notification_outbox_in_flight ON notification_outbox(claimed_at) WHERE status = 'IN_FLIGHT';
+
+-- 발송 완료 행 정리용 부분 인덱스
+CREATE INDEX idx_notification_outbox_done ON notification_outbox(delivered_at) WHERE status = 'DONE';
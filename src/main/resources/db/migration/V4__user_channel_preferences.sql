@@ -0,0 +1,10 @@
+-- 사용자별 알림 채널 설정
+-- 행이 없는 사용자는 WebSocket 채널만 사용합니다.
+CREATE TABLE user_channel_preferences (
+    user_id VARCHAR(255) NOT NULL,
+    channel VARCHAR(16) NOT NULL,
+    address VARCHAR(255) NOT NULL,
+    enabled BOOLEAN NOT NULL DEFAULT true,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, channel)
+);
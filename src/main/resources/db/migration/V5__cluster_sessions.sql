@@ -0,0 +1,16 @@
+-- 클러스터 노드 생존 신호
+CREATE TABLE cluster_nodes (
+    node_id VARCHAR(255) PRIMARY KEY,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    heartbeat_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 사용자별 WebSocket 세션이 붙어 있는 노드
+CREATE TABLE websocket_sessions (
+    user_id VARCHAR(255) NOT NULL,
+    node_id VARCHAR(255) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, node_id)
+);
+
+CREATE INDEX idx_websocket_sessions_node ON websocket_sessions(node_id);
@@ -0,0 +1,8 @@
+-- 규칙 평가 샤드 임대 (shard_id = rule_id % cluster.shard-count)
+CREATE TABLE rule_shard_leases (
+    shard_id INT PRIMARY KEY,
+    owner_node VARCHAR(255),
+    lease_until TIMESTAMP
+);
+
+CREATE INDEX idx_rule_shard_leases_owner ON rule_shard_leases(owner_node);
@@ -0,0 +1,22 @@
+-- 규칙 실행 우선순위 (높을수록 tick 안에서 먼저 평가)
+ALTER TABLE notification_rules ADD COLUMN priority INTEGER NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_rules_active_priority ON notification_rules(priority DESC, id) WHERE active = true;
+
+-- 스케줄러 tick 실행 기록
+CREATE TABLE scheduler_ticks (
+    id BIGSERIAL PRIMARY KEY,
+    node_id VARCHAR(255) NOT NULL,
+    scheduled_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP NOT NULL,
+    lag_ms BIGINT NOT NULL,
+    overrun_ticks INTEGER NOT NULL DEFAULT 0,
+    policy VARCHAR(20) NOT NULL,
+    rule_count INTEGER NOT NULL,
+    evaluated_count INTEGER NOT NULL,
+    dropped_count INTEGER NOT NULL,
+    coverage NUMERIC(5, 4) NOT NULL
+);
+
+CREATE INDEX idx_scheduler_ticks_started ON scheduler_ticks(started_at);
@@ -0,0 +1,11 @@
+-- 규칙 생성 시 성능 검사 결과
+-- 기존 규칙은 검사 없이 만들어졌으므로 SKIPPED로 남깁니다.
+ALTER TABLE notification_rules ADD COLUMN benchmark_status VARCHAR(10) NOT NULL DEFAULT 'SKIPPED';
+ALTER TABLE notification_rules ADD COLUMN benchmark_mean_nanos BIGINT;
+ALTER TABLE notification_rules ADD COLUMN benchmark_p99_nanos BIGINT;
+ALTER TABLE notification_rules ADD COLUMN benchmark_message_mean_nanos BIGINT;
+ALTER TABLE notification_rules ADD COLUMN benchmark_allocated_bytes BIGINT;
+ALTER TABLE notification_rules ADD COLUMN benchmark_violations VARCHAR(1000);
+ALTER TABLE notification_rules ADD COLUMN benchmarked_at TIMESTAMP;
+
+CREATE INDEX idx_rules_benchmark_flagged ON notification_rules(id) WHERE benchmark_status = 'FLAGGED';
@@ -0,0 +1,14 @@
+-- 규칙 목록 API: 사용자별 규칙 버전 (ETag) 및 커서 페이지네이션
+-- 규칙이 생성/활성화/비활성화/삭제될 때마다 해당 사용자의 version이 1씩 올라갑니다.
+CREATE TABLE rule_versions (
+    user_id VARCHAR(255) PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+-- 기존 규칙이 있는 사용자는 1부터 시작합니다
+INSERT INTO rule_versions (user_id, version)
+SELECT DISTINCT user_id, 1 FROM notification_rules;
+
+-- WHERE user_id = ? AND id > ? ORDER BY id LIMIT ? (user_id 단일 인덱스를 대체)
+CREATE INDEX idx_notification_rules_user_id_id ON notification_rules(user_id, id);
+DROP INDEX idx_notification_rules_user_id;
@@ -0,0 +1,106 @@
+package com.example.notification.channel;
+
+import com.example.notification.config.NotificationConfig;
+import com.example.notification.dto.NotificationMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelWorkerTest {
+    
+    private ChannelWorker worker;
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (worker != null) {
+            worker.shutdown();
+        }
+    }
+    
+    @Test
+    void receiptCompletesOnlyAfterSendSucceeds() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        worker = newWorker(deliveries -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("일시 장애");
+            }
+        });
+        DeliveryReceipt receipt = new DeliveryReceipt(1);
+        
+        assertTrue(worker.submit(List.of(delivery(receipt))));
+        
+        assertTrue(receipt.result().get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+    }
+    
+    @Test
+    void permanentFailureIsReportedToReceipt() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        worker = newWorker(deliveries -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("제공자 장애");
+        });
+        DeliveryReceipt receipt = new DeliveryReceipt(1);
+        
+        worker.submit(List.of(delivery(receipt)));
+        
+        assertFalse(receipt.result().get(5, TimeUnit.SECONDS));
+        assertEquals(3, calls.get());
+    }
+    
+    @Test
+    void receiptWaitsForEveryChannel() {
+        DeliveryReceipt receipt = new DeliveryReceipt(2);
+        
+        receipt.complete(true);
+        assertFalse(receipt.result().isDone());
+        
+        receipt.complete(false);
+        assertFalse(receipt.result().join());
+    }
+    
+    @Test
+    void receiptWithoutChannelsIsDelivered() {
+        assertTrue(new DeliveryReceipt(0).result().join());
+    }
+    
+    private ChannelWorker newWorker(Sender sender) {
+        NotificationConfig.Channel config = new NotificationConfig.Channel();
+        config.setEnabled(true);
+        config.setMaxAttempts(3);
+        config.setRetryBackoffMs(1);
+        NotificationChannel channel = new NotificationChannel() {
+            @Override
+            public ChannelType getType() {
+                return ChannelType.EMAIL;
+            }
+            
+            @Override
+            public void send(List<ChannelDelivery> deliveries) throws Exception {
+                sender.send(deliveries);
+            }
+        };
+        return new ChannelWorker(channel, config, new SimpleMeterRegistry());
+    }
+    
+    private static ChannelDelivery delivery(DeliveryReceipt receipt) {
+        NotificationMessage message = NotificationMessage.builder()
+                .userId("user-1")
+                .message("조건 충족")
+                .createdAt(System.currentTimeMillis())
+                .build();
+        return new ChannelDelivery(message, "user-1@example.com", receipt);
+    }
+    
+    private interface Sender {
+        void send(List<ChannelDelivery> deliveries) throws Exception;
+    }
+}
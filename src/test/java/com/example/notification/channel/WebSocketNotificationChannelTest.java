@@ -0,0 +1,105 @@
+package com.example.notification.channel;
+
+import com.example.notification.config.NotificationConfig;
+import com.example.notification.dto.NotificationMessage;
+import com.example.notification.service.ClusterMessageBus;
+import com.example.notification.service.ClusterSessionRegistry;
+import com.example.notification.service.NotificationDigestService;
+import com.example.notification.service.OfflineNotificationBuffer;
+import com.example.notification.service.WebSocketPresenceTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WebSocketNotificationChannelTest {
+    
+    private SimpMessagingTemplate messagingTemplate;
+    private WebSocketPresenceTracker presenceTracker;
+    private OfflineNotificationBuffer offlineBuffer;
+    private ClusterSessionRegistry clusterRegistry;
+    private ClusterMessageBus messageBus;
+    private WebSocketNotificationChannel channel;
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        presenceTracker = mock(WebSocketPresenceTracker.class);
+        offlineBuffer = new OfflineNotificationBuffer(new NotificationConfig(), new SimpleMeterRegistry());
+        clusterRegistry = mock(ClusterSessionRegistry.class);
+        messageBus = mock(ClusterMessageBus.class);
+        channel = new WebSocketNotificationChannel(messagingTemplate, presenceTracker, offlineBuffer,
+                clusterRegistry, messageBus, mock(ObjectProvider.class));
+    }
+    
+    @Test
+    void sendsToMessageOwnerNotPreferenceAddress() {
+        when(presenceTracker.isOnline("owner")).thenReturn(true);
+        when(presenceTracker.isOnline("victim")).thenReturn(true);
+        
+        channel.send(List.of(new ChannelDelivery(message("owner"), "victim")));
+        
+        verify(messagingTemplate).convertAndSendToUser(eq("owner"), anyString(), any(Object.class));
+        verify(messagingTemplate, never()).convertAndSendToUser(eq("victim"), anyString(), any(Object.class));
+    }
+    
+    @Test
+    void offlineOwnerIsBufferedUnderOwnId() {
+        channel.send(List.of(new ChannelDelivery(message("owner"), "victim")));
+        
+        assertTrue(offlineBuffer.drain("victim").isEmpty());
+        assertEquals(1, offlineBuffer.drain("owner").size());
+    }
+    
+    @Test
+    void remoteOwnerIsForwardedToOwnersNode() {
+        NotificationMessage message = message("owner");
+        when(clusterRegistry.isEnabled()).thenReturn(true);
+        when(clusterRegistry.findRemoteNodes(List.of("owner"))).thenReturn(Map.of("owner", List.of("node-b")));
+        
+        channel.send(List.of(new ChannelDelivery(message, "victim")));
+        
+        verify(clusterRegistry).findRemoteNodes(List.of("owner"));
+        verify(messageBus).send("node-b", List.of(message));
+    }
+    
+    @Test
+    void failedForwardIsBufferedWithoutFailingLocalDelivery() {
+        NotificationMessage local = message("local-user");
+        NotificationMessage remote = message("remote-user");
+        when(presenceTracker.isOnline("local-user")).thenReturn(true);
+        when(clusterRegistry.isEnabled()).thenReturn(true);
+        when(clusterRegistry.findRemoteNodes(List.of("remote-user")))
+                .thenReturn(Map.of("remote-user", List.of("node-b")));
+        when(messageBus.send("node-b", List.of(remote))).thenReturn(List.of(remote));
+        
+        channel.send(List.of(new ChannelDelivery(local, "local-user"), new ChannelDelivery(remote, "remote-user")));
+        
+        verify(messagingTemplate, times(1)).convertAndSendToUser(eq("local-user"), anyString(), any(Object.class));
+        assertEquals(List.of(remote), offlineBuffer.drain("remote-user"));
+    }
+    
+    private static NotificationMessage message(String userId) {
+        return NotificationMessage.builder()
+                .userId(userId)
+                .message("조건 충족")
+                .createdAt(System.currentTimeMillis())
+                .build();
+    }
+}
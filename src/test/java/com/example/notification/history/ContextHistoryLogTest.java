@@ -0,0 +1,160 @@
+package com.example.notification.history;
+
+import com.example.notification.config.ContextHistoryConfig;
+import com.example.notification.dto.NotificationContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * 컨텍스트 이력 세그먼트의 파일 형식, 사전 인코딩, 세그먼트 교체와 다시 열기를 확인합니다
+ */
+class ContextHistoryLogTest {
+    
+    private static final long BASE = 1_700_000_000_000L;
+    
+    @TempDir
+    Path workDir;
+    
+    private final ContextHistoryConfig config = new ContextHistoryConfig();
+    
+    private ContextHistoryLog historyLog;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        config.setDirectory(workDir.toString());
+        config.setSegmentRows(4);
+        historyLog = open();
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        historyLog.close();
+    }
+    
+    @Test
+    void segmentStoresHeaderAndColumnBlocks() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            historyLog.append(context(BASE + i, 20.5 + i, "Clear", 100.0));
+        }
+        historyLog.flush();
+        
+        Path file = workDir.resolve("segment-000001.ctx");
+        assertEquals(ContextLogSegment.fileSize(4), Files.size(file));
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(ContextLogSegment.MAGIC, buffer.getInt(0));
+        assertEquals(ContextLogSegment.VERSION, buffer.getInt(4));
+        assertEquals(ContextColumn.values().length, buffer.getInt(8));
+        assertEquals(4, buffer.getInt(12));
+        assertEquals(3, buffer.getInt(16));
+        
+        // 컬럼마다 capacity(4)행 크기의 블록이 이어집니다: TIMESTAMP 블록 다음이 WEATHER_TEMPERATURE 블록
+        int timestampBlock = ContextLogSegment.HEADER_BYTES;
+        int temperatureBlock = timestampBlock + 4 * Long.BYTES;
+        for (int row = 0; row < 3; row++) {
+            assertEquals(BASE + row, buffer.getLong(timestampBlock + row * Long.BYTES));
+            assertEquals(20.5 + row, buffer.getDouble(temperatureBlock + row * Double.BYTES));
+        }
+    }
+    
+    @Test
+    void valuesSurviveReopenThroughDictionary() throws IOException {
+        historyLog.append(context(BASE, 21.0, "Rain", 150.25));
+        historyLog.append(NotificationContext.builder()
+                .newsData(Map.of("headlines", List.of("첫 기사", "둘째 기사"), "count", 2))
+                .timestamp(BASE + 1)
+                .build());
+        historyLog.append(context(BASE + 2, 22.0, "Rain", 151.0));
+        historyLog.close();
+        
+        historyLog = open();
+        ContextLogSegment segment = historyLog.segments().get(0);
+        assertEquals(3, segment.getRowCount());
+        
+        NotificationContext first = historyLog.read(segment, 0);
+        assertEquals(BASE, first.getTimestamp());
+        assertEquals(21.0, first.getWeatherData().get("temperature"));
+        assertEquals("Rain", first.getWeatherData().get("condition"));
+        assertEquals(60, first.getWeatherData().get("humidity"));
+        assertEquals("ACME", first.getStockData().get("symbol"));
+        assertEquals(150.25, first.getStockData().get("price"));
+        
+        // 값이 없던 필드는 빈 값으로 기록되어 되돌릴 때 빠집니다
+        NotificationContext second = historyLog.read(segment, 1);
+        assertArrayEquals(new String[]{"첫 기사", "둘째 기사"}, (String[]) second.getNewsData().get("headlines"));
+        assertEquals(2, second.getNewsData().get("count"));
+        assertFalse(second.getWeatherData().containsKey("temperature"));
+        assertFalse(second.getStockData().containsKey("symbol"));
+        
+        // 같은 문자열은 사전에 한 번만 들어갑니다
+        List<String> words = Files.readAllLines(workDir.resolve("dictionary.txt"), StandardCharsets.UTF_8);
+        assertEquals(List.of("Rain", "ACME", "첫 기사\u001F둘째 기사"), words);
+    }
+    
+    @Test
+    void timestampsNeverGoBackwards() {
+        historyLog.append(context(BASE + 100, 20.0, "Clear", 1.0));
+        historyLog.append(context(BASE + 50, 20.0, "Clear", 1.0));
+        historyLog.append(context(BASE + 200, 20.0, "Clear", 1.0));
+        
+        ContextLogSegment segment = historyLog.segments().get(0);
+        assertEquals(BASE + 100, segment.getLong(ContextColumn.TIMESTAMP, 1));
+        assertEquals(0, segment.lowerBound(BASE + 100));
+        assertEquals(2, segment.lowerBound(BASE + 101));
+    }
+    
+    @Test
+    void fullSegmentRollsAndReopenContinuesAfterLastRow() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            historyLog.append(context(BASE + i, i, "Clear", i));
+        }
+        assertEquals(List.of(4, 4, 2), rowCounts());
+        historyLog.close();
+        
+        historyLog = open();
+        assertEquals(10, historyLog.getSnapshotCount());
+        // 다시 연 뒤에도 마지막 타임스탬프보다 앞선 값은 당겨 맞춥니다
+        historyLog.append(context(BASE, 0.0, "Clear", 0.0));
+        historyLog.append(context(BASE + 20, 0.0, "Clear", 0.0));
+        historyLog.append(context(BASE + 21, 0.0, "Clear", 0.0));
+        
+        assertEquals(List.of(4, 4, 4, 1), rowCounts());
+        ContextLogSegment third = historyLog.segments().get(2);
+        assertEquals(BASE + 9, third.getLong(ContextColumn.TIMESTAMP, 2));
+        assertEquals(BASE + 20, third.getLong(ContextColumn.TIMESTAMP, 3));
+        assertEquals(BASE + 21, historyLog.segments().get(3).getLong(ContextColumn.TIMESTAMP, 0));
+    }
+    
+    private ContextHistoryLog open() throws IOException {
+        ContextHistoryLog log = new ContextHistoryLog(config, new SimpleMeterRegistry());
+        log.open();
+        return log;
+    }
+    
+    private List<Integer> rowCounts() {
+        return historyLog.segments().stream().map(ContextLogSegment::getRowCount).toList();
+    }
+    
+    static NotificationContext context(long timestamp, double temperature, String condition, double price) {
+        return NotificationContext.builder()
+                .weatherData(Map.of("temperature", temperature, "condition", condition, "humidity", 60))
+                .stockData(Map.of("symbol", "ACME", "price", price))
+                .timestamp(timestamp)
+                .build();
+    }
+}
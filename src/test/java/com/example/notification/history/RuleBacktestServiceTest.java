@@ -0,0 +1,114 @@
+package com.example.notification.history;
+
+import com.example.notification.config.ContextHistoryConfig;
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.domain.TriggerMode;
+import com.example.notification.dto.BacktestResponse;
+import com.example.notification.dto.NotificationContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 백테스트가 세그먼트와 구간(chunk) 경계를 넘어 EDGE 전환과 재알림 대기를 이어 붙이는지 확인합니다
+ */
+class RuleBacktestServiceTest {
+    
+    private static final long BASE = 1_700_000_000_000L;
+    
+    /**
+     * 행별 기온, 세그먼트 4행 · 구간 3행이라 경계는 행 3|4(세그먼트), 행 7|8(세그먼트), 구간은 각 세그먼트의 2|3
+     * 30도 초과 구간: 행 1~4 (세그먼트 경계를 넘음), 행 6~9 (구간과 세그먼트 경계를 넘음), 행 11
+     */
+    private static final double[] TEMPERATURES = {10, 35, 35, 35, 35, 10, 35, 35, 35, 35, 10, 35};
+    
+    @TempDir
+    Path workDir;
+    
+    private ContextHistoryLog historyLog;
+    private RuleBacktestService backtestService;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        ContextHistoryConfig config = new ContextHistoryConfig();
+        config.setDirectory(workDir.toString());
+        config.setSegmentRows(4);
+        config.setBacktestChunkRows(3);
+        config.setBacktestThreads(2);
+        historyLog = new ContextHistoryLog(config, new SimpleMeterRegistry());
+        historyLog.open();
+        for (int row = 0; row < TEMPERATURES.length; row++) {
+            historyLog.append(ContextHistoryLogTest.context(timestampOf(row), TEMPERATURES[row], "Clear", 1.0));
+        }
+        backtestService = new RuleBacktestService(historyLog, config);
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        backtestService.shutdown();
+        historyLog.close();
+    }
+    
+    @Test
+    void edgeMergesRunsAcrossSegmentAndChunkBoundaries() {
+        BacktestResponse response = backtestService.backtest(new HotRule(), TriggerMode.EDGE, 0, null, null);
+        
+        assertEquals(TEMPERATURES.length, response.getSnapshotCount());
+        assertEquals(List.of(timestampOf(1), timestampOf(6), timestampOf(11)), response.getFireTimestamps());
+        assertEquals(3, response.getFireCount());
+    }
+    
+    @Test
+    void levelFiresOnEverySnapshotThatMeetsCondition() {
+        BacktestResponse response = backtestService.backtest(new HotRule(), TriggerMode.LEVEL, 0, null, null);
+        
+        assertEquals(9, response.getFireCount());
+    }
+    
+    @Test
+    void cooldownCarriesAcrossBoundaries() {
+        // 2초 대기: 행 1 다음은 행 3, 행 4는 대기 중, 행 6 다음은 행 8 (세그먼트 경계를 넘어 이어짐)
+        BacktestResponse response = backtestService.backtest(new HotRule(), TriggerMode.LEVEL, 2, null, null);
+        
+        assertEquals(List.of(timestampOf(1), timestampOf(3), timestampOf(6), timestampOf(8), timestampOf(11)),
+                response.getFireTimestamps());
+    }
+    
+    @Test
+    void edgeRangeStartingInsideRunCountsFirstRowAsTransition() {
+        // 구간 시작 전의 상태는 보지 않으므로 행 7에서 시작하면 그 행이 첫 전환입니다
+        BacktestResponse response = backtestService.backtest(new HotRule(), TriggerMode.EDGE, 0,
+                timestampOf(7), timestampOf(11));
+        
+        assertEquals(4, response.getSnapshotCount());
+        assertEquals(List.of(timestampOf(7)), response.getFireTimestamps());
+    }
+    
+    private static long timestampOf(int row) {
+        return BASE + row * 1000L;
+    }
+    
+    /**
+     * 기온이 30도를 넘으면 알림
+     */
+    public static class HotRule implements NotificationRule {
+        
+        @Override
+        public boolean shouldNotify(NotificationContext context) {
+            return context.getWeatherData().get("temperature") instanceof Double temperature && temperature > 30;
+        }
+        
+        @Override
+        public String getMessage(NotificationContext context) {
+            return "더움";
+        }
+    }
+}
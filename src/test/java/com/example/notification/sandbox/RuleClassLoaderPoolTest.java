@@ -0,0 +1,160 @@
+package com.example.notification.sandbox;
+
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.dto.NotificationContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 공유 로더 풀에 실제 규칙 클래스를 올리고 내리면서 로더 정리(compaction)를 확인합니다
+ */
+class RuleClassLoaderPoolTest {
+    
+    private static final String RULE_TEMPLATE = """
+            package com.example.notification.rules;
+            
+            import com.example.notification.domain.NotificationRule;
+            import com.example.notification.dto.NotificationContext;
+            
+            public class %s implements NotificationRule {
+                
+                @Override
+                public boolean shouldNotify(NotificationContext context) {
+                    return true;
+                }
+                
+                @Override
+                public String getMessage(NotificationContext context) {
+                    return "%s";
+                }
+            }
+            """;
+    
+    private static final int RULES = 8;
+    
+    @TempDir
+    Path workDir;
+    
+    private RuleClassLoaderPool pool;
+    
+    /**
+     * 인스턴스를 만들 때 풀 잠금을 잡고 있었는지
+     */
+    private final AtomicBoolean instantiatedUnderLock = new AtomicBoolean();
+    
+    /**
+     * 인스턴스를 만들 때마다 실행할 동작 (정리 중에 규칙을 내리는 경우를 흉내 냄)
+     */
+    private Runnable onInstantiate = () -> { };
+    
+    @BeforeEach
+    void setUp() {
+        // 로더 하나에 4개, 살아 있는 클래스가 절반 이하가 되면 정리
+        pool = new RuleClassLoaderPool(4, 0.5, getClass().getClassLoader(), ruleClass -> {
+            if (Thread.holdsLock(pool)) {
+                instantiatedUnderLock.set(true);
+            }
+            onInstantiate.run();
+            return (NotificationRule) ruleClass.getDeclaredConstructor().newInstance();
+        });
+    }
+    
+    @Test
+    void compactionMovesSurvivorsAndDropsLoader() throws Exception {
+        List<PooledNotificationRule> rules = loadRules();
+        assertEquals(2, pool.getLoaderCount());
+        NotificationRule before = rules.get(0).getDelegate();
+        
+        // 첫 로더에서 두 개를 내리면 살아 있는 클래스가 2/4가 되어 나머지 두 규칙을 옮깁니다
+        pool.release(rules.get(1));
+        pool.release(rules.get(2));
+        
+        assertEquals(1, pool.getCompactions());
+        assertEquals(2, pool.getRelocations());
+        assertEquals(RULES - 2, pool.getRuleCount());
+        // 원래 로더는 버리고, 옮긴 두 규칙은 두 번째 로더가 가득 차 있어 새 로더로 갑니다
+        assertEquals(2, pool.getLoaderCount());
+        
+        NotificationRule after = rules.get(0).getDelegate();
+        assertNotSame(before, after);
+        assertNotSame(before.getClass().getClassLoader(), after.getClass().getClassLoader());
+        assertEquals("PoolRule0", rules.get(0).getMessage(new NotificationContext()));
+        assertEquals("PoolRule3", rules.get(3).getMessage(new NotificationContext()));
+        assertFalse(instantiatedUnderLock.get(), "규칙 인스턴스를 풀 잠금 안에서 만들었습니다");
+    }
+    
+    @Test
+    void ruleReleasedWhileRelocatingStaysReleased() throws Exception {
+        List<PooledNotificationRule> rules = loadRules();
+        NotificationRule before = rules.get(3).getDelegate();
+        
+        // 옮길 인스턴스를 만드는 사이에 옮기던 규칙이 내려간 경우
+        onInstantiate = () -> {
+            onInstantiate = () -> { };
+            pool.release(rules.get(3));
+        };
+        pool.release(rules.get(1));
+        pool.release(rules.get(2));
+        
+        assertEquals(1, pool.getRelocations());
+        assertEquals(RULES - 3, pool.getRuleCount());
+        assertSame(before, rules.get(3).getDelegate());
+        assertEquals(2, pool.getLoaderCount());
+        
+        // 내려간 규칙을 다시 내려도 남은 규칙에 영향이 없습니다
+        pool.release(rules.get(3));
+        assertEquals(RULES - 3, pool.getRuleCount());
+        assertEquals("PoolRule0", rules.get(0).getMessage(new NotificationContext()));
+        assertFalse(instantiatedUnderLock.get(), "규칙 인스턴스를 풀 잠금 안에서 만들었습니다");
+    }
+    
+    @Test
+    void releasingEveryRuleDropsAllLoaders() throws Exception {
+        List<PooledNotificationRule> rules = loadRules();
+        
+        rules.forEach(pool::release);
+        
+        assertEquals(0, pool.getRuleCount());
+        assertEquals(0, pool.getLoaderCount());
+    }
+    
+    /**
+     * 규칙 클래스 RULES개를 컴파일해서 순서대로 풀에 올립니다 (로더 하나에 4개씩)
+     */
+    private List<PooledNotificationRule> loadRules() throws Exception {
+        Path sourceDir = Files.createDirectories(workDir.resolve("src"));
+        Path outputDir = Files.createDirectories(workDir.resolve("out"));
+        List<String> arguments = new ArrayList<>(List.of("-encoding", "UTF-8",
+                "-classpath", System.getProperty("java.class.path"), "-d", outputDir.toString()));
+        for (int i = 0; i < RULES; i++) {
+            Path source = sourceDir.resolve("PoolRule" + i + ".java");
+            Files.writeString(source, RULE_TEMPLATE.formatted("PoolRule" + i, "PoolRule" + i));
+            arguments.add(source.toString());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, arguments.toArray(String[]::new)));
+        
+        List<PooledNotificationRule> rules = new ArrayList<>();
+        for (int i = 0; i < RULES; i++) {
+            String name = "com.example.notification.rules.PoolRule" + i;
+            byte[] bytes = Files.readAllBytes(outputDir.resolve("com/example/notification/rules/PoolRule" + i + ".class"));
+            rules.add(pool.load(name, Map.of(name, bytes)));
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.notification.sandbox;
+
+import com.example.notification.domain.NotificationRule;
+import com.example.notification.dto.NotificationContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 생성된 규칙 코드를 실제로 컴파일/변환/로드해서 샌드박스가 막거나 중단하는지 확인합니다
+ */
+class RuleSandboxTest {
+    
+    private static final String RULE_TEMPLATE = """
+            package com.example.notification.rules;
+            
+            import com.example.notification.domain.NotificationRule;
+            import com.example.notification.dto.NotificationContext;
+            import java.util.*;
+            
+            public class %s implements NotificationRule {
+                
+                @Override
+                public boolean shouldNotify(NotificationContext context) {
+                    %s
+                }
+                
+                @Override
+                public String getMessage(NotificationContext context) {
+                    return "알림";
+                }
+            }
+            """;
+    
+    private static final ExecutionBudget.Limits LIMITS =
+            new ExecutionBudget.Limits(2_000, 5_000_000, 8L * 1024 * 1024);
+    
+    private final RuleClassTransformer transformer =
+            new RuleClassTransformer(List.of("java.lang", "java.util", "java.time", "java.math"));
+    
+    @TempDir
+    Path workDir;
+    
+    private int sequence;
+    
+    @Test
+    void allowedRuleRunsNormally() throws Exception {
+        NotificationRule rule = load("""
+                int sum = 0;
+                for (int i = 0; i < 1000; i++) {
+                    sum += i;
+                }
+                return sum > 0;
+                """);
+        
+        assertTrue(rule.shouldNotify(new NotificationContext()));
+        assertEquals("알림", rule.getMessage(new NotificationContext()));
+    }
+    
+    @Test
+    void infiniteLoopIsAborted() throws Exception {
+        NotificationRule rule = load("""
+                long i = 0;
+                while (true) {
+                    i++;
+                }
+                """);
+        
+        RuleBudgetExceededException e = assertThrows(RuleBudgetExceededException.class,
+                () -> rule.shouldNotify(new NotificationContext()));
+        assertTrue(e.getMessage().contains("명령 예산 초과"), e.getMessage());
+    }
+    
+    @Test
+    void infiniteLoopCannotSwallowBudgetError() throws Exception {
+        NotificationRule rule = load("""
+                try {
+                    while (true) {
+                        Math.random();
+                    }
+                } catch (Throwable t) {
+                    return true;
+                }
+                """);
+        
+        assertThrows(RuleBudgetExceededException.class, () -> rule.shouldNotify(new NotificationContext()));
+    }
+    
+    @Test
+    void allocationBombIsAborted() throws Exception {
+        NotificationRule rule = load("""
+                List<byte[]> hoard = new ArrayList<>();
+                for (int i = 0; i < 1000; i++) {
+                    hoard.add(new byte[256 * 1024]);
+                }
+                return hoard.size() > 0;
+                """);
+        
+        RuleBudgetExceededException e = assertThrows(RuleBudgetExceededException.class,
+                () -> rule.shouldNotify(new NotificationContext()));
+        assertTrue(e.getMessage().contains("할당량 초과"), e.getMessage());
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "new Thread(() -> {}).start(); return true;",
+            "new Timer().schedule(new TimerTask() { public void run() {} }, 0L); return true;",
+            "int[] a = {3, 1, 2}; Arrays.parallelSort(a); return true;",
+            "long[] a = new long[8]; Arrays.parallelSetAll(a, i -> i); return true;",
+            "int[] a = {1, 2}; Arrays.parallelPrefix(a, Integer::sum); return true;",
+            "try { wait(); } catch (InterruptedException e) { } return true;",
+            "try { context.wait(10L); } catch (InterruptedException e) { } return true;",
+            "return List.of(1, 2).parallelStream().count() > 0;",
+            "return context.getClass().getDeclaredFields().length > 0;",
+            "System.exit(1); return true;",
+            "try { Runtime.getRuntime().exec(\"true\"); } catch (Exception e) { } return true;"
+    })
+    void deniedApiIsRejectedAtLoad(String body) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> load(body));
+        assertTrue(e.getMessage().startsWith("허용되지 않은 참조"), e.getMessage());
+    }
+    
+    /**
+     * 규칙 본문을 컴파일하고, 변환해서 로드한 뒤 예산 데코레이터로 감쌉니다
+     */
+    private NotificationRule load(String body) throws Exception {
+        String className = "SandboxRule" + sequence++;
+        Path sourceDir = Files.createDirectories(workDir.resolve("src/" + className));
+        Path outputDir = Files.createDirectories(workDir.resolve("out/" + className));
+        Path source = sourceDir.resolve(className + ".java");
+        Files.writeString(source, RULE_TEMPLATE.formatted(className, body));
+        
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int status = compiler.run(null, null, null, "-encoding", "UTF-8",
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", outputDir.toString(), source.toString());
+        assertEquals(0, status, "컴파일 실패: " + body);
+        
+        RuleClassLoader loader = new RuleClassLoader(getClass().getClassLoader());
+        loader.add(transformAll(outputDir));
+        @SuppressWarnings("unchecked")
+        Class<? extends NotificationRule> ruleClass = (Class<? extends NotificationRule>)
+                loader.loadClass("com.example.notification.rules." + className);
+        return BudgetedNotificationRule.instantiate(ruleClass, LIMITS);
+    }
+    
+    private Map<String, byte[]> transformAll(Path outputDir) throws IOException {
+        Map<String, byte[]> classes = new HashMap<>();
+        try (Stream<Path> files = Files.walk(outputDir)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".class")).toList()) {
+                String name = outputDir.relativize(file).toString()
+                        .replace(".class", "")
+                        .replace(file.getFileSystem().getSeparator(), ".");
+                classes.put(name, transformer.transform(Files.readAllBytes(file)));
+            }
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.notification.service;
+
+import com.example.notification.config.ClusterConfig;
+import com.example.notification.dto.NotificationMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 한 JVM 안의 노드 두 개를 메모리 NOTIFY 네트워크로 연결해 노드 간 전달을 검증합니다
+ */
+class ClusterMessageBusTest {
+    
+    private static final int MAX_PAYLOAD_BYTES = 1000;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private NotifyNetwork network;
+    private Node nodeA;
+    private Node nodeB;
+    
+    @BeforeEach
+    void setUp() {
+        network = new NotifyNetwork();
+        nodeA = new Node("node-a");
+        nodeB = new Node("node-b");
+    }
+    
+    @Test
+    void deliversBatchToTargetNodeOnly() {
+        List<NotificationMessage> messages = List.of(message("user-1", "알림 1"), message("user-2", "알림 2"));
+        
+        List<NotificationMessage> undelivered = nodeA.bus.send("node-b", messages);
+        
+        assertTrue(undelivered.isEmpty());
+        assertEquals(1, network.payloads.size());
+        assertEquals(List.of("알림 1", "알림 2"), nodeB.receivedTexts());
+        assertEquals("node-a", nodeB.notifications.get(0).originNodeId());
+        assertTrue(nodeA.notifications.isEmpty());
+    }
+    
+    @Test
+    void chunksByUtf8BytesNotCharacters() {
+        // 한글은 글자당 3바이트라 글자 수로 자르면 한도를 넘습니다
+        List<NotificationMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            messages.add(message("user-" + i, "가격 조건 충족 알림입니다 " + i + " 🚀".repeat(3)));
+        }
+        
+        List<NotificationMessage> undelivered = nodeA.bus.send("node-b", messages);
+        
+        assertTrue(undelivered.isEmpty());
+        assertTrue(network.payloads.size() > 1);
+        for (String payload : network.payloads) {
+            assertTrue(payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES,
+                    "payload bytes: " + payload.getBytes(StandardCharsets.UTF_8).length);
+        }
+        assertEquals(messages.stream().map(NotificationMessage::getMessage).toList(), nodeB.receivedTexts());
+    }
+    
+    @Test
+    void oversizedMessageIsReturnedInsteadOfSent() {
+        NotificationMessage oversized = message("user-1", "가".repeat(MAX_PAYLOAD_BYTES / 3 + 1));
+        NotificationMessage small = message("user-2", "알림");
+        
+        List<NotificationMessage> undelivered = nodeA.bus.send("node-b", List.of(oversized, small));
+        
+        assertEquals(List.of(oversized), undelivered);
+        assertEquals(List.of("알림"), nodeB.receivedTexts());
+    }
+    
+    @Test
+    void notifyFailureIsReturnedNotThrown() {
+        network.failing = true;
+        List<NotificationMessage> messages = List.of(message("user-1", "알림 1"), message("user-2", "알림 2"));
+        
+        List<NotificationMessage> undelivered = nodeA.bus.send("node-b", messages);
+        
+        assertEquals(messages, undelivered);
+        assertTrue(nodeB.notifications.isEmpty());
+    }
+    
+    @Test
+    void presenceIsBroadcastToOtherNodes() {
+        nodeB.bus.broadcastPresence("user-1");
+        
+        assertEquals(List.of(new RemotePresenceEvent("user-1", "node-b")), nodeA.presences);
+        assertTrue(nodeB.presences.isEmpty());
+    }
+    
+    @Test
+    void utf8LengthMatchesEncoder() {
+        for (String value : List.of("", "ascii", "ü", "한글", "🚀", "a가🚀ü")) {
+            assertEquals(value.getBytes(StandardCharsets.UTF_8).length, ClusterMessageBus.utf8Length(value), value);
+        }
+    }
+    
+    private static NotificationMessage message(String userId, String text) {
+        return NotificationMessage.builder()
+                .userId(userId)
+                .message(text)
+                .createdAt(System.currentTimeMillis())
+                .build();
+    }
+    
+    /**
+     * 노드 하나: 메시지 버스와 그 버스가 발행한 이벤트
+     */
+    private class Node {
+        
+        final List<RemoteNotificationsEvent> notifications = new ArrayList<>();
+        final List<RemotePresenceEvent> presences = new ArrayList<>();
+        final ClusterMessageBus bus;
+        
+        Node(String nodeId) {
+            ClusterConfig config = new ClusterConfig();
+            config.setEnabled(true);
+            config.setNodeId(nodeId);
+            config.setMaxPayloadBytes(MAX_PAYLOAD_BYTES);
+            this.bus = new ClusterMessageBus(mock(DataSource.class), network, objectMapper, config,
+                    event -> {
+                        if (event instanceof RemoteNotificationsEvent notification) {
+                            notifications.add(notification);
+                        } else if (event instanceof RemotePresenceEvent presence) {
+                            presences.add(presence);
+                        }
+                    },
+                    new SimpleMeterRegistry());
+            network.listen(ClusterMessageBus.channelOf(nodeId), bus);
+            network.listen("notif_presence", bus);
+        }
+        
+        List<String> receivedTexts() {
+            return notifications.stream()
+                    .flatMap(event -> event.messages().stream())
+                    .map(NotificationMessage::getMessage)
+                    .toList();
+        }
+    }
+    
+    /**
+     * pg_notify 호출을 LISTEN 중인 버스로 바로 넘기는 메모리 NOTIFY 네트워크
+     */
+    private static class NotifyNetwork extends JdbcTemplate {
+        
+        final Map<String, List<ClusterMessageBus>> listeners = new HashMap<>();
+        final List<String> payloads = new ArrayList<>();
+        boolean failing;
+        
+        void listen(String channel, ClusterMessageBus bus) {
+            listeners.computeIfAbsent(channel, key -> new ArrayList<>()).add(bus);
+        }
+        
+        @Override
+        public SqlRowSet queryForRowSet(String sql, Object... args) {
+            if (failing) {
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+            String channel = (String) args[0];
+            String payload = (String) args[1];
+            payloads.add(payload);
+            listeners.getOrDefault(channel, List.of()).forEach(bus -> bus.handle(channel, payload));
+            return null;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.notification.service;
+
+import com.example.notification.config.SandboxConfig;
+import com.example.notification.dto.NotificationContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DynamicCodeEngineTest {
+    
+    private static final String RULE_TEMPLATE = """
+            package com.example.notification.rules;
+            
+            import com.example.notification.domain.NotificationRule;
+            import com.example.notification.dto.NotificationContext;
+            
+            public class %s implements NotificationRule {
+                
+                @Override
+                public boolean shouldNotify(NotificationContext context) {
+                    %s
+                }
+                
+                @Override
+                public String getMessage(NotificationContext context) {
+                    return "%s";
+                }
+            }
+            """;
+    
+    private final DynamicCodeEngine engine = new DynamicCodeEngine(new SandboxConfig(), new SimpleMeterRegistry());
+    
+    @Test
+    void batchRejectsReferenceToAnotherRuleInBatch() {
+        List<DynamicCodeEngine.LoadResult> results = engine.compileAndLoadAll(List.of(
+                RULE_TEMPLATE.formatted("BatchRuleA", "return new BatchRuleB().shouldNotify(context);", "A"),
+                RULE_TEMPLATE.formatted("BatchRuleB", "return true;", "B"),
+                // 클래스 이름이 문자열에만 나오면 참조가 아닙니다
+                RULE_TEMPLATE.formatted("BatchRuleC", "return true;", "BatchRuleB")));
+        
+        assertInstanceOf(RuleCompilationException.class, results.get(0).error());
+        assertTrue(results.get(0).error().getMessage().contains("BatchRuleB"));
+        assertNull(results.get(1).error());
+        assertNull(results.get(2).error());
+        assertEquals("BatchRuleB", results.get(2).rule().getMessage(new NotificationContext()));
+    }
+    
+    @Test
+    void batchRejectsFieldTypedAsAnotherRuleInBatch() {
+        String holder = """
+                package com.example.notification.rules;
+                
+                import com.example.notification.domain.NotificationRule;
+                import com.example.notification.dto.NotificationContext;
+                
+                public class BatchRuleD implements NotificationRule {
+                    
+                    private BatchRuleE delegate;
+                    
+                    @Override
+                    public boolean shouldNotify(NotificationContext context) {
+                        return delegate == null;
+                    }
+                    
+                    @Override
+                    public String getMessage(NotificationContext context) {
+                        return "D";
+                    }
+                }
+                """;
+        // 필드 읽기는 클래스 항목 없이 시그니처로만 BatchRuleE를 가리킵니다
+        List<DynamicCodeEngine.LoadResult> results = engine.verifyAll(List.of(
+                holder, RULE_TEMPLATE.formatted("BatchRuleE", "return true;", "E")));
+        
+        assertInstanceOf(RuleCompilationException.class, results.get(0).error());
+        assertNull(results.get(1).error());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.notification.service;
+
+import com.example.notification.channel.NoActiveChannelException;
+import com.example.notification.config.NotificationConfig;
+import com.example.notification.dto.NotificationMessage;
+import com.example.notification.service.NotificationOutboxService.ClaimedNotification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationOutboxDispatcherTest {
+    
+    private NotificationOutboxService outboxService;
+    private NotificationDeliveryPipeline deliveryPipeline;
+    private NotificationDigestService digestService;
+    private NotificationOutboxDispatcher dispatcher;
+    
+    @BeforeEach
+    void setUp() {
+        outboxService = mock(NotificationOutboxService.class);
+        deliveryPipeline = mock(NotificationDeliveryPipeline.class);
+        digestService = mock(NotificationDigestService.class);
+        when(outboxService.isEnabled()).thenReturn(true);
+        dispatcher = new NotificationOutboxDispatcher(outboxService, deliveryPipeline, digestService,
+                new NotificationConfig(), new SimpleMeterRegistry());
+    }
+    
+    @Test
+    void rowStaysInFlightUntilChannelSendSucceeds() {
+        ClaimedNotification row = row(1L, "user-1");
+        CompletableFuture<Boolean> sent = new CompletableFuture<>();
+        when(outboxService.claim()).thenReturn(List.of(row), List.of());
+        when(deliveryPipeline.deliver(row.message())).thenReturn(sent);
+        
+        dispatcher.dispatch();
+        
+        verify(outboxService, never()).markDelivered(argThat(ids -> ids.contains(1L)));
+        
+        sent.complete(true);
+        dispatcher.dispatch();
+        
+        verify(outboxService).markDelivered(List.of(1L));
+        verify(outboxService, never()).markFailed(argThat(ids -> ids.contains(1L)), anyString());
+    }
+    
+    @Test
+    void permanentChannelFailureReturnsRowToOutbox() {
+        ClaimedNotification row = row(2L, "user-1");
+        CompletableFuture<Boolean> sent = new CompletableFuture<>();
+        when(outboxService.claim()).thenReturn(List.of(row), List.of());
+        when(deliveryPipeline.deliver(row.message())).thenReturn(sent);
+        
+        dispatcher.dispatch();
+        sent.complete(false);
+        dispatcher.dispatch();
+        
+        verify(outboxService).markFailed(eq(List.of(2L)), anyString());
+        verify(outboxService, never()).markDelivered(argThat(ids -> ids.contains(2L)));
+    }
+    
+    @Test
+    void digestResultAppliesToEveryCoalescedRow() {
+        ClaimedNotification first = row(3L, "user-1");
+        ClaimedNotification second = row(4L, "user-1");
+        NotificationMessage digest = NotificationMessage.builder().userId("user-1").build();
+        when(digestService.isEnabled()).thenReturn(true);
+        when(digestService.coalesce(eq("user-1"), argThat(items -> items.size() == 2))).thenReturn(digest);
+        when(outboxService.claim()).thenReturn(List.of(first, second), List.of());
+        when(deliveryPipeline.deliver(digest)).thenReturn(CompletableFuture.completedFuture(true));
+        
+        dispatcher.dispatch();
+        
+        verify(outboxService).markDelivered(List.of(3L, 4L));
+    }
+    
+    @Test
+    void rejectedRowStopsClaimingUntilNextCycle() {
+        ClaimedNotification row = row(5L, "user-1");
+        when(outboxService.claim()).thenReturn(List.of(row), List.of(row(6L, "user-2")));
+        when(deliveryPipeline.deliver(row.message())).thenReturn(CompletableFuture.completedFuture(false));
+        
+        dispatcher.dispatch();
+        
+        verify(outboxService).markFailed(eq(List.of(5L)), anyString());
+        verify(deliveryPipeline, never()).deliver(argThat(message -> "user-2".equals(message.getUserId())));
+    }
+    
+    @Test
+    void rowWithoutActiveChannelIsSkippedNotRetried() {
+        ClaimedNotification row = row(7L, "user-1");
+        when(outboxService.claim()).thenReturn(List.of(row), List.of(row(8L, "user-2")), List.of());
+        when(deliveryPipeline.deliver(row.message()))
+                .thenReturn(CompletableFuture.failedFuture(new NoActiveChannelException("user-1")));
+        when(deliveryPipeline.deliver(argThat(message -> "user-2".equals(message.getUserId()))))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        
+        dispatcher.dispatch();
+        
+        verify(outboxService).markSkipped(eq(List.of(7L)), anyString());
+        verify(outboxService, never()).markFailed(argThat(ids -> ids.contains(7L)), anyString());
+        verify(outboxService, never()).markDelivered(argThat(ids -> ids.contains(7L)));
+        // 건너뛴 행은 거부가 아니므로 같은 주기에 다음 배치를 계속 점유합니다
+        verify(outboxService).markDelivered(List.of(8L));
+    }
+    
+    private static ClaimedNotification row(long id, String userId) {
+        NotificationMessage message = NotificationMessage.builder()
+                .userId(userId)
+                .message("알림 " + id)
+                .createdAt(System.currentTimeMillis())
+                .build();
+        return new ClaimedNotification(id, message);
+    }
+}
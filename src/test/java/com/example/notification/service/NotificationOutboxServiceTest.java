@@ -0,0 +1,63 @@
+package com.example.notification.service;
+
+import com.example.notification.config.ClusterConfig;
+import com.example.notification.config.NotificationConfig;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class NotificationOutboxServiceTest {
+    
+    @Test
+    void keepsConfiguredLeaseLongerThanRetries() {
+        NotificationConfig config = new NotificationConfig();
+        config.getEmail().setEnabled(true);
+        // 3 × 10초 + 1초 + 2초
+        config.getEmail().setRetryBackoffMs(1000);
+        
+        assertEquals(33_000, config.getEmail().worstCaseRetryMs());
+        assertEquals(60_000, NotificationOutboxService.leaseTimeoutMs(config));
+    }
+    
+    @Test
+    void extendsLeaseShorterThanWorstCaseRetry() {
+        NotificationConfig config = new NotificationConfig();
+        config.getSms().setEnabled(true);
+        config.getSms().setMaxAttempts(5);
+        config.getSms().setRetryBackoffMs(2000);
+        // 꺼진 채널은 보지 않습니다
+        config.getPush().setMaxAttempts(10);
+        
+        // 5 × 10초 + (2 + 4 + 8 + 16)초 = 80초
+        assertEquals(160_000, NotificationOutboxService.leaseTimeoutMs(config));
+    }
+    
+    @Test
+    void expiredLeaseFailsRowsOutOfAttempts() {
+        NotificationConfig config = new NotificationConfig();
+        config.getSms().setEnabled(true);
+        config.getSms().setMaxAttempts(5);
+        config.getSms().setRetryBackoffMs(2000);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        NotificationOutboxService outboxService = new NotificationOutboxService(jdbcTemplate, config,
+                new ClusterConfig());
+        
+        long before = System.currentTimeMillis();
+        outboxService.reclaimExpired();
+        
+        ArgumentCaptor<Timestamp> cutoff = ArgumentCaptor.forClass(Timestamp.class);
+        verify(jdbcTemplate).update(argThat(sql -> sql.contains("WHEN attempts >= ? THEN 'FAILED'")),
+                eq(config.getOutbox().getMaxAttempts()), cutoff.capture());
+        // 설정값(60초)이 아니라 늘린 lease(160초)를 기준으로 회수합니다
+        assertTrue(cutoff.getValue().getTime() <= before - 160_000);
+    }
+}
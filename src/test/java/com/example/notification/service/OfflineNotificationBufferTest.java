@@ -0,0 +1,80 @@
+package com.example.notification.service;
+
+import com.example.notification.config.NotificationConfig;
+import com.example.notification.dto.NotificationMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OfflineNotificationBufferTest {
+    
+    private NotificationConfig config;
+    private OfflineNotificationBuffer buffer;
+    
+    @BeforeEach
+    void setUp() {
+        config = new NotificationConfig();
+        buffer = new OfflineNotificationBuffer(config, new SimpleMeterRegistry());
+    }
+    
+    @Test
+    void rendersOnReplayOnly() {
+        AtomicInteger renders = new AtomicInteger();
+        buffer.add(lazyMessage("user-1", System.currentTimeMillis(), renders));
+        
+        assertEquals(0, renders.get());
+        
+        List<NotificationMessage> replayed = buffer.drain("user-1");
+        assertEquals(0, renders.get());
+        assertEquals("렌더링 1", replayed.get(0).getMessage());
+        assertEquals("렌더링 1", replayed.get(0).getMessage());
+        assertEquals(1, renders.get());
+        assertNull(replayed.get(0).getRenderer());
+    }
+    
+    @Test
+    void neverRendersEvictedOrExpiredMessages() {
+        config.getOfflineBuffer().setCapacityPerUser(1);
+        AtomicInteger renders = new AtomicInteger();
+        long expired = System.currentTimeMillis() - config.getOfflineBuffer().getTtlMs() - 1;
+        buffer.add(lazyMessage("user-1", System.currentTimeMillis(), renders));
+        buffer.add(lazyMessage("user-1", expired, renders));
+        
+        buffer.evictExpired();
+        
+        assertTrue(buffer.drain("user-1").isEmpty());
+        assertEquals(0, renders.get());
+    }
+    
+    @Test
+    void keepsOnlyNewestPerUserWithinCapacity() {
+        config.getOfflineBuffer().setCapacityPerUser(2);
+        for (int i = 0; i < 3; i++) {
+            buffer.add(NotificationMessage.builder()
+                    .userId("user-1")
+                    .message("알림 " + i)
+                    .createdAt(System.currentTimeMillis())
+                    .build());
+        }
+        
+        List<NotificationMessage> replayed = buffer.drain("user-1");
+        
+        assertEquals(List.of("알림 1", "알림 2"), replayed.stream().map(NotificationMessage::getMessage).toList());
+        assertTrue(buffer.drain("user-1").isEmpty());
+    }
+    
+    private static NotificationMessage lazyMessage(String userId, long createdAt, AtomicInteger renders) {
+        return NotificationMessage.builder()
+                .userId(userId)
+                .renderer(() -> "렌더링 " + renders.incrementAndGet())
+                .createdAt(createdAt)
+                .build();
+    }
+}
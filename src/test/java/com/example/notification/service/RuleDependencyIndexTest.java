@@ -0,0 +1,66 @@
+package com.example.notification.service;
+
+import com.example.notification.config.StreamingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class RuleDependencyIndexTest {
+    
+    private static final String PRICE_RULE = """
+            public boolean shouldNotify(NotificationContext context) {
+                return context.getStockData() != null
+                        && (double) context.getStockData().get("price") > 100;
+            }
+            """;
+    
+    private static final String WEATHER_RULE = """
+            public boolean shouldNotify(NotificationContext context) {
+                Map<String, Object> weather = context.getWeatherData();
+                return weather.containsKey("rain");
+            }
+            """;
+    
+    private RuleDependencyIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        StreamingConfig config = new StreamingConfig();
+        config.setEnabled(true);
+        index = new RuleDependencyIndex(mock(JdbcTemplate.class), mock(RuleSourceStore.class), config);
+    }
+    
+    @Test
+    void extractsFieldAndSourceDependencies() {
+        assertEquals(Set.of("stock.price"), RuleDependencyIndex.extractDependencies(PRICE_RULE));
+        assertEquals(Set.of("weather.*"), RuleDependencyIndex.extractDependencies(WEATHER_RULE));
+        assertEquals(Set.of(RuleDependencyIndex.ANY), RuleDependencyIndex.extractDependencies("return true;"));
+    }
+    
+    @Test
+    void addedRuleIsAffectedImmediately() {
+        index.addAll(Map.of(1L, PRICE_RULE, 2L, WEATHER_RULE));
+        
+        assertEquals(Set.of(1L), index.affectedRules("stock", List.of("price")));
+        assertTrue(index.affectedRules("stock", List.of("volume")).isEmpty());
+        assertEquals(Set.of(2L), index.affectedRules("weather", List.of("temperature")));
+    }
+    
+    @Test
+    void removedRuleIsNoLongerAffected() {
+        index.add(1L, PRICE_RULE);
+        index.add(3L, PRICE_RULE);
+        
+        index.remove(1L);
+        
+        assertEquals(Set.of(3L), index.affectedRules("stock", List.of("price")));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.notification.service;
+
+import com.example.notification.config.RuleSchedulingConfig;
+import com.example.notification.domain.RuleEntity;
+import com.example.notification.dto.NotificationContext;
+import com.example.notification.repository.RuleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RuleExecutionSchedulerTest {
+    
+    @Test
+    void failedTickRecordDoesNotRollBackTickNotifications() throws Exception {
+        RuleEntity rule = RuleEntity.builder().id(1L).userId("user-1").active(true).build();
+        NotificationContext context = new NotificationContext();
+        
+        RuleManagementService ruleManagementService = mock(RuleManagementService.class);
+        ExternalApiService externalApiService = mock(ExternalApiService.class);
+        RuleEvaluator ruleEvaluator = mock(RuleEvaluator.class);
+        SchedulerTickRecorder tickRecorder = mock(SchedulerTickRecorder.class);
+        when(ruleManagementService.getActiveRules()).thenReturn(List.of(rule));
+        when(externalApiService.fetchContext()).thenReturn(context);
+        when(ruleEvaluator.evaluate(eq(List.of(rule)), eq(context), anyLong()))
+                .thenReturn(new RuleEvaluator.EvaluationResult(1, List.of(1L), 0));
+        
+        RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+        AtomicBoolean recordedInTransaction = new AtomicBoolean();
+        doAnswer(invocation -> {
+            recordedInTransaction.set(transactionManager.active);
+            throw new DataAccessResourceFailureException("scheduler_ticks INSERT 실패");
+        }).when(tickRecorder).record(any());
+        
+        RuleExecutionScheduler scheduler = new RuleExecutionScheduler(ruleManagementService,
+                mock(RuleRepository.class), externalApiService, ruleEvaluator, mock(RuleShardLeaseManager.class),
+                mock(RuleSpreadSchedule.class), new RuleSchedulingConfig(), tickRecorder, transactionManager);
+        
+        scheduler.executeAllRules();
+        scheduler.stop();
+        
+        verify(tickRecorder).record(any());
+        assertFalse(recordedInTransaction.get(), "tick 기록을 규칙 평가 트랜잭션 안에서 저장했습니다");
+        assertEquals(1, transactionManager.commits.get());
+        assertEquals(0, transactionManager.rollbacks.get());
+    }
+    
+    /**
+     * 커밋/롤백 횟수와 진행 중 여부만 기록하는 트랜잭션 관리자
+     */
+    private static class RecordingTransactionManager implements PlatformTransactionManager {
+        
+        volatile boolean active;
+        final AtomicInteger commits = new AtomicInteger();
+        final AtomicInteger rollbacks = new AtomicInteger();
+        
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            active = true;
+            return new SimpleTransactionStatus();
+        }
+        
+        @Override
+        public void commit(TransactionStatus status) {
+            active = false;
+            commits.incrementAndGet();
+        }
+        
+        @Override
+        public void rollback(TransactionStatus status) {
+            active = false;
+            rollbacks.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.notification.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RuleExecutionStatsRecorderTest {
+    
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    
+    /**
+     * 플러시마다 INSERT한 규칙 ID
+     */
+    private final List<Long> flushedRuleIds = new ArrayList<>();
+    
+    private RuleExecutionStatsRecorder recorder;
+    
+    @BeforeEach
+    void setUp() {
+        recorder = new RuleExecutionStatsRecorder(jdbcTemplate, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+    }
+    
+    @Test
+    void evaluationFinishingAfterDeleteIsNotFlushed() throws Exception {
+        captureInserts();
+        recorder.recordExecution(1L);
+        recorder.recordExecution(2L);
+        
+        recorder.forget(1L);
+        // 삭제 시점에 평가 중이던 스레드가 뒤늦게 기록하는 경우
+        recorder.recordExecution(1L);
+        recorder.recordNotification(1L);
+        recorder.recordError(1L);
+        
+        assertEquals(RuleExecutionStatsRecorder.Snapshot.EMPTY, recorder.pendingOf(1L));
+        recorder.flush();
+        assertEquals(List.of(2L), flushedRuleIds);
+    }
+    
+    @Test
+    void failedFlushDoesNotRestoreRuleDeletedMeanwhile() {
+        recorder.recordExecution(1L);
+        recorder.recordExecution(2L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+            recorder.forget(1L);
+            throw new DataAccessResourceFailureException("rule_execution_stats INSERT 실패");
+        });
+        
+        recorder.flush();
+        
+        assertEquals(RuleExecutionStatsRecorder.Snapshot.EMPTY, recorder.pendingOf(1L));
+        assertEquals(1, recorder.pendingOf(2L).executions());
+    }
+    
+    /**
+     * 배치 INSERT의 각 행에 설정한 규칙 ID를 모읍니다
+     */
+    @SuppressWarnings("unchecked")
+    private void captureInserts() throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        doAnswer(invocation -> {
+            flushedRuleIds.add(invocation.getArgument(1));
+            return null;
+        }).when(ps).setLong(eq(1), anyLong());
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            for (Object row : (Collection<Object>) invocation.getArgument(1)) {
+                setter.setValues(ps, row);
+            }
+            return new int[0][];
+        });
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.notification.service;
+
+import com.example.notification.config.RuleBenchmarkConfig;
+import com.example.notification.config.RuleIsolationConfig;
+import com.example.notification.config.RuleListingConfig;
+import com.example.notification.domain.BenchmarkStatus;
+import com.example.notification.domain.RuleEntity;
+import com.example.notification.dto.RulePageResponse;
+import com.example.notification.dto.RuleResponse;
+import com.example.notification.dto.RuleSummaryResponse;
+import com.example.notification.repository.RuleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RuleManagementServiceTest {
+    
+    /**
+     * 저장소 대신 쓰는 메모리 테이블 (id 순)
+     */
+    private final Map<Long, RuleEntity> table = new TreeMap<>();
+    
+    private RuleManagementService service;
+    
+    @BeforeEach
+    void setUp() {
+        RuleRepository ruleRepository = mock(RuleRepository.class);
+        when(ruleRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(table.get(invocation.<Long>getArgument(0))));
+        when(ruleRepository.save(any(RuleEntity.class))).thenAnswer(invocation -> {
+            RuleEntity entity = invocation.getArgument(0);
+            table.put(entity.getId(), entity);
+            return entity;
+        });
+        when(ruleRepository.findByBenchmarkStatusOrderByIdAsc(any())).thenAnswer(invocation -> table.values().stream()
+                .filter(entity -> entity.getBenchmarkStatus() == invocation.getArgument(0))
+                .collect(Collectors.toList()));
+        when(ruleRepository.findSummariesByUserId(anyString(), anyLong(), any())).thenAnswer(invocation -> table
+                .tailMap(invocation.<Long>getArgument(1), false).values().stream()
+                .filter(entity -> entity.getUserId().equals(invocation.getArgument(0)))
+                .limit(invocation.<Pageable>getArgument(2).getPageSize())
+                .map(entity -> RuleSummaryResponse.builder().id(entity.getId()).userId(entity.getUserId()).build())
+                .collect(Collectors.toList()));
+        doAnswer(invocation -> table.remove(invocation.<RuleEntity>getArgument(0).getId()))
+                .when(ruleRepository).delete(any(RuleEntity.class));
+        
+        RuleListingConfig listingConfig = new RuleListingConfig();
+        listingConfig.setMaxPageSize(3);
+        service = new RuleManagementService(ruleRepository, mock(ClaudeApiService.class),
+                mock(DynamicCodeEngine.class), mock(RuleTriggerStateStore.class), mock(RuleBenchmarkService.class),
+                new RuleBenchmarkConfig(), new RuleVersionService(new RuleVersionServiceTest.InMemoryVersions(),
+                listingConfig), listingConfig,
+                mock(RuleExecutionStatsService.class), mock(RuleSourceStore.class), mock(RuleDependencyIndex.class),
+                new RuleIsolationConfig(), new SimpleMeterRegistry());
+    }
+    
+    @Test
+    void activatedFlaggedRuleLeavesReviewQueue() {
+        table.put(1L, rule(1L, BenchmarkStatus.FLAGGED, false));
+        table.put(2L, rule(2L, BenchmarkStatus.FLAGGED, false));
+        assertEquals(List.of(1L, 2L), flaggedIds());
+        
+        RuleResponse response = service.activateRule(1L);
+        
+        assertTrue(response.getActive());
+        assertEquals(BenchmarkStatus.APPROVED, response.getBenchmarkStatus());
+        assertEquals(List.of(2L), flaggedIds());
+    }
+    
+    @Test
+    void activationKeepsMeasuredStatus() {
+        table.put(1L, rule(1L, BenchmarkStatus.PASSED, false));
+        
+        service.activateRule(1L);
+        
+        assertEquals(BenchmarkStatus.PASSED, table.get(1L).getBenchmarkStatus());
+    }
+    
+    @Test
+    void cursorPagesStayContinuousWhileRulesAreAddedAndRemoved() {
+        for (long id = 1; id <= 5; id++) {
+            table.put(id, rule(id, BenchmarkStatus.PASSED, true));
+        }
+        table.put(6L, rule(6L, BenchmarkStatus.PASSED, true));
+        table.get(6L).setUserId("user-2");
+        
+        RulePageResponse<RuleSummaryResponse> first = service.getRuleSummaries("user-1", null, 2);
+        assertEquals(List.of(1L, 2L), ids(first));
+        assertEquals(2L, first.getNextCursor());
+        
+        // 페이지 사이에 새 규칙이 생기고 이미 본 규칙이 지워져도 남은 규칙은 빠지거나 겹치지 않습니다
+        table.put(7L, rule(7L, BenchmarkStatus.PASSED, true));
+        service.deleteRule(1L);
+        RulePageResponse<RuleSummaryResponse> second = service.getRuleSummaries("user-1", first.getNextCursor(), 2);
+        assertEquals(List.of(3L, 4L), ids(second));
+        
+        RulePageResponse<RuleSummaryResponse> last = service.getRuleSummaries("user-1", second.getNextCursor(), 2);
+        assertEquals(List.of(5L, 7L), ids(last));
+        assertNull(last.getNextCursor());
+    }
+    
+    @Test
+    void pageSizeIsCappedAtMaximum() {
+        for (long id = 1; id <= 5; id++) {
+            table.put(id, rule(id, BenchmarkStatus.PASSED, true));
+        }
+        
+        RulePageResponse<RuleSummaryResponse> page = service.getRuleSummaries("user-1", null, 100);
+        
+        assertEquals(List.of(1L, 2L, 3L), ids(page));
+        assertEquals(3L, page.getNextCursor());
+    }
+    
+    @Test
+    void etagChangesOnlyWhenListChanges() {
+        table.put(1L, rule(1L, BenchmarkStatus.FLAGGED, false));
+        long initial = service.getRuleVersion("user-1");
+        
+        service.getRuleSummaries("user-1", null, null);
+        assertEquals(initial, service.getRuleVersion("user-1"));
+        
+        service.activateRule(1L);
+        long activated = service.getRuleVersion("user-1");
+        assertNotEquals(initial, activated);
+        
+        service.deleteRule(1L);
+        assertNotEquals(activated, service.getRuleVersion("user-1"));
+        assertEquals(0, service.getRuleVersion("user-2"));
+    }
+    
+    private static List<Long> ids(RulePageResponse<RuleSummaryResponse> page) {
+        return page.getItems().stream().map(RuleSummaryResponse::getId).collect(Collectors.toList());
+    }
+    
+    private List<Long> flaggedIds() {
+        return service.getFlaggedRules().stream().map(RuleResponse::getId).collect(Collectors.toList());
+    }
+    
+    private static RuleEntity rule(long id, BenchmarkStatus benchmarkStatus, boolean active) {
+        return RuleEntity.builder()
+                .id(id)
+                .userId("user-1")
+                .className("Rule" + id)
+                .sourceId(id)
+                .active(active)
+                .benchmarkStatus(benchmarkStatus)
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.notification.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleSourceCodecTest {
+    
+    private static final String RULE_SOURCE = """
+            package com.example.notification.rules;
+            
+            import com.example.notification.domain.NotificationRule;
+            import com.example.notification.dto.NotificationContext;
+            
+            public class FreezeRule implements NotificationRule {
+                
+                @Override
+                public boolean shouldNotify(NotificationContext context) {
+                    if (context.getWeatherData() == null) {
+                        return false;
+                    }
+                    Object tempObj = context.getWeatherData().get("temperature");
+                    return tempObj != null && ((Number) tempObj).doubleValue() < 0.0;
+                }
+                
+                @Override
+                public String getMessage(NotificationContext context) {
+                    return String.format("⚠️ 한파 주의! 현재 온도가 %.1f℃로 영하입니다",
+                            ((Number) context.getWeatherData().get("temperature")).doubleValue());
+                }
+            }
+            """;
+    
+    @Test
+    void roundTripsAtEveryLevel() {
+        // 빈 소스, 사전에 없는 문자열, 출력 버퍼(4KB)보다 긴 소스 포함
+        List<String> sources = List.of("", RULE_SOURCE, "한글과 이모지 🚀 만 있는 소스", RULE_SOURCE.repeat(20));
+        for (String source : sources) {
+            for (int level : new int[]{Deflater.BEST_SPEED, Deflater.DEFAULT_COMPRESSION, Deflater.BEST_COMPRESSION}) {
+                byte[] compressed = RuleSourceCodec.compress(source, level);
+                assertEquals(source, RuleSourceCodec.decompress(compressed, RuleSourceCodec.DEFLATE_DICT_V1,
+                        RuleSourceCodec.utf8Length(source)));
+            }
+        }
+    }
+    
+    @Test
+    void dictionaryShrinksRuleSource() {
+        byte[] compressed = RuleSourceCodec.compress(RULE_SOURCE, Deflater.BEST_COMPRESSION);
+        
+        Deflater plain = new Deflater(Deflater.BEST_COMPRESSION);
+        plain.setInput(RULE_SOURCE.getBytes(StandardCharsets.UTF_8));
+        plain.finish();
+        int plainLength = 0;
+        byte[] buffer = new byte[4096];
+        while (!plain.finished()) {
+            plainLength += plain.deflate(buffer);
+        }
+        plain.end();
+        
+        assertTrue(compressed.length < plainLength, compressed.length + " >= " + plainLength);
+    }
+    
+    @Test
+    void rejectsCorruptedInput() {
+        byte[] compressed = RuleSourceCodec.compress(RULE_SOURCE, Deflater.BEST_COMPRESSION);
+        int length = RuleSourceCodec.utf8Length(RULE_SOURCE);
+        
+        // 잘린 값
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+        assertThrows(IllegalStateException.class,
+                () -> RuleSourceCodec.decompress(truncated, RuleSourceCodec.DEFLATE_DICT_V1, length));
+        
+        // 중간 바이트가 바뀐 값 (deflate 오류 또는 Adler-32 불일치)
+        byte[] flipped = compressed.clone();
+        flipped[flipped.length / 2] ^= 0x5A;
+        assertThrows(IllegalStateException.class,
+                () -> RuleSourceCodec.decompress(flipped, RuleSourceCodec.DEFLATE_DICT_V1, length));
+        
+        // 기록된 길이와 풀린 길이가 다른 경우
+        assertThrows(IllegalStateException.class,
+                () -> RuleSourceCodec.decompress(compressed, RuleSourceCodec.DEFLATE_DICT_V1, length - 1));
+        assertThrows(IllegalStateException.class,
+                () -> RuleSourceCodec.decompress(compressed, RuleSourceCodec.DEFLATE_DICT_V1, length + 1));
+        
+        // 압축되지 않은 값
+        byte[] raw = RULE_SOURCE.getBytes(StandardCharsets.UTF_8);
+        assertThrows(IllegalStateException.class,
+                () -> RuleSourceCodec.decompress(raw, RuleSourceCodec.DEFLATE_DICT_V1, length));
+    }
+    
+    @Test
+    void rejectsUnknownEncoding() {
+        byte[] compressed = RuleSourceCodec.compress(RULE_SOURCE, Deflater.BEST_COMPRESSION);
+        
+        assertThrows(IllegalArgumentException.class, () -> RuleSourceCodec.decompress(compressed, 2,
+                RuleSourceCodec.utf8Length(RULE_SOURCE)));
+    }
+}
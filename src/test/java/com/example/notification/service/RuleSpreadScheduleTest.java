@@ -0,0 +1,130 @@
+package com.example.notification.service;
+
+import com.example.notification.config.RuleSchedulingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 규칙 ID 해시 오프셋이 주기 안에 고르게 퍼지는지, tick을 이어 붙였을 때 빠지거나 겹치는 규칙이 없는지 확인합니다
+ */
+class RuleSpreadScheduleTest {
+    
+    private static final long INTERVAL_MS = 600_000;
+    private static final long TICK_MS = 1_000;
+    
+    /**
+     * 연속된 규칙 ID 1..RULES (실제 시퀀스처럼)
+     */
+    private static final int RULES = 12_000;
+    
+    /**
+     * 주기 경계와 맞지 않는 시작 시각
+     */
+    private static final long START = 1_700_000_123_456L;
+    
+    private final RuleSchedulingConfig config = new RuleSchedulingConfig();
+    
+    private RuleSpreadSchedule schedule;
+    
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class)))
+                .thenReturn(LongStream.rangeClosed(1, RULES).boxed().toList());
+        config.setMode(RuleSchedulingConfig.Mode.SPREAD);
+        config.setIntervalMs(INTERVAL_MS);
+        config.setTickMs(TICK_MS);
+        schedule = new RuleSpreadSchedule(jdbcTemplate, config);
+    }
+    
+    @Test
+    void everyRuleIsDueOncePerInterval() {
+        schedule.refresh();
+        assertEquals(RULES, schedule.size());
+        
+        // 주기 경계를 두 번 넘도록 tick을 이어 붙입니다
+        Map<Long, Integer> dueCounts = new HashMap<>();
+        for (long now = START + TICK_MS; now <= START + 2 * INTERVAL_MS; now += TICK_MS) {
+            schedule.dueRuleIds(now - TICK_MS, now).forEach(ruleId -> dueCounts.merge(ruleId, 1, Integer::sum));
+        }
+        
+        assertEquals(RULES, dueCounts.size());
+        dueCounts.forEach((ruleId, count) -> assertEquals(2, count, "규칙 " + ruleId));
+    }
+    
+    @Test
+    void offsetsSpreadEvenlyWithinEachShard() {
+        schedule.refresh();
+        int segments = 10;
+        long segmentMs = INTERVAL_MS / segments;
+        
+        // 샤드는 ruleId % shardCount로 나누므로, 샤드마다 따로 봐도 오프셋이 몰리지 않아야 합니다
+        for (int shardCount : new int[]{1, 4, 16}) {
+            int[][] counts = new int[shardCount][segments];
+            long base = Math.floorDiv(START, INTERVAL_MS) * INTERVAL_MS;
+            for (long now = base + TICK_MS; now <= base + INTERVAL_MS; now += TICK_MS) {
+                int segment = (int) ((now - TICK_MS - base) / segmentMs);
+                for (long ruleId : schedule.dueRuleIds(now - TICK_MS, now)) {
+                    counts[(int) (ruleId % shardCount)][segment]++;
+                }
+            }
+            
+            double expected = (double) RULES / shardCount / segments;
+            for (int shard = 0; shard < shardCount; shard++) {
+                for (int segment = 0; segment < segments; segment++) {
+                    int count = counts[shard][segment];
+                    assertTrue(Math.abs(count - expected) <= expected * 0.35, String.format(
+                            "샤드 %d/%d, 구간 %d: %d건 (기대 %.1f건)", shard, shardCount, segment, count, expected));
+                }
+            }
+        }
+    }
+    
+    @Test
+    void noTickCarriesMoreThanTwiceTheMeanLoad() {
+        schedule.refresh();
+        long mean = RULES / (INTERVAL_MS / TICK_MS);
+        
+        for (long now = START + TICK_MS; now <= START + INTERVAL_MS; now += TICK_MS) {
+            int due = schedule.dueRuleIds(now - TICK_MS, now).size();
+            assertTrue(due <= 2 * mean, "tick " + now + ": " + due + "건");
+        }
+    }
+    
+    @Test
+    void smoothingWindowKeepsOffsetsAtFrontOfInterval() {
+        config.setSmoothingWindowMs(60_000);
+        schedule.refresh();
+        long base = Math.floorDiv(START, INTERVAL_MS) * INTERVAL_MS + INTERVAL_MS;
+        
+        List<Long> inWindow = schedule.dueRuleIds(base - 1, base + 60_000 - 1);
+        List<Long> afterWindow = schedule.dueRuleIds(base + 60_000 - 1, base + INTERVAL_MS - 1);
+        
+        assertEquals(RULES, inWindow.size());
+        assertEquals(0, afterWindow.size());
+    }
+    
+    @Test
+    void longGapCoversAtMostOneInterval() {
+        schedule.refresh();
+        
+        // 멈췄다가 재개해도 놓친 주기를 몰아서 실행하지 않고 최근 한 주기만 봅니다
+        List<Long> due = schedule.dueRuleIds(START, START + 5 * INTERVAL_MS);
+        
+        assertEquals(RULES, due.size());
+        assertEquals(RULES, due.stream().distinct().count());
+    }
+}
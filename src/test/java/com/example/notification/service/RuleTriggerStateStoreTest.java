@@ -0,0 +1,98 @@
+package com.example.notification.service;
+
+import com.example.notification.domain.RuleEntity;
+import com.example.notification.domain.TriggerMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class RuleTriggerStateStoreTest {
+    
+    private RuleTriggerStateStore store;
+    
+    @BeforeEach
+    void setUp() {
+        store = new RuleTriggerStateStore(mock(JdbcTemplate.class), new SimpleMeterRegistry());
+    }
+    
+    @Test
+    void levelFiresOnEveryTrueEvaluation() {
+        RuleEntity rule = rule(1L, TriggerMode.LEVEL, 0, 0);
+        
+        assertTrue(store.shouldFire(rule, true, 1_000));
+        assertTrue(store.shouldFire(rule, true, 2_000));
+        assertFalse(store.shouldFire(rule, false, 3_000));
+        assertTrue(store.shouldFire(rule, true, 4_000));
+    }
+    
+    @Test
+    void edgeFiresOnlyOnRisingEdge() {
+        RuleEntity rule = rule(2L, TriggerMode.EDGE, 0, 0);
+        
+        assertTrue(store.shouldFire(rule, true, 1_000));
+        assertFalse(store.shouldFire(rule, true, 2_000));
+        assertFalse(store.shouldFire(rule, false, 3_000));
+        assertTrue(store.shouldFire(rule, true, 4_000));
+    }
+    
+    @Test
+    void edgeRearmsOnlyAfterHysteresisTicks() {
+        RuleEntity rule = rule(3L, TriggerMode.EDGE, 0, 2);
+        
+        assertTrue(store.shouldFire(rule, true, 1_000));
+        assertFalse(store.shouldFire(rule, false, 2_000));
+        assertFalse(store.shouldFire(rule, false, 3_000));
+        assertFalse(store.shouldFire(rule, true, 4_000));
+        
+        assertFalse(store.shouldFire(rule, false, 5_000));
+        assertFalse(store.shouldFire(rule, false, 6_000));
+        assertFalse(store.shouldFire(rule, false, 7_000));
+        assertTrue(store.shouldFire(rule, true, 8_000));
+    }
+    
+    @Test
+    void levelIsSuppressedDuringCooldown() {
+        RuleEntity rule = rule(4L, TriggerMode.LEVEL, 10, 0);
+        
+        assertTrue(store.shouldFire(rule, true, 0));
+        assertFalse(store.shouldFire(rule, true, 5_000));
+        assertTrue(store.shouldFire(rule, true, 10_000));
+    }
+    
+    @Test
+    void edgeSuppressedByCooldownFiresOnceCooldownEnds() {
+        RuleEntity rule = rule(5L, TriggerMode.EDGE, 10, 0);
+        
+        assertTrue(store.shouldFire(rule, true, 0));
+        assertFalse(store.shouldFire(rule, false, 1_000));
+        
+        // 대기 중의 상승 에지는 막히지만 소비되지 않습니다
+        assertFalse(store.shouldFire(rule, true, 2_000));
+        assertFalse(store.shouldFire(rule, true, 5_000));
+        assertTrue(store.shouldFire(rule, true, 10_000));
+        assertFalse(store.shouldFire(rule, true, 11_000));
+    }
+    
+    @Test
+    void releasedRuleStartsFresh() {
+        RuleEntity rule = rule(6L, TriggerMode.EDGE, 0, 0);
+        
+        assertTrue(store.shouldFire(rule, true, 1_000));
+        store.release(6L);
+        assertTrue(store.shouldFire(rule, true, 2_000));
+    }
+    
+    private static RuleEntity rule(long id, TriggerMode mode, int cooldownSeconds, int hysteresisTicks) {
+        return RuleEntity.builder()
+                .id(id)
+                .triggerMode(mode)
+                .cooldownSeconds(cooldownSeconds)
+                .hysteresisTicks(hysteresisTicks)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.notification.service;
+
+import com.example.notification.config.RuleListingConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * 목록 ETag로 쓰는 사용자별 규칙 버전의 캐시와 무효화 시점을 확인합니다
+ */
+class RuleVersionServiceTest {
+    
+    private final InMemoryVersions jdbcTemplate = new InMemoryVersions();
+    private final RuleListingConfig config = new RuleListingConfig();
+    
+    private RuleVersionService versionService;
+    
+    @BeforeEach
+    void setUp() {
+        config.setVersionCacheTtlMs(60_000);
+        versionService = new RuleVersionService(jdbcTemplate, config);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    @Test
+    void versionIsCachedUntilIncrement() {
+        assertEquals(0, versionService.getVersion("user-1"));
+        assertEquals(0, versionService.getVersion("user-1"));
+        assertEquals(1, jdbcTemplate.reads);
+        
+        versionService.increment("user-1");
+        
+        assertEquals(1, versionService.getVersion("user-1"));
+        assertEquals(2, jdbcTemplate.reads);
+        assertEquals(0, versionService.getVersion("user-2"));
+    }
+    
+    @Test
+    void cacheIsEvictedOnlyAfterCommit() {
+        long before = versionService.getVersion("user-1");
+        
+        TransactionSynchronizationManager.initSynchronization();
+        versionService.increment("user-1");
+        // 커밋 전에는 다른 요청이 이전 버전을 봐야 합니다 (아직 커밋되지 않은 목록에 새 ETag를 붙이지 않도록)
+        assertEquals(before, versionService.getVersion("user-1"));
+        
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        
+        assertNotEquals(before, versionService.getVersion("user-1"));
+    }
+    
+    @Test
+    void expiredEntryIsReadAgain() {
+        config.setVersionCacheTtlMs(0);
+        versionService.getVersion("user-1");
+        // 다른 노드가 올린 버전은 TTL이 지나야 보입니다
+        jdbcTemplate.versions.put("user-1", 5L);
+        
+        assertEquals(5, versionService.getVersion("user-1"));
+    }
+    
+    /**
+     * rule_versions 테이블을 메모리에 두는 JdbcTemplate (RuleVersionService가 쓰는 두 쿼리만 흉내 냄)
+     */
+    static class InMemoryVersions extends JdbcTemplate {
+        
+        final Map<String, Long> versions = new HashMap<>();
+        int reads;
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            reads++;
+            Long version = versions.get((String) args[0]);
+            return version == null ? List.of() : (List<T>) List.of(version);
+        }
+        
+        @Override
+        public int update(String sql, Object... args) {
+            versions.merge((String) args[0], 1L, Long::sum);
+            return 1;
+        }
+    }
+}
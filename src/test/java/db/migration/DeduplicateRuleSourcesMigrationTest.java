@@ -0,0 +1,37 @@
+package db.migration;
+
+import com.example.notification.service.RuleSourceCodec;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * V12가 옮긴 소스를 애플리케이션(RuleSourceCodec)이 그대로 읽을 수 있는지 확인합니다
+ * 
+ * V12는 사전과 압축을 복사해 두고 쓰므로, 둘 중 한쪽만 바뀌면 이 테스트가 깨집니다.
+ */
+class DeduplicateRuleSourcesMigrationTest {
+    
+    private static final Path SAMPLE_RULES = Path.of("src/main/java/com/example/notification/rules");
+    
+    @Test
+    void migratedSourcesDecompressWithCodec() throws IOException {
+        for (String name : new String[]{"TemperatureBelowZeroRule.java", "StockPriceAboveThresholdRule.java"}) {
+            String source = Files.readString(SAMPLE_RULES.resolve(name));
+            byte[] input = source.getBytes(StandardCharsets.UTF_8);
+            
+            byte[] migrated = V12__Deduplicate_rule_sources.compress(input);
+            
+            assertEquals(source, RuleSourceCodec.decompress(migrated, RuleSourceCodec.DEFLATE_DICT_V1, input.length));
+            // 같은 사전과 같은 압축 수준이면 바이트까지 같습니다
+            assertArrayEquals(RuleSourceCodec.compress(source, Deflater.BEST_COMPRESSION), migrated);
+        }
+    }
+}